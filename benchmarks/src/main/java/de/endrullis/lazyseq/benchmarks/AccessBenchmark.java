@@ -0,0 +1,179 @@
+package de.endrullis.lazyseq.benchmarks;
+
+import de.endrullis.lazyseq.LazySeq;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Element access and terminal operations of {@link LazySeq} compared with {@link java.util.stream}
+ * and {@link java.util.ArrayList}.
+ *
+ * @author Stefan Endrullis
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class AccessBenchmark {
+
+	// get
+
+	@Benchmark
+	public Integer lazySeqGet(SeqState state) {
+		return state.seq().get(state.size / 2);
+	}
+
+	@Benchmark
+	public Integer arrayListGet(ListState state) {
+		return state.list.get(state.size / 2);
+	}
+
+	// size
+
+	@Benchmark
+	public int lazySeqSize(SeqState state) {
+		return state.seq().size();
+	}
+
+	@Benchmark
+	public long lazySeqStreamCount(SeqState state) {
+		return state.seq().stream().count();
+	}
+
+	@Benchmark
+	public long jdkStreamCount(ListState state) {
+		return state.list.stream().count();
+	}
+
+	// last
+
+	@Benchmark
+	public Integer lazySeqLast(SeqState state) {
+		return state.seq().last();
+	}
+
+	@Benchmark
+	public Integer arrayListLast(ListState state) {
+		return state.list.get(state.list.size() - 1);
+	}
+
+	// forEach
+
+	@Benchmark
+	public void lazySeqForEach(SeqState state, Blackhole bh) {
+		state.seq().forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqIterator(SeqState state, Blackhole bh) {
+		for (Integer x : state.seq()) {
+			bh.consume(x);
+		}
+	}
+
+	@Benchmark
+	public void jdkStreamForEach(ListState state, Blackhole bh) {
+		state.list.stream().forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void arrayListForEach(ListState state, Blackhole bh) {
+		final List<Integer> list = state.list;
+		for (int i = 0; i < list.size(); i++) {
+			bh.consume(list.get(i));
+		}
+	}
+
+	// reduce
+
+	@Benchmark
+	public Integer lazySeqReduce(SeqState state) {
+		return state.seq().reduce(0, (a, b) -> a + b);
+	}
+
+	@Benchmark
+	public Integer lazySeqStreamReduce(SeqState state) {
+		return state.seq().stream().reduce(0, Integer::sum);
+	}
+
+	@Benchmark
+	public Integer jdkStreamReduce(ListState state) {
+		return state.list.stream().reduce(0, Integer::sum);
+	}
+
+	@Benchmark
+	public int arrayListReduce(ListState state) {
+		int sum = 0;
+		for (Integer x : state.list) {
+			sum += x;
+		}
+		return sum;
+	}
+
+	// min / max
+
+	@Benchmark
+	public Object lazySeqMax(SeqState state) {
+		return state.seq().max(Comparator.naturalOrder());
+	}
+
+	@Benchmark
+	public Object jdkStreamMax(ListState state) {
+		return state.list.stream().max(Comparator.naturalOrder());
+	}
+
+	// matching
+
+	@Benchmark
+	public boolean lazySeqAnyMatch(SeqState state) {
+		return state.seq().anyMatch(x -> x < 0);
+	}
+
+	@Benchmark
+	public boolean jdkStreamAnyMatch(ListState state) {
+		return state.list.stream().anyMatch(x -> x < 0);
+	}
+
+	@Benchmark
+	public int lazySeqCount(SeqState state) {
+		return state.seq().count(x -> x % 2 == 0);
+	}
+
+	// conversions and structural operations
+
+	@Benchmark
+	public Object lazySeqToList(SeqState state) {
+		return state.seq().toList();
+	}
+
+	@Benchmark
+	public Object lazySeqToSet(SeqState state) {
+		return state.seq().toSet();
+	}
+
+	@Benchmark
+	public int lazySeqHashCode(SeqState state) {
+		return state.seq().hashCode();
+	}
+
+	@Benchmark
+	public boolean lazySeqEquals(SeqState state) {
+		return state.seq().equals(state.seq());
+	}
+
+	@Benchmark
+	public boolean lazySeqStartsWith(SeqState state) {
+		return state.seq().startsWith(state.list);
+	}
+
+	@Benchmark
+	public String lazySeqMkString(SeqState state) {
+		return state.seq().mkString(",");
+	}
+
+}
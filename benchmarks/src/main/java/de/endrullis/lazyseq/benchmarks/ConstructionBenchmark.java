@@ -0,0 +1,121 @@
+package de.endrullis.lazyseq.benchmarks;
+
+import de.endrullis.lazyseq.LazySeq;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Creating and fully traversing sequences with the different {@link LazySeq} factory methods.
+ *
+ * @author Stefan Endrullis
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConstructionBenchmark {
+
+	@Benchmark
+	public void ofArray(ListState state, Blackhole bh) {
+		LazySeq.of(state.list.toArray(new Integer[0])).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void ofIterable(ListState state, Blackhole bh) {
+		LazySeq.of(state.list).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void wrapList(ListState state, Blackhole bh) {
+		LazySeq.wrap(state.list).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void ofIterator(ListState state, Blackhole bh) {
+		LazySeq.of(state.list.iterator()).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void cons(ListState state, Blackhole bh) {
+		final List<Integer> list = state.list;
+		LazySeq<Integer> seq = LazySeq.empty();
+		for (int i = list.size() - 1; i >= 0; i--) {
+			seq = LazySeq.cons(list.get(i), seq);
+		}
+		seq.forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void numbers(ListState state, Blackhole bh) {
+		LazySeq.numbers(0).take(state.size).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void range(ListState state, Blackhole bh) {
+		LazySeq.range(0, state.size).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public Integer numbersDrop(ListState state) {
+		return LazySeq.numbers(0).drop(state.size).head();
+	}
+
+	@Benchmark
+	public Integer iterateDrop(ListState state) {
+		return LazySeq.iterate(0, i -> i + 1).drop(state.size).head();
+	}
+
+	@Benchmark
+	public void tabulate(ListState state, Blackhole bh) {
+		LazySeq.tabulate(0, i -> i * 2).take(state.size).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void closedFormTabulate(ListState state, Blackhole bh) {
+		LazySeq.closedFormTabulate(0, i -> i * 2).take(state.size).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void iterate(ListState state, Blackhole bh) {
+		LazySeq.iterate(0, i -> i + 1).take(state.size).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void continually(ListState state, Blackhole bh) {
+		LazySeq.continually(42).take(state.size).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void concat(ListState state, Blackhole bh) {
+		LazySeq.concat(state.list, LazySeq.of(state.list)).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void jdkStreamIterate(ListState state, Blackhole bh) {
+		Stream.iterate(0, i -> i + 1).limit(state.size).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void jdkIntStreamRange(ListState state, Blackhole bh) {
+		IntStream.range(0, state.size).boxed().forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void arrayListFill(ListState state, Blackhole bh) {
+		final List<Integer> list = new ArrayList<>();
+		for (int i = 0; i < state.size; i++) {
+			list.add(i);
+		}
+		for (Integer e : list) {
+			bh.consume(e);
+		}
+	}
+
+}
@@ -0,0 +1,49 @@
+package de.endrullis.lazyseq.benchmarks;
+
+import de.endrullis.lazyseq.SeqView;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removing repetitions from a stream of <code>size</code> ids with <code>size / 2</code> distinct values, read through
+ * a non-memoizing view: exactly with an unbounded set, exactly within an LRU window and approximately with a Bloom
+ * filter.  Run with <code>-p size=100000000</code> and a heap of a few GB to see the unbounded set run out of memory
+ * while the bounded variants do not.
+ *
+ * @author Stefan Endrullis
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DistinctBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Ids {
+		@Param({"10000000"})
+		public long size;
+
+		SeqView<Long> ids() {
+			final long distinct = size / 2;
+			return SeqView.iterate(0L, i -> i + 1).take(size).map(i -> i * 7919 % distinct);
+		}
+	}
+
+	@Benchmark
+	public long distinct(Ids state) {
+		return state.ids().distinct().count();
+	}
+
+	@Benchmark
+	public long distinctWindow(Ids state) {
+		return state.ids().distinct(100_000).count();
+	}
+
+	@Benchmark
+	public long distinctApprox(Ids state) {
+		return state.ids().distinctApprox(state.size / 2, 0.01).count();
+	}
+
+}
@@ -0,0 +1,52 @@
+package de.endrullis.lazyseq.benchmarks;
+
+import de.endrullis.lazyseq.ElementSerializer;
+import de.endrullis.lazyseq.LazySeq;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting a fully realized sequence of random integers in memory and by an external merge sort with runs of
+ * different sizes, each traversed once.
+ *
+ * @author Stefan Endrullis
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ExternalSortBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class RealizedSeq {
+		@Param({"1000000"})
+		public int size;
+
+		@Param({"10000", "100000"})
+		public int runSize;
+
+		LazySeq<Integer> seq;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			final Random random = new Random(42);
+			seq = LazySeq.continually(() -> random.nextInt()).take(size).force();
+		}
+	}
+
+	@Benchmark
+	public void sorted(RealizedSeq state, Blackhole bh) {
+		state.seq.sorted(Comparator.naturalOrder()).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void sortedExternally(RealizedSeq state, Blackhole bh) {
+		state.seq.sortedExternally(Comparator.naturalOrder(), state.runSize, ElementSerializer.ints()).view().forEach(bh::consume);
+	}
+
+}
@@ -0,0 +1,102 @@
+package de.endrullis.lazyseq.benchmarks;
+
+import de.endrullis.lazyseq.LazySeq;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups in a {@link HashMap} keyed by fully realized sequences of 10,000 elements.
+ * The keys only differ in their last element, so every hash code and every successful <code>equals</code> needs all
+ * elements unless the hash code is cached or the compared sequences share their tail.
+ *
+ * @author Stefan Endrullis
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HashKeyBenchmark {
+
+	private static final int KEYS = 64;
+
+	@State(Scope.Benchmark)
+	public static class KeyedMap {
+		@Param({"10000"})
+		public int length;
+
+		/** ARRAY: <code>LazySeq.of(E...)</code>, FIXED_CONS: <code>cons(E, LazySeq)</code> chain, CONS: forced <code>iterate</code> cells */
+		@Param({"ARRAY", "FIXED_CONS", "CONS"})
+		public String kind;
+
+		final Map<LazySeq<Integer>, Integer> map = new HashMap<>();
+		final List<LazySeq<Integer>> keys = new ArrayList<>(KEYS);
+		final List<LazySeq<Integer>> equalCopies = new ArrayList<>(KEYS);
+		final List<LazySeq<Integer>> sharedTails = new ArrayList<>(KEYS);
+		final List<LazySeq<Integer>> missing = new ArrayList<>(KEYS);
+		int next;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			for (int i = 0; i < KEYS; i++) {
+				final LazySeq<Integer> key = create(i);
+				keys.add(key);
+				equalCopies.add(create(i));
+				sharedTails.add(LazySeq.cons(key.head(), key.tail()));
+				missing.add(create(KEYS + i));
+				map.put(key, i);
+			}
+		}
+
+		private LazySeq<Integer> create(int last) {
+			switch (kind) {
+				case "ARRAY":
+					final Integer[] array = new Integer[length];
+					for (int i = 0; i < length - 1; i++) {
+						array[i] = i;
+					}
+					array[length - 1] = last;
+					return LazySeq.of(array);
+				case "FIXED_CONS":
+					LazySeq<Integer> seq = LazySeq.of(last);
+					for (int i = length - 2; i >= 0; i--) {
+						seq = LazySeq.cons(i, seq);
+					}
+					return seq;
+				default:
+					return LazySeq.iterate(0, x -> x + 1).take(length - 1).concat(LazySeq.of(last)).force();
+			}
+		}
+
+		int nextIndex() {
+			next = (next + 1) % KEYS;
+			return next;
+		}
+	}
+
+	@Benchmark
+	public Integer sameInstance(KeyedMap state) {
+		return state.map.get(state.keys.get(state.nextIndex()));
+	}
+
+	@Benchmark
+	public Integer equalCopy(KeyedMap state) {
+		return state.map.get(state.equalCopies.get(state.nextIndex()));
+	}
+
+	@Benchmark
+	public Integer sharedTail(KeyedMap state) {
+		return state.map.get(state.sharedTails.get(state.nextIndex()));
+	}
+
+	@Benchmark
+	public Integer missing(KeyedMap state) {
+		return state.map.get(state.missing.get(state.nextIndex()));
+	}
+
+}
@@ -0,0 +1,41 @@
+package de.endrullis.lazyseq.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain {@link ArrayList} of boxed integers used as baseline.
+ *
+ * @author Stefan Endrullis
+ */
+@State(Scope.Benchmark)
+public class ListState {
+
+	@Param({"1000", "1000000", "10000000"})
+	public int size;
+
+	public List<Integer> list;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		list = createList(size);
+	}
+
+	/**
+	 * Creates the benchmark input: <code>size</code> integers with a few duplicates,
+	 * so that distinct() and groupBy() have something to do.
+	 *
+	 * @param size number of elements
+	 * @return list of integers
+	 */
+	static List<Integer> createList(int size) {
+		final List<Integer> list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(i % (size / 2 + 1));
+		}
+		return list;
+	}
+
+}
@@ -0,0 +1,78 @@
+package de.endrullis.lazyseq.benchmarks;
+
+import de.endrullis.lazyseq.LazySeq;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merging <code>k</code> fully realized sorted sequences into one sorted sequence, by concatenating and sorting them
+ * and by the k-way merge of {@link LazySeq#mergeSorted(Comparator, java.util.Collection)}, reading the first 20 or
+ * all elements.
+ *
+ * @author Stefan Endrullis
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MergeSortedBenchmark {
+
+	private static final int PREFIX = 20;
+
+	@State(Scope.Benchmark)
+	public static class SortedSeqs {
+		@Param({"1000000"})
+		public int size;
+
+		@Param({"16", "256"})
+		public int k;
+
+		List<LazySeq<Integer>> seqs;
+		final Comparator<Integer> comparator = Comparator.naturalOrder();
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			final Random random = new Random(42);
+			seqs = new ArrayList<>();
+			for (int i = 0; i < k; i++) {
+				seqs.add(LazySeq.continually(() -> random.nextInt()).take(size / k).sorted(comparator).force());
+			}
+		}
+	}
+
+	private static LazySeq<Integer> concatenated(SortedSeqs state) {
+		LazySeq<Integer> all = LazySeq.empty();
+		for (LazySeq<Integer> seq : state.seqs) {
+			all = all.concat(seq);
+		}
+		return all;
+	}
+
+	@Benchmark
+	public List<Integer> concatSortedPrefix(SortedSeqs state) {
+		return concatenated(state).sorted(state.comparator).take(PREFIX).toList();
+	}
+
+	@Benchmark
+	public List<Integer> mergeSortedPrefix(SortedSeqs state) {
+		return LazySeq.mergeSorted(state.comparator, state.seqs).take(PREFIX).toList();
+	}
+
+	@Benchmark
+	public void concatSortedAll(SortedSeqs state, Blackhole bh) {
+		concatenated(state).sorted(state.comparator).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void mergeSortedAll(SortedSeqs state, Blackhole bh) {
+		LazySeq.mergeSorted(state.comparator, state.seqs).forEach(bh::consume);
+	}
+
+}
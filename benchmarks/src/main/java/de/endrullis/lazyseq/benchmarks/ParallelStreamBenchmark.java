@@ -0,0 +1,68 @@
+package de.endrullis.lazyseq.benchmarks;
+
+import de.endrullis.lazyseq.LazySeq;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scalability of {@link LazySeq#parallelStream()} compared with the sequential {@link LazySeq#stream()}
+ * and with parallel streams over an {@link java.util.ArrayList}.
+ * The parallel pipelines are executed in a dedicated {@link ForkJoinPool} with the given parallelism.
+ *
+ * @author Stefan Endrullis
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ParallelStreamBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class PoolState {
+		@Param({"1", "2", "4", "8"})
+		public int parallelism;
+
+		public ForkJoinPool pool;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			pool = new ForkJoinPool(parallelism);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			pool.shutdown();
+		}
+	}
+
+	/** CPU bound work per element, so that the parallel speedup is not hidden by the memory bandwidth. */
+	private static double work(int x) {
+		double d = x;
+		for (int i = 0; i < 32; i++) {
+			d = Math.sqrt(d + i);
+		}
+		return d;
+	}
+
+	@Benchmark
+	public double lazySeqStream(SeqState state) {
+		return state.seq().stream().map(ParallelStreamBenchmark::work).reduce(0.0, Double::sum);
+	}
+
+	@Benchmark
+	public double lazySeqParallelStream(SeqState state, PoolState pool) {
+		final LazySeq<Integer> seq = state.seq();
+		return pool.pool.submit(() -> seq.parallelStream().map(ParallelStreamBenchmark::work).reduce(0.0, Double::sum)).join();
+	}
+
+	@Benchmark
+	public double jdkParallelStream(ListState state, PoolState pool) {
+		final List<Integer> list = state.list;
+		return pool.pool.submit(() -> list.parallelStream().map(ParallelStreamBenchmark::work).reduce(0.0, Double::sum)).join();
+	}
+
+}
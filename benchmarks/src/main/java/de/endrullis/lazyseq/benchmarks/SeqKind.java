@@ -0,0 +1,74 @@
+package de.endrullis.lazyseq.benchmarks;
+
+import de.endrullis.lazyseq.LazySeq;
+
+import java.util.List;
+
+/**
+ * The {@link LazySeq} implementations compared by the benchmarks.
+ *
+ * @author Stefan Endrullis
+ */
+public enum SeqKind {
+
+	/** Lazily evaluated, memoizing <code>Cons</code> cells created freshly for every invocation. */
+	CONS {
+		@Override
+		<E> LazySeq<E> prepare(List<E> elements) {
+			return null;
+		}
+
+		@Override
+		<E> LazySeq<E> get(List<E> elements, LazySeq<E> prepared) {
+			return LazySeq.of(elements.iterator());
+		}
+	},
+
+	/** Lazily evaluated chunked sequence created freshly for every invocation. */
+	CHUNKED {
+		@Override
+		<E> LazySeq<E> prepare(List<E> elements) {
+			return null;
+		}
+
+		@Override
+		<E> LazySeq<E> get(List<E> elements, LazySeq<E> prepared) {
+			return LazySeq.chunked(elements.iterator());
+		}
+	},
+
+	/** Fully realized chain of <code>FixedCons</code> cells built once per trial. */
+	FIXED_CONS {
+		@Override
+		<E> LazySeq<E> prepare(List<E> elements) {
+			LazySeq<E> seq = LazySeq.empty();
+			for (int i = elements.size() - 1; i >= 0; i--) {
+				seq = LazySeq.cons(elements.get(i), seq);
+			}
+			return seq;
+		}
+
+		@Override
+		<E> LazySeq<E> get(List<E> elements, LazySeq<E> prepared) {
+			return prepared;
+		}
+	},
+
+	/** Array-backed sequence (a view on the {@link java.util.RandomAccess} input list) built once per trial. */
+	INDEXED {
+		@Override
+		<E> LazySeq<E> prepare(List<E> elements) {
+			return LazySeq.of(elements);
+		}
+
+		@Override
+		<E> LazySeq<E> get(List<E> elements, LazySeq<E> prepared) {
+			return prepared;
+		}
+	};
+
+	abstract <E> LazySeq<E> prepare(List<E> elements);
+
+	abstract <E> LazySeq<E> get(List<E> elements, LazySeq<E> prepared);
+
+}
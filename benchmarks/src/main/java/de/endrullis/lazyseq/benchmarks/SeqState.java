@@ -0,0 +1,42 @@
+package de.endrullis.lazyseq.benchmarks;
+
+import de.endrullis.lazyseq.LazySeq;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+
+/**
+ * {@link LazySeq} input of the requested {@link SeqKind} with the same elements as {@link ListState}.
+ *
+ * @author Stefan Endrullis
+ */
+@State(Scope.Benchmark)
+public class SeqState {
+
+	@Param({"1000", "1000000", "10000000"})
+	public int size;
+
+	@Param({"CONS", "FIXED_CONS"})
+	public SeqKind kind;
+
+	public List<Integer> list;
+
+	private LazySeq<Integer> prepared;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		list = ListState.createList(size);
+		prepared = kind.prepare(list);
+	}
+
+	/**
+	 * Returns the input sequence.  {@link SeqKind#CONS} sequences are created freshly on every call,
+	 * so that every invocation pays for the lazy evaluation of the cells.
+	 *
+	 * @return the input sequence
+	 */
+	public LazySeq<Integer> seq() {
+		return kind.get(list, prepared);
+	}
+
+}
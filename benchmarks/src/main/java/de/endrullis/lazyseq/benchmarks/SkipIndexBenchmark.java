@@ -0,0 +1,83 @@
+package de.endrullis.lazyseq.benchmarks;
+
+import de.endrullis.lazyseq.LazySeq;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repeated positional access ({@link LazySeq#get(int)} and {@link LazySeq#drop(long)}) on a long, fully realized
+ * sequence of memoized <code>Cons</code> cells with and without {@link LazySeq#withSkipIndex(int) skip index}.
+ * Every invocation accesses the next position of a precomputed random or ascending access pattern.
+ *
+ * @author Stefan Endrullis
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SkipIndexBenchmark {
+
+	private static final int PATTERN_LENGTH = 1 << 12;
+
+	@State(Scope.Benchmark)
+	public static class RealizedSeq {
+		@Param({"1000000", "10000000"})
+		public int size;
+
+		/** Distance between two recorded cells of the skip index. */
+		@Param({"32"})
+		public int interval;
+
+		@Param({"RANDOM", "ASCENDING"})
+		public String pattern;
+
+		LazySeq<Integer> plain;
+		LazySeq<Integer> indexed;
+		int[] positions;
+		int next;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			plain = LazySeq.iterate(0, x -> x + 1).take(size);
+			plain.size();
+			indexed = plain.withSkipIndex(interval);
+			indexed.size();
+
+			positions = new int[PATTERN_LENGTH];
+			final Random random = new Random(42);
+			for (int i = 0; i < PATTERN_LENGTH; i++) {
+				positions[i] = pattern.equals("RANDOM") ? random.nextInt(size) : (int) ((long) i * size / PATTERN_LENGTH);
+			}
+		}
+
+		int nextPosition() {
+			final int position = positions[next];
+			next = (next + 1) % PATTERN_LENGTH;
+			return position;
+		}
+	}
+
+	@Benchmark
+	public Integer plainGet(RealizedSeq state) {
+		return state.plain.get(state.nextPosition());
+	}
+
+	@Benchmark
+	public Integer indexedGet(RealizedSeq state) {
+		return state.indexed.get(state.nextPosition());
+	}
+
+	@Benchmark
+	public LazySeq<Integer> plainDrop(RealizedSeq state) {
+		return state.plain.drop(state.nextPosition());
+	}
+
+	@Benchmark
+	public LazySeq<Integer> indexedDrop(RealizedSeq state) {
+		return state.indexed.drop(state.nextPosition());
+	}
+
+}
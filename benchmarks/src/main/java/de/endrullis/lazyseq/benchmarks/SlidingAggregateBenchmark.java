@@ -0,0 +1,66 @@
+package de.endrullis.lazyseq.benchmarks;
+
+import de.endrullis.lazyseq.IntLazySeq;
+import de.endrullis.lazyseq.LazySeq;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moving sums and maxima over a fully realized sequence, computed incrementally by the sliding aggregations and by
+ * re-aggregating every window of {@link LazySeq#sliding(int)}.
+ *
+ * @author Stefan Endrullis
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SlidingAggregateBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class RealizedSeq {
+		@Param({"1000000"})
+		public int size;
+
+		@Param({"10", "1000"})
+		public int window;
+
+		LazySeq<Integer> seq;
+		IntLazySeq ints;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			seq = LazySeq.iterate(0, x -> (x * 31 + 7) % 1_000_003).take(size).force();
+			ints = seq.mapToInt(x -> x).force();
+		}
+	}
+
+	@Benchmark
+	public int slidingWindowSum(RealizedSeq state) {
+		return state.seq.sliding(state.window).map(w -> w.stream().mapToInt(x -> x).sum()).last();
+	}
+
+	@Benchmark
+	public int slidingSum(RealizedSeq state) {
+		return state.ints.slidingSum(state.window).last();
+	}
+
+	@Benchmark
+	public int slidingWindowMax(RealizedSeq state) {
+		return state.seq.sliding(state.window).map(w -> w.stream().max(Comparator.naturalOrder()).get()).last();
+	}
+
+	@Benchmark
+	public int slidingMax(RealizedSeq state) {
+		return state.seq.slidingMax(state.window, Comparator.naturalOrder()).last();
+	}
+
+	@Benchmark
+	public int slidingReduce(RealizedSeq state) {
+		return state.seq.slidingReduce(state.window, Math::max).last();
+	}
+
+}
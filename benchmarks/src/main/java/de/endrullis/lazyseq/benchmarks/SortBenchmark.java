@@ -0,0 +1,84 @@
+package de.endrullis.lazyseq.benchmarks;
+
+import de.endrullis.lazyseq.LazySeq;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting a fully realized sequence of random integers and reading the first 20 or all elements, compared with the
+ * former implementation of {@link LazySeq#sorted(Comparator)} (copying into an {@link ArrayList} and sorting it),
+ * and sorting by an <code>int</code> key with a comparator and with the radix sort of
+ * {@link LazySeq#sortedByInt(java.util.function.ToIntFunction)}.
+ *
+ * @author Stefan Endrullis
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SortBenchmark {
+
+	private static final int PREFIX = 20;
+
+	@State(Scope.Benchmark)
+	public static class RealizedSeq {
+		@Param({"1000000"})
+		public int size;
+
+		LazySeq<Integer> seq;
+		final Comparator<Integer> comparator = Comparator.naturalOrder();
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			final Random random = new Random(42);
+			seq = LazySeq.continually(() -> random.nextInt()).take(size).force();
+		}
+	}
+
+	@Benchmark
+	public List<Integer> fullSortPrefix(RealizedSeq state) {
+		final ArrayList<Integer> list = new ArrayList<>(state.seq);
+		list.sort(state.comparator);
+		return LazySeq.of(list).take(PREFIX).toList();
+	}
+
+	@Benchmark
+	public List<Integer> sortedPrefix(RealizedSeq state) {
+		return state.seq.sorted(state.comparator).take(PREFIX).toList();
+	}
+
+	@Benchmark
+	public List<Integer> bottomK(RealizedSeq state) {
+		return state.seq.bottomK(PREFIX, state.comparator).toList();
+	}
+
+	@Benchmark
+	public void fullSortAll(RealizedSeq state, Blackhole bh) {
+		final ArrayList<Integer> list = new ArrayList<>(state.seq);
+		list.sort(state.comparator);
+		LazySeq.of(list).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void sortedAll(RealizedSeq state, Blackhole bh) {
+		state.seq.sorted(state.comparator).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void sortedByComparingIntAll(RealizedSeq state, Blackhole bh) {
+		state.seq.sorted(Comparator.comparingInt(x -> x)).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void sortedByIntAll(RealizedSeq state, Blackhole bh) {
+		state.seq.sortedByInt(x -> x).forEach(bh::consume);
+	}
+
+}
@@ -0,0 +1,103 @@
+package de.endrullis.lazyseq.benchmarks;
+
+import de.endrullis.lazyseq.LazySeq;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Concurrent readers of a shared sequence: all threads walk the same batch of {@link #LENGTH} cells, so the first walkers
+ * race for the evaluation of the tails while the others read memoized tails.  After walking a batch a thread replaces it
+ * with a fresh one.
+ * <p>
+ * Compares the lock-free memoization of <code>Cons</code> with the former double-checked locking on
+ * <code>synchronized (this)</code> ({@link SynchronizedCons}).  Use <code>-t</code> to change the number of threads.
+ * </p>
+ *
+ * @author Stefan Endrullis
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Threads(4)
+public class TailContentionBenchmark {
+
+	static final int LENGTH = 1000;
+
+	@State(Scope.Benchmark)
+	public static class SharedLazySeq {
+		final AtomicReference<LazySeq<Integer>> batch = new AtomicReference<>(create(0));
+
+		static LazySeq<Integer> create(int i) {
+			return i < LENGTH ? LazySeq.cons(i, () -> create(i + 1)) : LazySeq.empty();
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class SharedSynchronizedCons {
+		final AtomicReference<SynchronizedCons> batch = new AtomicReference<>(create(0));
+
+		static SynchronizedCons create(int i) {
+			return new SynchronizedCons(i, () -> i + 1 < LENGTH ? create(i + 1) : null);
+		}
+	}
+
+	@Benchmark
+	public int lazySeq(SharedLazySeq shared) {
+		final LazySeq<Integer> batch = shared.batch.get();
+		int sum = 0;
+		for (LazySeq<Integer> cur = batch; !cur.isEmpty(); cur = cur.tail()) {
+			sum += cur.head();
+		}
+		shared.batch.compareAndSet(batch, SharedLazySeq.create(0));
+		return sum;
+	}
+
+	@Benchmark
+	public int synchronizedCons(SharedSynchronizedCons shared) {
+		final SynchronizedCons batch = shared.batch.get();
+		int sum = 0;
+		for (SynchronizedCons cur = batch; cur != null; cur = cur.tail()) {
+			sum += cur.head();
+		}
+		shared.batch.compareAndSet(batch, SharedSynchronizedCons.create(0));
+		return sum;
+	}
+
+	/**
+	 * Cell memoizing its tail like <code>Cons</code> did before the lock-free memoization (double-checked locking).
+	 * <code>null</code> marks the end of the sequence.
+	 */
+	static final class SynchronizedCons {
+		private final Integer head;
+		private volatile SynchronizedCons tailOrNull;
+		private volatile boolean tailDefined;
+		private final Supplier<SynchronizedCons> tailFun;
+
+		SynchronizedCons(Integer head, Supplier<SynchronizedCons> tailFun) {
+			this.head = head;
+			this.tailFun = tailFun;
+		}
+
+		Integer head() {
+			return head;
+		}
+
+		SynchronizedCons tail() {
+			if (!tailDefined) {
+				synchronized (this) {
+					if (!tailDefined) {
+						tailOrNull = tailFun.get();
+						tailDefined = true;
+					}
+				}
+			}
+			return tailOrNull;
+		}
+	}
+
+}
@@ -0,0 +1,285 @@
+package de.endrullis.lazyseq.benchmarks;
+
+import de.endrullis.lazyseq.LazySeq;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Intermediate {@link LazySeq} operators followed by a full traversal of the result,
+ * compared with {@link LazySeq#stream()}, {@link java.util.stream} and hand-written {@link ArrayList} loops.
+ *
+ * @author Stefan Endrullis
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TransformBenchmark {
+
+	private static final int WINDOW = 3;
+
+	// map
+
+	@Benchmark
+	public void lazySeqMap(SeqState state, Blackhole bh) {
+		state.seq().map(x -> x + 1).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqStreamMap(SeqState state, Blackhole bh) {
+		state.seq().stream().map(x -> x + 1).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void jdkStreamMap(ListState state, Blackhole bh) {
+		state.list.stream().map(x -> x + 1).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void arrayListMap(ListState state, Blackhole bh) {
+		final List<Integer> result = new ArrayList<>(state.list.size());
+		for (Integer x : state.list) {
+			result.add(x + 1);
+		}
+		bh.consume(result);
+	}
+
+	// filter
+
+	@Benchmark
+	public void lazySeqFilter(SeqState state, Blackhole bh) {
+		state.seq().filter(x -> x % 2 == 0).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqStreamFilter(SeqState state, Blackhole bh) {
+		state.seq().stream().filter(x -> x % 2 == 0).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void jdkStreamFilter(ListState state, Blackhole bh) {
+		state.list.stream().filter(x -> x % 2 == 0).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void arrayListFilter(ListState state, Blackhole bh) {
+		final List<Integer> result = new ArrayList<>();
+		for (Integer x : state.list) {
+			if (x % 2 == 0) {
+				result.add(x);
+			}
+		}
+		bh.consume(result);
+	}
+
+	// flatMap
+
+	@Benchmark
+	public void lazySeqFlatMap(SeqState state, Blackhole bh) {
+		state.seq().flatMap(x -> Arrays.asList(x, x)).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqStreamFlatMap(SeqState state, Blackhole bh) {
+		state.seq().stream().flatMap(x -> Arrays.asList(x, x).stream()).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void jdkStreamFlatMap(ListState state, Blackhole bh) {
+		state.list.stream().flatMap(x -> Arrays.asList(x, x).stream()).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void arrayListFlatMap(ListState state, Blackhole bh) {
+		final List<Integer> result = new ArrayList<>(state.list.size() * 2);
+		for (Integer x : state.list) {
+			result.addAll(Arrays.asList(x, x));
+		}
+		bh.consume(result);
+	}
+
+	// map / filter / map pipeline
+
+	@Benchmark
+	public void lazySeqViewPipeline(SeqState state, Blackhole bh) {
+		state.seq().view().map(x -> x + 1).filter(x -> x % 2 == 0).map(x -> x * 3).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqStreamPipeline(SeqState state, Blackhole bh) {
+		state.seq().stream().map(x -> x + 1).filter(x -> x % 2 == 0).map(x -> x * 3).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void jdkStreamPipeline(ListState state, Blackhole bh) {
+		state.list.stream().map(x -> x + 1).filter(x -> x % 2 == 0).map(x -> x * 3).forEach(bh::consume);
+	}
+
+	// distinct
+
+	@Benchmark
+	public void lazySeqDistinct(SeqState state, Blackhole bh) {
+		state.seq().distinct().forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqStreamDistinct(SeqState state, Blackhole bh) {
+		state.seq().stream().distinct().forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void jdkStreamDistinct(ListState state, Blackhole bh) {
+		state.list.stream().distinct().forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void arrayListDistinct(ListState state, Blackhole bh) {
+		bh.consume(new ArrayList<>(new LinkedHashSet<>(state.list)));
+	}
+
+	// sorted
+
+	@Benchmark
+	public void lazySeqSorted(SeqState state, Blackhole bh) {
+		state.seq().sorted().forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqStreamSorted(SeqState state, Blackhole bh) {
+		state.seq().stream().sorted().forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void jdkStreamSorted(ListState state, Blackhole bh) {
+		state.list.stream().sorted().forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void arrayListSorted(ListState state, Blackhole bh) {
+		final List<Integer> copy = new ArrayList<>(state.list);
+		copy.sort(null);
+		bh.consume(copy);
+	}
+
+	// groupBy
+
+	@Benchmark
+	public void lazySeqGroupBy(SeqState state, Blackhole bh) {
+		state.seq().groupBy(x -> x % 100).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void jdkStreamGroupBy(ListState state, Blackhole bh) {
+		bh.consume(state.list.stream().collect(Collectors.groupingBy(x -> x % 100)));
+	}
+
+	@Benchmark
+	public void arrayListGroupBy(ListState state, Blackhole bh) {
+		final Map<Integer, List<Integer>> groups = new HashMap<>();
+		for (Integer x : state.list) {
+			groups.computeIfAbsent(x % 100, k -> new ArrayList<>()).add(x);
+		}
+		bh.consume(groups);
+	}
+
+	// sliding / grouped
+
+	@Benchmark
+	public void lazySeqSliding(SeqState state, Blackhole bh) {
+		state.seq().sliding(WINDOW).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void arrayListSliding(ListState state, Blackhole bh) {
+		final List<Integer> list = state.list;
+		for (int i = 0; i + WINDOW <= list.size(); i++) {
+			bh.consume(list.subList(i, i + WINDOW));
+		}
+	}
+
+	@Benchmark
+	public void lazySeqGrouped(SeqState state, Blackhole bh) {
+		state.seq().grouped(WINDOW).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void arrayListGrouped(ListState state, Blackhole bh) {
+		final List<Integer> list = state.list;
+		for (int i = 0; i < list.size(); i += WINDOW) {
+			bh.consume(list.subList(i, Math.min(i + WINDOW, list.size())));
+		}
+	}
+
+	// remaining operators
+
+	@Benchmark
+	public void lazySeqZip(SeqState state, Blackhole bh) {
+		state.seq().zip(state.seq(), (a, b) -> a + b).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqZipWithIndex(SeqState state, Blackhole bh) {
+		state.seq().zipWithIndex().forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqScan(SeqState state, Blackhole bh) {
+		state.seq().scan(0, (a, b) -> a + b).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqTakeWhile(SeqState state, Blackhole bh) {
+		state.seq().takeWhile(x -> x >= 0).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqDropWhile(SeqState state, Blackhole bh) {
+		state.seq().dropWhile(x -> x < state.size / 4).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqTake(SeqState state, Blackhole bh) {
+		state.seq().take(state.size / 2).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqDrop(SeqState state, Blackhole bh) {
+		state.seq().drop(state.size / 2).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqTakeRight(SeqState state, Blackhole bh) {
+		state.seq().takeRight(state.size / 2).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqDropRight(SeqState state, Blackhole bh) {
+		state.seq().dropRight(state.size / 2).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqReverse(SeqState state, Blackhole bh) {
+		state.seq().reverse().forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqConcat(SeqState state, Blackhole bh) {
+		state.seq().concat(state.seq()).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void lazySeqMapFilterMap(SeqState state, Blackhole bh) {
+		state.seq().map(x -> x + 1).filter(x -> x % 2 == 0).map(x -> x * 3).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void jdkStreamMapFilterMap(ListState state, Blackhole bh) {
+		state.list.stream().map(x -> x + 1).filter(x -> x % 2 == 0).map(x -> x * 3).forEach(bh::consume);
+	}
+
+}
@@ -0,0 +1,76 @@
+package de.endrullis.lazyseq.benchmarks;
+
+import de.endrullis.lazyseq.LazyTupleSeq;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * {@link LazyTupleSeq} specific operations compared with {@link java.util.stream} and {@link HashMap} loops.
+ *
+ * @author Stefan Endrullis
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TupleSeqBenchmark {
+
+	private static LazyTupleSeq<Integer, Integer> tuples(SeqState state) {
+		return state.seq().zipWithIndex();
+	}
+
+	@Benchmark
+	public void tupleSeqMapValues(SeqState state, Blackhole bh) {
+		tuples(state).mapValues(i -> i * 2).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void tupleSeqFilter(SeqState state, Blackhole bh) {
+		tuples(state).filter((k, v) -> v % 2 == 0).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void tupleSeqKeys(SeqState state, Blackhole bh) {
+		tuples(state).keys().forEach(bh::consume);
+	}
+
+	@Benchmark
+	public Object tupleSeqToMap(SeqState state) {
+		return tuples(state).toMap();
+	}
+
+	@Benchmark
+	public Object tupleSeqFromMap(SeqState state) {
+		final Map<Integer, Integer> map = new HashMap<>();
+		state.list.forEach(x -> map.put(x, x));
+		return new LazyTupleSeq<>(map).values().reduce(0, (a, b) -> a + b);
+	}
+
+	@Benchmark
+	public void tupleSeqSortedBy(SeqState state, Blackhole bh) {
+		tuples(state).sortedBy((k, v) -> -v).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public Object jdkStreamToMap(ListState state) {
+		return IntStream.range(0, state.list.size()).boxed()
+				.collect(Collectors.toMap(state.list::get, i -> i, (a, b) -> b));
+	}
+
+	@Benchmark
+	public Object hashMapLoop(ListState state) {
+		final Map<Integer, Integer> map = new HashMap<>();
+		for (int i = 0; i < state.list.size(); i++) {
+			map.put(state.list.get(i), i);
+		}
+		return map;
+	}
+
+}
@@ -0,0 +1,57 @@
+package de.endrullis.lazyseq.benchmarks;
+
+import de.endrullis.lazyseq.LazySeq;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Traversing all windows of {@link LazySeq#sliding(int)} and all groups of {@link LazySeq#grouped(int)} over a fully
+ * realized sequence of memoized cells.
+ *
+ * @author Stefan Endrullis
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class WindowBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class RealizedSeq {
+		@Param({"10000000"})
+		public int size;
+
+		@Param({"10", "1000"})
+		public int window;
+
+		LazySeq<Integer> seq;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			seq = LazySeq.iterate(0, x -> x + 1).take(size).force();
+		}
+	}
+
+	@Benchmark
+	public void sliding(RealizedSeq state, Blackhole bh) {
+		state.seq.sliding(state.window).forEach(w -> bh.consume(w.get(w.size() - 1)));
+	}
+
+	/** Walks the memoized cells of the windows instead of the internal iteration used by <code>forEach</code>. */
+	@Benchmark
+	public void slidingCells(RealizedSeq state, Blackhole bh) {
+		for (List<Integer> w : state.seq.sliding(state.window)) {
+			bh.consume(w.get(w.size() - 1));
+		}
+	}
+
+	@Benchmark
+	public void grouped(RealizedSeq state, Blackhole bh) {
+		state.seq.grouped(state.window).forEach(g -> bh.consume(g.get(g.size() - 1)));
+	}
+
+}
@@ -0,0 +1,67 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@link IndexedSeq} backed by an array.  The array must not be modified afterwards and must not contain
+ * <code>null</code> elements.
+ *
+ * @author Stefan Endrullis
+ */
+final class ArraySeq<E> extends IndexedSeq<E> {
+
+	private final Object[] array;
+	/** Cached hash code; <code>0</code> if not computed yet (benign race). */
+	private int hashCode;
+
+	private ArraySeq(@NotNull Object[] array, int from, int to, boolean reversed) {
+		super(from, to, reversed);
+		this.array = array;
+	}
+
+	@NotNull
+	static <E> LazySeq<E> ofArray(@NotNull Object[] array) {
+		return array.length == 0 ? empty() : new ArraySeq<>(array, 0, array.length, false);
+	}
+
+	/**
+	 * Returns a view on the elements <code>array[from]</code> to <code>array[to - 1]</code>.
+	 */
+	@NotNull
+	static <E> LazySeq<E> ofArray(@NotNull Object[] array, int from, int to) {
+		return from == to ? empty() : new ArraySeq<>(array, from, to, false);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	E at(int index) {
+		return (E) array[index];
+	}
+
+	@NotNull
+	@Override
+	Object store() {
+		return array;
+	}
+
+	@NotNull
+	@Override
+	IndexedSeq<E> window(int from, int to, boolean reversed) {
+		return new ArraySeq<>(array, from, to, reversed);
+	}
+
+	@Override
+	public int hashCode() {
+		int h = hashCode;
+		if (h == 0) {
+			hashCode = h = super.hashCode();
+		}
+		return h;
+	}
+
+	@Override
+	int cachedHashCode() {
+		return hashCode;
+	}
+
+}
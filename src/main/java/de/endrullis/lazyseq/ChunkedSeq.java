@@ -0,0 +1,342 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Chunked {@link LazySeq} in the style of Clojure's chunked sequences.
+ * <p>
+ * Instead of one lazily evaluated cell per element a chunk of up to {@link #DEFAULT_CHUNK_SIZE} elements is stored in an
+ * array and realized at once.  Only the remainder behind the chunk (a {@link MemoTail}) is evaluated lazily,
+ * so allocation and synchronization happen once per chunk instead of once per element.
+ * The cells of a chunk are lightweight views (<code>chunk</code>, <code>offset</code>, <code>end</code>)
+ * sharing the same array and the same {@link MemoTail}.
+ * </p>
+ * <p>
+ * {@link #map(Function)}, {@link #filter(Predicate)}, {@link #flatMap(Function)}, {@link #forEach(Consumer)},
+ * {@link #reduce(Object, BiFunction)}, {@link #size()} and the {@link #iterator()} process a whole chunk at a time.
+ * Note that thereby the mapper, predicate, etc. is applied to all elements of a chunk as soon as the first
+ * element of the chunk is requested.  Only inner results of <code>flatMap</code> that are {@link Collection}s
+ * other than lazy sequences are copied into chunks; any other iterable is read lazily.
+ * </p>
+ *
+ * @author Stefan Endrullis
+ */
+class ChunkedSeq<E> extends LazySeq<E> {
+
+	static final int DEFAULT_CHUNK_SIZE = 32;
+
+	private final Object[] chunk;
+	private final int offset;
+	private final int end;
+	private final MemoTail<E> rest;
+	/** Cached view of the tail within the same chunk (benign race, since all fields of the view are final). */
+	private LazySeq<E> tailView;
+
+	/**
+	 * Creates a view on the elements <code>chunk[offset]</code> to <code>chunk[end - 1]</code> followed by <code>rest</code>.
+	 * The chunk must contain at least one element and all elements must be non-null.
+	 */
+	ChunkedSeq(@NotNull Object[] chunk, int offset, int end, @NotNull MemoTail<E> rest) {
+		this.chunk = chunk;
+		this.offset = offset;
+		this.end = end;
+		this.rest = rest;
+	}
+
+	@NotNull
+	static <E> LazySeq<E> ofIterator(@NotNull Iterator<E> iterator, int chunkSize) {
+		if (!iterator.hasNext()) {
+			return empty();
+		}
+		final Object[] chunk = new Object[chunkSize];
+		int n = 0;
+		do {
+			chunk[n++] = Objects.requireNonNull(iterator.next());
+		} while (n < chunkSize && iterator.hasNext());
+		final MemoTail<E> rest = n < chunkSize ? MemoTail.empty() : new MemoTail<>(() -> ofIterator(iterator, chunkSize));
+		return new ChunkedSeq<>(chunk, 0, n, rest);
+	}
+
+	@NotNull
+	static <E> LazySeq<E> tabulate(int start, @NotNull Function<Integer, E> generator, int chunkSize) {
+		final Object[] chunk = new Object[chunkSize];
+		for (int i = 0; i < chunkSize; i++) {
+			chunk[i] = Objects.requireNonNull(generator.apply(start + i));
+		}
+		return new ChunkedSeq<>(chunk, 0, chunkSize, new MemoTail<>(() -> tabulate(start + chunkSize, generator, chunkSize)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private E element(int index) {
+		return (E) chunk[index];
+	}
+
+	@NotNull
+	@Override
+	public E head() {
+		return element(offset);
+	}
+
+	@NotNull
+	@Override
+	public LazySeq<E> tail() {
+		if (offset + 1 < end) {
+			LazySeq<E> tail = tailView;
+			if (tail == null) {
+				tailView = tail = new ChunkedSeq<>(chunk, offset + 1, end, rest);
+			}
+			return tail;
+		}
+		return rest.get();
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		return offset + 1 < end || rest.isDefined();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+	@NotNull
+	@Override
+	public E get(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		final LazySeq<E> seq = dropUnsafe(index);
+		if (seq.isEmpty()) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		return seq.head();
+	}
+
+	@NotNull
+	@Override
+	public <R> LazySeq<R> map(@NotNull Function<? super E, ? extends R> mapper) {
+		final Object[] mapped = new Object[end - offset];
+		for (int i = offset; i < end; i++) {
+			mapped[i - offset] = Objects.requireNonNull(mapper.apply(element(i)));
+		}
+		return new ChunkedSeq<>(mapped, 0, mapped.length, rest.then(seq -> seq.map(mapper)));
+	}
+
+	@NotNull
+	@Override
+	public LazySeq<E> filter(@NotNull Predicate<? super E> predicate) {
+		LazySeq<E> cur = this;
+		while (cur instanceof ChunkedSeq) {
+			final ChunkedSeq<E> c = (ChunkedSeq<E>) cur;
+			Object[] filtered = null;
+			int n = 0;
+			for (int i = c.offset; i < c.end; i++) {
+				final E e = c.element(i);
+				if (predicate.test(e)) {
+					if (filtered == null) {
+						filtered = new Object[c.end - i];
+					}
+					filtered[n++] = e;
+				}
+			}
+			if (n > 0) {
+				return new ChunkedSeq<>(filtered, 0, n, c.rest.then(seq -> seq.filter(predicate)));
+			}
+			cur = c.rest.get();
+		}
+		return cur.filter(predicate);
+	}
+
+	@NotNull
+	@Override
+	public <R> LazySeq<R> flatMap(@NotNull Function<? super E, ? extends Iterable<? extends R>> mapper) {
+		LazySeq<E> cur = this;
+		while (cur instanceof ChunkedSeq) {
+			final ChunkedSeq<E> c = (ChunkedSeq<E>) cur;
+			final ArrayList<Object> result = new ArrayList<>();
+			for (int i = c.offset; i < c.end; i++) {
+				final Iterable<? extends R> inner = mapper.apply(c.element(i));
+				if (inner instanceof LazySeq || !(inner instanceof Collection)) {
+					// possibly infinite: continue lazily from this element on
+					final LazySeq<E> source = i == c.offset ? c : new ChunkedSeq<>(c.chunk, i, c.end, c.rest);
+					if (result.isEmpty()) {
+						return FlatMap.of(inner, source, mapper);
+					}
+					return new ChunkedSeq<>(result.toArray(), 0, result.size(), new MemoTail<>(() -> FlatMap.of(inner, source, mapper)));
+				}
+				for (R r : inner) {
+					result.add(Objects.requireNonNull(r));
+				}
+			}
+			if (!result.isEmpty()) {
+				return new ChunkedSeq<>(result.toArray(), 0, result.size(), c.rest.then(seq -> seq.flatMap(mapper)));
+			}
+			cur = c.rest.get();
+		}
+		return cur.flatMap(mapper);
+	}
+
+	@NotNull
+	@Override
+	protected LazySeq<E> takeUnsafe(long maxSize) {
+		final int remaining = end - offset;
+		if (maxSize <= remaining) {
+			return new ChunkedSeq<>(chunk, offset, offset + (int) maxSize, MemoTail.empty());
+		}
+		return new ChunkedSeq<>(chunk, offset, end, rest.then(seq -> seq.takeUnsafe(maxSize - remaining)));
+	}
+
+	@Override
+	protected LazySeq<E> dropUnsafe(long startInclusive) {
+		LazySeq<E> cur = this;
+		while (startInclusive > 0 && cur instanceof ChunkedSeq) {
+			final ChunkedSeq<E> c = (ChunkedSeq<E>) cur;
+			final int remaining = c.end - c.offset;
+			if (startInclusive < remaining) {
+				return new ChunkedSeq<>(c.chunk, c.offset + (int) startInclusive, c.end, c.rest);
+			}
+			startInclusive -= remaining;
+			cur = c.rest.get();
+		}
+		return startInclusive > 0 ? cur.dropUnsafe(startInclusive) : cur;
+	}
+
+	@Override
+	public void forEach(@NotNull Consumer<? super E> action) {
+		LazySeq<E> cur = this;
+		while (cur instanceof ChunkedSeq) {
+			final ChunkedSeq<E> c = (ChunkedSeq<E>) cur;
+			for (int i = c.offset; i < c.end; i++) {
+				action.accept(c.element(i));
+			}
+			cur = c.rest.get();
+		}
+		cur.forEach(action);
+	}
+
+	@Override
+	boolean forEachWhile(@NotNull Predicate<? super E> sink) {
+		LazySeq<E> cur = this;
+		while (cur instanceof ChunkedSeq) {
+			final ChunkedSeq<E> c = (ChunkedSeq<E>) cur;
+			for (int i = c.offset; i < c.end; i++) {
+				if (!sink.test(c.element(i))) {
+					return false;
+				}
+			}
+			cur = c.rest.get();
+		}
+		return cur.forEachWhile(sink);
+	}
+
+	@NotNull
+	@Override
+	public <U> U reduce(@NotNull U identity, @NotNull BiFunction<U, ? super E, U> accumulator) {
+		U result = identity;
+		LazySeq<E> cur = this;
+		while (cur instanceof ChunkedSeq) {
+			final ChunkedSeq<E> c = (ChunkedSeq<E>) cur;
+			for (int i = c.offset; i < c.end; i++) {
+				result = accumulator.apply(result, c.element(i));
+			}
+			cur = c.rest.get();
+		}
+		return cur.reduce(result, accumulator);
+	}
+
+	@Override
+	public int size() {
+		int size = 0;
+		LazySeq<E> cur = this;
+		while (cur instanceof ChunkedSeq) {
+			final ChunkedSeq<E> c = (ChunkedSeq<E>) cur;
+			size += c.end - c.offset;
+			cur = c.rest.get();
+		}
+		return size + cur.size();
+	}
+
+	@NotNull
+	@Override
+	public Iterator<E> iterator() {
+		return new ChunkedIterator<>(this);
+	}
+
+	/**
+	 * Iterator that walks the chunks directly and evaluates the rest of a chunk only when its elements are needed.
+	 * If the sequence continues with non-chunked cells, the iteration is delegated to the iterator of those cells.
+	 */
+	private static final class ChunkedIterator<E> implements Iterator<E> {
+
+		private Object[] chunk;
+		private int index;
+		private int end;
+		private MemoTail<E> rest;
+		private Iterator<E> delegate;
+
+		ChunkedIterator(@NotNull ChunkedSeq<E> seq) {
+			load(seq);
+		}
+
+		private void load(@NotNull ChunkedSeq<E> seq) {
+			chunk = seq.chunk;
+			index = seq.offset;
+			end = seq.end;
+			rest = seq.rest;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (delegate != null) {
+				return delegate.hasNext();
+			}
+			while (index == end) {
+				if (rest == null) {
+					return false;
+				}
+				final LazySeq<E> next = rest.get();
+				if (next instanceof ChunkedSeq) {
+					load((ChunkedSeq<E>) next);
+				} else {
+					rest = null;
+					if (next.isEmpty()) {
+						return false;
+					}
+					delegate = next.iterator();
+					return delegate.hasNext();
+				}
+			}
+			return true;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public E next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			if (delegate != null) {
+				return delegate.next();
+			}
+			return (E) chunk[index++];
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException("remove");
+		}
+
+	}
+
+}
@@ -0,0 +1,305 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * {@link LazySeq} whose elements are given by a closed formula over their index, e.g.
+ * {@link LazySeq#numbers(int, int)}, {@link LazySeq#range(int, int, int)}, {@link LazySeq#closedFormTabulate(int, Function)}
+ * and {@link LazySeq#continually(Object)}.
+ * <p>
+ * The sequence is a window <code>[offset, end)</code> on the indices of the formula; infinite sequences have
+ * <code>end == </code>{@link #UNBOUNDED}.  No cells are memoized: {@link #get(int)}, {@link #drop(long)},
+ * {@link #take(long)}, {@link #slice(long, long)}, {@link #last()}, {@link #takeRight(long)}, {@link #dropRight(long)}
+ * and (for finite sequences) {@link #size()} run in constant time and compute the elements on access.  The spliterator splits the index range without
+ * evaluating any elements.
+ * </p>
+ * <p>
+ * To keep {@link #toString()} as lazy as for memoized sequences, each view records the largest index that has been
+ * reached by {@link #tail()}, {@link #get(int)}, {@link #drop(long)} or a traversal via {@link #forEach(Consumer)}
+ * and passes it on to the views it creates.  The iterator and the spliterator do not record anything.
+ * </p>
+ *
+ * @author Stefan Endrullis
+ */
+final class ClosedFormSeq<E> extends LazySeq<E> {
+
+	static final long UNBOUNDED = Long.MAX_VALUE;
+
+	private final LongFunction<? extends E> formula;
+	private final long offset;
+	private final long end;
+	/**
+	 * Largest index whose cell would have been evaluated if this sequence was memoized.  Only used for
+	 * {@link #toString()}, so that lost updates of concurrent accesses do not matter.
+	 */
+	private long evaluated;
+
+	private ClosedFormSeq(@NotNull LongFunction<? extends E> formula, long offset, long end, long evaluated) {
+		this.formula = formula;
+		this.offset = offset;
+		this.end = end;
+		this.evaluated = evaluated;
+	}
+
+	/**
+	 * Returns the sequence <code>formula(0), formula(1), ..., formula(size - 1)</code>
+	 * or an infinite sequence if <code>size</code> is {@link #UNBOUNDED}.
+	 */
+	@NotNull
+	static <E> LazySeq<E> of(@NotNull LongFunction<? extends E> formula, long size) {
+		if (size <= 0) {
+			return empty();
+		}
+		return new ClosedFormSeq<>(formula, 0, size, 0);
+	}
+
+	@NotNull
+	private LazySeq<E> view(long offset, long end) {
+		return offset >= end ? empty() : new ClosedFormSeq<>(formula, offset, end, evaluated);
+	}
+
+	@NotNull
+	private E element(long index) {
+		return Objects.requireNonNull(formula.apply(index));
+	}
+
+	private void evaluated(long index) {
+		if (index > evaluated) {
+			evaluated = index;
+		}
+	}
+
+	private boolean isBounded() {
+		return end != UNBOUNDED;
+	}
+
+	@NotNull
+	@Override
+	public E head() {
+		return element(offset);
+	}
+
+	@NotNull
+	@Override
+	public LazySeq<E> tail() {
+		evaluated(offset + 1);
+		return view(offset + 1, end);
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		return offset < evaluated;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+	@NotNull
+	@Override
+	public E get(int index) {
+		if (index < 0 || index >= end - offset) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		evaluated(offset + index);
+		return element(offset + index);
+	}
+
+	@NotNull
+	@Override
+	public E last() {
+		if (!isBounded()) {
+			throw new IllegalStateException("last element of an infinite sequence");
+		}
+		evaluated(end);
+		return element(end - 1);
+	}
+
+	@Override
+	public int size() {
+		if (!isBounded()) {
+			throw new IllegalStateException("size of an infinite sequence");
+		}
+		evaluated(end);
+		return (int) Math.min(end - offset, Integer.MAX_VALUE);
+	}
+
+	@Override
+	long knownSize() {
+		return isBounded() ? end - offset : -1;
+	}
+
+	@Override
+	protected LazySeq<E> dropUnsafe(long startInclusive) {
+		if (startInclusive == 0) {
+			return this;
+		}
+		if (startInclusive >= end - offset) {
+			evaluated(end);
+			return empty();
+		}
+		evaluated(offset + startInclusive);
+		return view(offset + startInclusive, end);
+	}
+
+	@NotNull
+	@Override
+	protected LazySeq<E> takeUnsafe(long maxSize) {
+		return maxSize >= end - offset ? this : view(offset, offset + maxSize);
+	}
+
+	@NotNull
+	@Override
+	public LazySeq<E> takeRight(long maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException(Long.toString(maxSize));
+		}
+		if (!isBounded()) {
+			throw new IllegalStateException("takeRight of an infinite sequence");
+		}
+		if (maxSize == 0) {
+			return empty();
+		}
+		return maxSize >= end - offset ? this : dropUnsafe(end - offset - maxSize);
+	}
+
+	@NotNull
+	@Override
+	public LazySeq<E> dropRight(long numberOfItemsToDropAtEnd) {
+		if (numberOfItemsToDropAtEnd < 0) {
+			throw new IllegalArgumentException(Long.toString(numberOfItemsToDropAtEnd));
+		}
+		if (!isBounded() || numberOfItemsToDropAtEnd == 0) {
+			return this;
+		}
+		return numberOfItemsToDropAtEnd >= end - offset ? empty() : view(offset, end - numberOfItemsToDropAtEnd);
+	}
+
+	@NotNull
+	@Override
+	public LazySeq<E> withSkipIndex(int interval) {
+		if (interval <= 0) {
+			throw new IllegalArgumentException(Integer.toString(interval));
+		}
+		return this;
+	}
+
+	@NotNull
+	@Override
+	public <R> LazySeq<R> map(@NotNull Function<? super E, ? extends R> mapper) {
+		return cons(mapper.apply(head()), new OperatorTail.MapTail<>(this, mapper));
+	}
+
+	@Override
+	boolean forEachWhile(@NotNull Predicate<? super E> sink) {
+		for (long i = offset; i < end; i++) {
+			if (!sink.test(element(i))) {
+				evaluated(i);
+				return false;
+			}
+		}
+		evaluated(end);
+		return true;
+	}
+
+	@NotNull
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private long index = offset;
+
+			@Override
+			public boolean hasNext() {
+				return index < end;
+			}
+
+			@Override
+			public E next() {
+				if (index >= end) {
+					throw new NoSuchElementException();
+				}
+				return element(index++);
+			}
+		};
+	}
+
+	@NotNull
+	@Override
+	public Spliterator<E> spliterator() {
+		return new IndexSpliterator(offset, end);
+	}
+
+	/**
+	 * Spliterator over the indices <code>[from, to)</code>.  Finite ranges are split in halves;
+	 * infinite ranges are split into prefixes of growing size like the spliterators of the JDK.
+	 */
+	private final class IndexSpliterator implements Spliterator<E> {
+		private long from;
+		private final long to;
+		private int batch = 0;
+
+		IndexSpliterator(long from, long to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super E> action) {
+			if (from >= to) {
+				return false;
+			}
+			action.accept(element(from++));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super E> action) {
+			for (long i = from; i < to; i++) {
+				action.accept(element(i));
+			}
+			from = to;
+		}
+
+		@Override
+		public Spliterator<E> trySplit() {
+			final long length;
+			if (to == UNBOUNDED) {
+				batch = Math.min(batch + LazySeqSpliterator.BATCH_UNIT, LazySeqSpliterator.MAX_BATCH);
+				length = batch;
+			} else {
+				length = (to - from) / 2;
+			}
+			if (length <= 0) {
+				return null;
+			}
+			final Spliterator<E> prefix = new IndexSpliterator(from, from + length);
+			from += length;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return to == UNBOUNDED ? Long.MAX_VALUE : to - from;
+		}
+
+		@Override
+		public int characteristics() {
+			if (to == UNBOUNDED) {
+				return ORDERED | IMMUTABLE | NONNULL;
+			} else {
+				return ORDERED | IMMUTABLE | NONNULL | SIZED | SUBSIZED;
+			}
+		}
+	}
+
+}
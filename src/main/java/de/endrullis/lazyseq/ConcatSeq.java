@@ -0,0 +1,188 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Lazy concatenation of a non-empty sequence with a list of memoized, lazily evaluated parts
+ * (a rope of sequences).
+ * <p>
+ * Creating the concatenation evaluates nothing; a part is evaluated only when the traversal reaches its junction.
+ * Nested concatenations are flattened iteratively: the parts of a concatenation in <code>first</code> position
+ * are put in front of the own parts.  Thus head, tail and all terminal operations are stack-safe even for deeply
+ * left-nested chains like <code>a.concat(b).concat(c).concat(d)...</code> or recursively defined
+ * right-nested chains like <code>pages(n) = concat(page(n), () -&gt; pages(n + 1))</code>.
+ * </p>
+ *
+ * @author Stefan Endrullis
+ */
+final class ConcatSeq<E> extends LazySeq<E> {
+
+	/** Non-empty first sequence. */
+	private final LazySeq<E> first;
+	/** Parts following <code>first</code>; never <code>null</code>. */
+	private final Parts<E> rest;
+	/** Flattened form (benign race, since all fields of {@link Parts} are final). */
+	private ConcatSeq<E> flat;
+	/** Cached tail (benign race). */
+	private LazySeq<E> tail;
+
+	private ConcatSeq(@NotNull LazySeq<E> first, @NotNull Parts<E> rest) {
+		this.first = first;
+		this.rest = rest;
+	}
+
+	/**
+	 * Returns the concatenation of <code>left</code> and the lazily evaluated <code>right</code>.
+	 * <code>right</code> is evaluated immediately only if <code>left</code> is empty.
+	 */
+	@NotNull
+	static <E> LazySeq<E> of(@NotNull LazySeq<E> left, @NotNull MemoTail<E> right) {
+		if (left.isEmpty()) {
+			return right.get();
+		}
+		return new ConcatSeq<>(left, new Parts<>(right, null));
+	}
+
+	/**
+	 * Returns this concatenation with a first sequence that is not a concatenation itself.
+	 */
+	@NotNull
+	private ConcatSeq<E> flat() {
+		ConcatSeq<E> f = flat;
+		if (f == null) {
+			LazySeq<E> cur = first;
+			Parts<E> parts = rest;
+			while (cur instanceof ConcatSeq) {
+				final ConcatSeq<E> c = (ConcatSeq<E>) cur;
+				parts = Parts.append(c.rest, parts);
+				cur = c.first;
+			}
+			flat = f = cur == first ? this : new ConcatSeq<>(cur, parts);
+		}
+		return f;
+	}
+
+	@NotNull
+	@Override
+	public E head() {
+		return flat().first.head();
+	}
+
+	@NotNull
+	@Override
+	public LazySeq<E> tail() {
+		LazySeq<E> t = tail;
+		if (t == null) {
+			final ConcatSeq<E> f = flat();
+			t = f.first.tail();
+			Parts<E> parts = f.rest;
+			while (t.isEmpty() && parts != null) {
+				t = parts.part.get();
+				parts = parts.next;
+			}
+			tail = t = parts == null ? t : new ConcatSeq<>(t, parts);
+		}
+		return t;
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		final ConcatSeq<E> f = flat();
+		if (!f.first.isTailDefined()) {
+			return false;
+		}
+		if (!f.first.tail().isEmpty()) {
+			return true;
+		}
+		for (Parts<E> parts = f.rest; parts != null; parts = parts.next) {
+			if (!parts.part.isDefined()) {
+				return false;
+			}
+			if (!parts.part.get().isEmpty()) {
+				return true;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+	@Override
+	boolean forEachWhile(@NotNull Predicate<? super E> sink) {
+		LazySeq<E> cur = first;
+		Parts<E> parts = rest;
+		while (true) {
+			while (cur instanceof ConcatSeq) {
+				final ConcatSeq<E> c = (ConcatSeq<E>) cur;
+				parts = Parts.append(c.rest, parts);
+				cur = c.first;
+			}
+			if (!cur.forEachWhile(sink)) {
+				return false;
+			}
+			if (parts == null) {
+				return true;
+			}
+			cur = parts.part.get();
+			parts = parts.next;
+		}
+	}
+
+	@NotNull
+	@Override
+	public <R> LazySeq<R> map(@NotNull Function<? super E, ? extends R> mapper) {
+		return cons(mapper.apply(head()), new OperatorTail.MapTail<>(this, mapper));
+	}
+
+	@NotNull
+	@Override
+	protected LazySeq<E> takeUnsafe(long maxSize) {
+		if (maxSize > 1) {
+			return cons(head(), new OperatorTail.TakeTail<>(this, maxSize - 1));
+		} else {
+			return LazySeq.of(head());
+		}
+	}
+
+	/**
+	 * Immutable linked list of the parts of a concatenation.
+	 */
+	private static final class Parts<E> {
+		final MemoTail<E> part;
+		final Parts<E> next;
+
+		Parts(@NotNull MemoTail<E> part, Parts<E> next) {
+			this.part = part;
+			this.next = next;
+		}
+
+		/**
+		 * Returns the list <code>front</code> followed by <code>back</code>; copies <code>front</code>.
+		 */
+		static <E> Parts<E> append(@NotNull Parts<E> front, Parts<E> back) {
+			if (back == null) {
+				return front;
+			}
+			if (front.next == null) {
+				return new Parts<>(front.part, back);
+			}
+			final ArrayList<MemoTail<E>> list = new ArrayList<>();
+			for (Parts<E> p = front; p != null; p = p.next) {
+				list.add(p.part);
+			}
+			Parts<E> result = back;
+			for (int i = list.size() - 1; i >= 0; i--) {
+				result = new Parts<>(list.get(i), result);
+			}
+			return result;
+		}
+	}
+
+}
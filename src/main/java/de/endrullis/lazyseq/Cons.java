@@ -2,7 +2,6 @@ package de.endrullis.lazyseq;
 
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.Objects;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -13,8 +12,14 @@ import java.util.function.Supplier;
  */
 class Cons<E> extends LazySeq<E> {
 	private final E head;
-	private volatile LazySeq<E> tailOrNull;
-	private final Supplier<LazySeq<E>> tailFun;
+	/**
+	 * Either <code>null</code> (tail not evaluated yet), the {@link Thread} evaluating the tail,
+	 * an {@link Evaluation} (tail is being evaluated and other threads are waiting for it),
+	 * or the evaluated tail ({@link LazySeq}).  Updated via {@link ConsTailAccess}.
+	 */
+	volatile Object tail;
+	/** Released once the tail is memoized, so that the captured source cells can be garbage collected. */
+	private Supplier<LazySeq<E>> tailFun;
 
 	Cons(@NotNull E head, @NotNull Supplier<LazySeq<E>> tailFun) {
 		this.head = Objects.requireNonNull(head);
@@ -27,42 +32,94 @@ class Cons<E> extends LazySeq<E> {
 		return head;
 	}
 
+	/**
+	 * Returns the memoized tail.  The tail function is evaluated exactly once:
+	 * the evaluating thread claims the cell via compare-and-set without taking a lock and without allocation,
+	 * and concurrent callers wait until the evaluation has finished.
+	 * If the tail function throws an exception the cell is released again, and the next call retries the evaluation.
+	 */
 	@NotNull
 	@Override
+	@SuppressWarnings("unchecked")
 	public LazySeq<E> tail() {
-		if (!isTailDefined()) {
-			synchronized (this) {
-				if (!isTailDefined()) {
-					tailOrNull = tailFun.get();
+		final Object t = tail;
+		if (t instanceof LazySeq) {
+			return (LazySeq<E>) t;
+		}
+		return evaluateTail();
+	}
+
+	@NotNull
+	@SuppressWarnings("unchecked")
+	private LazySeq<E> evaluateTail() {
+		final Thread current = Thread.currentThread();
+		int spins = 0;
+		while (true) {
+			final Object t = tail;
+			if (t instanceof LazySeq) {
+				return (LazySeq<E>) t;
+			} else if (t == null) {
+				if (ConsTailAccess.compareAndSet(this, null, current)) {
+					final LazySeq<E> result;
+					try {
+						result = Objects.requireNonNull(tailFun.get());
+					} catch (Throwable e) {
+						publish(current, null);
+						throw e;
+					}
+					tailFun = null;
+					publish(current, result);
+					return result;
 				}
+			} else {
+				final Thread owner = t instanceof Evaluation ? ((Evaluation) t).owner : (Thread) t;
+				if (owner == current) {
+					throw new IllegalStateException("the tail of a LazySeq depends on itself");
+				}
+				if (spins < Evaluation.SPINS) {
+					ConsTailAccess.onSpinWait();
+				} else if (spins < Evaluation.SPINS + Evaluation.YIELDS) {
+					Thread.yield();
+				} else if (t instanceof Evaluation) {
+					((Evaluation) t).await();
+				} else {
+					// register as waiter by replacing the owner thread with an Evaluation
+					final Evaluation evaluation = new Evaluation(owner);
+					if (ConsTailAccess.compareAndSet(this, t, evaluation)) {
+						evaluation.await();
+					}
+				}
+				spins++;
 			}
 		}
-		return tailOrNull;
+	}
+
+	/**
+	 * Ends the evaluation of the owner thread by setting the tail to <code>value</code> and waking up waiting threads.
+	 */
+	private void publish(@NotNull Thread owner, Object value) {
+		if (!ConsTailAccess.compareAndSet(this, owner, value)) {
+			final Evaluation evaluation = (Evaluation) tail;
+			tail = value;
+			evaluation.finish();
+		}
 	}
 
 	@Override
 	protected boolean isTailDefined() {
-		return tailOrNull != null;
+		return tail instanceof LazySeq;
 	}
 
 	@NotNull
 	public <R> LazySeq<R> map(@NotNull Function<? super E, ? extends R> mapper) {
-		return cons(mapper.apply(head()), () -> tail().map(mapper));
-	}
-
-	@NotNull
-	@Override
-	public <R> LazySeq<R> flatMap(@NotNull Function<? super E, ? extends Iterable<? extends R>> mapper) {
-		final ArrayList<R> result = new ArrayList<>();
-		mapper.apply(head).forEach(result::add);
-		return concat(result, () -> tail().flatMap(mapper));
+		return cons(mapper.apply(head()), new OperatorTail.MapTail<>(this, mapper));
 	}
 
 	@NotNull
 	@Override
 	protected LazySeq<E> takeUnsafe(long maxSize) {
 		if (maxSize > 1) {
-			return cons(head, () -> tail().takeUnsafe(maxSize - 1));
+			return cons(head, new OperatorTail.TakeTail<>(this, maxSize - 1));
 		} else {
 			return LazySeq.of(head);
 		}
@@ -73,4 +130,39 @@ class Cons<E> extends LazySeq<E> {
 		return false;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Marker for a tail that is currently being evaluated while other threads are waiting for it.
+	 * Waiting threads spin for a short time first and create this marker only if they need to block.
+	 */
+	static final class Evaluation {
+		static final int SPINS = 1 << 6;
+		static final int YIELDS = 1 << 8;
+
+		final Thread owner;
+		private boolean finished;
+
+		Evaluation(@NotNull Thread owner) {
+			this.owner = owner;
+		}
+
+		synchronized void finish() {
+			finished = true;
+			notifyAll();
+		}
+
+		synchronized void await() {
+			boolean interrupted = false;
+			while (!finished) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,31 @@
+package de.endrullis.lazyseq;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Atomic access to {@link Cons#tail} based on an {@link AtomicReferenceFieldUpdater}.
+ * <p>
+ * On Java 9 and later this class is replaced by a {@link java.lang.invoke.VarHandle} based variant
+ * (see <code>src/main/java9</code>, packaged as multi-release JAR).
+ * </p>
+ *
+ * @author Stefan Endrullis
+ */
+final class ConsTailAccess {
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<Cons, Object> TAIL =
+			AtomicReferenceFieldUpdater.newUpdater(Cons.class, Object.class, "tail");
+
+	private ConsTailAccess() {
+	}
+
+	static boolean compareAndSet(Cons<?> cons, Object expected, Object update) {
+		return TAIL.compareAndSet(cons, expected, update);
+	}
+
+	static void onSpinWait() {
+		// no spin-wait hint before Java 9
+	}
+
+}
@@ -0,0 +1,118 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Bounded-memory variants of {@link LazySeq#distinct()}: predicates that record the elements passed to them and
+ * return <code>true</code> iff an element is considered new.
+ *
+ * @author Stefan Endrullis
+ */
+final class Distinct {
+
+	private Distinct() {
+	}
+
+	/**
+	 * Returns a predicate that remembers the <code>windowSize</code> most recently seen distinct elements (LRU).
+	 * A repeated element counts as recently seen again.
+	 */
+	@NotNull
+	static <E> Predicate<E> lastSeen(int windowSize) {
+		final Map<E, Boolean> recent = new LinkedHashMap<E, Boolean>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<E, Boolean> eldest) {
+				return size() > windowSize;
+			}
+		};
+		return element -> recent.put(element, Boolean.TRUE) == null;
+	}
+
+	/**
+	 * Returns a predicate backed by a Bloom filter sized for <code>expectedInsertions</code> elements and a false
+	 * positive probability of <code>fpp</code>.
+	 */
+	@NotNull
+	static <E> Predicate<E> approx(long expectedInsertions, double fpp) {
+		return new BloomFilter(expectedInsertions, fpp)::add;
+	}
+
+	/**
+	 * Bloom filter on a <code>long[]</code> bitset.  The <code>k</code> bit positions of an element are derived from
+	 * the two 32-bit halves of its mixed hash code by double hashing (Kirsch and Mitzenmacher).
+	 */
+	static final class BloomFilter {
+		private final long[] bits;
+		private final long bitCount;
+		private final int hashCount;
+
+		BloomFilter(long expectedInsertions, double fpp) {
+			if (expectedInsertions <= 0) {
+				throw new IllegalArgumentException(Long.toString(expectedInsertions));
+			}
+			if (!(fpp > 0 && fpp < 1)) {
+				throw new IllegalArgumentException(Double.toString(fpp));
+			}
+			final double ln2 = Math.log(2);
+			final long m = Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (ln2 * ln2)));
+			final long words = (m + 63) >>> 6;
+			if (words > Integer.MAX_VALUE - 8) {
+				throw new IllegalArgumentException("Bloom filter of " + m + " bits is too large");
+			}
+			this.bits = new long[(int) words];
+			this.bitCount = words << 6;
+			this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+		}
+
+		/**
+		 * Adds the element to the filter.
+		 *
+		 * @return <code>true</code> if the element has definitely not been added before, <code>false</code> if it
+		 * probably has been added before
+		 */
+		boolean add(Object element) {
+			final long hash = mix(element == null ? 0 : element.hashCode());
+			final int h1 = (int) hash;
+			final int h2 = (int) (hash >>> 32);
+			boolean added = false;
+			long combined = h1;
+			for (int i = 0; i < hashCount; i++) {
+				final long index = (combined & Long.MAX_VALUE) % bitCount;
+				final long mask = 1L << index;
+				final int word = (int) (index >>> 6);
+				if ((bits[word] & mask) == 0) {
+					bits[word] |= mask;
+					added = true;
+				}
+				combined += h2;
+			}
+			return added;
+		}
+
+		int hashCount() {
+			return hashCount;
+		}
+
+		long bitCount() {
+			return bitCount;
+		}
+
+		/**
+		 * Spreads the 32-bit hash code over 64 bits (finalizer of MurmurHash3).
+		 */
+		private static long mix(int hashCode) {
+			long h = hashCode;
+			h ^= h >>> 33;
+			h *= 0xff51afd7ed558ccdL;
+			h ^= h >>> 33;
+			h *= 0xc4ceb9fe1a85ec53L;
+			h ^= h >>> 33;
+			return h;
+		}
+	}
+
+}
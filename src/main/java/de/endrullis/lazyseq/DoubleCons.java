@@ -0,0 +1,59 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Non-empty {@link DoubleLazySeq} with an unboxed head and a lazily evaluated, memoized tail.
+ *
+ * @author Stefan Endrullis
+ */
+class DoubleCons extends DoubleLazySeq {
+	private final double head;
+	private volatile DoubleLazySeq tailOrNull;
+	/** Released once the tail is memoized. */
+	private Supplier<DoubleLazySeq> tailFun;
+
+	DoubleCons(double head, @NotNull Supplier<DoubleLazySeq> tailFun) {
+		this.head = head;
+		this.tailFun = Objects.requireNonNull(tailFun);
+	}
+
+	DoubleCons(double head, @NotNull DoubleLazySeq tail) {
+		this.head = head;
+		this.tailOrNull = Objects.requireNonNull(tail);
+		this.tailFun = null;
+	}
+
+	@Override
+	public double head() {
+		return head;
+	}
+
+	@NotNull
+	@Override
+	public DoubleLazySeq tail() {
+		if (!isTailDefined()) {
+			synchronized (this) {
+				if (!isTailDefined()) {
+					tailOrNull = tailFun.get();
+					tailFun = null;
+				}
+			}
+		}
+		return tailOrNull;
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		return tailOrNull != null;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+}
@@ -0,0 +1,546 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy sequence of primitive <code>double</code> values.
+ * <p>
+ * Works like {@link LazySeq} (eagerly computed head, lazily computed and memoized tail),
+ * but keeps the elements unboxed and offers primitive versions of the common operators,
+ * so that numeric pipelines don't pay for boxing.
+ * Use {@link #boxed()}, {@link #mapToObj(DoubleFunction)} and {@link LazySeq#mapToDouble(ToDoubleFunction)} to convert
+ * between primitive and object sequences and {@link #stream()} / {@link #of(DoubleStream)} to convert from and to {@link DoubleStream}s.
+ * </p>
+ *
+ * @author Stefan Endrullis
+ */
+@SuppressWarnings("WeakerAccess")
+public abstract class DoubleLazySeq {
+
+	@NotNull
+	public static DoubleLazySeq empty() {
+		return DoubleNil.instance();
+	}
+
+	@NotNull
+	public static DoubleLazySeq of(@NotNull double... elements) {
+		DoubleLazySeq seq = empty();
+		for (int i = elements.length - 1; i >= 0; i--) {
+			seq = cons(elements[i], seq);
+		}
+		return seq;
+	}
+
+	@NotNull
+	public static DoubleLazySeq of(@NotNull PrimitiveIterator.OfDouble iterator) {
+		if (iterator.hasNext()) {
+			return cons(iterator.nextDouble(), () -> of(iterator));
+		} else {
+			return empty();
+		}
+	}
+
+	/**
+	 * Creates a lazy sequence of the elements of the given stream.
+	 * The stream is consumed only as far as the sequence is evaluated.
+	 *
+	 * @param stream stream of elements
+	 * @return lazy sequence of the stream elements
+	 */
+	@NotNull
+	public static DoubleLazySeq of(@NotNull DoubleStream stream) {
+		return of(stream.iterator());
+	}
+
+	@NotNull
+	public static DoubleLazySeq cons(double head, @NotNull Supplier<DoubleLazySeq> tailFun) {
+		return new DoubleCons(head, tailFun);
+	}
+
+	@NotNull
+	public static DoubleLazySeq cons(double head, @NotNull DoubleLazySeq tail) {
+		return new DoubleCons(head, tail);
+	}
+
+	@NotNull
+	public static DoubleLazySeq numbers(double start) {
+		return numbers(start, 1.0);
+	}
+
+	@NotNull
+	public static DoubleLazySeq numbers(double start, double step) {
+		return cons(start, () -> numbers(start + step, step));
+	}
+
+	@NotNull
+	public static DoubleLazySeq iterate(double initial, @NotNull DoubleUnaryOperator fun) {
+		return cons(initial, () -> iterate(fun.applyAsDouble(initial), fun));
+	}
+
+	@NotNull
+	public static DoubleLazySeq tabulate(int start, @NotNull IntToDoubleFunction generator) {
+		return cons(generator.applyAsDouble(start), () -> tabulate(start + 1, generator));
+	}
+
+	public abstract double head();
+
+	@NotNull
+	public OptionalDouble headOption() {
+		return isEmpty() ? OptionalDouble.empty() : OptionalDouble.of(head());
+	}
+
+	@NotNull
+	public abstract DoubleLazySeq tail();
+
+	protected abstract boolean isTailDefined();
+
+	public abstract boolean isEmpty();
+
+	public boolean nonEmpty() {
+		return !isEmpty();
+	}
+
+	public double get(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		DoubleLazySeq cur = this;
+		for (int curIdx = index; curIdx > 0 && !cur.isEmpty(); --curIdx) {
+			cur = cur.tail();
+		}
+		if (cur.isEmpty()) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		return cur.head();
+	}
+
+	/**
+	 * Returns the last element of the sequence.
+	 * Call this method only on finite sequences.
+	 *
+	 * @return the last element of the sequence
+	 */
+	public double last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException("last of empty sequence");
+		}
+		DoubleLazySeq cur = this;
+		DoubleLazySeq next = cur.tail();
+		while (!next.isEmpty()) {
+			cur = next;
+			next = cur.tail();
+		}
+		return cur.head();
+	}
+
+	public int size() {
+		DoubleLazySeq seq = this;
+		int size = 0;
+		while (!seq.isEmpty()) {
+			size++;
+			seq = seq.tail();
+		}
+		return size;
+	}
+
+	@NotNull
+	public DoubleLazySeq map(@NotNull DoubleUnaryOperator mapper) {
+		if (isEmpty()) {
+			return empty();
+		}
+		return cons(mapper.applyAsDouble(head()), () -> tail().map(mapper));
+	}
+
+	@NotNull
+	public <R> LazySeq<R> mapToObj(@NotNull DoubleFunction<? extends R> mapper) {
+		if (isEmpty()) {
+			return LazySeq.empty();
+		}
+		return LazySeq.cons(mapper.apply(head()), () -> tail().mapToObj(mapper));
+	}
+
+	@NotNull
+	public IntLazySeq mapToInt(@NotNull DoubleToIntFunction mapper) {
+		if (isEmpty()) {
+			return IntLazySeq.empty();
+		}
+		return IntLazySeq.cons(mapper.applyAsInt(head()), () -> tail().mapToInt(mapper));
+	}
+
+	@NotNull
+	public LongLazySeq mapToLong(@NotNull DoubleToLongFunction mapper) {
+		if (isEmpty()) {
+			return LongLazySeq.empty();
+		}
+		return LongLazySeq.cons(mapper.applyAsLong(head()), () -> tail().mapToLong(mapper));
+	}
+
+	/**
+	 * Returns a lazy sequence of boxed <code>Double</code>s.
+	 *
+	 * @return lazy sequence of boxed values
+	 */
+	@NotNull
+	public LazySeq<Double> boxed() {
+		return mapToObj(Double::valueOf);
+	}
+
+	@NotNull
+	public DoubleLazySeq filter(@NotNull DoublePredicate predicate) {
+		DoubleLazySeq curr = this;
+		while (!curr.isEmpty() && !predicate.test(curr.head())) {
+			curr = curr.tail();
+		}
+
+		if (!curr.isEmpty()) {
+			final DoubleLazySeq finalCurr = curr;
+			return cons(curr.head(), () -> finalCurr.tail().filter(predicate));
+		} else {
+			return empty();
+		}
+	}
+
+	@NotNull
+	public DoubleLazySeq take(long maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException(Long.toString(maxSize));
+		}
+		if (maxSize == 0 || isEmpty()) {
+			return empty();
+		}
+		if (maxSize == 1) {
+			return cons(head(), empty());
+		}
+		return cons(head(), () -> tail().take(maxSize - 1));
+	}
+
+	@NotNull
+	public DoubleLazySeq drop(long startInclusive) {
+		if (startInclusive < 0) {
+			throw new IllegalArgumentException(Long.toString(startInclusive));
+		}
+		DoubleLazySeq seq = this;
+		for (; startInclusive > 0 && !seq.isEmpty(); startInclusive--) {
+			seq = seq.tail();
+		}
+		return seq;
+	}
+
+	@NotNull
+	public DoubleLazySeq takeWhile(@NotNull DoublePredicate predicate) {
+		if (!isEmpty() && predicate.test(head())) {
+			return cons(head(), () -> tail().takeWhile(predicate));
+		} else {
+			return empty();
+		}
+	}
+
+	@NotNull
+	public DoubleLazySeq dropWhile(@NotNull DoublePredicate predicate) {
+		DoubleLazySeq seq = this;
+		while (!seq.isEmpty() && predicate.test(seq.head())) {
+			seq = seq.tail();
+		}
+		return seq;
+	}
+
+	public void forEach(@NotNull DoubleConsumer action) {
+		DoubleLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			action.accept(cur.head());
+			cur = cur.tail();
+		}
+	}
+
+	public double reduce(double identity, @NotNull DoubleBinaryOperator accumulator) {
+		double result = identity;
+		DoubleLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			result = accumulator.applyAsDouble(result, cur.head());
+			cur = cur.tail();
+		}
+		return result;
+	}
+
+	@NotNull
+	public OptionalDouble reduce(@NotNull DoubleBinaryOperator accumulator) {
+		if (isEmpty()) {
+			return OptionalDouble.empty();
+		}
+		return OptionalDouble.of(tail().reduce(head(), accumulator));
+	}
+
+	public double sum() {
+		return reduce(0.0, (a, b) -> a + b);
+	}
+
+	@NotNull
+	public OptionalDouble min() {
+		return reduce(Math::min);
+	}
+
+	@NotNull
+	public OptionalDouble max() {
+		return reduce(Math::max);
+	}
+
+	@NotNull
+	public OptionalDouble average() {
+		long count = 0;
+		double sum = 0;
+		DoubleLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			sum += cur.head();
+			count++;
+			cur = cur.tail();
+		}
+		return count == 0 ? OptionalDouble.empty() : OptionalDouble.of(sum / count);
+	}
+
+	/**
+	 * Returns the lazy sequence of the sums of all windows of <code>size</code> consecutive elements.
+	 * If this sequence is non-empty but shorter than <code>size</code> the only sum is that of all elements.
+	 * The sums are updated incrementally in <code>O(1)</code> per window.
+	 * The running sum is recomputed from the window every <code>size</code> elements, so rounding errors do not
+	 * accumulate over the sequence.
+	 *
+	 * @param size size of the windows
+	 * @return sequence of window sums
+	 */
+	@NotNull
+	public DoubleLazySeq slidingSum(int size) {
+		checkWindowSize(size);
+		return DoubleLazySeq.of(SlidingAggregates.sum(iterator(), size));
+	}
+
+	/**
+	 * Returns the lazy sequence of the averages of all windows of <code>size</code> consecutive elements, computed
+	 * incrementally like {@link #slidingSum(int)}.
+	 *
+	 * @param size size of the windows
+	 * @return sequence of window averages
+	 */
+	@NotNull
+	public DoubleLazySeq slidingAverage(int size) {
+		checkWindowSize(size);
+		return DoubleLazySeq.of(SlidingAggregates.average(iterator(), size));
+	}
+
+	/**
+	 * Returns the lazy sequence of the minima of all windows of <code>size</code> consecutive elements.
+	 * Uses a monotonic deque, so every window costs amortized <code>O(1)</code>.
+	 *
+	 * @param size size of the windows
+	 * @return sequence of window minima
+	 */
+	@NotNull
+	public DoubleLazySeq slidingMin(int size) {
+		checkWindowSize(size);
+		return DoubleLazySeq.of(SlidingAggregates.min(iterator(), size));
+	}
+
+	/**
+	 * Returns the lazy sequence of the maxima of all windows of <code>size</code> consecutive elements.
+	 * Uses a monotonic deque, so every window costs amortized <code>O(1)</code>.
+	 *
+	 * @param size size of the windows
+	 * @return sequence of window maxima
+	 */
+	@NotNull
+	public DoubleLazySeq slidingMax(int size) {
+		checkWindowSize(size);
+		return DoubleLazySeq.of(SlidingAggregates.max(iterator(), size));
+	}
+
+	/**
+	 * Returns the lazy sequence of the reductions of all windows of <code>size</code> consecutive elements with the
+	 * given associative operator, which is applied in window order but need not be commutative or invertible.
+	 * The window is kept as two stacks of partial aggregates, so every window costs amortized <code>O(1)</code>
+	 * operator applications.
+	 *
+	 * @param size size of the windows
+	 * @param op   associative operator
+	 * @return sequence of window reductions
+	 */
+	@NotNull
+	public DoubleLazySeq slidingReduce(int size, @NotNull DoubleBinaryOperator op) {
+		checkWindowSize(size);
+		return DoubleLazySeq.of(SlidingAggregates.reduce(iterator(), size, op));
+	}
+
+	private static void checkWindowSize(int size) {
+		if (size <= 0) {
+			throw new IllegalArgumentException(Integer.toString(size));
+		}
+	}
+
+	public boolean anyMatch(@NotNull DoublePredicate predicate) {
+		DoubleLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			if (predicate.test(cur.head())) {
+				return true;
+			}
+			cur = cur.tail();
+		}
+		return false;
+	}
+
+	public boolean allMatch(@NotNull DoublePredicate predicate) {
+		return !anyMatch(predicate.negate());
+	}
+
+	public boolean noneMatch(@NotNull DoublePredicate predicate) {
+		return !anyMatch(predicate);
+	}
+
+	public int count(@NotNull DoublePredicate predicate) {
+		int count = 0;
+		DoubleLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			if (predicate.test(cur.head())) {
+				count++;
+			}
+			cur = cur.tail();
+		}
+		return count;
+	}
+
+	/**
+	 * <p>Converts this sequence to a primitive array.</p>
+	 * <p>Notice that this method will eventually fail at runtime when called on infinite sequence.</p>
+	 *
+	 * @return array of all elements in this lazy sequence
+	 */
+	@NotNull
+	public double[] toArray() {
+		final double[] array = new double[size()];
+		DoubleLazySeq cur = this;
+		for (int i = 0; i < array.length; i++) {
+			array[i] = cur.head();
+			cur = cur.tail();
+		}
+		return array;
+	}
+
+	@NotNull
+	public DoubleLazySeq force() {
+		DoubleLazySeq curr = this;
+		while (!curr.isEmpty()) {
+			curr = curr.tail();
+		}
+		return this;
+	}
+
+	@NotNull
+	public PrimitiveIterator.OfDouble iterator() {
+		return new PrimitiveIterator.OfDouble() {
+			private DoubleLazySeq underlying = DoubleLazySeq.this;
+			private boolean getUnderlyingTail = false;
+
+			private DoubleLazySeq underlying() {
+				if (getUnderlyingTail) {
+					underlying = underlying.tail();
+					getUnderlyingTail = false;
+				}
+				return underlying;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return !underlying().isEmpty();
+			}
+
+			@Override
+			public double nextDouble() {
+				final double next = underlying().head();
+				getUnderlyingTail = true;
+				return next;
+			}
+		};
+	}
+
+	/**
+	 * Returns a sequential, lazily evaluated {@link DoubleStream} of the elements of this sequence.
+	 *
+	 * @return stream of the elements of this sequence
+	 */
+	@NotNull
+	public DoubleStream stream() {
+		return StreamSupport.doubleStream(Spliterators.spliteratorUnknownSize(iterator(),
+				Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL), false);
+	}
+
+	@NotNull
+	public String mkString(@NotNull String sep) {
+		return mkString("", sep, "", false);
+	}
+
+	/**
+	 * Returns a string representation of this sequence.
+	 * If <code>lazy</code> is <code>true</code> the evaluation stops at the first unspecific element.
+	 *
+	 * @param start string that is added in front of the element concatenation
+	 * @param sep   separator
+	 * @param end   string that is appended to the element concatenation
+	 * @param lazy  if <code>true</code> the evaluation stops at the first unspecific element
+	 * @return string representation of this sequence
+	 */
+	@NotNull
+	public String mkString(@NotNull String start, @NotNull String sep, @NotNull String end, boolean lazy) {
+		final StringBuilder s = new StringBuilder(start);
+		DoubleLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			s.append(cur.head());
+			if (!lazy || cur.isTailDefined()) {
+				if (!cur.tail().isEmpty()) {
+					s.append(sep);
+				}
+				cur = cur.tail();
+			} else {
+				s.append(sep).append("?");
+				break;
+			}
+		}
+		return s.append(end).toString();
+	}
+
+	@Override
+	@NotNull
+	public String toString() {
+		return mkString("[", ", ", "]", true);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof DoubleLazySeq)) return false;
+
+		DoubleLazySeq left = this;
+		DoubleLazySeq right = (DoubleLazySeq) o;
+		while (!left.isEmpty() && !right.isEmpty()) {
+			if (Double.compare(left.head(), right.head()) != 0) {
+				return false;
+			}
+			left = left.tail();
+			right = right.tail();
+		}
+		return left.isEmpty() && right.isEmpty();
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = 1;
+		DoubleLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			hashCode = 31 * hashCode + Double.hashCode(cur.head());
+			cur = cur.tail();
+		}
+		return hashCode;
+	}
+
+}
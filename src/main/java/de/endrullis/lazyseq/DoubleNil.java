@@ -0,0 +1,41 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Empty {@link DoubleLazySeq}.
+ *
+ * @author Stefan Endrullis
+ */
+class DoubleNil extends DoubleLazySeq {
+
+	private static final DoubleNil NIL = new DoubleNil();
+
+	static DoubleNil instance() {
+		return NIL;
+	}
+
+	@Override
+	public double head() {
+		throw new NoSuchElementException("head of empty sequence");
+	}
+
+	@NotNull
+	@Override
+	public DoubleLazySeq tail() {
+		throw new NoSuchElementException("tail of empty sequence");
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		return false;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return true;
+	}
+
+}
@@ -0,0 +1,103 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes elements to and reads them from a binary stream.
+ * Used by {@link LazySeq#sortedExternally(java.util.Comparator, int, ElementSerializer)} to spill sorted runs to
+ * temporary files.  {@link #read(DataInput)} has to return an element equal to the one written by
+ * {@link #write(DataOutput, Object)}.
+ *
+ * @param <E> type of the elements
+ * @author Stefan Endrullis
+ */
+public interface ElementSerializer<E> {
+
+	/**
+	 * Writes the element to <code>out</code>.
+	 *
+	 * @param out     output
+	 * @param element element to write
+	 * @throws IOException if writing fails
+	 */
+	void write(@NotNull DataOutput out, E element) throws IOException;
+
+	/**
+	 * Reads the next element from <code>in</code>.
+	 *
+	 * @param in input
+	 * @return element read
+	 * @throws IOException if reading fails
+	 */
+	E read(@NotNull DataInput in) throws IOException;
+
+	/**
+	 * Returns a serializer of (non-null) {@link Integer}s using 4 bytes per element.
+	 *
+	 * @return serializer of integers
+	 */
+	@NotNull
+	static ElementSerializer<Integer> ints() {
+		return new ElementSerializer<Integer>() {
+			@Override
+			public void write(@NotNull DataOutput out, Integer element) throws IOException {
+				out.writeInt(element);
+			}
+
+			@Override
+			public Integer read(@NotNull DataInput in) throws IOException {
+				return in.readInt();
+			}
+		};
+	}
+
+	/**
+	 * Returns a serializer of (non-null) {@link Long}s using 8 bytes per element.
+	 *
+	 * @return serializer of longs
+	 */
+	@NotNull
+	static ElementSerializer<Long> longs() {
+		return new ElementSerializer<Long>() {
+			@Override
+			public void write(@NotNull DataOutput out, Long element) throws IOException {
+				out.writeLong(element);
+			}
+
+			@Override
+			public Long read(@NotNull DataInput in) throws IOException {
+				return in.readLong();
+			}
+		};
+	}
+
+	/**
+	 * Returns a serializer of (non-null) {@link String}s of arbitrary length, encoded in UTF-8.
+	 *
+	 * @return serializer of strings
+	 */
+	@NotNull
+	static ElementSerializer<String> strings() {
+		return new ElementSerializer<String>() {
+			@Override
+			public void write(@NotNull DataOutput out, String element) throws IOException {
+				final byte[] bytes = element.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+
+			@Override
+			public String read(@NotNull DataInput in) throws IOException {
+				final byte[] bytes = new byte[in.readInt()];
+				in.readFully(bytes);
+				return new String(bytes, StandardCharsets.UTF_8);
+			}
+		};
+	}
+
+}
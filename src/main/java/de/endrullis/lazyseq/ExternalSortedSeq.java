@@ -0,0 +1,422 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Result of {@link LazySeq#sortedExternally(Comparator, int, ElementSerializer)}: the elements of a finite sequence
+ * sorted by an external merge sort.
+ * <p>
+ * The source sequence is read in runs of at most <code>runSize</code> elements.  Each run is sorted in memory and
+ * written to a temporary file by an {@link ElementSerializer}.  The sorted sequence is the k-way merge of the run
+ * files, which are read through buffered {@link FileChannel}s only as far as the sequence is evaluated.  A run
+ * file is deleted as soon as it has been read completely, so all files are gone when the sequence is exhausted.
+ * {@link #close()} deletes the remaining files of a sequence that is not read to the end.  If the source fits into
+ * a single run, no file is written at all.
+ * </p>
+ * <p>
+ * The files are not deleted automatically otherwise: a sequence that is dropped before it is exhausted or closed
+ * leaves its remaining run files in the temporary directory.  Hence, use it in a try-with-resources statement (or
+ * close the stream returned by {@link #stream()}) unless it is certainly read to the end.
+ * </p>
+ * <p>
+ * Like any {@link LazySeq} this sequence memoizes the evaluated elements as long as it is referenced.  To process
+ * more elements than fit into the heap, traverse it once via {@link #view()}, which reads the run files directly
+ * without creating any cells.
+ * </p>
+ *
+ * @param <E> type of the elements
+ * @author Stefan Endrullis
+ */
+public final class ExternalSortedSeq<E> extends LazySeq<E> implements Closeable {
+
+	private static final String FILE_PREFIX = "lazyseq-run-";
+	private static final String FILE_SUFFIX = ".bin";
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private final long size;
+	/** Merge of the run files, or <code>null</code> if the source fitted into memory. */
+	private final Merge<E> merge;
+	/** First cell; created on first access. */
+	private LazySeq<E> cells;
+	/** Whether the merge has been handed over to a view. */
+	private boolean viewed;
+
+	private ExternalSortedSeq(long size, Merge<E> merge, LazySeq<E> cells) {
+		this.size = size;
+		this.merge = merge;
+		this.cells = cells;
+	}
+
+	/**
+	 * Sorts <code>seq</code> in runs of <code>runSize</code> elements spilled to temporary files in
+	 * <code>directory</code>.
+	 */
+	@NotNull
+	static <E> ExternalSortedSeq<E> of(@NotNull LazySeq<E> seq, @NotNull Comparator<? super E> comparator, int runSize,
+	                                   @NotNull ElementSerializer<E> serializer, @NotNull Path directory) {
+		if (runSize <= 0) {
+			throw new IllegalArgumentException(Integer.toString(runSize));
+		}
+		final Spill<E> spill = new Spill<>(comparator, runSize, serializer, directory);
+		try {
+			seq.forEachWhile(spill);
+			if (spill.runs.isEmpty()) {
+				Sorting.sort(spill.buffer, 0, spill.n, comparator);
+				return new ExternalSortedSeq<>(spill.n, null, ArraySeq.ofArray(spill.buffer, 0, spill.n));
+			}
+			spill.flush();
+		} catch (RuntimeException e) {
+			for (Run<E> run : spill.runs) {
+				run.closeQuietly();
+			}
+			throw e;
+		}
+		return new ExternalSortedSeq<>(spill.total, new Merge<>(spill.runs, comparator), null);
+	}
+
+	@NotNull
+	private synchronized LazySeq<E> cells() {
+		if (cells == null) {
+			if (viewed) {
+				throw new IllegalStateException("sequence has already been traversed by a view");
+			}
+			cells = merge.next();
+		}
+		return cells;
+	}
+
+	@Override
+	public E head() {
+		return cells().head();
+	}
+
+	@NotNull
+	@Override
+	public LazySeq<E> tail() {
+		return cells().tail();
+	}
+
+	@Override
+	protected synchronized boolean isTailDefined() {
+		return cells != null && cells.isTailDefined();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	long knownSize() {
+		return size;
+	}
+
+	@NotNull
+	@Override
+	public <R> LazySeq<R> map(@NotNull Function<? super E, ? extends R> mapper) {
+		return cells().map(mapper);
+	}
+
+	@NotNull
+	@Override
+	protected LazySeq<E> takeUnsafe(long maxSize) {
+		return cells().takeUnsafe(maxSize);
+	}
+
+	/**
+	 * Returns a stream of this sequence that deletes the remaining run files when it is closed.
+	 */
+	@NotNull
+	@Override
+	public Stream<E> stream() {
+		return super.stream().onClose(this::close);
+	}
+
+	/**
+	 * Returns a single-pass view of this sequence.  If no element of this sequence has been evaluated yet, the view
+	 * reads the run files directly and neither this sequence nor the view retain the elements, so that this
+	 * sequence cannot be traversed anymore afterwards.
+	 *
+	 * @return single-pass view of this sequence
+	 */
+	@NotNull
+	@Override
+	public synchronized SeqView<E> view() {
+		if (merge == null || cells != null) {
+			return super.view();
+		}
+		if (viewed) {
+			throw new IllegalStateException("sequence has already been traversed by a view");
+		}
+		viewed = true;
+		return SeqView.of(new Iterator<E>() {
+			@Override
+			public boolean hasNext() {
+				return merge.hasNext();
+			}
+
+			@Override
+			public E next() {
+				if (!merge.hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return merge.pop();
+			}
+		});
+	}
+
+	/**
+	 * Deletes the remaining run files.  Elements that have not been evaluated yet cannot be evaluated anymore
+	 * afterwards; evaluating them fails with an {@link IllegalStateException}.
+	 *
+	 * @throws UncheckedIOException if a file could not be closed or deleted
+	 */
+	@Override
+	public void close() {
+		if (merge != null) {
+			merge.close();
+		}
+	}
+
+	/**
+	 * Collects the elements of the source into runs, sorts them and writes them to files.
+	 */
+	private static final class Spill<E> implements Predicate<E> {
+		private final Comparator<? super E> comparator;
+		private final int runSize;
+		private final ElementSerializer<E> serializer;
+		private final Path directory;
+		private final List<Run<E>> runs = new ArrayList<>();
+		private Object[] buffer;
+		private int n;
+		private long total;
+
+		Spill(@NotNull Comparator<? super E> comparator, int runSize, @NotNull ElementSerializer<E> serializer,
+		      @NotNull Path directory) {
+			this.comparator = comparator;
+			this.runSize = runSize;
+			this.serializer = serializer;
+			this.directory = directory;
+			this.buffer = new Object[Math.min(runSize, INITIAL_CAPACITY)];
+		}
+
+		@Override
+		public boolean test(E element) {
+			if (n == runSize) {
+				flush();
+			} else if (n == buffer.length) {
+				buffer = Arrays.copyOf(buffer, (int) Math.min(runSize, 2L * n));
+			}
+			buffer[n++] = element;
+			total++;
+			return true;
+		}
+
+		/**
+		 * Sorts the buffered elements and writes them to a new run file.
+		 */
+		@SuppressWarnings("unchecked")
+		void flush() {
+			Sorting.sort(buffer, 0, n, comparator);
+			try {
+				final Path file = Files.createTempFile(directory, FILE_PREFIX, FILE_SUFFIX);
+				runs.add(new Run<>(file, n, serializer));
+				try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+				     DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE))) {
+					for (int i = 0; i < n; i++) {
+						serializer.write(out, (E) buffer[i]);
+					}
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			Arrays.fill(buffer, 0, n, null);
+			n = 0;
+		}
+	}
+
+	/**
+	 * Sorted run file that is read element by element.
+	 */
+	private static final class Run<E> {
+		private final Path file;
+		private final ElementSerializer<E> serializer;
+		private long remaining;
+		private DataInputStream in;
+		/** Current element. */
+		private E head;
+
+		Run(@NotNull Path file, long count, @NotNull ElementSerializer<E> serializer) {
+			this.file = file;
+			this.remaining = count;
+			this.serializer = serializer;
+		}
+
+		/**
+		 * Reads the next element into {@link #head}, opening the file on first call.
+		 *
+		 * @return <code>false</code> if the run is exhausted
+		 */
+		boolean advance() throws IOException {
+			if (remaining == 0) {
+				return false;
+			}
+			if (in == null) {
+				in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(FileChannel.open(file, StandardOpenOption.READ)), BUFFER_SIZE));
+			}
+			head = serializer.read(in);
+			remaining--;
+			return true;
+		}
+
+		void close() throws IOException {
+			head = null;
+			remaining = 0;
+			try {
+				if (in != null) {
+					in.close();
+				}
+			} finally {
+				Files.deleteIfExists(file);
+			}
+		}
+
+		void closeQuietly() {
+			try {
+				close();
+			} catch (IOException ignored) {
+			}
+		}
+	}
+
+	/**
+	 * Binary min-heap of the runs ordered by their current element and then by run number, which makes the merge
+	 * of the stably sorted runs stable.  Each run is closed and its file deleted as soon as it is exhausted.
+	 * If reading the first elements fails, all runs are closed and their files deleted.
+	 */
+	private static final class Merge<E> {
+		private final Comparator<? super E> comparator;
+		private final List<Run<E>> runs;
+		private final int[] heap;
+		private int size;
+		private boolean closed;
+
+		Merge(@NotNull List<Run<E>> runs, @NotNull Comparator<? super E> comparator) {
+			this.comparator = comparator;
+			this.runs = new ArrayList<>(runs);
+			this.heap = new int[runs.size()];
+			try {
+				for (int i = 0; i < runs.size(); i++) {
+					if (runs.get(i).advance()) {
+						heap[size++] = i;
+					}
+				}
+			} catch (IOException | RuntimeException e) {
+				for (Run<E> run : runs) {
+					run.closeQuietly();
+				}
+				throw e instanceof IOException ? new UncheckedIOException((IOException) e) : (RuntimeException) e;
+			}
+			for (int i = size / 2 - 1; i >= 0; i--) {
+				siftDown(i);
+			}
+		}
+
+		/**
+		 * Returns the remaining merged elements as a lazy sequence.
+		 */
+		@NotNull
+		LazySeq<E> next() {
+			return hasNext() ? LazySeq.cons(pop(), this::next) : LazySeq.empty();
+		}
+
+		synchronized boolean hasNext() {
+			if (size > 0 && closed) {
+				throw new IllegalStateException("sequence has been closed");
+			}
+			return size > 0;
+		}
+
+		/**
+		 * Removes the smallest current element.  Deletes all files once the last element has been removed.
+		 */
+		synchronized E pop() {
+			final Run<E> run = runs.get(heap[0]);
+			final E element = run.head;
+			try {
+				if (run.advance()) {
+					siftDown(0);
+				} else {
+					run.close();
+					heap[0] = heap[--size];
+					siftDown(0);
+				}
+			} catch (IOException | RuntimeException e) {
+				close();
+				throw e instanceof IOException ? new UncheckedIOException((IOException) e) : (RuntimeException) e;
+			}
+			if (size == 0) {
+				closed = true;
+			}
+			return element;
+		}
+
+		synchronized void close() {
+			if (closed && size == 0) {
+				return;
+			}
+			closed = true;
+			IOException failure = null;
+			for (Run<E> run : runs) {
+				try {
+					run.close();
+				} catch (IOException e) {
+					failure = e;
+				}
+			}
+			if (failure != null) {
+				throw new UncheckedIOException(failure);
+			}
+		}
+
+		private boolean less(int i, int j) {
+			final int c = comparator.compare(runs.get(i).head, runs.get(j).head);
+			return c < 0 || c == 0 && i < j;
+		}
+
+		private void siftDown(int pos) {
+			final int index = heap[pos];
+			final int half = size >>> 1;
+			while (pos < half) {
+				int child = 2 * pos + 1;
+				if (child + 1 < size && less(heap[child + 1], heap[child])) {
+					child++;
+				}
+				if (!less(heap[child], index)) {
+					break;
+				}
+				heap[pos] = heap[child];
+				pos = child;
+			}
+			heap[pos] = index;
+		}
+	}
+
+}
@@ -2,7 +2,6 @@ package de.endrullis.lazyseq;
 
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.Objects;
 import java.util.function.Function;
 
@@ -14,6 +13,11 @@ class FixedCons<E> extends LazySeq<E> {
 
 	private final E head;
 	private final LazySeq<E> tail;
+	/**
+	 * Cached hash code; <code>0</code> if not computed yet (benign race).
+	 * Once {@link #hashCode()} returns, the whole sequence is realized and memoized, so the hash code never changes.
+	 */
+	private int hashCode;
 
 	public FixedCons(E head, LazySeq<E> tail) {
 		this.head = Objects.requireNonNull(head);
@@ -40,27 +44,33 @@ class FixedCons<E> extends LazySeq<E> {
 	@NotNull
 	@Override
 	public <R> LazySeq<R> map(@NotNull Function<? super E, ? extends R> mapper) {
-		return cons(mapper.apply(head), tail.map(mapper));
-	}
-
-	@NotNull
-	@Override
-	public <R> LazySeq<R> flatMap(@NotNull Function<? super E, ? extends Iterable<? extends R>> mapper) {
-		final ArrayList<R> result = new ArrayList<>();
-		mapper.apply(head).forEach(result::add);
-		return concat(result, tail.flatMap(mapper));
+		return cons(mapper.apply(head), new OperatorTail.MapTail<>(this, mapper));
 	}
 
 	@NotNull
 	@Override
 	protected LazySeq<E> takeUnsafe(long maxSize) {
 		if (maxSize > 1) {
-			return cons(head, tail.takeUnsafe(maxSize - 1));
+			return cons(head, new OperatorTail.TakeTail<>(this, maxSize - 1));
 		} else {
 			return LazySeq.of(head);
 		}
 	}
 
+	@Override
+	public int hashCode() {
+		int h = hashCode;
+		if (h == 0) {
+			hashCode = h = super.hashCode();
+		}
+		return h;
+	}
+
+	@Override
+	int cachedHashCode() {
+		return hashCode;
+	}
+
 	@Override
 	public boolean isEmpty() {
 		return false;
@@ -0,0 +1,73 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * Implementation of {@link LazySeq#flatMap(Function)}.
+ * <p>
+ * The iterables returned by the mapper are not copied but streamed: an inner {@link LazySeq} is concatenated
+ * as it is with the remaining inner results in a {@link MemoTail} (see {@link ConcatSeq}), any other iterable is read through its iterator only as far as the result is
+ * evaluated.  Thus inner results may be huge or infinite.  Elements whose inner result is empty are skipped in a
+ * loop, so long runs of empty results do not recurse.
+ * </p>
+ *
+ * @author Stefan Endrullis
+ */
+final class FlatMap {
+
+	private FlatMap() {
+	}
+
+	/**
+	 * Returns the concatenation of the inner results of <code>seq</code>.
+	 */
+	@NotNull
+	static <E, R> LazySeq<R> of(@NotNull LazySeq<E> seq, @NotNull Function<? super E, ? extends Iterable<? extends R>> mapper) {
+		return seq.isEmpty() ? LazySeq.empty() : of(mapper.apply(seq.head()), seq, mapper);
+	}
+
+	/**
+	 * Returns <code>inner</code>, the inner result of the head of <code>source</code>, followed by the inner results of
+	 * the tail of <code>source</code>.  Elements with an empty inner result are skipped until the first non-empty one.
+	 */
+	@NotNull
+	@SuppressWarnings("unchecked")
+	static <E, R> LazySeq<R> of(@NotNull Iterable<? extends R> inner, @NotNull LazySeq<E> source,
+	                            @NotNull Function<? super E, ? extends Iterable<? extends R>> mapper) {
+		Iterable<? extends R> cur = inner;
+		LazySeq<E> src = source;
+		while (true) {
+			final LazySeq<E> s = src;
+			if (cur instanceof LazySeq) {
+				final LazySeq<R> innerSeq = (LazySeq<R>) cur;
+				if (!innerSeq.isEmpty()) {
+					return ConcatSeq.of(innerSeq, new MemoTail<>(() -> s.tail().flatMap(mapper)));
+				}
+			} else {
+				final Iterator<? extends R> iterator = cur.iterator();
+				if (iterator.hasNext()) {
+					return stream(iterator, s, mapper);
+				}
+			}
+			src = src.tail();
+			if (src.isEmpty()) {
+				return LazySeq.empty();
+			}
+			cur = mapper.apply(src.head());
+		}
+	}
+
+	/**
+	 * Returns the remaining elements of the non-empty <code>iterator</code> followed by the inner results of the tail
+	 * of <code>source</code>.  The iterator is shared by the cells, which is safe since every tail is evaluated once.
+	 */
+	@NotNull
+	private static <E, R> LazySeq<R> stream(@NotNull Iterator<? extends R> iterator, @NotNull LazySeq<E> source,
+	                                        @NotNull Function<? super E, ? extends Iterable<? extends R>> mapper) {
+		return LazySeq.cons(iterator.next(), () -> iterator.hasNext() ? stream(iterator, source, mapper) : source.tail().flatMap(mapper));
+	}
+
+}
@@ -0,0 +1,242 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Fully realized {@link LazySeq} backed by an indexed store (an array or a {@link RandomAccess} list).
+ * <p>
+ * The sequence is a window <code>[from, to)</code> on the store, optionally in reverse order.
+ * {@link #get(int)}, {@link #size()}, {@link #last()}, {@link #tail()}, {@link #drop(long)}, {@link #take(long)},
+ * {@link #slice(long, long)}, {@link #takeRight(long)}, {@link #dropRight(long)} and {@link #reverse()} run in constant
+ * time and return views on the same store without copying.  All other operators behave like on any other {@link LazySeq}.
+ * </p>
+ *
+ * @author Stefan Endrullis
+ */
+abstract class IndexedSeq<E> extends LazySeq<E> implements RandomAccess {
+
+	final int from;
+	final int to;
+	final boolean reversed;
+	/** Cached view of the tail (benign race, since all fields of the view are final). */
+	private LazySeq<E> tailView;
+
+	/**
+	 * @param from     first index of the window (inclusive); the window must not be empty
+	 * @param to       last index of the window (exclusive)
+	 * @param reversed whether the window is traversed from <code>to - 1</code> down to <code>from</code>
+	 */
+	IndexedSeq(int from, int to, boolean reversed) {
+		this.from = from;
+		this.to = to;
+		this.reversed = reversed;
+	}
+
+	/**
+	 * Returns the element at the given index of the store.
+	 */
+	abstract E at(int index);
+
+	/**
+	 * Returns the backing array or list.
+	 */
+	@NotNull
+	abstract Object store();
+
+	/**
+	 * Returns a view on the window <code>[from, to)</code> of the same store; the window must not be empty.
+	 */
+	@NotNull
+	abstract IndexedSeq<E> window(int from, int to, boolean reversed);
+
+	private int position(int index) {
+		return reversed ? to - 1 - index : from + index;
+	}
+
+	@NotNull
+	@Override
+	public E head() {
+		return at(position(0));
+	}
+
+	@NotNull
+	@Override
+	public LazySeq<E> tail() {
+		if (to - from == 1) {
+			return empty();
+		}
+		LazySeq<E> tail = tailView;
+		if (tail == null) {
+			tailView = tail = reversed ? window(from, to - 1, true) : window(from + 1, to, false);
+		}
+		return tail;
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		return true;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+	@Override
+	public int size() {
+		return to - from;
+	}
+
+	@Override
+	long knownSize() {
+		return to - from;
+	}
+
+	@NotNull
+	@Override
+	public E get(int index) {
+		if (index < 0 || index >= to - from) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		return at(position(index));
+	}
+
+	@NotNull
+	@Override
+	public E last() {
+		return at(position(to - from - 1));
+	}
+
+	@NotNull
+	@Override
+	protected LazySeq<E> takeUnsafe(long maxSize) {
+		if (maxSize >= to - from) {
+			return this;
+		}
+		final int n = (int) maxSize;
+		return reversed ? window(to - n, to, true) : window(from, from + n, false);
+	}
+
+	@Override
+	protected LazySeq<E> dropUnsafe(long startInclusive) {
+		if (startInclusive == 0) {
+			return this;
+		}
+		if (startInclusive >= to - from) {
+			return empty();
+		}
+		final int n = (int) startInclusive;
+		return reversed ? window(from, to - n, true) : window(from + n, to, false);
+	}
+
+	@NotNull
+	@Override
+	public LazySeq<E> takeRight(long maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException(Long.toString(maxSize));
+		}
+		return maxSize >= to - from ? this : dropUnsafe(to - from - maxSize);
+	}
+
+	@NotNull
+	@Override
+	public LazySeq<E> dropRight(long numberOfItemsToDropAtEnd) {
+		if (numberOfItemsToDropAtEnd < 0) {
+			throw new IllegalArgumentException(Long.toString(numberOfItemsToDropAtEnd));
+		}
+		return numberOfItemsToDropAtEnd >= to - from ? empty() : takeUnsafe(to - from - numberOfItemsToDropAtEnd);
+	}
+
+	@NotNull
+	@Override
+	public LazySeq<E> withSkipIndex(int interval) {
+		if (interval <= 0) {
+			throw new IllegalArgumentException(Integer.toString(interval));
+		}
+		return this;
+	}
+
+	@NotNull
+	@Override
+	public LazySeq<E> reverse() {
+		return window(from, to, !reversed);
+	}
+
+	@NotNull
+	@Override
+	public <R> LazySeq<R> map(@NotNull Function<? super E, ? extends R> mapper) {
+		return cons(mapper.apply(head()), new OperatorTail.MapTail<>(this, mapper));
+	}
+
+	@Override
+	boolean forEachWhile(@NotNull Predicate<? super E> sink) {
+		for (int i = 0, n = to - from; i < n; i++) {
+			if (!sink.test(at(position(i)))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof IndexedSeq)) {
+			return super.equals(o);
+		}
+		final IndexedSeq<?> that = (IndexedSeq<?>) o;
+		final int n = to - from;
+		if (this == that) return true;
+		if (n != that.to - that.from) return false;
+		if (store() == that.store() && from == that.from && reversed == that.reversed) return true;
+		final int thisHash = cachedHashCode();
+		final int thatHash = that.cachedHashCode();
+		if (thisHash != 0 && thatHash != 0 && thisHash != thatHash) {
+			return false;
+		}
+		for (int i = 0; i < n; i++) {
+			if (!at(position(i)).equals(that.at(that.position(i)))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = 0;
+		int factor = 1;
+		for (int i = 0, n = to - from; i < n; i++) {
+			hashCode += at(position(i)).hashCode() * factor;
+			factor *= 31;
+		}
+		return hashCode;
+	}
+
+	@NotNull
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private int index = 0;
+
+			@Override
+			public boolean hasNext() {
+				return index < to - from;
+			}
+
+			@Override
+			public E next() {
+				if (index >= to - from) {
+					throw new NoSuchElementException();
+				}
+				return at(position(index++));
+			}
+		};
+	}
+
+}
@@ -0,0 +1,59 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Non-empty {@link IntLazySeq} with an unboxed head and a lazily evaluated, memoized tail.
+ *
+ * @author Stefan Endrullis
+ */
+class IntCons extends IntLazySeq {
+	private final int head;
+	private volatile IntLazySeq tailOrNull;
+	/** Released once the tail is memoized. */
+	private Supplier<IntLazySeq> tailFun;
+
+	IntCons(int head, @NotNull Supplier<IntLazySeq> tailFun) {
+		this.head = head;
+		this.tailFun = Objects.requireNonNull(tailFun);
+	}
+
+	IntCons(int head, @NotNull IntLazySeq tail) {
+		this.head = head;
+		this.tailOrNull = Objects.requireNonNull(tail);
+		this.tailFun = null;
+	}
+
+	@Override
+	public int head() {
+		return head;
+	}
+
+	@NotNull
+	@Override
+	public IntLazySeq tail() {
+		if (!isTailDefined()) {
+			synchronized (this) {
+				if (!isTailDefined()) {
+					tailOrNull = tailFun.get();
+					tailFun = null;
+				}
+			}
+		}
+		return tailOrNull;
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		return tailOrNull != null;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+}
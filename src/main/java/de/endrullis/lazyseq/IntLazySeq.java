@@ -0,0 +1,546 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy sequence of primitive <code>int</code> values.
+ * <p>
+ * Works like {@link LazySeq} (eagerly computed head, lazily computed and memoized tail),
+ * but keeps the elements unboxed and offers primitive versions of the common operators,
+ * so that numeric pipelines don't pay for boxing.
+ * Use {@link #boxed()}, {@link #mapToObj(IntFunction)} and {@link LazySeq#mapToInt(ToIntFunction)} to convert
+ * between primitive and object sequences and {@link #stream()} / {@link #of(IntStream)} to convert from and to {@link IntStream}s.
+ * </p>
+ *
+ * @author Stefan Endrullis
+ */
+@SuppressWarnings("WeakerAccess")
+public abstract class IntLazySeq {
+
+	@NotNull
+	public static IntLazySeq empty() {
+		return IntNil.instance();
+	}
+
+	@NotNull
+	public static IntLazySeq of(@NotNull int... elements) {
+		IntLazySeq seq = empty();
+		for (int i = elements.length - 1; i >= 0; i--) {
+			seq = cons(elements[i], seq);
+		}
+		return seq;
+	}
+
+	@NotNull
+	public static IntLazySeq of(@NotNull PrimitiveIterator.OfInt iterator) {
+		if (iterator.hasNext()) {
+			return cons(iterator.nextInt(), () -> of(iterator));
+		} else {
+			return empty();
+		}
+	}
+
+	/**
+	 * Creates a lazy sequence of the elements of the given stream.
+	 * The stream is consumed only as far as the sequence is evaluated.
+	 *
+	 * @param stream stream of elements
+	 * @return lazy sequence of the stream elements
+	 */
+	@NotNull
+	public static IntLazySeq of(@NotNull IntStream stream) {
+		return of(stream.iterator());
+	}
+
+	@NotNull
+	public static IntLazySeq cons(int head, @NotNull Supplier<IntLazySeq> tailFun) {
+		return new IntCons(head, tailFun);
+	}
+
+	@NotNull
+	public static IntLazySeq cons(int head, @NotNull IntLazySeq tail) {
+		return new IntCons(head, tail);
+	}
+
+	@NotNull
+	public static IntLazySeq numbers(int start) {
+		return numbers(start, 1);
+	}
+
+	@NotNull
+	public static IntLazySeq numbers(int start, int step) {
+		return cons(start, () -> numbers(start + step, step));
+	}
+
+	@NotNull
+	public static IntLazySeq iterate(int initial, @NotNull IntUnaryOperator fun) {
+		return cons(initial, () -> iterate(fun.applyAsInt(initial), fun));
+	}
+
+	@NotNull
+	public static IntLazySeq tabulate(int start, @NotNull IntUnaryOperator generator) {
+		return cons(generator.applyAsInt(start), () -> tabulate(start + 1, generator));
+	}
+
+	public abstract int head();
+
+	@NotNull
+	public OptionalInt headOption() {
+		return isEmpty() ? OptionalInt.empty() : OptionalInt.of(head());
+	}
+
+	@NotNull
+	public abstract IntLazySeq tail();
+
+	protected abstract boolean isTailDefined();
+
+	public abstract boolean isEmpty();
+
+	public boolean nonEmpty() {
+		return !isEmpty();
+	}
+
+	public int get(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		IntLazySeq cur = this;
+		for (int curIdx = index; curIdx > 0 && !cur.isEmpty(); --curIdx) {
+			cur = cur.tail();
+		}
+		if (cur.isEmpty()) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		return cur.head();
+	}
+
+	/**
+	 * Returns the last element of the sequence.
+	 * Call this method only on finite sequences.
+	 *
+	 * @return the last element of the sequence
+	 */
+	public int last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException("last of empty sequence");
+		}
+		IntLazySeq cur = this;
+		IntLazySeq next = cur.tail();
+		while (!next.isEmpty()) {
+			cur = next;
+			next = cur.tail();
+		}
+		return cur.head();
+	}
+
+	public int size() {
+		IntLazySeq seq = this;
+		int size = 0;
+		while (!seq.isEmpty()) {
+			size++;
+			seq = seq.tail();
+		}
+		return size;
+	}
+
+	@NotNull
+	public IntLazySeq map(@NotNull IntUnaryOperator mapper) {
+		if (isEmpty()) {
+			return empty();
+		}
+		return cons(mapper.applyAsInt(head()), () -> tail().map(mapper));
+	}
+
+	@NotNull
+	public <R> LazySeq<R> mapToObj(@NotNull IntFunction<? extends R> mapper) {
+		if (isEmpty()) {
+			return LazySeq.empty();
+		}
+		return LazySeq.cons(mapper.apply(head()), () -> tail().mapToObj(mapper));
+	}
+
+	@NotNull
+	public LongLazySeq mapToLong(@NotNull IntToLongFunction mapper) {
+		if (isEmpty()) {
+			return LongLazySeq.empty();
+		}
+		return LongLazySeq.cons(mapper.applyAsLong(head()), () -> tail().mapToLong(mapper));
+	}
+
+	@NotNull
+	public DoubleLazySeq mapToDouble(@NotNull IntToDoubleFunction mapper) {
+		if (isEmpty()) {
+			return DoubleLazySeq.empty();
+		}
+		return DoubleLazySeq.cons(mapper.applyAsDouble(head()), () -> tail().mapToDouble(mapper));
+	}
+
+	/**
+	 * Returns a lazy sequence of boxed <code>Integer</code>s.
+	 *
+	 * @return lazy sequence of boxed values
+	 */
+	@NotNull
+	public LazySeq<Integer> boxed() {
+		return mapToObj(Integer::valueOf);
+	}
+
+	@NotNull
+	public IntLazySeq filter(@NotNull IntPredicate predicate) {
+		IntLazySeq curr = this;
+		while (!curr.isEmpty() && !predicate.test(curr.head())) {
+			curr = curr.tail();
+		}
+
+		if (!curr.isEmpty()) {
+			final IntLazySeq finalCurr = curr;
+			return cons(curr.head(), () -> finalCurr.tail().filter(predicate));
+		} else {
+			return empty();
+		}
+	}
+
+	@NotNull
+	public IntLazySeq take(long maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException(Long.toString(maxSize));
+		}
+		if (maxSize == 0 || isEmpty()) {
+			return empty();
+		}
+		if (maxSize == 1) {
+			return cons(head(), empty());
+		}
+		return cons(head(), () -> tail().take(maxSize - 1));
+	}
+
+	@NotNull
+	public IntLazySeq drop(long startInclusive) {
+		if (startInclusive < 0) {
+			throw new IllegalArgumentException(Long.toString(startInclusive));
+		}
+		IntLazySeq seq = this;
+		for (; startInclusive > 0 && !seq.isEmpty(); startInclusive--) {
+			seq = seq.tail();
+		}
+		return seq;
+	}
+
+	@NotNull
+	public IntLazySeq takeWhile(@NotNull IntPredicate predicate) {
+		if (!isEmpty() && predicate.test(head())) {
+			return cons(head(), () -> tail().takeWhile(predicate));
+		} else {
+			return empty();
+		}
+	}
+
+	@NotNull
+	public IntLazySeq dropWhile(@NotNull IntPredicate predicate) {
+		IntLazySeq seq = this;
+		while (!seq.isEmpty() && predicate.test(seq.head())) {
+			seq = seq.tail();
+		}
+		return seq;
+	}
+
+	public void forEach(@NotNull IntConsumer action) {
+		IntLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			action.accept(cur.head());
+			cur = cur.tail();
+		}
+	}
+
+	public int reduce(int identity, @NotNull IntBinaryOperator accumulator) {
+		int result = identity;
+		IntLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			result = accumulator.applyAsInt(result, cur.head());
+			cur = cur.tail();
+		}
+		return result;
+	}
+
+	@NotNull
+	public OptionalInt reduce(@NotNull IntBinaryOperator accumulator) {
+		if (isEmpty()) {
+			return OptionalInt.empty();
+		}
+		return OptionalInt.of(tail().reduce(head(), accumulator));
+	}
+
+	public int sum() {
+		return reduce(0, (a, b) -> a + b);
+	}
+
+	@NotNull
+	public OptionalInt min() {
+		return reduce(Math::min);
+	}
+
+	@NotNull
+	public OptionalInt max() {
+		return reduce(Math::max);
+	}
+
+	@NotNull
+	public OptionalDouble average() {
+		long count = 0;
+		long sum = 0;
+		IntLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			sum += cur.head();
+			count++;
+			cur = cur.tail();
+		}
+		return count == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) sum / count);
+	}
+
+	/**
+	 * Returns the lazy sequence of the sums of all windows of <code>size</code> consecutive elements.
+	 * If this sequence is non-empty but shorter than <code>size</code> the only sum is that of all elements.
+	 * The sums are updated incrementally in <code>O(1)</code> per window.
+	 * Like {@link #sum()} the sums overflow silently.
+	 *
+	 * @param size size of the windows
+	 * @return sequence of window sums
+	 */
+	@NotNull
+	public IntLazySeq slidingSum(int size) {
+		checkWindowSize(size);
+		return IntLazySeq.of(SlidingAggregates.narrow(SlidingAggregates.sum(SlidingAggregates.widen(iterator()), size)));
+	}
+
+	/**
+	 * Returns the lazy sequence of the averages of all windows of <code>size</code> consecutive elements, computed
+	 * incrementally like {@link #slidingSum(int)}.
+	 *
+	 * @param size size of the windows
+	 * @return sequence of window averages
+	 */
+	@NotNull
+	public DoubleLazySeq slidingAverage(int size) {
+		checkWindowSize(size);
+		return DoubleLazySeq.of(SlidingAggregates.average(SlidingAggregates.widen(iterator()), size));
+	}
+
+	/**
+	 * Returns the lazy sequence of the minima of all windows of <code>size</code> consecutive elements.
+	 * Uses a monotonic deque, so every window costs amortized <code>O(1)</code>.
+	 *
+	 * @param size size of the windows
+	 * @return sequence of window minima
+	 */
+	@NotNull
+	public IntLazySeq slidingMin(int size) {
+		checkWindowSize(size);
+		return IntLazySeq.of(SlidingAggregates.narrow(SlidingAggregates.min(SlidingAggregates.widen(iterator()), size)));
+	}
+
+	/**
+	 * Returns the lazy sequence of the maxima of all windows of <code>size</code> consecutive elements.
+	 * Uses a monotonic deque, so every window costs amortized <code>O(1)</code>.
+	 *
+	 * @param size size of the windows
+	 * @return sequence of window maxima
+	 */
+	@NotNull
+	public IntLazySeq slidingMax(int size) {
+		checkWindowSize(size);
+		return IntLazySeq.of(SlidingAggregates.narrow(SlidingAggregates.max(SlidingAggregates.widen(iterator()), size)));
+	}
+
+	/**
+	 * Returns the lazy sequence of the reductions of all windows of <code>size</code> consecutive elements with the
+	 * given associative operator, which is applied in window order but need not be commutative or invertible.
+	 * The window is kept as two stacks of partial aggregates, so every window costs amortized <code>O(1)</code>
+	 * operator applications.
+	 *
+	 * @param size size of the windows
+	 * @param op   associative operator
+	 * @return sequence of window reductions
+	 */
+	@NotNull
+	public IntLazySeq slidingReduce(int size, @NotNull IntBinaryOperator op) {
+		checkWindowSize(size);
+		return IntLazySeq.of(SlidingAggregates.narrow(SlidingAggregates.reduce(SlidingAggregates.widen(iterator()), size,
+				(long a, long b) -> op.applyAsInt((int) a, (int) b))));
+	}
+
+	private static void checkWindowSize(int size) {
+		if (size <= 0) {
+			throw new IllegalArgumentException(Integer.toString(size));
+		}
+	}
+
+	public boolean anyMatch(@NotNull IntPredicate predicate) {
+		IntLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			if (predicate.test(cur.head())) {
+				return true;
+			}
+			cur = cur.tail();
+		}
+		return false;
+	}
+
+	public boolean allMatch(@NotNull IntPredicate predicate) {
+		return !anyMatch(predicate.negate());
+	}
+
+	public boolean noneMatch(@NotNull IntPredicate predicate) {
+		return !anyMatch(predicate);
+	}
+
+	public int count(@NotNull IntPredicate predicate) {
+		int count = 0;
+		IntLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			if (predicate.test(cur.head())) {
+				count++;
+			}
+			cur = cur.tail();
+		}
+		return count;
+	}
+
+	/**
+	 * <p>Converts this sequence to a primitive array.</p>
+	 * <p>Notice that this method will eventually fail at runtime when called on infinite sequence.</p>
+	 *
+	 * @return array of all elements in this lazy sequence
+	 */
+	@NotNull
+	public int[] toArray() {
+		final int[] array = new int[size()];
+		IntLazySeq cur = this;
+		for (int i = 0; i < array.length; i++) {
+			array[i] = cur.head();
+			cur = cur.tail();
+		}
+		return array;
+	}
+
+	@NotNull
+	public IntLazySeq force() {
+		IntLazySeq curr = this;
+		while (!curr.isEmpty()) {
+			curr = curr.tail();
+		}
+		return this;
+	}
+
+	@NotNull
+	public PrimitiveIterator.OfInt iterator() {
+		return new PrimitiveIterator.OfInt() {
+			private IntLazySeq underlying = IntLazySeq.this;
+			private boolean getUnderlyingTail = false;
+
+			private IntLazySeq underlying() {
+				if (getUnderlyingTail) {
+					underlying = underlying.tail();
+					getUnderlyingTail = false;
+				}
+				return underlying;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return !underlying().isEmpty();
+			}
+
+			@Override
+			public int nextInt() {
+				final int next = underlying().head();
+				getUnderlyingTail = true;
+				return next;
+			}
+		};
+	}
+
+	/**
+	 * Returns a sequential, lazily evaluated {@link IntStream} of the elements of this sequence.
+	 *
+	 * @return stream of the elements of this sequence
+	 */
+	@NotNull
+	public IntStream stream() {
+		return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(iterator(),
+				Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL), false);
+	}
+
+	@NotNull
+	public String mkString(@NotNull String sep) {
+		return mkString("", sep, "", false);
+	}
+
+	/**
+	 * Returns a string representation of this sequence.
+	 * If <code>lazy</code> is <code>true</code> the evaluation stops at the first unspecific element.
+	 *
+	 * @param start string that is added in front of the element concatenation
+	 * @param sep   separator
+	 * @param end   string that is appended to the element concatenation
+	 * @param lazy  if <code>true</code> the evaluation stops at the first unspecific element
+	 * @return string representation of this sequence
+	 */
+	@NotNull
+	public String mkString(@NotNull String start, @NotNull String sep, @NotNull String end, boolean lazy) {
+		final StringBuilder s = new StringBuilder(start);
+		IntLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			s.append(cur.head());
+			if (!lazy || cur.isTailDefined()) {
+				if (!cur.tail().isEmpty()) {
+					s.append(sep);
+				}
+				cur = cur.tail();
+			} else {
+				s.append(sep).append("?");
+				break;
+			}
+		}
+		return s.append(end).toString();
+	}
+
+	@Override
+	@NotNull
+	public String toString() {
+		return mkString("[", ", ", "]", true);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof IntLazySeq)) return false;
+
+		IntLazySeq left = this;
+		IntLazySeq right = (IntLazySeq) o;
+		while (!left.isEmpty() && !right.isEmpty()) {
+			if (Integer.compare(left.head(), right.head()) != 0) {
+				return false;
+			}
+			left = left.tail();
+			right = right.tail();
+		}
+		return left.isEmpty() && right.isEmpty();
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = 1;
+		IntLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			hashCode = 31 * hashCode + Integer.hashCode(cur.head());
+			cur = cur.tail();
+		}
+		return hashCode;
+	}
+
+}
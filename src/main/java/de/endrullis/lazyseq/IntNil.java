@@ -0,0 +1,41 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Empty {@link IntLazySeq}.
+ *
+ * @author Stefan Endrullis
+ */
+class IntNil extends IntLazySeq {
+
+	private static final IntNil NIL = new IntNil();
+
+	static IntNil instance() {
+		return NIL;
+	}
+
+	@Override
+	public int head() {
+		throw new NoSuchElementException("head of empty sequence");
+	}
+
+	@NotNull
+	@Override
+	public IntLazySeq tail() {
+		throw new NoSuchElementException("tail of empty sequence");
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		return false;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return true;
+	}
+
+}
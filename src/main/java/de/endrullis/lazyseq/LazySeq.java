@@ -5,11 +5,14 @@ import de.endrullis.lazyseq.function.ExceptionFunction;
 import de.endrullis.lazyseq.function.ExceptionPredicate;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.function.*;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static de.endrullis.lazyseq.Shortcuts.t;
 
@@ -37,13 +40,25 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 
 	/**
 	 * Returns the last element of the sequence.
-	 * Call this method only on finite sequences.
+	 * Call this method only on finite sequences.  The sequence is traversed once.
 	 *
 	 * @return the last element of the sequence
+	 * @throws IndexOutOfBoundsException if the sequence is empty
 	 */
 	@NotNull
+	@SuppressWarnings("unchecked")
 	public E last() {
-		return get(size() - 1);
+		final Object[] last = new Object[1];
+		final boolean[] found = new boolean[1];
+		forEachWhile(e -> {
+			last[0] = e;
+			found[0] = true;
+			return true;
+		});
+		if (!found[0]) {
+			throw new IndexOutOfBoundsException("last of empty stream");
+		}
+		return (E) last[0];
 	}
 
 	@NotNull
@@ -81,17 +96,67 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		return cons(element1, of(element2, element3, tailFun));
 	}
 
+	/**
+	 * Returns a sequence of the given elements.
+	 * The elements are copied into an array, so that {@link #get(int)}, {@link #size()}, {@link #drop(long)},
+	 * {@link #take(long)}, {@link #slice(long, long)}, {@link #last()}, {@link #takeRight(long)} and {@link #reverse()}
+	 * run in constant time.
+	 *
+	 * @param elements elements of the sequence
+	 * @return sequence of the given elements
+	 */
 	@NotNull
 	@SafeVarargs
 	public static <E> LazySeq<E> of(@NotNull E... elements) {
-		return of(Arrays.asList(elements).iterator());
+		final Object[] array = elements.clone();
+		for (Object element : array) {
+			Objects.requireNonNull(element);
+		}
+		return ArraySeq.ofArray(array);
 	}
 
+	/**
+	 * Returns a sequence of the given elements.
+	 * If <code>elements</code> is a {@link RandomAccess} {@link List} the elements are copied into an array, so that
+	 * {@link #get(int)}, {@link #size()}, {@link #drop(long)}, {@link #take(long)}, {@link #slice(long, long)},
+	 * {@link #last()}, {@link #takeRight(long)} and {@link #reverse()} run in constant time.  Otherwise the elements
+	 * are lazily pulled from the iterator of <code>elements</code>.
+	 *
+	 * @param elements elements of the sequence
+	 * @return sequence of the given elements
+	 * @see #wrap(List)
+	 */
 	@NotNull
 	public static <E> LazySeq<E> of(@NotNull Iterable<E> elements) {
+		if (elements instanceof List && elements instanceof RandomAccess) {
+			final Object[] array = ((List<?>) elements).toArray();
+			for (Object element : array) {
+				Objects.requireNonNull(element);
+			}
+			return ArraySeq.ofArray(array);
+		}
 		return of(elements.iterator());
 	}
 
+	/**
+	 * Returns a sequence backed by the given list without copying it.
+	 * If <code>list</code> is a {@link RandomAccess} list the sequence is a view on the list with constant time
+	 * {@link #get(int)}, {@link #size()}, {@link #drop(long)}, {@link #take(long)}, {@link #slice(long, long)},
+	 * {@link #last()}, {@link #takeRight(long)} and {@link #reverse()}.  The list must not be modified afterwards, and
+	 * <code>null</code> elements are only rejected when they are accessed.  Other lists are lazily pulled from their
+	 * iterator like in {@link #of(Iterable)}.
+	 *
+	 * @param list elements of the sequence
+	 * @return sequence backed by the given list
+	 */
+	@NotNull
+	public static <E> LazySeq<E> wrap(@NotNull List<E> list) {
+		if (list instanceof RandomAccess) {
+			return ListSeq.ofList(list);
+		}
+		return of(list.iterator());
+	}
+
 	@NotNull
 	public static <E> LazySeq<E> of(@NotNull Iterator<E> iterator) {
 		if (iterator.hasNext()) {
@@ -101,52 +166,147 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		}
 	}
 
+	/**
+	 * Returns a chunked sequence of the elements of the given {@link Iterable}.
+	 *
+	 * @param elements elements of the sequence
+	 * @return chunked sequence of the elements
+	 * @see #chunked(Iterator, int)
+	 */
+	@NotNull
+	public static <E> LazySeq<E> chunked(@NotNull Iterable<E> elements) {
+		return chunked(elements.iterator());
+	}
+
+	/**
+	 * Returns a chunked sequence of the elements of the given {@link Iterator}.
+	 *
+	 * @param iterator iterator providing the elements of the sequence
+	 * @return chunked sequence of the elements
+	 * @see #chunked(Iterator, int)
+	 */
+	@NotNull
+	public static <E> LazySeq<E> chunked(@NotNull Iterator<E> iterator) {
+		return chunked(iterator, ChunkedSeq.DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Returns a chunked sequence of the elements of the given {@link Iterator}.
+	 * In contrast to {@link #of(Iterator)} the elements are not pulled one at a time but in chunks of
+	 * <code>chunkSize</code> elements, which are stored in an array.  This reduces the allocation and synchronization
+	 * costs per element considerably, while the sequence is still evaluated lazily chunk by chunk.
+	 * <code>map</code>, <code>filter</code>, <code>forEach</code>, <code>reduce</code>, <code>size</code> and the
+	 * iterator of the sequence process whole chunks at a time.
+	 *
+	 * @param iterator  iterator providing the elements of the sequence
+	 * @param chunkSize number of elements per chunk
+	 * @return chunked sequence of the elements
+	 */
+	@NotNull
+	public static <E> LazySeq<E> chunked(@NotNull Iterator<E> iterator, int chunkSize) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException(Integer.toString(chunkSize));
+		}
+		return ChunkedSeq.ofIterator(iterator, chunkSize);
+	}
+
+	/**
+	 * Returns the concatenation of <code>elements</code> and the sequence supplied by <code>tailFun</code>.
+	 * If <code>elements</code> is a {@link LazySeq} the concatenation is lazy and stack-safe (see {@link #concat(LazySeq)}),
+	 * otherwise the elements are copied eagerly.  <code>tailFun</code> is evaluated when the traversal reaches its
+	 * first element (or immediately if <code>elements</code> is empty).
+	 *
+	 * @param elements first elements
+	 * @param tailFun  supplier of the remaining sequence
+	 * @param <E>      element type
+	 * @return concatenation of <code>elements</code> and the supplied sequence
+	 */
 	@NotNull
 	public static <E> LazySeq<E> concat(@NotNull Iterable<E> elements, @NotNull Supplier<LazySeq<E>> tailFun) {
+		if (elements instanceof LazySeq) {
+			return ConcatSeq.of((LazySeq<E>) elements, new MemoTail<>(tailFun));
+		}
 		return concat(elements.iterator(), tailFun);
 	}
 
+	/**
+	 * Returns the concatenation of <code>elements</code> and <code>tail</code>.
+	 * If <code>elements</code> is a {@link LazySeq} the concatenation is lazy and stack-safe (see {@link #concat(LazySeq)}),
+	 * otherwise the elements are copied eagerly.
+	 *
+	 * @param elements first elements
+	 * @param tail     remaining sequence
+	 * @param <E>      element type
+	 * @return concatenation of <code>elements</code> and <code>tail</code>
+	 */
 	@NotNull
 	public static <E> LazySeq<E> concat(@NotNull Iterable<E> elements, @NotNull LazySeq<E> tail) {
+		if (elements instanceof LazySeq) {
+			return ((LazySeq<E>) elements).concat(tail);
+		}
 		return concat(elements.iterator(), tail);
 	}
 
 	@NotNull
 	public static <E> LazySeq<E> concat(@NotNull Iterator<E> iterator, @NotNull LazySeq<E> tail) {
-		if (iterator.hasNext()) {
-			return concatNonEmptyIterator(iterator, tail);
-		} else {
-			return tail;
-		}
+		final ArrayList<E> elements = new ArrayList<>();
+		iterator.forEachRemaining(elements::add);
+		return prependAll(elements, elements.size(), tail);
 	}
 
 	@NotNull
 	public static <E> LazySeq<E> concat(@NotNull Iterator<E> iterator, @NotNull Supplier<LazySeq<E>> tailFun) {
 		if (iterator.hasNext()) {
-			return concatNonEmptyIterator(iterator, tailFun);
+			final ArrayList<E> elements = new ArrayList<>();
+			iterator.forEachRemaining(elements::add);
+			final int last = elements.size() - 1;
+			return prependAll(elements, last, cons(elements.get(last), tailFun));
 		} else {
 			return tailFun.get();
 		}
 	}
 
+	/**
+	 * Returns the stable merge of sequences that are each sorted by the given comparator: of equal elements those of
+	 * earlier sequences come first.  The merge is lazy and stack-safe, works on infinite sequences and costs
+	 * <code>O(log k)</code> comparisons per element for <code>k</code> sequences.  The first element of every
+	 * sequence is evaluated immediately.
+	 *
+	 * @param comparator order of the sequences
+	 * @param seqs       sorted sequences
+	 * @param <E>        element type
+	 * @return sorted sequence of the elements of all sequences
+	 */
 	@NotNull
-	private static <E> LazySeq<E> concatNonEmptyIterator(@NotNull Iterator<E> iterator, @NotNull LazySeq<E> tail) {
-		final E next = iterator.next();
-		if (iterator.hasNext()) {
-			return cons(next, concatNonEmptyIterator(iterator, tail));
-		} else {
-			return cons(next, tail);
-		}
+	@SafeVarargs
+	public static <E> LazySeq<E> mergeSorted(@NotNull Comparator<? super E> comparator, @NotNull LazySeq<? extends E>... seqs) {
+		return SortedMerge.merge(comparator, Arrays.asList(seqs));
 	}
 
+	/**
+	 * Returns the stable merge of sequences that are each sorted by the given comparator
+	 * (see {@link #mergeSorted(Comparator, LazySeq[])}).
+	 *
+	 * @param comparator order of the sequences
+	 * @param seqs       sorted sequences
+	 * @param <E>        element type
+	 * @return sorted sequence of the elements of all sequences
+	 */
 	@NotNull
-	private static <E> LazySeq<E> concatNonEmptyIterator(@NotNull Iterator<E> iterator, @NotNull Supplier<LazySeq<E>> tailFun) {
-		final E next = iterator.next();
-		if (iterator.hasNext()) {
-			return cons(next, concatNonEmptyIterator(iterator, tailFun));
-		} else {
-			return cons(next, tailFun);
+	public static <E> LazySeq<E> mergeSorted(@NotNull Comparator<? super E> comparator, @NotNull Collection<? extends LazySeq<? extends E>> seqs) {
+		return SortedMerge.merge(comparator, seqs);
+	}
+
+	/**
+	 * Prepends the first <code>n</code> elements of the list to <code>tail</code> (without recursion).
+	 */
+	@NotNull
+	private static <E> LazySeq<E> prependAll(@NotNull List<E> elements, int n, @NotNull LazySeq<E> tail) {
+		LazySeq<E> result = tail;
+		for (int i = n - 1; i >= 0; i--) {
+			result = new FixedCons<>(elements.get(i), result);
 		}
+		return result;
 	}
 
 	@NotNull
@@ -174,6 +334,36 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		return cons(generator.apply(start), () -> tabulate(start + 1, generator));
 	}
 
+	/**
+	 * Closed-form variant of {@link #tabulate(int, Function)} that does not memoize the elements but computes them
+	 * by <code>generator</code> whenever they are accessed, which makes {@link #get(int)}, {@link #drop(long)} and
+	 * {@link #slice(long, long)} constant time operations.
+	 * Hence, <code>generator</code> should be a cheap function without side effects.
+	 *
+	 * @param start     index of the first element
+	 * @param generator function computing an element from its index
+	 * @param <E>       element type
+	 * @return infinite sequence of the generated elements
+	 */
+	@NotNull
+	public static <E> LazySeq<E> closedFormTabulate(int start, @NotNull Function<Integer, E> generator) {
+		Objects.requireNonNull(generator);
+		return ClosedFormSeq.of(i -> generator.apply(start + (int) i), ClosedFormSeq.UNBOUNDED);
+	}
+
+	/**
+	 * Chunked variant of {@link #tabulate(int, Function)} that generates the elements in chunks of
+	 * 32 elements (see {@link #chunked(Iterator, int)}).
+	 *
+	 * @param start     index of the first element
+	 * @param generator function that generates the element for an index
+	 * @return chunked sequence of the generated elements
+	 */
+	@NotNull
+	public static <E> LazySeq<E> chunkedTabulate(int start, @NotNull Function<Integer, E> generator) {
+		return ChunkedSeq.tabulate(start, generator, ChunkedSeq.DEFAULT_CHUNK_SIZE);
+	}
+
 	@NotNull
 	public static <E> LazySeq<E> continually(@NotNull Supplier<E> generator) {
 		return cons(generator.get(), () -> continually(generator));
@@ -194,7 +384,8 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 
 	@NotNull
 	public static <E> LazySeq<E> continually(@NotNull E value) {
-		return cons(value, () -> continually(value));
+		Objects.requireNonNull(value);
+		return ClosedFormSeq.of(i -> value, ClosedFormSeq.UNBOUNDED);
 	}
 
 	@NotNull
@@ -202,9 +393,75 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		return numbers(start, 1);
 	}
 
+	/**
+	 * Returns the infinite sequence of the numbers <code>start</code>, <code>start + step</code>, ...
+	 * (overflowing like <code>int</code> arithmetic).  {@link #get(int)}, {@link #drop(long)} and
+	 * {@link #slice(long, long)} are constant time operations.
+	 *
+	 * @param start first number
+	 * @param step  difference between two consecutive numbers
+	 * @return infinite sequence of numbers
+	 */
 	@NotNull
 	public static LazySeq<Integer> numbers(int start, int step) {
-		return cons(start, () -> numbers(start + step, step));
+		return ClosedFormSeq.of(i -> start + (int) i * step, ClosedFormSeq.UNBOUNDED);
+	}
+
+	/**
+	 * Returns the numbers from <code>from</code> (inclusive) to <code>to</code> (exclusive).
+	 *
+	 * @param from first number
+	 * @param to   upper bound (exclusive)
+	 * @return sequence of the numbers <code>from</code>, <code>from + 1</code>, ..., <code>to - 1</code>
+	 */
+	@NotNull
+	public static LazySeq<Integer> range(int from, int to) {
+		return range(from, to, 1);
+	}
+
+	/**
+	 * Returns the numbers from <code>from</code> (inclusive) to <code>to</code> (exclusive) in steps of
+	 * <code>step</code>, which may be negative.  {@link #get(int)}, {@link #drop(long)}, {@link #slice(long, long)},
+	 * {@link #last()} and {@link #size()} are constant time operations, and {@link #spliterator()} splits the range
+	 * without evaluating it.
+	 *
+	 * @param from first number
+	 * @param to   bound (exclusive)
+	 * @param step difference between two consecutive numbers; must not be 0
+	 * @return sequence of the numbers <code>from</code>, <code>from + step</code>, ... before <code>to</code>
+	 */
+	@NotNull
+	public static LazySeq<Integer> range(int from, int to, int step) {
+		if (step == 0) {
+			throw new IllegalArgumentException("step must not be 0");
+		}
+		final long distance = step > 0 ? (long) to - from : (long) from - to;
+		final long absStep = Math.abs((long) step);
+		final long size = distance <= 0 ? 0 : (distance + absStep - 1) / absStep;
+		return ClosedFormSeq.of(i -> (int) (from + i * step), size);
+	}
+
+	/**
+	 * Chunked variant of {@link #numbers(int)} (see {@link #chunked(Iterator, int)}).
+	 *
+	 * @param start first number
+	 * @return chunked sequence of the numbers <code>start</code>, <code>start + 1</code>, ...
+	 */
+	@NotNull
+	public static LazySeq<Integer> chunkedNumbers(int start) {
+		return chunkedNumbers(start, 1);
+	}
+
+	/**
+	 * Chunked variant of {@link #numbers(int, int)} (see {@link #chunked(Iterator, int)}).
+	 *
+	 * @param start first number
+	 * @param step  difference between two consecutive numbers
+	 * @return chunked sequence of the numbers <code>start</code>, <code>start + step</code>, ...
+	 */
+	@NotNull
+	public static LazySeq<Integer> chunkedNumbers(int start, int step) {
+		return chunkedTabulate(0, i -> start + i * step);
 	}
 
 	@NotNull
@@ -217,13 +474,57 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		return cons(start, () -> numbers(start + step, step));
 	}
 
+	/**
+	 * Returns the concatenation of this sequence and <code>seq</code>.
+	 * The concatenation is created in constant time without evaluating this sequence, and it stays stack-safe
+	 * for arbitrarily deep chains of concatenations (see {@link ConcatSeq}).
+	 *
+	 * @param seq sequence to append
+	 * @return concatenation of this sequence and <code>seq</code>
+	 */
 	@NotNull
 	public LazySeq<E> concat(@NotNull LazySeq<E> seq) {
-		return concat(this, seq);
+		return ConcatSeq.of(this, new MemoTail<>(seq));
 	}
 
 	protected abstract boolean isTailDefined();
 
+	/**
+	 * Passes the elements of this sequence to <code>sink</code> until it returns <code>false</code>.
+	 * This is the internal iteration all terminal operations are based on.  It walks the cells in a loop, so the
+	 * evaluated tails are memoized as usual and every element is computed only once.  Note that each operator of a
+	 * chain like <code>map(..).filter(..).map(..)</code> creates its own cells; use {@link #view()} to fuse such
+	 * a chain into a single loop.
+	 *
+	 * @param sink receiver of the elements; returns <code>false</code> to stop the iteration
+	 * @return <code>false</code> if the iteration was stopped by <code>sink</code>, <code>true</code> otherwise
+	 */
+	boolean forEachWhile(@NotNull Predicate<? super E> sink) {
+		LazySeq<E> cur = this;
+		while (!cur.isEmpty()) {
+			if (!sink.test(cur.head())) {
+				return false;
+			}
+			cur = cur.tail();
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the number of elements if it is known without evaluating this sequence, otherwise <code>-1</code>.
+	 */
+	long knownSize() {
+		return -1;
+	}
+
+	/**
+	 * Returns the hash code if it has already been computed and cached, otherwise <code>0</code>.
+	 * Only fully realized immutable sequences cache their hash code.
+	 */
+	int cachedHashCode() {
+		return 0;
+	}
+
 	@Override
 	@NotNull
 	public E get(final int index) {
@@ -232,14 +533,45 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		}
 		LazySeq<E> cur = this;
 		for (int curIdx = index; curIdx > 0; --curIdx) {
-			if (cur.tail().isEmpty()) {
+			cur = cur.tail();
+			if (cur.isEmpty()) {
 				throw new IndexOutOfBoundsException(Integer.toString(index));
 			}
-			cur = cur.tail();
 		}
 		return cur.head();
 	}
 
+	/**
+	 * Returns this sequence with a skip index that records every 32nd cell while the sequence is realized
+	 * (see {@link #withSkipIndex(int)}).
+	 *
+	 * @return this sequence with a skip index
+	 */
+	@NotNull
+	public LazySeq<E> withSkipIndex() {
+		return withSkipIndex(SkipIndexedSeq.DEFAULT_INTERVAL);
+	}
+
+	/**
+	 * Returns this sequence with a skip index that records every <code>interval</code>-th cell while the sequence
+	 * is realized.  {@link #get(int)}, {@link #drop(long)} and {@link #size()} of the returned sequence start from the
+	 * nearest recorded cell instead of the head, so repeated positional access on the realized part of the sequence
+	 * takes at most <code>interval - 1</code> steps instead of <code>index</code> steps.
+	 * Creating the index does not evaluate the sequence.  The index costs one reference per <code>interval</code>
+	 * cells and keeps the recorded cells reachable as long as the returned sequence is referenced.
+	 * Only the returned sequence is indexed, not its tails or derived sequences.
+	 *
+	 * @param interval distance between two recorded cells
+	 * @return this sequence with a skip index
+	 */
+	@NotNull
+	public LazySeq<E> withSkipIndex(int interval) {
+		if (interval <= 0) {
+			throw new IllegalArgumentException(Integer.toString(interval));
+		}
+		return new SkipIndexedSeq<>(this, interval);
+	}
+
 	@NotNull
 	public abstract <R> LazySeq<R> map(@NotNull Function<? super E, ? extends R> mapper);
 
@@ -254,16 +586,97 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		});
 	}
 
+	/**
+	 * Maps the elements of this sequence to primitive <code>int</code>s.
+	 *
+	 * @param mapper function that maps an element to an <code>int</code>
+	 * @return lazy sequence of primitive <code>int</code>s
+	 */
+	@NotNull
+	public IntLazySeq mapToInt(@NotNull ToIntFunction<? super E> mapper) {
+		if (isEmpty()) {
+			return IntLazySeq.empty();
+		}
+		return IntLazySeq.cons(mapper.applyAsInt(head()), () -> tail().mapToInt(mapper));
+	}
+
+	/**
+	 * Maps the elements of this sequence to primitive <code>long</code>s.
+	 *
+	 * @param mapper function that maps an element to a <code>long</code>
+	 * @return lazy sequence of primitive <code>long</code>s
+	 */
+	@NotNull
+	public LongLazySeq mapToLong(@NotNull ToLongFunction<? super E> mapper) {
+		if (isEmpty()) {
+			return LongLazySeq.empty();
+		}
+		return LongLazySeq.cons(mapper.applyAsLong(head()), () -> tail().mapToLong(mapper));
+	}
+
+	/**
+	 * Maps the elements of this sequence to primitive <code>double</code>s.
+	 *
+	 * @param mapper function that maps an element to a <code>double</code>
+	 * @return lazy sequence of primitive <code>double</code>s
+	 */
+	@NotNull
+	public DoubleLazySeq mapToDouble(@NotNull ToDoubleFunction<? super E> mapper) {
+		if (isEmpty()) {
+			return DoubleLazySeq.empty();
+		}
+		return DoubleLazySeq.cons(mapper.applyAsDouble(head()), () -> tail().mapToDouble(mapper));
+	}
+
 	@Override
 	@NotNull
 	public Stream<E> stream() {
 		return new LazySeqStream<>(this);
 	}
 
+	/**
+	 * Returns a non-memoizing, single-pass view of this sequence (see {@link SeqView}).
+	 * The view does not retain the cells it has already traversed.  To process a huge or infinite sequence in
+	 * constant memory make sure that no other reference to the head of this sequence is kept.
+	 * <p>
+	 * Operators applied to the view are fused: a terminal operation like
+	 * <code>seq.view().map(f).filter(p).map(g).forEach(action)</code> walks the cells of this sequence once and
+	 * pushes each element through all operators without creating intermediate cells.  The cells of this sequence
+	 * are evaluated and memoized as usual, so a sequence held elsewhere computes each of its elements only once.
+	 * </p>
+	 *
+	 * @return single-pass view of this sequence
+	 */
+	@NotNull
+	public SeqView<E> view() {
+		return SeqView.of(this);
+	}
+
+	/**
+	 * Returns a parallel {@link Stream} that is processed by the fork/join framework of the JDK.
+	 * The sequence itself is evaluated sequentially in growing batches (see {@link #spliterator()}),
+	 * whereas the stream operations are applied to the batches in parallel.
+	 *
+	 * @return parallel stream of the elements of this sequence
+	 */
 	@Override
 	@NotNull
 	public Stream<E> parallelStream() {
-		return stream();
+		return StreamSupport.stream(spliterator(), true);
+	}
+
+	/**
+	 * Returns a {@link Spliterator} over the elements of this sequence.
+	 * The sequence is evaluated only as far as the elements are consumed or split off.
+	 * The spliterator is always {@link Spliterator#ORDERED}, {@link Spliterator#IMMUTABLE} and {@link Spliterator#NONNULL}.
+	 * It is {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED} if the sequence is already fully evaluated.
+	 *
+	 * @return spliterator over the elements of this sequence
+	 */
+	@Override
+	@NotNull
+	public Spliterator<E> spliterator() {
+		return new LazySeqSpliterator<>(this);
 	}
 
 	@Override
@@ -339,7 +752,7 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 
 		if (!curr.isEmpty()) {
 			final LazySeq<E> finalCurr = curr;
-			return cons(curr.head(), () -> finalCurr.tail().filter(predicate));
+			return cons(curr.head(), new OperatorTail.FilterTail<>(finalCurr, predicate));
 		} else {
 			return empty();
 		}
@@ -356,8 +769,19 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		return filter(predicate).headOption();
 	}
 
+	/**
+	 * Returns the lazy concatenation of the iterables the elements are mapped to.
+	 * The iterables are not copied: an inner {@link LazySeq} is concatenated as it is and any other iterable is read
+	 * through its iterator only as far as the result is evaluated, so inner results may be infinite.
+	 * Elements are mapped up to the first one with a non-empty result; runs of empty results do not recurse.
+	 *
+	 * @param mapper function mapping each element to an iterable of result elements
+	 * @return concatenation of the mapped iterables
+	 */
 	@NotNull
-	public abstract <R> LazySeq<R> flatMap(@NotNull Function<? super E, ? extends Iterable<? extends R>> mapper);
+	public <R> LazySeq<R> flatMap(@NotNull Function<? super E, ? extends Iterable<? extends R>> mapper) {
+		return FlatMap.of(this, mapper);
+	}
 
 	@NotNull
 	public <R> LazySeq<R> flatMapEx(@NotNull ExceptionFunction<? super E, ? extends Iterable<? extends R>, ? extends Exception> mapper) {
@@ -383,7 +807,28 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 	 */
 	@NotNull
 	public List<E> toList() {
-		return Collections.unmodifiableList(this.force());
+		final ArrayList<E> list = new ArrayList<>();
+		forEachWhile(list::add);
+		return Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * Performs a mutable reduction on the elements of this sequence using the given {@link Collector}.
+	 * <p>Notice that this method will eventually fail at runtime when called on infinite sequence.</p>
+	 *
+	 * @param <A>       intermediate accumulation type of the collector
+	 * @param <R>       type of the result
+	 * @param collector collector describing the reduction
+	 * @return result of the reduction
+	 */
+	public <R, A> R collect(@NotNull Collector<? super E, A, R> collector) {
+		final A container = collector.supplier().get();
+		final BiConsumer<A, ? super E> accumulator = collector.accumulator();
+		forEachWhile(e -> {
+			accumulator.accept(container, e);
+			return true;
+		});
+		return collector.finisher().apply(container);
 	}
 
 	/**
@@ -480,8 +925,9 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 	}
 
 	/**
-	 * Returns the given number of elements from the end of this sequence.  If the
-	 * Note that this implementation iterates twice over this sequence.
+	 * Returns the given number of elements from the end of this sequence.  If the sequence has at most
+	 * <code>maxSize</code> elements the sequence itself is returned.
+	 * The sequence is traversed once, keeping the last <code>maxSize</code> elements in a ring buffer.
 	 *
 	 * @param maxSize maximum number of elements.
 	 * @return the given number of elements from the end of this sequence
@@ -494,11 +940,17 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		if (maxSize == 0) {
 			return empty();
 		}
-		int size = size();
-		if (maxSize >= size) {
-			return this;
-		}
-		return drop(size - maxSize);
+		final ArrayDeque<E> ring = new ArrayDeque<>();
+		final boolean[] overflown = {false};
+		forEachWhile(e -> {
+			if (ring.size() == maxSize) {
+				ring.pollFirst();
+				overflown[0] = true;
+			}
+			ring.addLast(e);
+			return true;
+		});
+		return overflown[0] ? ArraySeq.ofArray(ring.toArray()) : this;
 	}
 
 	@NotNull
@@ -512,6 +964,15 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		return dropUnsafe(startInclusive);
 	}
 
+	/**
+	 * Returns this sequence without the given number of elements at its end.
+	 * The result is lazy: an element is emitted as soon as the <code>numberOfItemsToDropAtEnd</code> elements
+	 * following it are known, which are kept in a buffer meanwhile.  Thus the sequence is traversed only once and
+	 * dropRight can be applied to infinite sequences as well.
+	 *
+	 * @param numberOfItemsToDropAtEnd number of elements to drop from the end of this sequence
+	 * @return sequence without the last <code>numberOfItemsToDropAtEnd</code> elements
+	 */
 	@NotNull
 	public LazySeq<E> dropRight(long numberOfItemsToDropAtEnd) {
 		if (numberOfItemsToDropAtEnd < 0) {
@@ -519,13 +980,19 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		} else if (numberOfItemsToDropAtEnd == 0) {
 			return this;
 		} else {
-			long size = size();
-			if (numberOfItemsToDropAtEnd > size) {
-				return LazySeq.empty();
-			} else {
-				return take(size - numberOfItemsToDropAtEnd);
-			}
+			return dropRightLagging(iterator(), new ArrayDeque<>(), numberOfItemsToDropAtEnd);
+		}
+	}
+
+	@NotNull
+	private static <E> LazySeq<E> dropRightLagging(@NotNull Iterator<E> iterator, @NotNull ArrayDeque<E> lag, long lagSize) {
+		while (lag.size() <= lagSize && iterator.hasNext()) {
+			lag.addLast(iterator.next());
+		}
+		if (lag.size() <= lagSize) {
+			return empty();
 		}
+		return cons(lag.pollFirst(), () -> dropRightLagging(iterator, lag, lagSize));
 	}
 
 	/**
@@ -568,11 +1035,10 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 	}
 
 	public void forEach(@NotNull Consumer<? super E> action) {
-		LazySeq<E> cur = this;
-		while (!cur.isEmpty()) {
-			action.accept(cur.head());
-			cur = cur.tail();
-		}
+		forEachWhile(e -> {
+			action.accept(e);
+			return true;
+		});
 	}
 
 	public <Ex extends Exception> void forEachEx(@NotNull ExceptionConsumer<? super E, Ex> action) throws Ex {
@@ -593,13 +1059,13 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 
 	@NotNull
 	public <U> U reduce(@NotNull U identity, @NotNull BiFunction<U, ? super E, U> accumulator) {
-		U result = identity;
-		LazySeq<E> cur = this;
-		while (!cur.isEmpty()) {
-			result = accumulator.apply(result, cur.head());
-			cur = cur.tail();
-		}
-		return result;
+		@SuppressWarnings("unchecked")
+		final U[] result = (U[]) new Object[]{identity};
+		forEachWhile(e -> {
+			result[0] = accumulator.apply(result[0], e);
+			return true;
+		});
+		return result[0];
 	}
 
 	@NotNull
@@ -668,12 +1134,7 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 	}
 
 	public boolean anyMatch(@NotNull Predicate<? super E> predicate) {
-		for (E e : this) {
-			if (predicate.test(e)) {
-				return true;
-			}
-		}
-		return false;
+		return !forEachWhile(e -> !predicate.test(e));
 	}
 
 	public <Ex extends Exception> boolean anyMatchEx(@NotNull ExceptionPredicate<? super E, Ex> predicate) throws Ex {
@@ -686,12 +1147,7 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 	}
 
 	public boolean allMatch(@NotNull Predicate<? super E> predicate) {
-		for (E e : this) {
-			if (!predicate.test(e)) {
-				return false;
-			}
-		}
-		return true;
+		return forEachWhile(predicate);
 	}
 
 	public <Ex extends Exception> boolean allMatchEx(@NotNull ExceptionPredicate<? super E, Ex> predicate) throws Ex {
@@ -712,13 +1168,14 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 	}
 
 	public int count(@NotNull Predicate<? super E> predicate) {
-		int count = 0;
-		for (E e : this) {
+		final int[] count = {0};
+		forEachWhile(e -> {
 			if (predicate.test(e)) {
-				count++;
+				count[0]++;
 			}
-		}
-		return count;
+			return true;
+		});
+		return count[0];
 	}
 
 	public boolean exists(@NotNull Predicate<? super E> predicate) {
@@ -765,7 +1222,7 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 	@NotNull
 	public LazySeq<E> takeWhile(@NotNull Predicate<? super E> predicate) {
 		if (predicate.test(head())) {
-			return cons(head(), () -> tail().takeWhile(predicate));
+			return cons(head(), new OperatorTail.TakeWhileTail<>(this, predicate));
 		} else {
 			return empty();
 		}
@@ -782,6 +1239,15 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		return seq;
 	}
 
+	/**
+	 * Returns the lazy sequence of all windows of <code>size</code> consecutive elements of this sequence.
+	 * If this sequence is non-empty but shorter than <code>size</code> the only window contains all of its elements.
+	 * The source is traversed once; the windows are read-only views on shared buffers, so sliding over
+	 * <code>n</code> elements takes <code>O(n)</code> time independent of <code>size</code>.
+	 *
+	 * @param size size of the windows
+	 * @return sequence of windows
+	 */
 	@NotNull
 	public LazySeq<List<E>> sliding(int size) {
 		if (size <= 0) {
@@ -792,20 +1258,21 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 
 	@NotNull
 	protected LazySeq<List<E>> slidingUnsafe(int size) {
-		final List<E> window = take(size).toList();
-		return cons(window, () -> tail().slidingFullOnly(size));
+		return Windows.sliding(this, size);
 	}
 
 	@NotNull
 	protected LazySeq<List<E>> slidingFullOnly(int size) {
-		final List<E> window = take(size).toList();
-		if (window.size() < size) {
-			return empty();
-		} else {
-			return cons(window, () -> tail().slidingFullOnly(size));
-		}
+		return Windows.slidingFullOnly(this, size);
 	}
 
+	/**
+	 * Returns the lazy sequence of groups of <code>size</code> consecutive elements of this sequence; the last group
+	 * may be smaller.  The source is traversed once and the groups are read-only lists.
+	 *
+	 * @param size size of the groups
+	 * @return sequence of groups
+	 */
 	@NotNull
 	public LazySeq<List<E>> grouped(int size) {
 		if (size <= 0) {
@@ -816,8 +1283,61 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 
 	@NotNull
 	protected LazySeq<List<E>> groupedUnsafe(int size) {
-		final List<E> window = take(size).toList();
-		return cons(window, () -> drop(size).groupedUnsafe(size));
+		return Windows.grouped(this, size);
+	}
+
+	/**
+	 * Returns the lazy sequence of the minima of all windows of <code>size</code> consecutive elements, like the minima
+	 * of {@link #sliding(int)}.  Uses a monotonic deque, so every window costs amortized <code>O(1)</code>
+	 * comparisons.  For sums and averages map to a primitive sequence, e.g.
+	 * <code>seq.mapToInt(x -&gt; x).slidingSum(size)</code>.
+	 *
+	 * @param size       size of the windows
+	 * @param comparator order of the elements
+	 * @return sequence of window minima
+	 */
+	@NotNull
+	public LazySeq<E> slidingMin(int size, @NotNull Comparator<? super E> comparator) {
+		if (size <= 0) {
+			throw new IllegalArgumentException(Integer.toString(size));
+		}
+		return of(SlidingAggregates.min(iterator(), size, comparator));
+	}
+
+	/**
+	 * Returns the lazy sequence of the maxima of all windows of <code>size</code> consecutive elements, like the maxima
+	 * of {@link #sliding(int)}.  Uses a monotonic deque, so every window costs amortized <code>O(1)</code>
+	 * comparisons.
+	 *
+	 * @param size       size of the windows
+	 * @param comparator order of the elements
+	 * @return sequence of window maxima
+	 */
+	@NotNull
+	public LazySeq<E> slidingMax(int size, @NotNull Comparator<? super E> comparator) {
+		if (size <= 0) {
+			throw new IllegalArgumentException(Integer.toString(size));
+		}
+		return of(SlidingAggregates.min(iterator(), size, comparator.reversed()));
+	}
+
+	/**
+	 * Returns the lazy sequence of the reductions of all windows of <code>size</code> consecutive elements with the
+	 * given associative operator, like <code>sliding(size).map(w -&gt; reduce(w, op))</code>.
+	 * The operator is applied in window order but need not be commutative or invertible.  The window is kept as two
+	 * stacks of partial aggregates, so every window costs amortized <code>O(1)</code> operator applications.
+	 * Map the elements first to aggregate other monoids, e.g. <code>seq.map(x -&gt; x.weight).slidingReduce(size, Math::max)</code>.
+	 *
+	 * @param size size of the windows
+	 * @param op   associative operator
+	 * @return sequence of window reductions
+	 */
+	@NotNull
+	public LazySeq<E> slidingReduce(int size, @NotNull BinaryOperator<E> op) {
+		if (size <= 0) {
+			throw new IllegalArgumentException(Integer.toString(size));
+		}
+		return of(SlidingAggregates.reduce(iterator(), size, op));
 	}
 
 	@NotNull
@@ -845,36 +1365,231 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 
 	@NotNull
 	public LazySeq<E> distinct() {
-		return filterOutSeen(new HashSet<>());
+		final Set<E> seen = new HashSet<>();
+		return filterFirstSeen(seen::add);
 	}
 
+	/**
+	 * Returns this sequence without elements that have been seen recently: an element is dropped if it is equal to
+	 * one of the last <code>windowSize</code> distinct elements seen before (including dropped ones).  Within this
+	 * window the deduplication is exact, but an element that reoccurs after more than <code>windowSize</code> other
+	 * distinct elements is kept again.  Only a bounded LRU set of <code>windowSize</code> elements is kept, so this
+	 * works on infinite sequences in bounded memory.
+	 *
+	 * @param windowSize number of most recently seen distinct elements to remember
+	 * @return sequence without recent repetitions
+	 */
 	@NotNull
-	private LazySeq<E> filterOutSeen(@NotNull Set<E> exclude) {
+	public LazySeq<E> distinct(int windowSize) {
+		if (windowSize <= 0) {
+			throw new IllegalArgumentException(Integer.toString(windowSize));
+		}
+		return filterFirstSeen(Distinct.lastSeen(windowSize));
+	}
+
+	/**
+	 * Returns this sequence without repetitions, using a Bloom filter of fixed size instead of a set of all seen
+	 * elements.  Repetitions (elements with equal hash codes) are always dropped.  A new element is wrongly
+	 * dropped with probability at most <code>fpp</code> as long as at most <code>expectedInsertions</code> distinct
+	 * elements have been seen; beyond that the probability grows.  The filter takes about
+	 * <code>-expectedInsertions * ln(fpp) / ln(2)^2</code> bits, e.g. 1.2 MB for a million elements and
+	 * <code>fpp = 0.01</code>.
+	 *
+	 * @param expectedInsertions expected number of distinct elements
+	 * @param fpp                desired probability of wrongly dropping a new element, in <code>(0, 1)</code>
+	 * @return sequence without repetitions, possibly missing some distinct elements
+	 */
+	@NotNull
+	public LazySeq<E> distinctApprox(long expectedInsertions, double fpp) {
+		return filterFirstSeen(Distinct.approx(expectedInsertions, fpp));
+	}
+
+	/**
+	 * Returns the elements for which <code>firstSeen</code> returns <code>true</code>; <code>firstSeen</code> is
+	 * called exactly once per element in order.
+	 */
+	@NotNull
+	private LazySeq<E> filterFirstSeen(@NotNull Predicate<? super E> firstSeen) {
 		LazySeq<E> curr = this;
-		while (!curr.isEmpty() && exclude.contains(curr.head())) {
+		while (!curr.isEmpty() && !firstSeen.test(curr.head())) {
 			curr = curr.tail();
 		}
 
 		if (!curr.isEmpty()) {
-			exclude.add(curr.head());
 			final LazySeq<E> finalCurr = curr;
-			return cons(curr.head(), () -> finalCurr.tail().filterOutSeen(exclude));
+			return cons(curr.head(), () -> finalCurr.tail().filterFirstSeen(firstSeen));
 		} else {
 			return empty();
 		}
 	}
 
+	/**
+	 * Returns this sequence, which has to be sorted by the given comparator, without repetitions: of consecutive
+	 * equal elements only the first one is kept.  In contrast to {@link #distinct()} no set of seen elements is
+	 * kept, so this works on infinite sequences in constant memory.
+	 *
+	 * @param comparator order of this sequence
+	 * @return strictly increasing sequence
+	 */
+	@NotNull
+	public LazySeq<E> distinctSorted(@NotNull Comparator<? super E> comparator) {
+		return SortedMerge.distinct(this, comparator);
+	}
+
+	/**
+	 * Returns the elements contained in this sequence or in <code>other</code>, both sorted by the given comparator,
+	 * as strictly increasing sequence.  Of equal elements the one of this sequence is taken.  The operation is lazy
+	 * and works on infinite sequences.
+	 *
+	 * @param other      other sorted sequence
+	 * @param comparator order of both sequences
+	 * @return sorted union without repetitions
+	 */
+	@NotNull
+	public LazySeq<E> unionSorted(@NotNull LazySeq<? extends E> other, @NotNull Comparator<? super E> comparator) {
+		return SortedMerge.union(this, other, comparator);
+	}
+
+	/**
+	 * Returns the elements of this sequence that are contained in <code>other</code>, both sorted by the given
+	 * comparator, as strictly increasing sequence.  The operation is lazy and works on infinite sequences, but
+	 * finding the next common element does not terminate if there is none.
+	 *
+	 * @param other      other sorted sequence
+	 * @param comparator order of both sequences
+	 * @return sorted intersection without repetitions
+	 */
+	@NotNull
+	public LazySeq<E> intersectSorted(@NotNull LazySeq<? extends E> other, @NotNull Comparator<? super E> comparator) {
+		return SortedMerge.intersect(this, other, comparator);
+	}
+
+	/**
+	 * Returns the elements of this sequence that are not contained in <code>other</code>, both sorted by the given
+	 * comparator, as strictly increasing sequence.  The operation is lazy and works on infinite sequences, but
+	 * finding the next remaining element does not terminate if there is none.
+	 *
+	 * @param other      other sorted sequence
+	 * @param comparator order of both sequences
+	 * @return sorted difference without repetitions
+	 */
+	@NotNull
+	public LazySeq<E> diffSorted(@NotNull LazySeq<? extends E> other, @NotNull Comparator<? super E> comparator) {
+		return SortedMerge.diff(this, other, comparator);
+	}
+
 	@SuppressWarnings("unchecked")
 	@NotNull
 	public LazySeq<E> sorted() {
 		return sorted((o1, o2) -> ((Comparable<E>) o1).compareTo(o2));
 	}
 
+	/**
+	 * Returns the elements of this finite sequence sorted by the given comparator; the sort is stable.
+	 * The elements are heapified in <code>O(n)</code> and the sorted sequence is computed lazily, so reading only the
+	 * first <code>k</code> elements, e.g. <code>sorted(comparator).take(k)</code>, costs <code>O(n + k log n)</code>.
+	 * Large sequences are sorted in parallel, so the comparator may be called from several threads.
+	 *
+	 * @param comparator order of the elements
+	 * @return sorted {@link LazySeq}
+	 */
 	@NotNull
 	public LazySeq<E> sorted(@NotNull Comparator<? super E> comparator) {
-		final ArrayList<E> list = new ArrayList<>(this);
-		list.sort(comparator);
-		return of(list);
+		return Sorting.sorted(this, comparator);
+	}
+
+	/**
+	 * Sorts this finite {@link LazySeq} stably by the given <code>int</code> key.
+	 * The key is extracted once per element and the keys are radix sorted without boxing and without comparisons,
+	 * which takes <code>O(n)</code> time.
+	 *
+	 * @param key function that maps the elements to the key the sequence shall be sorted on
+	 * @return sorted {@link LazySeq}
+	 */
+	@NotNull
+	public LazySeq<E> sortedByInt(@NotNull ToIntFunction<? super E> key) {
+		return Sorting.sortedByInt(this, key);
+	}
+
+	/**
+	 * Sorts this finite {@link LazySeq} stably by the given <code>long</code> key.
+	 * The key is extracted once per element and the keys are radix sorted without boxing and without comparisons,
+	 * which takes <code>O(n)</code> time.
+	 *
+	 * @param key function that maps the elements to the key the sequence shall be sorted on
+	 * @return sorted {@link LazySeq}
+	 */
+	@NotNull
+	public LazySeq<E> sortedByLong(@NotNull ToLongFunction<? super E> key) {
+		return Sorting.sortedByLong(this, key);
+	}
+
+	/**
+	 * Returns the elements of this finite sequence sorted by the given comparator, keeping at most
+	 * <code>runSize</code> elements in memory (external merge sort).  The sort is stable.
+	 * The sequence is read in runs of <code>runSize</code> elements, each run is sorted and written to a temporary
+	 * file via <code>serializer</code>, and the result lazily merges the run files.  The files are deleted when the
+	 * result is exhausted or closed (see {@link ExternalSortedSeq}).
+	 *
+	 * @param comparator order of the elements
+	 * @param runSize    maximum number of elements sorted in memory
+	 * @param serializer serializer used to write the elements to and read them from the temporary files
+	 * @return sorted sequence
+	 * @throws java.io.UncheckedIOException if a temporary file could not be written
+	 */
+	@NotNull
+	public ExternalSortedSeq<E> sortedExternally(@NotNull Comparator<? super E> comparator, int runSize,
+	                                             @NotNull ElementSerializer<E> serializer) {
+		return sortedExternally(comparator, runSize, serializer, Paths.get(System.getProperty("java.io.tmpdir")));
+	}
+
+	/**
+	 * Returns the elements of this finite sequence sorted by the given comparator, keeping at most
+	 * <code>runSize</code> elements in memory and spilling sorted runs to temporary files in <code>directory</code>
+	 * (see {@link #sortedExternally(Comparator, int, ElementSerializer)}).
+	 *
+	 * @param comparator order of the elements
+	 * @param runSize    maximum number of elements sorted in memory
+	 * @param serializer serializer used to write the elements to and read them from the temporary files
+	 * @param directory  directory of the temporary files
+	 * @return sorted sequence
+	 * @throws java.io.UncheckedIOException if a temporary file could not be written
+	 */
+	@NotNull
+	public ExternalSortedSeq<E> sortedExternally(@NotNull Comparator<? super E> comparator, int runSize,
+	                                             @NotNull ElementSerializer<E> serializer, @NotNull Path directory) {
+		return ExternalSortedSeq.of(this, comparator, runSize, serializer, directory);
+	}
+
+	/**
+	 * Returns the <code>k</code> greatest elements of this finite sequence in descending order; of equal elements
+	 * the first ones are taken.  Equivalent to <code>sorted(comparator.reversed()).take(k)</code>, but only a heap of
+	 * <code>k</code> elements is kept while the sequence is traversed once, which takes <code>O(n log k)</code> time.
+	 *
+	 * @param k          maximum number of elements
+	 * @param comparator order of the elements
+	 * @return the <code>k</code> greatest elements
+	 */
+	@NotNull
+	public LazySeq<E> topK(int k, @NotNull Comparator<? super E> comparator) {
+		return bottomK(k, comparator.reversed());
+	}
+
+	/**
+	 * Returns the <code>k</code> smallest elements of this finite sequence in ascending order; of equal elements
+	 * the first ones are taken.  Equivalent to <code>sorted(comparator).take(k)</code>, but only a heap of
+	 * <code>k</code> elements is kept while the sequence is traversed once, which takes <code>O(n log k)</code> time.
+	 *
+	 * @param k          maximum number of elements
+	 * @param comparator order of the elements
+	 * @return the <code>k</code> smallest elements
+	 */
+	@NotNull
+	public LazySeq<E> bottomK(int k, @NotNull Comparator<? super E> comparator) {
+		if (k < 0) {
+			throw new IllegalArgumentException(Integer.toString(k));
+		}
+		return Sorting.smallest(this, k, comparator);
 	}
 
 	/**
@@ -893,8 +1608,14 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 	}
 
 	public boolean startsWith(Iterator<E> iterator) {
-		return !iterator.hasNext() ||
-				head().equals(iterator.next()) && tail().startsWith(iterator);
+		LazySeq<E> cur = this;
+		while (iterator.hasNext()) {
+			if (cur.isEmpty() || !cur.head().equals(iterator.next())) {
+				return false;
+			}
+			cur = cur.tail();
+		}
+		return true;
 	}
 
 	@NotNull
@@ -911,15 +1632,48 @@ public abstract class LazySeq<E> extends AbstractList<E> {
 		if (this == o) return true;
 		if (!(o instanceof LazySeq)) return false;
 
+		LazySeq<?> left = this;
 		LazySeq<?> right = (LazySeq<?>) o;
-		return !right.isEmpty() &&
-				head().equals(right.head()) &&
-				tail().equals(right.tail());
+		final long leftSize = left.knownSize();
+		final long rightSize = right.knownSize();
+		if (leftSize >= 0 && rightSize >= 0 && leftSize != rightSize) {
+			return false;
+		}
+		final int leftHash = left.cachedHashCode();
+		final int rightHash = right.cachedHashCode();
+		if (leftHash != 0 && rightHash != 0 && leftHash != rightHash) {
+			return false;
+		}
+		while (left != right && !left.isEmpty()) {
+			if (left instanceof IndexedSeq && right instanceof IndexedSeq) {
+				return left.equals(right);
+			}
+			if (right.isEmpty() || !left.head().equals(right.head())) {
+				return false;
+			}
+			left = left.tail();
+			right = right.tail();
+		}
+		return left == right || right.isEmpty();
 	}
 
+	/**
+	 * Returns <code>sum(e_i.hashCode() * 31^i)</code> over all elements <code>e_i</code>, computed from the front.
+	 * The traversal stops at the first suffix with a {@link #cachedHashCode() cached hash code}.
+	 */
 	@Override
 	public int hashCode() {
-		return head().hashCode() + tail().hashCode() * 31;
+		int hashCode = 0;
+		int factor = 1;
+		for (LazySeq<E> cur = this; !cur.isEmpty(); cur = cur.tail()) {
+			final int cached = cur.cachedHashCode();
+			if (cached != 0) {
+				return hashCode + cached * factor;
+			}
+			hashCode += cur.head().hashCode() * factor;
+			factor *= 31;
+		}
+		return hashCode;
 	}
 
 }
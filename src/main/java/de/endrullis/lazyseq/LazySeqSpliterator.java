@@ -0,0 +1,154 @@
+package de.endrullis.lazyseq;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * {@link Spliterator} over a {@link LazySeq}.
+ * <p>
+ * Splitting works like the {@link Spliterators#spliteratorUnknownSize(java.util.Iterator, int) iterator based spliterators}
+ * of the JDK: every call of {@link #trySplit()} walks (and thereby evaluates) the next batch of elements and copies them
+ * into an array, whereas the batch size grows arithmetically.  This way the fork/join framework can process the batches
+ * in parallel while the sequence itself is still evaluated sequentially.
+ * </p>
+ * <p>
+ * If the sequence is already fully evaluated (e.g. a chain of <code>FixedCons</code> or a forced sequence)
+ * the spliterator reports {@link #SIZED} and {@link #SUBSIZED}, and a split never takes more than half of the
+ * remaining elements.
+ * </p>
+ *
+ * @author Stefan Endrullis
+ */
+class LazySeqSpliterator<E> implements Spliterator<E> {
+
+	static final int BATCH_UNIT = 1 << 10;
+	static final int MAX_BATCH = 1 << 25;
+
+	private static final long SIZE_NOT_COMPUTED = -2;
+	private static final long SIZE_UNKNOWN = -1;
+
+	private LazySeq<E> underlying;
+	/** Whether the head of {@link #underlying} was already consumed (tail evaluation is postponed until needed). */
+	private boolean getUnderlyingTail = false;
+	private long size = SIZE_NOT_COMPUTED;
+	private int batch = 0;
+
+	LazySeqSpliterator(LazySeq<E> underlying) {
+		this.underlying = underlying;
+	}
+
+	private LazySeq<E> underlying() {
+		if (getUnderlyingTail) {
+			underlying = underlying.tail();
+			getUnderlyingTail = false;
+		}
+		return underlying;
+	}
+
+	/**
+	 * Returns the number of remaining elements if all of them are evaluated already, or {@link #SIZE_UNKNOWN} otherwise.
+	 * Only the already evaluated prefix of the sequence is walked.
+	 */
+	private long knownSize() {
+		if (size == SIZE_NOT_COMPUTED) {
+			LazySeq<E> cur = underlying;
+			long count = 0;
+			if (getUnderlyingTail) {
+				if (!cur.isTailDefined()) {
+					return size = SIZE_UNKNOWN;
+				}
+				cur = cur.tail();
+			}
+			while (!cur.isEmpty()) {
+				count++;
+				if (!cur.isTailDefined()) {
+					return size = SIZE_UNKNOWN;
+				}
+				cur = cur.tail();
+			}
+			size = count;
+		}
+		return size;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super E> action) {
+		Objects.requireNonNull(action);
+		final LazySeq<E> cur = underlying();
+		if (cur.isEmpty()) {
+			return false;
+		}
+		getUnderlyingTail = true;
+		if (size > 0) {
+			size--;
+		}
+		action.accept(cur.head());
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super E> action) {
+		Objects.requireNonNull(action);
+		final LazySeq<E> cur = underlying();
+		underlying = LazySeq.empty();
+		if (size > 0) {
+			size = 0;
+		}
+		cur.forEach(action);
+	}
+
+	@Override
+	public Spliterator<E> trySplit() {
+		LazySeq<E> cur = underlying();
+		if (cur.isEmpty()) {
+			return null;
+		}
+		final long knownSize = knownSize();
+		if (knownSize >= 0 && knownSize <= 1) {
+			return null;
+		}
+		int n = batch + BATCH_UNIT;
+		if (knownSize >= 0 && n > knownSize / 2) {
+			n = (int) (knownSize / 2);
+		}
+		if (n > MAX_BATCH) {
+			n = MAX_BATCH;
+		}
+
+		final Object[] array = new Object[n];
+		int j = 0;
+		do {
+			array[j++] = cur.head();
+			if (j < n) {
+				cur = cur.tail();
+			}
+		} while (j < n && !cur.isEmpty());
+
+		// the tail of the last copied element has not been evaluated yet
+		underlying = cur;
+		getUnderlyingTail = !cur.isEmpty();
+		batch = j;
+		if (size >= 0) {
+			size -= j;
+		}
+		return Spliterators.spliterator(array, 0, j, ORDERED | IMMUTABLE | NONNULL);
+	}
+
+	@Override
+	public long estimateSize() {
+		final long knownSize = knownSize();
+		return knownSize >= 0 ? knownSize : Long.MAX_VALUE;
+	}
+
+	@Override
+	public int characteristics() {
+		if (knownSize() >= 0) {
+			return ORDERED | IMMUTABLE | NONNULL | SIZED | SUBSIZED;
+		} else {
+			return ORDERED | IMMUTABLE | NONNULL;
+		}
+	}
+
+}
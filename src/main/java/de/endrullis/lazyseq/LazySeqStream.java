@@ -29,11 +29,44 @@ class LazySeqStream<E> implements Stream<E> {
 		return underlying.map(v -> ((R) mapper.apply(v))).stream();
 	}
 
+	/**
+	 * Reads the inner streams lazily, each one only as far as the resulting stream is consumed.
+	 * Like {@link Stream#flatMap(Function)} a <code>null</code> inner stream counts as empty, and an inner stream is
+	 * closed once it has been read completely.
+	 */
 	@Override
 	public <R> Stream<R> flatMap(Function<? super E, ? extends Stream<? extends R>> mapper) {
-		return underlying.
-				flatMap(e -> mapper.apply(e).collect(Collectors.<R>toList())).
-				stream();
+		return underlying.<R>flatMap(e -> {
+			final Stream<? extends R> inner = mapper.apply(e);
+			return inner == null ? Collections.<R>emptyList() : () -> closingIterator(inner);
+		}).stream();
+	}
+
+	/**
+	 * Returns an iterator over the stream that closes the stream when it is exhausted.
+	 */
+	private static <R> Iterator<R> closingIterator(Stream<? extends R> stream) {
+		final Iterator<? extends R> iterator = stream.iterator();
+		return new Iterator<R>() {
+			private boolean closed;
+
+			@Override
+			public boolean hasNext() {
+				if (iterator.hasNext()) {
+					return true;
+				}
+				if (!closed) {
+					closed = true;
+					stream.close();
+				}
+				return false;
+			}
+
+			@Override
+			public R next() {
+				return iterator.next();
+			}
+		};
 	}
 
 	@Override
@@ -140,7 +173,7 @@ class LazySeqStream<E> implements Stream<E> {
 
 	@Override
 	public Spliterator<E> spliterator() {
-		throw new UnsupportedOperationException("Not implemented");
+		return new LazySeqSpliterator<>(underlying);
 	}
 
 	@Override
@@ -155,7 +188,7 @@ class LazySeqStream<E> implements Stream<E> {
 
 	@Override
 	public Stream<E> parallel() {
-		return this;
+		return StreamSupport.stream(spliterator(), true).onClose(this::close);
 	}
 
 	@Override
@@ -165,32 +198,41 @@ class LazySeqStream<E> implements Stream<E> {
 
 	@Override
 	public IntStream mapToInt(ToIntFunction<? super E> mapper) {
-		throw new UnsupportedOperationException("Not yet implemented: mapToInt");
+		return sequentialJdkStream().mapToInt(mapper);
 	}
 
 	@Override
 	public LongStream mapToLong(ToLongFunction<? super E> mapper) {
-		throw new UnsupportedOperationException("Not yet implemented: mapToLong");
+		return sequentialJdkStream().mapToLong(mapper);
 	}
 
 	@Override
 	public DoubleStream mapToDouble(ToDoubleFunction<? super E> mapper) {
-		throw new UnsupportedOperationException("Not yet implemented: mapToDouble");
+		return sequentialJdkStream().mapToDouble(mapper);
 	}
 
 	@Override
 	public IntStream flatMapToInt(Function<? super E, ? extends IntStream> mapper) {
-		throw new UnsupportedOperationException("Not yet implemented: flatMapToInt");
+		return sequentialJdkStream().flatMapToInt(mapper);
 	}
 
 	@Override
 	public LongStream flatMapToLong(Function<? super E, ? extends LongStream> mapper) {
-		throw new UnsupportedOperationException("Not yet implemented: flatMapToLong");
+		return sequentialJdkStream().flatMapToLong(mapper);
 	}
 
 	@Override
 	public DoubleStream flatMapToDouble(Function<? super E, ? extends DoubleStream> mapper) {
-		throw new UnsupportedOperationException("Not yet implemented: flatMapToDouble");
+		return sequentialJdkStream().flatMapToDouble(mapper);
+	}
+
+	/**
+	 * Returns a sequential JDK stream that lazily pulls the elements from the underlying sequence via {@link #spliterator()}
+	 * and runs the close handlers of this stream when it is closed.
+	 * Used for the primitive specializations, which thereby operate on unboxed values without copying the sequence.
+	 */
+	private Stream<E> sequentialJdkStream() {
+		return StreamSupport.stream(spliterator(), false).onClose(this::close);
 	}
 
 	@Override
@@ -218,10 +260,11 @@ class LazySeqStream<E> implements Stream<E> {
 
 	@Override
 	public <R> R collect(Supplier<R> resultFactory, BiConsumer<R, ? super E> accumulator, BiConsumer<R, R> combiner) {
-		R result = resultFactory.get();
-		for (E element : underlying) {
+		final R result = resultFactory.get();
+		underlying.forEachWhile(element -> {
 			accumulator.accept(result, element);
-		}
+			return true;
+		});
 		return result;
 	}
 
@@ -231,11 +274,7 @@ class LazySeqStream<E> implements Stream<E> {
 		if (collector instanceof DummyLazySeqCollector) {
 			return (R) underlying;
 		}
-		A result = collector.supplier().get();
-		for (E element : underlying) {
-			collector.accumulator().accept(result, element);
-		}
-		return collector.finisher().apply(result);
+		return underlying.collect(collector);
 	}
 
 	@Override
@@ -165,6 +165,18 @@ public class LazyTupleSeq<K,V> extends LazySeq<Tuple<K,V>> {
 		return sortedBy(tupled(attribute));
 	}
 
+	@NotNull
+	@Override
+	public LazyTupleSeq<K, V> sortedByInt(@NotNull ToIntFunction<? super Tuple<K, V>> key) {
+		return new LazyTupleSeq<>(super.sortedByInt(key));
+	}
+
+	@NotNull
+	@Override
+	public LazyTupleSeq<K, V> sortedByLong(@NotNull ToLongFunction<? super Tuple<K, V>> key) {
+		return new LazyTupleSeq<>(super.sortedByLong(key));
+	}
+
 	@NotNull
 	@Override
 	protected LazySeq<Tuple<K, V>> takeUnsafe(long maxSize) {
@@ -0,0 +1,46 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * {@link IndexedSeq} backed by a {@link RandomAccess} list.  The list is not copied, so it must not be modified
+ * afterwards.  Since the list is not scanned in advance, <code>null</code> elements are rejected when accessed.
+ *
+ * @author Stefan Endrullis
+ */
+final class ListSeq<E> extends IndexedSeq<E> {
+
+	private final List<E> list;
+
+	private ListSeq(@NotNull List<E> list, int from, int to, boolean reversed) {
+		super(from, to, reversed);
+		this.list = list;
+	}
+
+	@NotNull
+	static <E> LazySeq<E> ofList(@NotNull List<E> list) {
+		return list.isEmpty() ? empty() : new ListSeq<>(list, 0, list.size(), false);
+	}
+
+	@Override
+	E at(int index) {
+		return Objects.requireNonNull(list.get(index));
+	}
+
+	@NotNull
+	@Override
+	Object store() {
+		return list;
+	}
+
+	@NotNull
+	@Override
+	IndexedSeq<E> window(int from, int to, boolean reversed) {
+		return new ListSeq<>(list, from, to, reversed);
+	}
+
+}
@@ -0,0 +1,59 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Non-empty {@link LongLazySeq} with an unboxed head and a lazily evaluated, memoized tail.
+ *
+ * @author Stefan Endrullis
+ */
+class LongCons extends LongLazySeq {
+	private final long head;
+	private volatile LongLazySeq tailOrNull;
+	/** Released once the tail is memoized. */
+	private Supplier<LongLazySeq> tailFun;
+
+	LongCons(long head, @NotNull Supplier<LongLazySeq> tailFun) {
+		this.head = head;
+		this.tailFun = Objects.requireNonNull(tailFun);
+	}
+
+	LongCons(long head, @NotNull LongLazySeq tail) {
+		this.head = head;
+		this.tailOrNull = Objects.requireNonNull(tail);
+		this.tailFun = null;
+	}
+
+	@Override
+	public long head() {
+		return head;
+	}
+
+	@NotNull
+	@Override
+	public LongLazySeq tail() {
+		if (!isTailDefined()) {
+			synchronized (this) {
+				if (!isTailDefined()) {
+					tailOrNull = tailFun.get();
+					tailFun = null;
+				}
+			}
+		}
+		return tailOrNull;
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		return tailOrNull != null;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+}
@@ -0,0 +1,545 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy sequence of primitive <code>long</code> values.
+ * <p>
+ * Works like {@link LazySeq} (eagerly computed head, lazily computed and memoized tail),
+ * but keeps the elements unboxed and offers primitive versions of the common operators,
+ * so that numeric pipelines don't pay for boxing.
+ * Use {@link #boxed()}, {@link #mapToObj(LongFunction)} and {@link LazySeq#mapToLong(ToLongFunction)} to convert
+ * between primitive and object sequences and {@link #stream()} / {@link #of(LongStream)} to convert from and to {@link LongStream}s.
+ * </p>
+ *
+ * @author Stefan Endrullis
+ */
+@SuppressWarnings("WeakerAccess")
+public abstract class LongLazySeq {
+
+	@NotNull
+	public static LongLazySeq empty() {
+		return LongNil.instance();
+	}
+
+	@NotNull
+	public static LongLazySeq of(@NotNull long... elements) {
+		LongLazySeq seq = empty();
+		for (int i = elements.length - 1; i >= 0; i--) {
+			seq = cons(elements[i], seq);
+		}
+		return seq;
+	}
+
+	@NotNull
+	public static LongLazySeq of(@NotNull PrimitiveIterator.OfLong iterator) {
+		if (iterator.hasNext()) {
+			return cons(iterator.nextLong(), () -> of(iterator));
+		} else {
+			return empty();
+		}
+	}
+
+	/**
+	 * Creates a lazy sequence of the elements of the given stream.
+	 * The stream is consumed only as far as the sequence is evaluated.
+	 *
+	 * @param stream stream of elements
+	 * @return lazy sequence of the stream elements
+	 */
+	@NotNull
+	public static LongLazySeq of(@NotNull LongStream stream) {
+		return of(stream.iterator());
+	}
+
+	@NotNull
+	public static LongLazySeq cons(long head, @NotNull Supplier<LongLazySeq> tailFun) {
+		return new LongCons(head, tailFun);
+	}
+
+	@NotNull
+	public static LongLazySeq cons(long head, @NotNull LongLazySeq tail) {
+		return new LongCons(head, tail);
+	}
+
+	@NotNull
+	public static LongLazySeq numbers(long start) {
+		return numbers(start, 1L);
+	}
+
+	@NotNull
+	public static LongLazySeq numbers(long start, long step) {
+		return cons(start, () -> numbers(start + step, step));
+	}
+
+	@NotNull
+	public static LongLazySeq iterate(long initial, @NotNull LongUnaryOperator fun) {
+		return cons(initial, () -> iterate(fun.applyAsLong(initial), fun));
+	}
+
+	@NotNull
+	public static LongLazySeq tabulate(int start, @NotNull IntToLongFunction generator) {
+		return cons(generator.applyAsLong(start), () -> tabulate(start + 1, generator));
+	}
+
+	public abstract long head();
+
+	@NotNull
+	public OptionalLong headOption() {
+		return isEmpty() ? OptionalLong.empty() : OptionalLong.of(head());
+	}
+
+	@NotNull
+	public abstract LongLazySeq tail();
+
+	protected abstract boolean isTailDefined();
+
+	public abstract boolean isEmpty();
+
+	public boolean nonEmpty() {
+		return !isEmpty();
+	}
+
+	public long get(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		LongLazySeq cur = this;
+		for (int curIdx = index; curIdx > 0 && !cur.isEmpty(); --curIdx) {
+			cur = cur.tail();
+		}
+		if (cur.isEmpty()) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		return cur.head();
+	}
+
+	/**
+	 * Returns the last element of the sequence.
+	 * Call this method only on finite sequences.
+	 *
+	 * @return the last element of the sequence
+	 */
+	public long last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException("last of empty sequence");
+		}
+		LongLazySeq cur = this;
+		LongLazySeq next = cur.tail();
+		while (!next.isEmpty()) {
+			cur = next;
+			next = cur.tail();
+		}
+		return cur.head();
+	}
+
+	public int size() {
+		LongLazySeq seq = this;
+		int size = 0;
+		while (!seq.isEmpty()) {
+			size++;
+			seq = seq.tail();
+		}
+		return size;
+	}
+
+	@NotNull
+	public LongLazySeq map(@NotNull LongUnaryOperator mapper) {
+		if (isEmpty()) {
+			return empty();
+		}
+		return cons(mapper.applyAsLong(head()), () -> tail().map(mapper));
+	}
+
+	@NotNull
+	public <R> LazySeq<R> mapToObj(@NotNull LongFunction<? extends R> mapper) {
+		if (isEmpty()) {
+			return LazySeq.empty();
+		}
+		return LazySeq.cons(mapper.apply(head()), () -> tail().mapToObj(mapper));
+	}
+
+	@NotNull
+	public IntLazySeq mapToInt(@NotNull LongToIntFunction mapper) {
+		if (isEmpty()) {
+			return IntLazySeq.empty();
+		}
+		return IntLazySeq.cons(mapper.applyAsInt(head()), () -> tail().mapToInt(mapper));
+	}
+
+	@NotNull
+	public DoubleLazySeq mapToDouble(@NotNull LongToDoubleFunction mapper) {
+		if (isEmpty()) {
+			return DoubleLazySeq.empty();
+		}
+		return DoubleLazySeq.cons(mapper.applyAsDouble(head()), () -> tail().mapToDouble(mapper));
+	}
+
+	/**
+	 * Returns a lazy sequence of boxed <code>Long</code>s.
+	 *
+	 * @return lazy sequence of boxed values
+	 */
+	@NotNull
+	public LazySeq<Long> boxed() {
+		return mapToObj(Long::valueOf);
+	}
+
+	@NotNull
+	public LongLazySeq filter(@NotNull LongPredicate predicate) {
+		LongLazySeq curr = this;
+		while (!curr.isEmpty() && !predicate.test(curr.head())) {
+			curr = curr.tail();
+		}
+
+		if (!curr.isEmpty()) {
+			final LongLazySeq finalCurr = curr;
+			return cons(curr.head(), () -> finalCurr.tail().filter(predicate));
+		} else {
+			return empty();
+		}
+	}
+
+	@NotNull
+	public LongLazySeq take(long maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException(Long.toString(maxSize));
+		}
+		if (maxSize == 0 || isEmpty()) {
+			return empty();
+		}
+		if (maxSize == 1) {
+			return cons(head(), empty());
+		}
+		return cons(head(), () -> tail().take(maxSize - 1));
+	}
+
+	@NotNull
+	public LongLazySeq drop(long startInclusive) {
+		if (startInclusive < 0) {
+			throw new IllegalArgumentException(Long.toString(startInclusive));
+		}
+		LongLazySeq seq = this;
+		for (; startInclusive > 0 && !seq.isEmpty(); startInclusive--) {
+			seq = seq.tail();
+		}
+		return seq;
+	}
+
+	@NotNull
+	public LongLazySeq takeWhile(@NotNull LongPredicate predicate) {
+		if (!isEmpty() && predicate.test(head())) {
+			return cons(head(), () -> tail().takeWhile(predicate));
+		} else {
+			return empty();
+		}
+	}
+
+	@NotNull
+	public LongLazySeq dropWhile(@NotNull LongPredicate predicate) {
+		LongLazySeq seq = this;
+		while (!seq.isEmpty() && predicate.test(seq.head())) {
+			seq = seq.tail();
+		}
+		return seq;
+	}
+
+	public void forEach(@NotNull LongConsumer action) {
+		LongLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			action.accept(cur.head());
+			cur = cur.tail();
+		}
+	}
+
+	public long reduce(long identity, @NotNull LongBinaryOperator accumulator) {
+		long result = identity;
+		LongLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			result = accumulator.applyAsLong(result, cur.head());
+			cur = cur.tail();
+		}
+		return result;
+	}
+
+	@NotNull
+	public OptionalLong reduce(@NotNull LongBinaryOperator accumulator) {
+		if (isEmpty()) {
+			return OptionalLong.empty();
+		}
+		return OptionalLong.of(tail().reduce(head(), accumulator));
+	}
+
+	public long sum() {
+		return reduce(0L, (a, b) -> a + b);
+	}
+
+	@NotNull
+	public OptionalLong min() {
+		return reduce(Math::min);
+	}
+
+	@NotNull
+	public OptionalLong max() {
+		return reduce(Math::max);
+	}
+
+	@NotNull
+	public OptionalDouble average() {
+		long count = 0;
+		long sum = 0;
+		LongLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			sum += cur.head();
+			count++;
+			cur = cur.tail();
+		}
+		return count == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) sum / count);
+	}
+
+	/**
+	 * Returns the lazy sequence of the sums of all windows of <code>size</code> consecutive elements.
+	 * If this sequence is non-empty but shorter than <code>size</code> the only sum is that of all elements.
+	 * The sums are updated incrementally in <code>O(1)</code> per window.
+	 * Like {@link #sum()} the sums overflow silently.
+	 *
+	 * @param size size of the windows
+	 * @return sequence of window sums
+	 */
+	@NotNull
+	public LongLazySeq slidingSum(int size) {
+		checkWindowSize(size);
+		return LongLazySeq.of(SlidingAggregates.sum(iterator(), size));
+	}
+
+	/**
+	 * Returns the lazy sequence of the averages of all windows of <code>size</code> consecutive elements, computed
+	 * incrementally like {@link #slidingSum(int)}.
+	 *
+	 * @param size size of the windows
+	 * @return sequence of window averages
+	 */
+	@NotNull
+	public DoubleLazySeq slidingAverage(int size) {
+		checkWindowSize(size);
+		return DoubleLazySeq.of(SlidingAggregates.average(iterator(), size));
+	}
+
+	/**
+	 * Returns the lazy sequence of the minima of all windows of <code>size</code> consecutive elements.
+	 * Uses a monotonic deque, so every window costs amortized <code>O(1)</code>.
+	 *
+	 * @param size size of the windows
+	 * @return sequence of window minima
+	 */
+	@NotNull
+	public LongLazySeq slidingMin(int size) {
+		checkWindowSize(size);
+		return LongLazySeq.of(SlidingAggregates.min(iterator(), size));
+	}
+
+	/**
+	 * Returns the lazy sequence of the maxima of all windows of <code>size</code> consecutive elements.
+	 * Uses a monotonic deque, so every window costs amortized <code>O(1)</code>.
+	 *
+	 * @param size size of the windows
+	 * @return sequence of window maxima
+	 */
+	@NotNull
+	public LongLazySeq slidingMax(int size) {
+		checkWindowSize(size);
+		return LongLazySeq.of(SlidingAggregates.max(iterator(), size));
+	}
+
+	/**
+	 * Returns the lazy sequence of the reductions of all windows of <code>size</code> consecutive elements with the
+	 * given associative operator, which is applied in window order but need not be commutative or invertible.
+	 * The window is kept as two stacks of partial aggregates, so every window costs amortized <code>O(1)</code>
+	 * operator applications.
+	 *
+	 * @param size size of the windows
+	 * @param op   associative operator
+	 * @return sequence of window reductions
+	 */
+	@NotNull
+	public LongLazySeq slidingReduce(int size, @NotNull LongBinaryOperator op) {
+		checkWindowSize(size);
+		return LongLazySeq.of(SlidingAggregates.reduce(iterator(), size, op));
+	}
+
+	private static void checkWindowSize(int size) {
+		if (size <= 0) {
+			throw new IllegalArgumentException(Integer.toString(size));
+		}
+	}
+
+	public boolean anyMatch(@NotNull LongPredicate predicate) {
+		LongLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			if (predicate.test(cur.head())) {
+				return true;
+			}
+			cur = cur.tail();
+		}
+		return false;
+	}
+
+	public boolean allMatch(@NotNull LongPredicate predicate) {
+		return !anyMatch(predicate.negate());
+	}
+
+	public boolean noneMatch(@NotNull LongPredicate predicate) {
+		return !anyMatch(predicate);
+	}
+
+	public int count(@NotNull LongPredicate predicate) {
+		int count = 0;
+		LongLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			if (predicate.test(cur.head())) {
+				count++;
+			}
+			cur = cur.tail();
+		}
+		return count;
+	}
+
+	/**
+	 * <p>Converts this sequence to a primitive array.</p>
+	 * <p>Notice that this method will eventually fail at runtime when called on infinite sequence.</p>
+	 *
+	 * @return array of all elements in this lazy sequence
+	 */
+	@NotNull
+	public long[] toArray() {
+		final long[] array = new long[size()];
+		LongLazySeq cur = this;
+		for (int i = 0; i < array.length; i++) {
+			array[i] = cur.head();
+			cur = cur.tail();
+		}
+		return array;
+	}
+
+	@NotNull
+	public LongLazySeq force() {
+		LongLazySeq curr = this;
+		while (!curr.isEmpty()) {
+			curr = curr.tail();
+		}
+		return this;
+	}
+
+	@NotNull
+	public PrimitiveIterator.OfLong iterator() {
+		return new PrimitiveIterator.OfLong() {
+			private LongLazySeq underlying = LongLazySeq.this;
+			private boolean getUnderlyingTail = false;
+
+			private LongLazySeq underlying() {
+				if (getUnderlyingTail) {
+					underlying = underlying.tail();
+					getUnderlyingTail = false;
+				}
+				return underlying;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return !underlying().isEmpty();
+			}
+
+			@Override
+			public long nextLong() {
+				final long next = underlying().head();
+				getUnderlyingTail = true;
+				return next;
+			}
+		};
+	}
+
+	/**
+	 * Returns a sequential, lazily evaluated {@link LongStream} of the elements of this sequence.
+	 *
+	 * @return stream of the elements of this sequence
+	 */
+	@NotNull
+	public LongStream stream() {
+		return StreamSupport.longStream(Spliterators.spliteratorUnknownSize(iterator(),
+				Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL), false);
+	}
+
+	@NotNull
+	public String mkString(@NotNull String sep) {
+		return mkString("", sep, "", false);
+	}
+
+	/**
+	 * Returns a string representation of this sequence.
+	 * If <code>lazy</code> is <code>true</code> the evaluation stops at the first unspecific element.
+	 *
+	 * @param start string that is added in front of the element concatenation
+	 * @param sep   separator
+	 * @param end   string that is appended to the element concatenation
+	 * @param lazy  if <code>true</code> the evaluation stops at the first unspecific element
+	 * @return string representation of this sequence
+	 */
+	@NotNull
+	public String mkString(@NotNull String start, @NotNull String sep, @NotNull String end, boolean lazy) {
+		final StringBuilder s = new StringBuilder(start);
+		LongLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			s.append(cur.head());
+			if (!lazy || cur.isTailDefined()) {
+				if (!cur.tail().isEmpty()) {
+					s.append(sep);
+				}
+				cur = cur.tail();
+			} else {
+				s.append(sep).append("?");
+				break;
+			}
+		}
+		return s.append(end).toString();
+	}
+
+	@Override
+	@NotNull
+	public String toString() {
+		return mkString("[", ", ", "]", true);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof LongLazySeq)) return false;
+
+		LongLazySeq left = this;
+		LongLazySeq right = (LongLazySeq) o;
+		while (!left.isEmpty() && !right.isEmpty()) {
+			if (Long.compare(left.head(), right.head()) != 0) {
+				return false;
+			}
+			left = left.tail();
+			right = right.tail();
+		}
+		return left.isEmpty() && right.isEmpty();
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = 1;
+		LongLazySeq cur = this;
+		while (!cur.isEmpty()) {
+			hashCode = 31 * hashCode + Long.hashCode(cur.head());
+			cur = cur.tail();
+		}
+		return hashCode;
+	}
+
+}
@@ -0,0 +1,41 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Empty {@link LongLazySeq}.
+ *
+ * @author Stefan Endrullis
+ */
+class LongNil extends LongLazySeq {
+
+	private static final LongNil NIL = new LongNil();
+
+	static LongNil instance() {
+		return NIL;
+	}
+
+	@Override
+	public long head() {
+		throw new NoSuchElementException("head of empty sequence");
+	}
+
+	@NotNull
+	@Override
+	public LongLazySeq tail() {
+		throw new NoSuchElementException("tail of empty sequence");
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		return false;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return true;
+	}
+
+}
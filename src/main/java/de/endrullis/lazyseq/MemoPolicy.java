@@ -0,0 +1,157 @@
+package de.endrullis.lazyseq;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Policy that determines how long the realized segments of a {@link SegmentCache} are retained.
+ *
+ * @author Stefan Endrullis
+ */
+public abstract class MemoPolicy {
+
+	private MemoPolicy() {
+	}
+
+	/**
+	 * Retains all realized segments (like a plain {@link LazySeq}).
+	 *
+	 * @return policy retaining all segments
+	 */
+	public static MemoPolicy strong() {
+		return new ReferencePolicy("strong", segment -> () -> segment);
+	}
+
+	/**
+	 * Keeps realized segments behind {@link SoftReference}s, i.e. they are evicted when memory gets low.
+	 *
+	 * @return policy retaining the segments softly
+	 */
+	public static MemoPolicy soft() {
+		return new ReferencePolicy("soft", segment -> new SoftReference<>(segment)::get);
+	}
+
+	/**
+	 * Keeps realized segments behind {@link WeakReference}s, i.e. they are evicted by the next garbage collection
+	 * unless they are referenced from elsewhere (e.g. by a cell of the segment).
+	 *
+	 * @return policy retaining the segments weakly
+	 */
+	public static MemoPolicy weak() {
+		return new ReferencePolicy("weak", segment -> new WeakReference<>(segment)::get);
+	}
+
+	/**
+	 * Retains the given number of least recently used segments.
+	 *
+	 * @param maxSegments maximum number of retained segments
+	 * @return LRU policy
+	 */
+	public static MemoPolicy lru(int maxSegments) {
+		if (maxSegments <= 0) {
+			throw new IllegalArgumentException(Integer.toString(maxSegments));
+		}
+		return new LruPolicy(maxSegments);
+	}
+
+	abstract Store newStore();
+
+	/**
+	 * Storage of the realized segments.  Not thread-safe; synchronized by the {@link SegmentCache}.
+	 */
+	interface Store {
+		Object[] get(int index);
+
+		/** Returns <code>true</code> if the segment is retained, without counting as access. */
+		boolean contains(int index);
+
+		void put(int index, Object[] segment);
+	}
+
+	private static final class ReferencePolicy extends MemoPolicy {
+		private final String name;
+		private final Function<Object[], Supplier<Object[]>> referenceFactory;
+
+		ReferencePolicy(String name, Function<Object[], Supplier<Object[]>> referenceFactory) {
+			this.name = name;
+			this.referenceFactory = referenceFactory;
+		}
+
+		@Override
+		Store newStore() {
+			return new Store() {
+				private final List<Supplier<Object[]>> segments = new ArrayList<>();
+
+				@Override
+				public Object[] get(int index) {
+					final Supplier<Object[]> reference = index < segments.size() ? segments.get(index) : null;
+					return reference != null ? reference.get() : null;
+				}
+
+				@Override
+				public boolean contains(int index) {
+					return get(index) != null;
+				}
+
+				@Override
+				public void put(int index, Object[] segment) {
+					while (segments.size() <= index) {
+						segments.add(null);
+					}
+					segments.set(index, referenceFactory.apply(segment));
+				}
+			};
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	private static final class LruPolicy extends MemoPolicy {
+		private final int maxSegments;
+
+		LruPolicy(int maxSegments) {
+			this.maxSegments = maxSegments;
+		}
+
+		@Override
+		Store newStore() {
+			final Map<Integer, Object[]> segments = new LinkedHashMap<Integer, Object[]>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Integer, Object[]> eldest) {
+					return size() > maxSegments;
+				}
+			};
+			return new Store() {
+				@Override
+				public Object[] get(int index) {
+					return segments.get(index);
+				}
+
+				@Override
+				public boolean contains(int index) {
+					return segments.containsKey(index);
+				}
+
+				@Override
+				public void put(int index, Object[] segment) {
+					segments.put(index, segment);
+				}
+			};
+		}
+
+		@Override
+		public String toString() {
+			return "lru(" + maxSegments + ")";
+		}
+	}
+
+}
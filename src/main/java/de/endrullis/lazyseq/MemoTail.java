@@ -0,0 +1,67 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Lazily evaluated and memoized sequence, e.g. the remainder of a {@link ChunkedSeq} behind its chunk or a part of a
+ * {@link ConcatSeq}.  The supplier is called at most once and released afterwards.
+ *
+ * @author Stefan Endrullis
+ */
+final class MemoTail<E> {
+
+	private static final MemoTail<?> EMPTY = new MemoTail<>(LazySeq.empty());
+
+	private volatile LazySeq<E> value;
+	/** Released once the value is memoized. */
+	private Supplier<LazySeq<E>> fun;
+
+	MemoTail(@NotNull Supplier<LazySeq<E>> fun) {
+		this.fun = Objects.requireNonNull(fun);
+	}
+
+	MemoTail(@NotNull LazySeq<E> value) {
+		this.value = value;
+		this.fun = null;
+	}
+
+	@SuppressWarnings("unchecked")
+	static <E> MemoTail<E> empty() {
+		return (MemoTail<E>) EMPTY;
+	}
+
+	boolean isDefined() {
+		return value != null;
+	}
+
+	@NotNull
+	LazySeq<E> get() {
+		LazySeq<E> v = value;
+		if (v == null) {
+			synchronized (this) {
+				v = value;
+				if (v == null) {
+					value = v = fun.get();
+					fun = null;
+				}
+			}
+		}
+		return v;
+	}
+
+	/**
+	 * Returns the tail that lazily applies the given transformation to this tail.
+	 */
+	@NotNull
+	<R> MemoTail<R> then(@NotNull Function<LazySeq<E>, LazySeq<R>> transformation) {
+		if (this == EMPTY) {
+			return empty();
+		}
+		return new MemoTail<>(() -> transformation.apply(get()));
+	}
+
+}
@@ -48,6 +48,21 @@ class Nil<E> extends LazySeq<E> {
 		throw new IndexOutOfBoundsException(Integer.toString(index));
 	}
 
+	@NotNull
+	@Override
+	public E last() {
+		throw new IndexOutOfBoundsException("last of empty stream");
+	}
+
+	@NotNull
+	@Override
+	public LazySeq<E> withSkipIndex(int interval) {
+		if (interval <= 0) {
+			throw new IllegalArgumentException(Integer.toString(interval));
+		}
+		return this;
+	}
+
 	@NotNull
 	@Override
 	public <R> LazySeq<R> map(@NotNull Function<? super E, ? extends R> mapper) {
@@ -104,6 +119,11 @@ class Nil<E> extends LazySeq<E> {
 		return 0;
 	}
 
+	@Override
+	long knownSize() {
+		return 0;
+	}
+
 	@Override
 	public boolean anyMatch(@NotNull Predicate<? super E> predicate) {
 		return false;
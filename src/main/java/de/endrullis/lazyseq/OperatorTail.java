@@ -0,0 +1,90 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Tail function of a {@link Cons} cell created by <code>map</code>, <code>filter</code>, <code>takeWhile</code>,
+ * <code>take</code>, <code>sliding</code> or <code>grouped</code>.  The tail is computed from the tail of the
+ * {@link #source} cell and memoized by the cell, one cell at a time.
+ *
+ * @param <S> element type of the source sequence
+ * @param <E> element type of the resulting sequence
+ * @author Stefan Endrullis
+ */
+abstract class OperatorTail<S, E> implements Supplier<LazySeq<E>> {
+
+	/** Cell of the source sequence whose tail is the input of this stage. */
+	final LazySeq<S> source;
+
+	OperatorTail(@NotNull LazySeq<S> source) {
+		this.source = source;
+	}
+
+	static final class MapTail<S, E> extends OperatorTail<S, E> {
+		private final Function<? super S, ? extends E> mapper;
+
+		MapTail(@NotNull LazySeq<S> source, @NotNull Function<? super S, ? extends E> mapper) {
+			super(source);
+			this.mapper = mapper;
+		}
+
+		@Override
+		public LazySeq<E> get() {
+			return source.tail().map(mapper);
+		}
+
+	}
+
+	static final class FilterTail<E> extends OperatorTail<E, E> {
+		private final Predicate<? super E> predicate;
+
+		FilterTail(@NotNull LazySeq<E> source, @NotNull Predicate<? super E> predicate) {
+			super(source);
+			this.predicate = predicate;
+		}
+
+		@Override
+		public LazySeq<E> get() {
+			return source.tail().filter(predicate);
+		}
+
+	}
+
+	static final class TakeWhileTail<E> extends OperatorTail<E, E> {
+		private final Predicate<? super E> predicate;
+
+		TakeWhileTail(@NotNull LazySeq<E> source, @NotNull Predicate<? super E> predicate) {
+			super(source);
+			this.predicate = predicate;
+		}
+
+		@Override
+		public LazySeq<E> get() {
+			return source.tail().takeWhile(predicate);
+		}
+
+	}
+
+	static final class TakeTail<E> extends OperatorTail<E, E> {
+		private final long maxSize;
+
+		/**
+		 * @param maxSize number of elements to take from the tail of <code>source</code>; must be positive
+		 */
+		TakeTail(@NotNull LazySeq<E> source, long maxSize) {
+			super(source);
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		public LazySeq<E> get() {
+			return source.tail().takeUnsafe(maxSize);
+		}
+
+	}
+
+}
@@ -0,0 +1,327 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Re-traversable lazy sequence with bounded memory consumption.
+ * <p>
+ * The sequence is produced segment-wise by a deterministic loader, e.g. page by page from a database or a file.
+ * Each segment is computed from a small generator state (e.g. the offset of the page) and the state of the next
+ * segment is derived from the previous one.  In contrast to {@link LazySeq} which memoizes all realized cells as
+ * long as the head is referenced, the realized segments are retained according to a {@link MemoPolicy}
+ * (softly, weakly or in a bounded LRU cache).  Evicted segments are recomputed on demand from the nearest
+ * retained checkpoint, i.e. from the generator state of a previous segment.
+ * </p>
+ * <p>
+ * The number of cache hits, misses and recomputations can be queried via {@link #hits()}, {@link #misses()}
+ * and {@link #recomputes()}.
+ * </p>
+ * <pre>
+ * SegmentCache&lt;Integer, Record&gt; cache = SegmentCache.of(0, offset -&gt; loadPage(offset, PAGE_SIZE),
+ *     (offset, page) -&gt; offset + page.size(), MemoPolicy.lru(10));
+ * LazySeq&lt;Record&gt; records = cache.seq();
+ * </pre>
+ *
+ * @param <S> type of the generator state
+ * @param <E> element type
+ * @author Stefan Endrullis
+ */
+public final class SegmentCache<S, E> {
+
+	private final Function<? super S, ? extends List<? extends E>> loader;
+	private final BiFunction<? super S, ? super List<? extends E>, ? extends S> nextState;
+	private final MemoPolicy.Store store;
+	private final int checkpointInterval;
+
+	/** Generator states of the segments 0, checkpointInterval, 2 * checkpointInterval, ... */
+	private final List<S> checkpoints = new ArrayList<>();
+	/** Index and generator state of the segment following the last loaded one. */
+	private int cursorIndex;
+	private S cursorState;
+	/** Number of segments that have been computed at least once. */
+	private int computed;
+	/** Number of (non-empty) segments or -1 if not known yet. */
+	private int length = -1;
+
+	private long hits;
+	private long misses;
+	private long recomputes;
+
+	private SegmentCache(S initialState,
+	                     Function<? super S, ? extends List<? extends E>> loader,
+	                     BiFunction<? super S, ? super List<? extends E>, ? extends S> nextState,
+	                     MemoPolicy policy, int checkpointInterval) {
+		this.loader = loader;
+		this.nextState = nextState;
+		this.store = policy.newStore();
+		this.checkpointInterval = checkpointInterval;
+		this.checkpoints.add(initialState);
+		this.cursorState = initialState;
+	}
+
+	/**
+	 * Creates a segment cache that keeps the generator state of every segment as checkpoint.
+	 *
+	 * @param initialState generator state of the first segment
+	 * @param loader       deterministic function computing the segment for a given generator state;
+	 *                     an empty segment marks the end of the sequence
+	 * @param nextState    function computing the generator state of the next segment given the state and the
+	 *                     elements of the current segment
+	 * @param policy       retention policy of the realized segments
+	 * @param <S>          type of the generator state
+	 * @param <E>          element type
+	 * @return new segment cache
+	 */
+	@NotNull
+	public static <S, E> SegmentCache<S, E> of(S initialState,
+	                                          @NotNull Function<? super S, ? extends List<? extends E>> loader,
+	                                          @NotNull BiFunction<? super S, ? super List<? extends E>, ? extends S> nextState,
+	                                          @NotNull MemoPolicy policy) {
+		return of(initialState, loader, nextState, policy, 1);
+	}
+
+	/**
+	 * Creates a segment cache that keeps the generator state of every <code>checkpointInterval</code>-th segment
+	 * as checkpoint.  An evicted segment is recomputed by replaying the loader from the nearest checkpoint
+	 * (or the most recently loaded segment) in front of it.
+	 *
+	 * @param initialState       generator state of the first segment
+	 * @param loader             deterministic function computing the segment for a given generator state;
+	 *                           an empty segment marks the end of the sequence
+	 * @param nextState          function computing the generator state of the next segment given the state and the
+	 *                           elements of the current segment
+	 * @param policy             retention policy of the realized segments
+	 * @param checkpointInterval distance between two checkpoints in segments
+	 * @param <S>                type of the generator state
+	 * @param <E>                element type
+	 * @return new segment cache
+	 */
+	@NotNull
+	public static <S, E> SegmentCache<S, E> of(S initialState,
+	                                          @NotNull Function<? super S, ? extends List<? extends E>> loader,
+	                                          @NotNull BiFunction<? super S, ? super List<? extends E>, ? extends S> nextState,
+	                                          @NotNull MemoPolicy policy, int checkpointInterval) {
+		Objects.requireNonNull(loader);
+		Objects.requireNonNull(nextState);
+		Objects.requireNonNull(policy);
+		if (checkpointInterval <= 0) {
+			throw new IllegalArgumentException(Integer.toString(checkpointInterval));
+		}
+		return new SegmentCache<>(initialState, loader, nextState, policy, checkpointInterval);
+	}
+
+	/**
+	 * Returns the sequence of all elements of all segments.  The first segment is computed eagerly.
+	 * The returned sequence (and its tails) can be traversed any number of times.
+	 *
+	 * @return sequence of all elements
+	 */
+	@NotNull
+	public LazySeq<E> seq() {
+		return cellAt(0);
+	}
+
+	/**
+	 * Returns the number of segment requests that were served from the cache.
+	 *
+	 * @return number of cache hits
+	 */
+	public synchronized long hits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of segment requests that required the segment to be computed.
+	 *
+	 * @return number of cache misses
+	 */
+	public synchronized long misses() {
+		return misses;
+	}
+
+	/**
+	 * Returns the number of segment computations of segments that had been computed before,
+	 * i.e. that were evicted in between.  This includes segments replayed from a checkpoint.
+	 *
+	 * @return number of recomputed segments
+	 */
+	public synchronized long recomputes() {
+		return recomputes;
+	}
+
+	@Override
+	public String toString() {
+		return "SegmentCache(hits=" + hits() + ", misses=" + misses() + ", recomputes=" + recomputes() + ")";
+	}
+
+	@NotNull
+	private LazySeq<E> cellAt(int index) {
+		final Object[] segment = segment(index);
+		return segment == null ? LazySeq.empty() : new Cell<>(this, index, segment, 0);
+	}
+
+	/**
+	 * Returns the segment with the given index or <code>null</code> if the sequence has less segments.
+	 * The segment is taken from the store or recomputed from the nearest checkpoint.
+	 */
+	private synchronized Object[] segment(int index) {
+		if (length >= 0 && index >= length) {
+			return null;
+		}
+		final Object[] cached = store.get(index);
+		if (cached != null) {
+			hits++;
+			return cached;
+		}
+		misses++;
+
+		final int checkpoint = Math.min(index / checkpointInterval, checkpoints.size() - 1);
+		int from = checkpoint * checkpointInterval;
+		S state = checkpoints.get(checkpoint);
+		if (cursorIndex <= index && cursorIndex > from) {
+			from = cursorIndex;
+			state = cursorState;
+		}
+		for (int i = from; ; i++) {
+			Object[] segment = i < index ? store.get(i) : null;
+			if (segment == null) {
+				segment = load(i, state);
+				if (segment == null) {
+					return null;
+				}
+			}
+			if (i == index) {
+				return segment;
+			}
+			state = i + 1 == cursorIndex ? cursorState : nextState.apply(state, asList(segment));
+		}
+	}
+
+	/**
+	 * Computes the segment with the given index from its generator state and stores it.
+	 */
+	private Object[] load(int index, S state) {
+		final List<? extends E> elements = loader.apply(state);
+		if (index < computed) {
+			recomputes++;
+		}
+		if (elements.isEmpty()) {
+			length = index;
+			return null;
+		}
+		final Object[] segment = elements.toArray();
+		for (Object element : segment) {
+			Objects.requireNonNull(element);
+		}
+		store.put(index, segment);
+		if (index % checkpointInterval == 0 && index / checkpointInterval == checkpoints.size()) {
+			checkpoints.add(state);
+		}
+		computed = Math.max(computed, index + 1);
+		cursorIndex = index + 1;
+		cursorState = nextState.apply(state, asList(segment));
+		return segment;
+	}
+
+	private synchronized boolean isSegmentDefined(int index) {
+		return length >= 0 && index >= length || store.contains(index);
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<? extends E> asList(Object[] segment) {
+		return (List<? extends E>) Collections.unmodifiableList(Arrays.asList(segment));
+	}
+
+	/**
+	 * Cell of a {@link SegmentCache} sequence.  A cell references only its own segment;
+	 * the following segments are looked up in the cache whenever the tail is requested.
+	 */
+	private static final class Cell<E> extends LazySeq<E> {
+		private final SegmentCache<?, E> cache;
+		private final int segmentIndex;
+		private final Object[] segment;
+		private final int offset;
+		/** Cached successor within the same segment (benign race, since all fields of the cell are final). */
+		private LazySeq<E> tailView;
+
+		Cell(SegmentCache<?, E> cache, int segmentIndex, Object[] segment, int offset) {
+			this.cache = cache;
+			this.segmentIndex = segmentIndex;
+			this.segment = segment;
+			this.offset = offset;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public E head() {
+			return (E) segment[offset];
+		}
+
+		@Override
+		public LazySeq<E> tail() {
+			if (offset + 1 < segment.length) {
+				LazySeq<E> tail = tailView;
+				if (tail == null) {
+					tailView = tail = new Cell<>(cache, segmentIndex, segment, offset + 1);
+				}
+				return tail;
+			}
+			// not cached, so that a cell does not keep the following segments reachable after their eviction
+			return cache.cellAt(segmentIndex + 1);
+		}
+
+		@Override
+		protected boolean isTailDefined() {
+			return offset + 1 < segment.length || cache.isSegmentDefined(segmentIndex + 1);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		boolean forEachWhile(@NotNull Predicate<? super E> sink) {
+			Object[] current = segment;
+			int index = segmentIndex;
+			int from = offset;
+			while (current != null) {
+				for (int i = from; i < current.length; i++) {
+					if (!sink.test((E) current[i])) {
+						return false;
+					}
+				}
+				current = cache.segment(++index);
+				from = 0;
+			}
+			return true;
+		}
+
+		@NotNull
+		@Override
+		public <R> LazySeq<R> map(@NotNull Function<? super E, ? extends R> mapper) {
+			return cons(mapper.apply(head()), new OperatorTail.MapTail<>(this, mapper));
+		}
+
+		@NotNull
+		@Override
+		protected LazySeq<E> takeUnsafe(long maxSize) {
+			if (maxSize > 1) {
+				return cons(head(), new OperatorTail.TakeTail<>(this, maxSize - 1));
+			} else {
+				return LazySeq.of(head());
+			}
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return false;
+		}
+	}
+
+}
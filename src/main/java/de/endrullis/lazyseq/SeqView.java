@@ -0,0 +1,806 @@
+package de.endrullis.lazyseq;
+
+import de.endrullis.lazyseq.function.ExceptionConsumer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static de.endrullis.lazyseq.Shortcuts.t;
+
+/**
+ * Non-memoizing, single-pass view of a sequence (similar to the views of Scala collections).
+ * <p>
+ * In contrast to {@link LazySeq} a view does not memoize its elements and does not keep any reference to already
+ * traversed elements, so that huge or infinite inputs can be processed in constant memory.
+ * Intermediate operations like {@link #map(Function)} or {@link #filter(Predicate)} only describe the pipeline;
+ * a terminal operation like {@link #forEach(Consumer)} or {@link #reduce(Object, BiFunction)} pushes the elements of
+ * the source through all operations in one loop without creating any cells.
+ * </p>
+ * <p>
+ * A view can be traversed only once.  A view and all views derived from it share the same source, and a second
+ * traversal of any of them fails with an {@link IllegalStateException}.  Use {@link #toLazySeq()} to obtain a
+ * memoizing {@link LazySeq} that can be traversed arbitrarily often.
+ * </p>
+ *
+ * @param <E> type of the elements
+ * @author Stefan Endrullis
+ */
+@SuppressWarnings("WeakerAccess")
+public abstract class SeqView<E> implements Iterable<E> {
+
+	SeqView() {
+	}
+
+	// factories
+
+	/**
+	 * Returns a view of the elements provided by the given iterator.
+	 *
+	 * @param iterator iterator providing the elements
+	 * @return single-pass view of the elements
+	 */
+	@NotNull
+	public static <E> SeqView<E> of(@NotNull Iterator<E> iterator) {
+		return new IteratorView<>(iterator);
+	}
+
+	/**
+	 * Returns a view of the elements of the given {@link Iterable}.
+	 *
+	 * @param elements elements of the view
+	 * @return single-pass view of the elements
+	 */
+	@NotNull
+	public static <E> SeqView<E> of(@NotNull Iterable<E> elements) {
+		return new IteratorView<>(elements.iterator());
+	}
+
+	/**
+	 * Returns a view of the given sequence.  Realized cells of the sequence are not retained by the view.
+	 *
+	 * @param seq sequence
+	 * @return single-pass view of the sequence
+	 * @see LazySeq#view()
+	 */
+	@NotNull
+	public static <E> SeqView<E> of(@NotNull LazySeq<E> seq) {
+		return new LazySeqView<>(seq);
+	}
+
+	/**
+	 * Returns an infinite view of <code>initial</code>, <code>fun(initial)</code>, <code>fun(fun(initial))</code>, ...
+	 *
+	 * @param initial first element
+	 * @param fun     function computing the next element from the previous one
+	 * @return infinite single-pass view
+	 */
+	@NotNull
+	public static <E> SeqView<E> iterate(@NotNull E initial, @NotNull UnaryOperator<E> fun) {
+		return of(new Iterator<E>() {
+			private E next = initial;
+
+			@Override
+			public boolean hasNext() {
+				return true;
+			}
+
+			@Override
+			public E next() {
+				final E result = next;
+				next = fun.apply(next);
+				return result;
+			}
+		});
+	}
+
+	/**
+	 * Returns an infinite view of the elements generated by the given supplier.
+	 *
+	 * @param generator supplier generating the elements
+	 * @return infinite single-pass view
+	 */
+	@NotNull
+	public static <E> SeqView<E> continually(@NotNull Supplier<E> generator) {
+		return of(new Iterator<E>() {
+			@Override
+			public boolean hasNext() {
+				return true;
+			}
+
+			@Override
+			public E next() {
+				return generator.get();
+			}
+		});
+	}
+
+	/**
+	 * Returns an infinite view of the numbers <code>start</code>, <code>start + 1</code>, ...
+	 *
+	 * @param start first number
+	 * @return infinite single-pass view of numbers
+	 */
+	@NotNull
+	public static SeqView<Integer> numbers(int start) {
+		return iterate(start, x -> x + 1);
+	}
+
+	// traversal primitives
+
+	/**
+	 * Passes the elements of this view to <code>sink</code> until it returns <code>false</code>.
+	 *
+	 * @param sink receiver of the elements; returns <code>false</code> to stop the iteration
+	 * @return <code>false</code> if the iteration was stopped by <code>sink</code>, <code>true</code> otherwise
+	 * @throws IllegalStateException if the view has already been traversed
+	 */
+	abstract boolean forEachWhile(@NotNull Predicate<? super E> sink);
+
+	/**
+	 * Returns an iterator over the elements of this view.  Calling this method counts as traversal of the view.
+	 *
+	 * @return iterator over the elements
+	 * @throws IllegalStateException if the view has already been traversed
+	 */
+	@NotNull
+	@Override
+	public abstract Iterator<E> iterator();
+
+	// intermediate operations
+
+	@NotNull
+	public <R> SeqView<R> map(@NotNull Function<? super E, ? extends R> mapper) {
+		Objects.requireNonNull(mapper);
+		final SeqView<E> upstream = this;
+		return new SeqView<R>() {
+			@Override
+			boolean forEachWhile(@NotNull Predicate<? super R> sink) {
+				return upstream.forEachWhile(e -> sink.test(Objects.requireNonNull(mapper.apply(e))));
+			}
+
+			@NotNull
+			@Override
+			public Iterator<R> iterator() {
+				final Iterator<E> it = upstream.iterator();
+				return new Iterator<R>() {
+					@Override
+					public boolean hasNext() {
+						return it.hasNext();
+					}
+
+					@Override
+					public R next() {
+						return Objects.requireNonNull(mapper.apply(it.next()));
+					}
+				};
+			}
+		};
+	}
+
+	@NotNull
+	public SeqView<E> filter(@NotNull Predicate<? super E> predicate) {
+		Objects.requireNonNull(predicate);
+		final SeqView<E> upstream = this;
+		return new SeqView<E>() {
+			@Override
+			boolean forEachWhile(@NotNull Predicate<? super E> sink) {
+				return upstream.forEachWhile(e -> !predicate.test(e) || sink.test(e));
+			}
+
+			@NotNull
+			@Override
+			public Iterator<E> iterator() {
+				final Iterator<E> it = upstream.iterator();
+				return new LookaheadIterator<E>() {
+					@Override
+					boolean advance() {
+						while (it.hasNext()) {
+							final E e = it.next();
+							if (predicate.test(e)) {
+								next = e;
+								return true;
+							}
+						}
+						return false;
+					}
+				};
+			}
+		};
+	}
+
+	@NotNull
+	public <R> SeqView<R> flatMap(@NotNull Function<? super E, ? extends Iterable<? extends R>> mapper) {
+		Objects.requireNonNull(mapper);
+		final SeqView<E> upstream = this;
+		return new SeqView<R>() {
+			@Override
+			boolean forEachWhile(@NotNull Predicate<? super R> sink) {
+				return upstream.forEachWhile(e -> {
+					for (R r : mapper.apply(e)) {
+						if (!sink.test(r)) {
+							return false;
+						}
+					}
+					return true;
+				});
+			}
+
+			@NotNull
+			@Override
+			public Iterator<R> iterator() {
+				final Iterator<E> it = upstream.iterator();
+				return new LookaheadIterator<R>() {
+					private Iterator<? extends R> inner = Collections.emptyIterator();
+
+					@Override
+					boolean advance() {
+						while (!inner.hasNext()) {
+							if (!it.hasNext()) {
+								return false;
+							}
+							inner = mapper.apply(it.next()).iterator();
+						}
+						next = inner.next();
+						return true;
+					}
+				};
+			}
+		};
+	}
+
+	@NotNull
+	public SeqView<E> peek(@NotNull Consumer<? super E> action) {
+		Objects.requireNonNull(action);
+		return map(e -> {
+			action.accept(e);
+			return e;
+		});
+	}
+
+	@NotNull
+	public SeqView<E> take(long maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException(Long.toString(maxSize));
+		}
+		final SeqView<E> upstream = this;
+		return new SeqView<E>() {
+			@Override
+			boolean forEachWhile(@NotNull Predicate<? super E> sink) {
+				if (maxSize == 0) {
+					// marks the source as traversed without pulling any element
+					upstream.iterator();
+					return true;
+				}
+				final long[] left = {maxSize};
+				final boolean[] stoppedBySink = {false};
+				upstream.forEachWhile(e -> {
+					if (!sink.test(e)) {
+						stoppedBySink[0] = true;
+						return false;
+					}
+					return --left[0] > 0;
+				});
+				return !stoppedBySink[0];
+			}
+
+			@NotNull
+			@Override
+			public Iterator<E> iterator() {
+				final Iterator<E> it = upstream.iterator();
+				return new Iterator<E>() {
+					private long left = maxSize;
+
+					@Override
+					public boolean hasNext() {
+						return left > 0 && it.hasNext();
+					}
+
+					@Override
+					public E next() {
+						if (left <= 0) {
+							throw new NoSuchElementException();
+						}
+						left--;
+						return it.next();
+					}
+				};
+			}
+		};
+	}
+
+	@NotNull
+	public SeqView<E> limit(long maxSize) {
+		return take(maxSize);
+	}
+
+	@NotNull
+	public SeqView<E> drop(long n) {
+		if (n < 0) {
+			throw new IllegalArgumentException(Long.toString(n));
+		}
+		final SeqView<E> upstream = this;
+		return new SeqView<E>() {
+			@Override
+			boolean forEachWhile(@NotNull Predicate<? super E> sink) {
+				final long[] toDrop = {n};
+				return upstream.forEachWhile(e -> {
+					if (toDrop[0] > 0) {
+						toDrop[0]--;
+						return true;
+					}
+					return sink.test(e);
+				});
+			}
+
+			@NotNull
+			@Override
+			public Iterator<E> iterator() {
+				final Iterator<E> it = upstream.iterator();
+				return new LookaheadIterator<E>() {
+					private long toDrop = n;
+
+					@Override
+					boolean advance() {
+						for (; toDrop > 0 && it.hasNext(); toDrop--) {
+							it.next();
+						}
+						if (it.hasNext()) {
+							next = it.next();
+							return true;
+						}
+						return false;
+					}
+				};
+			}
+		};
+	}
+
+	@NotNull
+	public SeqView<E> takeWhile(@NotNull Predicate<? super E> predicate) {
+		Objects.requireNonNull(predicate);
+		final SeqView<E> upstream = this;
+		return new SeqView<E>() {
+			@Override
+			boolean forEachWhile(@NotNull Predicate<? super E> sink) {
+				final boolean[] stoppedBySink = {false};
+				upstream.forEachWhile(e -> {
+					if (!predicate.test(e)) {
+						return false;
+					}
+					if (!sink.test(e)) {
+						stoppedBySink[0] = true;
+						return false;
+					}
+					return true;
+				});
+				return !stoppedBySink[0];
+			}
+
+			@NotNull
+			@Override
+			public Iterator<E> iterator() {
+				final Iterator<E> it = upstream.iterator();
+				return new LookaheadIterator<E>() {
+					@Override
+					boolean advance() {
+						if (it.hasNext()) {
+							final E e = it.next();
+							if (predicate.test(e)) {
+								next = e;
+								return true;
+							}
+						}
+						return false;
+					}
+				};
+			}
+		};
+	}
+
+	@NotNull
+	public SeqView<E> dropWhile(@NotNull Predicate<? super E> predicate) {
+		Objects.requireNonNull(predicate);
+		final SeqView<E> upstream = this;
+		return new SeqView<E>() {
+			@Override
+			boolean forEachWhile(@NotNull Predicate<? super E> sink) {
+				final boolean[] dropping = {true};
+				return upstream.forEachWhile(e -> {
+					if (dropping[0] && predicate.test(e)) {
+						return true;
+					}
+					dropping[0] = false;
+					return sink.test(e);
+				});
+			}
+
+			@NotNull
+			@Override
+			public Iterator<E> iterator() {
+				final Iterator<E> it = upstream.iterator();
+				return new LookaheadIterator<E>() {
+					private boolean dropping = true;
+
+					@Override
+					boolean advance() {
+						while (it.hasNext()) {
+							final E e = it.next();
+							if (!dropping || !predicate.test(e)) {
+								dropping = false;
+								next = e;
+								return true;
+							}
+						}
+						return false;
+					}
+				};
+			}
+		};
+	}
+
+	@NotNull
+	public SeqView<E> distinct() {
+		final Set<E> seen = new HashSet<>();
+		return filter(seen::add);
+	}
+
+	/**
+	 * Drops elements equal to one of the last <code>windowSize</code> distinct elements seen before
+	 * (see {@link LazySeq#distinct(int)}).
+	 *
+	 * @param windowSize number of most recently seen distinct elements to remember
+	 * @return view without recent repetitions
+	 */
+	@NotNull
+	public SeqView<E> distinct(int windowSize) {
+		if (windowSize <= 0) {
+			throw new IllegalArgumentException(Integer.toString(windowSize));
+		}
+		return filter(Distinct.lastSeen(windowSize));
+	}
+
+	/**
+	 * Drops repetitions using a Bloom filter of fixed size (see {@link LazySeq#distinctApprox(long, double)}).
+	 *
+	 * @param expectedInsertions expected number of distinct elements
+	 * @param fpp                desired probability of wrongly dropping a new element, in <code>(0, 1)</code>
+	 * @return view without repetitions, possibly missing some distinct elements
+	 */
+	@NotNull
+	public SeqView<E> distinctApprox(long expectedInsertions, double fpp) {
+		return filter(Distinct.approx(expectedInsertions, fpp));
+	}
+
+	@NotNull
+	public SeqView<Tuple<E, Integer>> zipWithIndex() {
+		return zipWithIndex(0);
+	}
+
+	@NotNull
+	public SeqView<Tuple<E, Integer>> zipWithIndex(int startIndex) {
+		final int[] index = {startIndex};
+		return map(e -> t(e, index[0]++));
+	}
+
+	/**
+	 * Groups the elements of this view into lists of the given size; the last list may be smaller.
+	 *
+	 * @param size size of the groups
+	 * @return view of the groups
+	 */
+	@NotNull
+	public SeqView<List<E>> grouped(int size) {
+		if (size <= 0) {
+			throw new IllegalArgumentException(Integer.toString(size));
+		}
+		final SeqView<E> upstream = this;
+		return new SeqView<List<E>>() {
+			@Override
+			boolean forEachWhile(@NotNull Predicate<? super List<E>> sink) {
+				final List<List<E>> group = new ArrayList<>(1);
+				group.add(new ArrayList<>(size));
+				final boolean completed = upstream.forEachWhile(e -> {
+					final List<E> current = group.get(0);
+					current.add(e);
+					if (current.size() == size) {
+						group.set(0, new ArrayList<>(size));
+						return sink.test(Collections.unmodifiableList(current));
+					}
+					return true;
+				});
+				if (!completed) {
+					return false;
+				}
+				final List<E> last = group.get(0);
+				return last.isEmpty() || sink.test(Collections.unmodifiableList(last));
+			}
+
+			@NotNull
+			@Override
+			public Iterator<List<E>> iterator() {
+				final Iterator<E> it = upstream.iterator();
+				return new LookaheadIterator<List<E>>() {
+					@Override
+					boolean advance() {
+						final List<E> current = new ArrayList<>(size);
+						while (current.size() < size && it.hasNext()) {
+							current.add(it.next());
+						}
+						next = Collections.unmodifiableList(current);
+						return !current.isEmpty();
+					}
+				};
+			}
+		};
+	}
+
+	// terminal operations
+
+	public void forEach(@NotNull Consumer<? super E> action) {
+		forEachWhile(e -> {
+			action.accept(e);
+			return true;
+		});
+	}
+
+	public <Ex extends Exception> void forEachEx(@NotNull ExceptionConsumer<? super E, Ex> action) throws Ex {
+		for (E e : this) {
+			action.accept(e);
+		}
+	}
+
+	@NotNull
+	public <U> U reduce(@NotNull U identity, @NotNull BiFunction<U, ? super E, U> accumulator) {
+		@SuppressWarnings("unchecked")
+		final U[] result = (U[]) new Object[]{identity};
+		forEachWhile(e -> {
+			result[0] = accumulator.apply(result[0], e);
+			return true;
+		});
+		return result[0];
+	}
+
+	@NotNull
+	public Option<E> reduce(@NotNull BinaryOperator<E> accumulator) {
+		final List<E> result = new ArrayList<>(1);
+		forEachWhile(e -> {
+			if (result.isEmpty()) {
+				result.add(e);
+			} else {
+				result.set(0, accumulator.apply(result.get(0), e));
+			}
+			return true;
+		});
+		return result.isEmpty() ? Option.empty() : Option.of(result.get(0));
+	}
+
+	public long count() {
+		final long[] count = {0};
+		forEachWhile(e -> {
+			count[0]++;
+			return true;
+		});
+		return count[0];
+	}
+
+	public long count(@NotNull Predicate<? super E> predicate) {
+		return filter(predicate).count();
+	}
+
+	public boolean anyMatch(@NotNull Predicate<? super E> predicate) {
+		return !forEachWhile(e -> !predicate.test(e));
+	}
+
+	public boolean allMatch(@NotNull Predicate<? super E> predicate) {
+		return forEachWhile(predicate);
+	}
+
+	public boolean noneMatch(@NotNull Predicate<? super E> predicate) {
+		return !anyMatch(predicate);
+	}
+
+	@NotNull
+	public Option<E> find(@NotNull Predicate<? super E> predicate) {
+		final List<E> found = new ArrayList<>(1);
+		forEachWhile(e -> {
+			if (predicate.test(e)) {
+				found.add(e);
+				return false;
+			}
+			return true;
+		});
+		return found.isEmpty() ? Option.empty() : Option.of(found.get(0));
+	}
+
+	@NotNull
+	public Option<E> headOption() {
+		return find(e -> true);
+	}
+
+	@NotNull
+	public Option<E> min(@NotNull Comparator<? super E> comparator) {
+		return reduce((a, b) -> comparator.compare(a, b) <= 0 ? a : b);
+	}
+
+	@NotNull
+	public Option<E> max(@NotNull Comparator<? super E> comparator) {
+		return reduce((a, b) -> comparator.compare(a, b) >= 0 ? a : b);
+	}
+
+	public <R, A> R collect(@NotNull Collector<? super E, A, R> collector) {
+		final A container = collector.supplier().get();
+		final BiConsumer<A, ? super E> accumulator = collector.accumulator();
+		forEachWhile(e -> {
+			accumulator.accept(container, e);
+			return true;
+		});
+		return collector.finisher().apply(container);
+	}
+
+	@NotNull
+	public List<E> toList() {
+		final List<E> list = new ArrayList<>();
+		forEachWhile(list::add);
+		return Collections.unmodifiableList(list);
+	}
+
+	@NotNull
+	public Set<E> toSet() {
+		final Set<E> set = new HashSet<>();
+		forEach(set::add);
+		return Collections.unmodifiableSet(set);
+	}
+
+	/**
+	 * Returns a memoizing {@link LazySeq} of the elements of this view, which is evaluated lazily.
+	 *
+	 * @return lazy sequence of the elements of this view
+	 */
+	@NotNull
+	public LazySeq<E> toLazySeq() {
+		return LazySeq.of(iterator());
+	}
+
+	@NotNull
+	public Stream<E> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	@NotNull
+	public String mkString(@NotNull String sep) {
+		return mkString("", sep, "");
+	}
+
+	@NotNull
+	public String mkString(@NotNull String start, @NotNull String sep, @NotNull String end) {
+		final StringBuilder s = new StringBuilder(start);
+		final boolean[] first = {true};
+		forEach(e -> {
+			if (!first[0]) {
+				s.append(sep);
+			}
+			first[0] = false;
+			s.append(e);
+		});
+		return s.append(end).toString();
+	}
+
+	// sources
+
+	private static final String TRAVERSED = "SeqView has already been traversed";
+
+	private static final class IteratorView<E> extends SeqView<E> {
+		private Iterator<E> source;
+
+		IteratorView(@NotNull Iterator<E> source) {
+			this.source = Objects.requireNonNull(source);
+		}
+
+		private Iterator<E> begin() {
+			final Iterator<E> it = source;
+			if (it == null) {
+				throw new IllegalStateException(TRAVERSED);
+			}
+			source = null;
+			return it;
+		}
+
+		@Override
+		boolean forEachWhile(@NotNull Predicate<? super E> sink) {
+			final Iterator<E> it = begin();
+			while (it.hasNext()) {
+				if (!sink.test(it.next())) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@NotNull
+		@Override
+		public Iterator<E> iterator() {
+			return begin();
+		}
+	}
+
+	/**
+	 * View of a {@link LazySeq} that forgets the head as soon as the traversal starts,
+	 * so that already traversed cells become unreachable (unless referenced from elsewhere).
+	 */
+	private static final class LazySeqView<E> extends SeqView<E> {
+		private LazySeq<E> source;
+
+		LazySeqView(@NotNull LazySeq<E> source) {
+			this.source = Objects.requireNonNull(source);
+		}
+
+		private LazySeq<E> begin() {
+			final LazySeq<E> seq = source;
+			if (seq == null) {
+				throw new IllegalStateException(TRAVERSED);
+			}
+			source = null;
+			return seq;
+		}
+
+		@Override
+		boolean forEachWhile(@NotNull Predicate<? super E> sink) {
+			LazySeq<E> cur = begin();
+			while (!cur.isEmpty()) {
+				if (!sink.test(cur.head())) {
+					return false;
+				}
+				cur = cur.tail();
+			}
+			return true;
+		}
+
+		@NotNull
+		@Override
+		public Iterator<E> iterator() {
+			return new LazySeqIterator<>(begin());
+		}
+	}
+
+	/**
+	 * Iterator computing the next element in advance via {@link #advance()}.
+	 */
+	private abstract static class LookaheadIterator<E> implements Iterator<E> {
+		E next;
+		private boolean ready;
+		private boolean done;
+
+		/**
+		 * Stores the next element in {@link #next} and returns <code>true</code>, or returns <code>false</code> at the end.
+		 */
+		abstract boolean advance();
+
+		@Override
+		public boolean hasNext() {
+			if (!ready && !done) {
+				if (advance()) {
+					ready = true;
+				} else {
+					done = true;
+				}
+			}
+			return ready;
+		}
+
+		@Override
+		public E next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			ready = false;
+			final E result = next;
+			next = null;
+			return result;
+		}
+	}
+
+}
@@ -0,0 +1,178 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * View on a {@link LazySeq} that records a skip pointer to every <code>interval</code>-th cell while the
+ * sequence is realized (see {@link LazySeq#withSkipIndex(int)}).
+ * <p>
+ * {@link #get(int)} and {@link #drop(long)} start walking from the nearest recorded cell in front of the requested
+ * position instead of the head, so that repeated positional access on a realized prefix takes at most
+ * <code>interval - 1</code> steps.  Positions behind the realized prefix are reached by walking from the last recorded
+ * cell, which records further skip pointers on the way.
+ * All other operations are delegated to the underlying sequence.
+ * </p>
+ *
+ * @author Stefan Endrullis
+ */
+class SkipIndexedSeq<E> extends LazySeq<E> {
+
+	static final int DEFAULT_INTERVAL = 32;
+
+	private final LazySeq<E> underlying;
+	private final int interval;
+	/** Cells at the positions 0, interval, 2 * interval, ...  Guarded by itself. */
+	private final ArrayList<LazySeq<E>> skips = new ArrayList<>();
+
+	SkipIndexedSeq(@NotNull LazySeq<E> underlying, int interval) {
+		this.underlying = underlying;
+		this.interval = interval;
+		skips.add(underlying);
+	}
+
+	/**
+	 * Returns the cell at the given position or an empty sequence if the sequence is shorter.
+	 */
+	@NotNull
+	private LazySeq<E> cellAt(long position) {
+		final long skip = position / interval;
+		LazySeq<E> cur;
+		long curPos;
+		synchronized (skips) {
+			final int known = skips.size() - 1;
+			if (skip <= known) {
+				cur = skips.get((int) skip);
+				curPos = skip * interval;
+			} else {
+				cur = skips.get(known);
+				curPos = (long) known * interval;
+			}
+		}
+		while (curPos < position && !cur.isEmpty()) {
+			cur = cur.tail();
+			curPos++;
+			if (curPos % interval == 0 && !cur.isEmpty()) {
+				record(curPos / interval, cur);
+			}
+		}
+		return cur;
+	}
+
+	private void record(long skip, @NotNull LazySeq<E> cell) {
+		synchronized (skips) {
+			if (skip == skips.size() && skip <= Integer.MAX_VALUE) {
+				skips.add(cell);
+			}
+		}
+	}
+
+	@NotNull
+	@Override
+	public E head() {
+		return underlying.head();
+	}
+
+	@NotNull
+	@Override
+	public LazySeq<E> tail() {
+		return underlying.tail();
+	}
+
+	@Override
+	protected boolean isTailDefined() {
+		return underlying.isTailDefined();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return underlying.isEmpty();
+	}
+
+	@NotNull
+	@Override
+	public E get(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		final LazySeq<E> cell = cellAt(index);
+		if (cell.isEmpty()) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		return cell.head();
+	}
+
+	@Override
+	protected LazySeq<E> dropUnsafe(long startInclusive) {
+		return cellAt(startInclusive);
+	}
+
+	@Override
+	public int size() {
+		final LazySeq<E> last;
+		final int known;
+		synchronized (skips) {
+			known = skips.size() - 1;
+			last = skips.get(known);
+		}
+		int size = known * interval;
+		LazySeq<E> cur = last;
+		while (!cur.isEmpty()) {
+			size++;
+			cur = cur.tail();
+			if (size % interval == 0 && !cur.isEmpty()) {
+				record(size / interval, cur);
+			}
+		}
+		return size;
+	}
+
+	@NotNull
+	@Override
+	public LazySeq<E> withSkipIndex(int interval) {
+		if (interval <= 0) {
+			throw new IllegalArgumentException(Integer.toString(interval));
+		}
+		return interval == this.interval ? this : underlying.withSkipIndex(interval);
+	}
+
+	@NotNull
+	@Override
+	public <R> LazySeq<R> map(@NotNull Function<? super E, ? extends R> mapper) {
+		return underlying.map(mapper);
+	}
+
+	@NotNull
+	@Override
+	public LazySeq<E> filter(@NotNull Predicate<? super E> predicate) {
+		return underlying.filter(predicate);
+	}
+
+	@NotNull
+	@Override
+	public <R> LazySeq<R> flatMap(@NotNull Function<? super E, ? extends Iterable<? extends R>> mapper) {
+		return underlying.flatMap(mapper);
+	}
+
+	@NotNull
+	@Override
+	protected LazySeq<E> takeUnsafe(long maxSize) {
+		return underlying.takeUnsafe(maxSize);
+	}
+
+	@Override
+	boolean forEachWhile(@NotNull Predicate<? super E> sink) {
+		return underlying.forEachWhile(sink);
+	}
+
+	@NotNull
+	@Override
+	public Iterator<E> iterator() {
+		return underlying.iterator();
+	}
+
+}
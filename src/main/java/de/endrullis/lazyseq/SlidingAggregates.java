@@ -0,0 +1,648 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Implementation of the sliding window aggregations like {@link LazySeq#slidingReduce(int, BinaryOperator)} and
+ * {@link IntLazySeq#slidingSum(int)}.
+ * <p>
+ * The aggregations are iterators over the aggregates of the windows, which the sequences wrap with their
+ * <code>of(iterator)</code> factories.  Each aggregation keeps a running state that is updated by the element entering
+ * and the element leaving the window, so every window costs amortized <code>O(1)</code> instead of
+ * <code>O(size)</code>:
+ * </p>
+ * <ul>
+ *   <li>sums add the new element and subtract the oldest one, which is kept in a ring buffer of the window,</li>
+ *   <li>minima and maxima keep a monotonic deque of the elements that can still become the extremum of a window,</li>
+ *   <li>reductions with an arbitrary associative operator keep the window as two stacks: a front stack of suffix
+ *   aggregates of the older elements and a back stack of the newer elements with their running aggregate.
+ *   When the front stack runs empty the back stack is turned over, so every element is combined a constant number
+ *   of times.  The operator is always applied in window order, so it need not be commutative.</li>
+ * </ul>
+ * <p>
+ * Like {@link LazySeq#sliding(int)} the aggregations yield one aggregate per full window, or a single aggregate of
+ * all elements if the sequence is non-empty but shorter than the window.
+ * <code>int</code> sequences use the <code>long</code> aggregations; their results are narrowed again, which gives
+ * the same values as <code>int</code> arithmetic.
+ * </p>
+ *
+ * @author Stefan Endrullis
+ */
+final class SlidingAggregates {
+
+	/** Initial buffer length, so that a large window size on a short sequence does not allocate a large buffer. */
+	private static final int INITIAL_CAPACITY = 16;
+
+	private SlidingAggregates() {
+	}
+
+	@NotNull
+	static PrimitiveIterator.OfLong sum(@NotNull PrimitiveIterator.OfLong source, int size) {
+		return new LongSum(source, size);
+	}
+
+	@NotNull
+	static PrimitiveIterator.OfDouble average(@NotNull PrimitiveIterator.OfLong source, int size) {
+		final LongSum sum = new LongSum(source, size);
+		return new PrimitiveIterator.OfDouble() {
+			@Override
+			public boolean hasNext() {
+				return sum.hasNext();
+			}
+
+			@Override
+			public double nextDouble() {
+				return (double) sum.nextLong() / sum.length();
+			}
+		};
+	}
+
+	@NotNull
+	static PrimitiveIterator.OfLong min(@NotNull PrimitiveIterator.OfLong source, int size) {
+		return new LongExtremum(source, size, false);
+	}
+
+	@NotNull
+	static PrimitiveIterator.OfLong max(@NotNull PrimitiveIterator.OfLong source, int size) {
+		return new LongExtremum(source, size, true);
+	}
+
+	@NotNull
+	static PrimitiveIterator.OfLong reduce(@NotNull PrimitiveIterator.OfLong source, int size, @NotNull LongBinaryOperator op) {
+		return new LongReduction(source, size, op);
+	}
+
+	@NotNull
+	static PrimitiveIterator.OfDouble sum(@NotNull PrimitiveIterator.OfDouble source, int size) {
+		return new DoubleSum(source, size);
+	}
+
+	@NotNull
+	static PrimitiveIterator.OfDouble average(@NotNull PrimitiveIterator.OfDouble source, int size) {
+		final DoubleSum sum = new DoubleSum(source, size);
+		return new PrimitiveIterator.OfDouble() {
+			@Override
+			public boolean hasNext() {
+				return sum.hasNext();
+			}
+
+			@Override
+			public double nextDouble() {
+				return sum.nextDouble() / sum.length();
+			}
+		};
+	}
+
+	@NotNull
+	static PrimitiveIterator.OfDouble min(@NotNull PrimitiveIterator.OfDouble source, int size) {
+		return new DoubleExtremum(source, size, false);
+	}
+
+	@NotNull
+	static PrimitiveIterator.OfDouble max(@NotNull PrimitiveIterator.OfDouble source, int size) {
+		return new DoubleExtremum(source, size, true);
+	}
+
+	@NotNull
+	static PrimitiveIterator.OfDouble reduce(@NotNull PrimitiveIterator.OfDouble source, int size, @NotNull DoubleBinaryOperator op) {
+		return new DoubleReduction(source, size, op);
+	}
+
+	/**
+	 * Returns the minima of the windows regarding the given comparator; use a reversed comparator for the maxima.
+	 * Of equal elements the newest one is kept.
+	 */
+	@NotNull
+	static <E> Iterator<E> min(@NotNull Iterator<E> source, int size, @NotNull Comparator<? super E> comparator) {
+		return new Extremum<>(source, size, comparator);
+	}
+
+	@NotNull
+	static <E> Iterator<E> reduce(@NotNull Iterator<E> source, int size, @NotNull BinaryOperator<E> op) {
+		return new Reduction<>(source, size, op);
+	}
+
+	@NotNull
+	static PrimitiveIterator.OfLong widen(@NotNull PrimitiveIterator.OfInt iterator) {
+		return new PrimitiveIterator.OfLong() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public long nextLong() {
+				return iterator.nextInt();
+			}
+		};
+	}
+
+	@NotNull
+	static PrimitiveIterator.OfInt narrow(@NotNull PrimitiveIterator.OfLong iterator) {
+		return new PrimitiveIterator.OfInt() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public int nextInt() {
+				return (int) iterator.nextLong();
+			}
+		};
+	}
+
+	private static int grow(int length, int size) {
+		return (int) Math.min(size, 2L * length);
+	}
+
+	/**
+	 * Moves a window over the source: the first window is filled with up to <code>size</code> elements, then every
+	 * further element evicts the oldest one.
+	 */
+	private abstract static class Window {
+		final int size;
+		/** Number of elements read from the source, which is also the index of the next element. */
+		long count;
+		private boolean ready;
+
+		Window(int size) {
+			this.size = size;
+		}
+
+		abstract boolean sourceHasNext();
+
+		/** Adds the next element of the source to the window, after evicting the oldest one if <code>evict</code> is set. */
+		abstract void pushNext(boolean evict);
+
+		public boolean hasNext() {
+			if (!ready) {
+				if (count == 0) {
+					while (count < size && sourceHasNext()) {
+						pushNext(false);
+						count++;
+					}
+					ready = count > 0;
+				} else if (count >= size && sourceHasNext()) {
+					pushNext(true);
+					count++;
+					ready = true;
+				}
+			}
+			return ready;
+		}
+
+		/** Marks the current window as consumed. */
+		void advance() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			ready = false;
+		}
+
+		/** Number of elements in the current window. */
+		int length() {
+			return (int) Math.min(count, size);
+		}
+	}
+
+	/**
+	 * Ring buffer of the window elements, needed to subtract the element leaving the window.
+	 */
+	private static final class LongSum extends Window implements PrimitiveIterator.OfLong {
+		private final PrimitiveIterator.OfLong source;
+		private long[] ring;
+		/** Index of the next write, which is the oldest element once the window is full. */
+		private int pos;
+		private long sum;
+
+		LongSum(@NotNull PrimitiveIterator.OfLong source, int size) {
+			super(size);
+			this.source = source;
+			this.ring = new long[Math.min(size, INITIAL_CAPACITY)];
+		}
+
+		@Override
+		boolean sourceHasNext() {
+			return source.hasNext();
+		}
+
+		@Override
+		void pushNext(boolean evict) {
+			final long value = source.nextLong();
+			if (evict) {
+				sum -= ring[pos];
+			} else if (pos == ring.length) {
+				ring = Arrays.copyOf(ring, grow(pos, size));
+			}
+			ring[pos] = value;
+			sum += value;
+			if (++pos == size) {
+				pos = 0;
+			}
+		}
+
+		@Override
+		public long nextLong() {
+			advance();
+			return sum;
+		}
+	}
+
+	/**
+	 * Ring buffer of the window elements; the running sum is recomputed from the buffer every <code>size</code>
+	 * elements, so rounding errors of the subtractions do not accumulate over the sequence.
+	 */
+	private static final class DoubleSum extends Window implements PrimitiveIterator.OfDouble {
+		private final PrimitiveIterator.OfDouble source;
+		private double[] ring;
+		/** Index of the next write, which is the oldest element once the window is full. */
+		private int pos;
+		private double sum;
+
+		DoubleSum(@NotNull PrimitiveIterator.OfDouble source, int size) {
+			super(size);
+			this.source = source;
+			this.ring = new double[Math.min(size, INITIAL_CAPACITY)];
+		}
+
+		@Override
+		boolean sourceHasNext() {
+			return source.hasNext();
+		}
+
+		@Override
+		void pushNext(boolean evict) {
+			final double value = source.nextDouble();
+			if (evict) {
+				sum -= ring[pos];
+			} else if (pos == ring.length) {
+				ring = Arrays.copyOf(ring, grow(pos, size));
+			}
+			ring[pos] = value;
+			sum += value;
+			if (++pos == size) {
+				pos = 0;
+				if (evict) {
+					sum = 0;
+					for (double element : ring) {
+						sum += element;
+					}
+				}
+			}
+		}
+
+		@Override
+		public double nextDouble() {
+			advance();
+			return sum;
+		}
+	}
+
+	/**
+	 * Monotonic deque of the elements that are not dominated by a newer element, stored with their indices in
+	 * <code>[head, tail)</code> of two arrays.  The front is the extremum of the window.
+	 * Every element is added and removed once; the arrays are compacted when half of them has been passed.
+	 */
+	private static final class LongExtremum extends Window implements PrimitiveIterator.OfLong {
+		private final PrimitiveIterator.OfLong source;
+		private final boolean max;
+		private long[] values;
+		private long[] indices;
+		private int head;
+		private int tail;
+
+		LongExtremum(@NotNull PrimitiveIterator.OfLong source, int size, boolean max) {
+			super(size);
+			this.source = source;
+			this.max = max;
+			this.values = new long[Math.min(size, INITIAL_CAPACITY)];
+			this.indices = new long[values.length];
+		}
+
+		@Override
+		boolean sourceHasNext() {
+			return source.hasNext();
+		}
+
+		@Override
+		void pushNext(boolean evict) {
+			final long value = source.nextLong();
+			if (evict && indices[head] == count - size) {
+				head++;
+			}
+			while (tail > head && (max ? values[tail - 1] <= value : values[tail - 1] >= value)) {
+				tail--;
+			}
+			if (tail == values.length) {
+				if (head >= values.length / 2) {
+					System.arraycopy(values, head, values, 0, tail - head);
+					System.arraycopy(indices, head, indices, 0, tail - head);
+					tail -= head;
+					head = 0;
+				} else {
+					values = Arrays.copyOf(values, 2 * values.length);
+					indices = Arrays.copyOf(indices, values.length);
+				}
+			}
+			values[tail] = value;
+			indices[tail++] = count;
+		}
+
+		@Override
+		public long nextLong() {
+			advance();
+			return values[head];
+		}
+	}
+
+	/** Like {@link LongExtremum}, but for <code>double</code> elements. */
+	private static final class DoubleExtremum extends Window implements PrimitiveIterator.OfDouble {
+		private final PrimitiveIterator.OfDouble source;
+		private final boolean max;
+		private double[] values;
+		private long[] indices;
+		private int head;
+		private int tail;
+
+		DoubleExtremum(@NotNull PrimitiveIterator.OfDouble source, int size, boolean max) {
+			super(size);
+			this.source = source;
+			this.max = max;
+			this.values = new double[Math.min(size, INITIAL_CAPACITY)];
+			this.indices = new long[values.length];
+		}
+
+		@Override
+		boolean sourceHasNext() {
+			return source.hasNext();
+		}
+
+		@Override
+		void pushNext(boolean evict) {
+			final double value = source.nextDouble();
+			if (evict && indices[head] == count - size) {
+				head++;
+			}
+			while (tail > head && (max ? values[tail - 1] <= value : values[tail - 1] >= value)) {
+				tail--;
+			}
+			if (tail == values.length) {
+				if (head >= values.length / 2) {
+					System.arraycopy(values, head, values, 0, tail - head);
+					System.arraycopy(indices, head, indices, 0, tail - head);
+					tail -= head;
+					head = 0;
+				} else {
+					values = Arrays.copyOf(values, 2 * values.length);
+					indices = Arrays.copyOf(indices, values.length);
+				}
+			}
+			values[tail] = value;
+			indices[tail++] = count;
+		}
+
+		@Override
+		public double nextDouble() {
+			advance();
+			return values[head];
+		}
+	}
+
+	/** Like {@link LongExtremum}, but for objects ordered by a comparator. */
+	private static final class Extremum<E> extends Window implements Iterator<E> {
+		private final Iterator<E> source;
+		private final Comparator<? super E> comparator;
+		private Object[] values;
+		private long[] indices;
+		private int head;
+		private int tail;
+
+		Extremum(@NotNull Iterator<E> source, int size, @NotNull Comparator<? super E> comparator) {
+			super(size);
+			this.source = source;
+			this.comparator = comparator;
+			this.values = new Object[Math.min(size, INITIAL_CAPACITY)];
+			this.indices = new long[values.length];
+		}
+
+		@Override
+		boolean sourceHasNext() {
+			return source.hasNext();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		void pushNext(boolean evict) {
+			final E value = source.next();
+			if (evict && indices[head] == count - size) {
+				values[head++] = null;
+			}
+			while (tail > head && comparator.compare((E) values[tail - 1], value) >= 0) {
+				values[--tail] = null;
+			}
+			if (tail == values.length) {
+				if (head >= values.length / 2) {
+					System.arraycopy(values, head, values, 0, tail - head);
+					System.arraycopy(indices, head, indices, 0, tail - head);
+					Arrays.fill(values, tail - head, tail, null);
+					tail -= head;
+					head = 0;
+				} else {
+					values = Arrays.copyOf(values, 2 * values.length);
+					indices = Arrays.copyOf(indices, values.length);
+				}
+			}
+			values[tail] = value;
+			indices[tail++] = count;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public E next() {
+			advance();
+			return (E) values[head];
+		}
+	}
+
+	/**
+	 * Two stacks: <code>front</code> holds the suffix aggregates of the older elements (the aggregate of the whole
+	 * front on top), <code>back</code> holds the newer elements and <code>backAggregate</code> their aggregate.
+	 */
+	private static final class LongReduction extends Window implements PrimitiveIterator.OfLong {
+		private final PrimitiveIterator.OfLong source;
+		private final LongBinaryOperator op;
+		private long[] front;
+		private int frontSize;
+		private long[] back;
+		private int backSize;
+		private long backAggregate;
+
+		LongReduction(@NotNull PrimitiveIterator.OfLong source, int size, @NotNull LongBinaryOperator op) {
+			super(size);
+			this.source = source;
+			this.op = op;
+			this.front = new long[Math.min(size, INITIAL_CAPACITY)];
+			this.back = new long[front.length];
+		}
+
+		@Override
+		boolean sourceHasNext() {
+			return source.hasNext();
+		}
+
+		@Override
+		void pushNext(boolean evict) {
+			final long value = source.nextLong();
+			if (evict) {
+				if (frontSize == 0) {
+					if (front.length < backSize) {
+						front = new long[back.length];
+					}
+					long aggregate = back[backSize - 1];
+					front[frontSize++] = aggregate;
+					for (int i = backSize - 2; i >= 0; i--) {
+						aggregate = op.applyAsLong(back[i], aggregate);
+						front[frontSize++] = aggregate;
+					}
+					backSize = 0;
+				}
+				frontSize--;
+			}
+			if (backSize == back.length) {
+				back = Arrays.copyOf(back, grow(backSize, size));
+			}
+			back[backSize++] = value;
+			backAggregate = backSize == 1 ? value : op.applyAsLong(backAggregate, value);
+		}
+
+		@Override
+		public long nextLong() {
+			advance();
+			return frontSize == 0 ? backAggregate : op.applyAsLong(front[frontSize - 1], backAggregate);
+		}
+	}
+
+	/** Like {@link LongReduction}, but for <code>double</code> elements. */
+	private static final class DoubleReduction extends Window implements PrimitiveIterator.OfDouble {
+		private final PrimitiveIterator.OfDouble source;
+		private final DoubleBinaryOperator op;
+		private double[] front;
+		private int frontSize;
+		private double[] back;
+		private int backSize;
+		private double backAggregate;
+
+		DoubleReduction(@NotNull PrimitiveIterator.OfDouble source, int size, @NotNull DoubleBinaryOperator op) {
+			super(size);
+			this.source = source;
+			this.op = op;
+			this.front = new double[Math.min(size, INITIAL_CAPACITY)];
+			this.back = new double[front.length];
+		}
+
+		@Override
+		boolean sourceHasNext() {
+			return source.hasNext();
+		}
+
+		@Override
+		void pushNext(boolean evict) {
+			final double value = source.nextDouble();
+			if (evict) {
+				if (frontSize == 0) {
+					if (front.length < backSize) {
+						front = new double[back.length];
+					}
+					double aggregate = back[backSize - 1];
+					front[frontSize++] = aggregate;
+					for (int i = backSize - 2; i >= 0; i--) {
+						aggregate = op.applyAsDouble(back[i], aggregate);
+						front[frontSize++] = aggregate;
+					}
+					backSize = 0;
+				}
+				frontSize--;
+			}
+			if (backSize == back.length) {
+				back = Arrays.copyOf(back, grow(backSize, size));
+			}
+			back[backSize++] = value;
+			backAggregate = backSize == 1 ? value : op.applyAsDouble(backAggregate, value);
+		}
+
+		@Override
+		public double nextDouble() {
+			advance();
+			return frontSize == 0 ? backAggregate : op.applyAsDouble(front[frontSize - 1], backAggregate);
+		}
+	}
+
+	/** Like {@link LongReduction}, but for objects. */
+	private static final class Reduction<E> extends Window implements Iterator<E> {
+		private final Iterator<E> source;
+		private final BinaryOperator<E> op;
+		private Object[] front;
+		private int frontSize;
+		private Object[] back;
+		private int backSize;
+		private E backAggregate;
+
+		Reduction(@NotNull Iterator<E> source, int size, @NotNull BinaryOperator<E> op) {
+			super(size);
+			this.source = source;
+			this.op = op;
+			this.front = new Object[Math.min(size, INITIAL_CAPACITY)];
+			this.back = new Object[front.length];
+		}
+
+		@Override
+		boolean sourceHasNext() {
+			return source.hasNext();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		void pushNext(boolean evict) {
+			final E value = source.next();
+			if (evict) {
+				if (frontSize == 0) {
+					if (front.length < backSize) {
+						front = new Object[back.length];
+					}
+					E aggregate = (E) back[backSize - 1];
+					front[frontSize++] = aggregate;
+					for (int i = backSize - 2; i >= 0; i--) {
+						aggregate = op.apply((E) back[i], aggregate);
+						front[frontSize++] = aggregate;
+					}
+					Arrays.fill(back, 0, backSize, null);
+					backSize = 0;
+				}
+				front[--frontSize] = null;
+			}
+			if (backSize == back.length) {
+				back = Arrays.copyOf(back, grow(backSize, size));
+			}
+			back[backSize++] = value;
+			backAggregate = backSize == 1 ? value : op.apply(backAggregate, value);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public E next() {
+			advance();
+			return frontSize == 0 ? backAggregate : op.apply((E) front[frontSize - 1], backAggregate);
+		}
+	}
+
+}
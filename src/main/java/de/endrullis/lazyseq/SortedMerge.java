@@ -0,0 +1,220 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * Streaming operations on sequences that are sorted by a comparator: the k-way merge of
+ * {@link LazySeq#mergeSorted(Comparator, Collection)} and the set operations built on top of it.
+ * <p>
+ * All operations are lazy and work on infinite inputs; each element is produced by a constant number of cells
+ * and comparisons (<code>O(log k)</code> for the merge of <code>k</code> sequences).  Runs of skipped elements are
+ * traversed in loops, so that the operations are stack-safe.
+ * </p>
+ *
+ * @author Stefan Endrullis
+ */
+final class SortedMerge {
+
+	private SortedMerge() {
+	}
+
+	/**
+	 * Returns the stable merge of the sorted <code>seqs</code>: of equal elements those of earlier sequences come
+	 * first.  The first element of every sequence is evaluated immediately.
+	 */
+	@NotNull
+	static <E> LazySeq<E> merge(@NotNull Comparator<? super E> comparator, @NotNull Collection<? extends LazySeq<? extends E>> seqs) {
+		@SuppressWarnings("unchecked")
+		final LazySeq<? extends E>[] cursors = (LazySeq<? extends E>[]) new LazySeq<?>[seqs.size()];
+		int k = 0;
+		for (LazySeq<? extends E> seq : seqs) {
+			if (!seq.isEmpty()) {
+				cursors[k++] = seq;
+			}
+		}
+		if (k == 0) {
+			return LazySeq.empty();
+		}
+		if (k == 1) {
+			// sequences are immutable, so a sequence of a subtype can be used as a sequence of E
+			@SuppressWarnings("unchecked")
+			final LazySeq<E> single = (LazySeq<E>) cursors[0];
+			return single;
+		}
+		return new Merge<>(cursors, k, comparator).next();
+	}
+
+	/**
+	 * Returns the sorted sequence without repetitions, i.e. only the first of consecutive equal elements.
+	 */
+	@NotNull
+	static <E> LazySeq<E> distinct(@NotNull LazySeq<E> seq, @NotNull Comparator<? super E> comparator) {
+		if (seq.isEmpty()) {
+			return LazySeq.empty();
+		}
+		final E head = seq.head();
+		return LazySeq.cons(head, () -> distinct(dropEqual(seq.tail(), head, comparator), comparator));
+	}
+
+	/**
+	 * Returns the elements contained in <code>a</code> or <code>b</code>, sorted and without repetitions.
+	 */
+	@NotNull
+	static <E> LazySeq<E> union(@NotNull LazySeq<E> a, @NotNull LazySeq<? extends E> b, @NotNull Comparator<? super E> comparator) {
+		return distinct(merge(comparator, Arrays.asList(a, b)), comparator);
+	}
+
+	/**
+	 * Returns the elements of <code>a</code> that are contained in <code>b</code>, sorted and without repetitions.
+	 */
+	@NotNull
+	static <E> LazySeq<E> intersect(@NotNull LazySeq<E> a, @NotNull LazySeq<? extends E> b, @NotNull Comparator<? super E> comparator) {
+		LazySeq<E> x = a;
+		LazySeq<? extends E> y = b;
+		while (!x.isEmpty() && !y.isEmpty()) {
+			final E head = x.head();
+			final int c = comparator.compare(head, y.head());
+			if (c < 0) {
+				x = x.tail();
+			} else if (c > 0) {
+				y = y.tail();
+			} else {
+				final LazySeq<E> xs = x;
+				final LazySeq<? extends E> ys = y;
+				return LazySeq.cons(head, () -> intersect(dropEqual(xs.tail(), head, comparator), dropEqual(ys.tail(), head, comparator), comparator));
+			}
+		}
+		return LazySeq.empty();
+	}
+
+	/**
+	 * Returns the elements of <code>a</code> that are not contained in <code>b</code>, sorted and without repetitions.
+	 */
+	@NotNull
+	static <E> LazySeq<E> diff(@NotNull LazySeq<E> a, @NotNull LazySeq<? extends E> b, @NotNull Comparator<? super E> comparator) {
+		LazySeq<E> x = a;
+		LazySeq<? extends E> y = b;
+		while (!x.isEmpty()) {
+			final E head = x.head();
+			while (!y.isEmpty() && comparator.compare(y.head(), head) < 0) {
+				y = y.tail();
+			}
+			if (y.isEmpty()) {
+				return distinct(x, comparator);
+			}
+			if (comparator.compare(head, y.head()) < 0) {
+				final LazySeq<E> xs = x;
+				final LazySeq<? extends E> ys = y;
+				return LazySeq.cons(head, () -> diff(dropEqual(xs.tail(), head, comparator), ys, comparator));
+			}
+			x = dropEqual(x.tail(), head, comparator);
+		}
+		return LazySeq.empty();
+	}
+
+	/**
+	 * Drops the leading elements of <code>seq</code> that are equal to <code>element</code>.
+	 */
+	@NotNull
+	private static <E, T extends E> LazySeq<T> dropEqual(@NotNull LazySeq<T> seq, E element, @NotNull Comparator<? super E> comparator) {
+		LazySeq<T> cur = seq;
+		while (!cur.isEmpty() && comparator.compare(cur.head(), element) == 0) {
+			cur = cur.tail();
+		}
+		return cur;
+	}
+
+	/**
+	 * Binary min-heap of the current cells of the merged sequences, ordered by head and then by sequence number.
+	 * The heads are cached in an array, and the top is replaced by sifting a hole down to a leaf along the smaller
+	 * children and sifting the new element up from there (bottom-up heap), which takes about <code>log k</code>
+	 * comparisons per element instead of <code>2 log k</code>.
+	 * The cell whose head has been emitted last is advanced only when the next element is requested, so that no
+	 * source element is evaluated before it is needed.  Since the tail of a cell is evaluated only once, the heap is
+	 * never accessed concurrently.
+	 */
+	private static final class Merge<E> {
+		private final LazySeq<? extends E>[] cursors;
+		private final Object[] heads;
+		private final Comparator<? super E> comparator;
+		private final int[] heap;
+		private int size;
+		/** Whether the cursor on top of the heap has been emitted and has to be advanced. */
+		private boolean emitted;
+
+		Merge(@NotNull LazySeq<? extends E>[] cursors, int k, @NotNull Comparator<? super E> comparator) {
+			this.cursors = cursors;
+			this.heads = new Object[k];
+			this.comparator = comparator;
+			this.heap = new int[k];
+			this.size = k;
+			for (int i = 0; i < k; i++) {
+				heap[i] = i;
+				heads[i] = cursors[i].head();
+			}
+			for (int i = k / 2 - 1; i >= 0; i--) {
+				replaceAt(i);
+			}
+		}
+
+		@NotNull
+		@SuppressWarnings("unchecked")
+		LazySeq<E> next() {
+			if (emitted) {
+				final int top = heap[0];
+				final LazySeq<? extends E> tail = cursors[top].tail();
+				if (tail.isEmpty()) {
+					cursors[top] = null;
+					heads[top] = null;
+					heap[0] = heap[--size];
+				} else {
+					cursors[top] = tail;
+					heads[top] = tail.head();
+				}
+				replaceAt(0);
+			}
+			if (size == 0) {
+				return LazySeq.empty();
+			}
+			emitted = true;
+			return LazySeq.cons((E) heads[heap[0]], this::next);
+		}
+
+		@SuppressWarnings("unchecked")
+		private boolean less(int i, int j) {
+			final int c = comparator.compare((E) heads[i], (E) heads[j]);
+			return c < 0 || c == 0 && i < j;
+		}
+
+		/**
+		 * Restores the heap property for the subtree rooted at <code>pos</code>, whose index may be out of place.
+		 */
+		private void replaceAt(int pos) {
+			final int index = heap[pos];
+			final int half = size >>> 1;
+			int hole = pos;
+			while (hole < half) {
+				int child = 2 * hole + 1;
+				if (child + 1 < size && less(heap[child + 1], heap[child])) {
+					child++;
+				}
+				heap[hole] = heap[child];
+				hole = child;
+			}
+			while (hole > pos) {
+				final int parent = (hole - 1) >>> 1;
+				if (!less(index, heap[parent])) {
+					break;
+				}
+				heap[hole] = heap[parent];
+				hole = parent;
+			}
+			heap[hole] = index;
+		}
+	}
+
+}
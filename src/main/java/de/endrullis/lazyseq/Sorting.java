@@ -0,0 +1,370 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Implementation of {@link LazySeq#sorted(Comparator)}, {@link LazySeq#sortedByInt(ToIntFunction)},
+ * {@link LazySeq#sortedByLong(ToLongFunction)}, {@link LazySeq#topK(int, Comparator)} and
+ * {@link LazySeq#bottomK(int, Comparator)}.
+ * <p>
+ * A sorted sequence is produced by an incremental heap sort: the elements are heapified in <code>O(n)</code> and
+ * popped one at a time when the sequence is evaluated, so the first <code>k</code> elements cost
+ * <code>O(n + k log n)</code>.  Once <code>n / 64</code> elements have been popped the consumer is likely to read
+ * everything, and the remaining elements are sorted at once with {@link Arrays#sort(Object[], Comparator)}, which
+ * is faster than popping them.  The heap orders equal elements by their position in the source, so the result is
+ * stable like a full sort.
+ * </p>
+ * <p>
+ * Ranges of at least {@link #PARALLEL_THRESHOLD} elements are sorted with
+ * {@link Arrays#parallelSort(Object[], int, int, Comparator)}, which is stable as well but calls the comparator from
+ * the threads of the common fork-join pool.
+ * {@link LazySeq#sortedByInt(ToIntFunction)} and {@link LazySeq#sortedByLong(ToLongFunction)} extract the keys once
+ * and sort them with a stable least significant digit radix sort, which needs no comparisons and no boxing.
+ * </p>
+ * <p>
+ * {@link LazySeq#bottomK(int, Comparator)} keeps a bounded heap of the <code>k</code> smallest elements seen so far,
+ * so it needs <code>O(k)</code> memory and <code>O(n log k)</code> time for a source of <code>n</code> elements.
+ * </p>
+ *
+ * @author Stefan Endrullis
+ */
+final class Sorting {
+
+	/** Sequences with fewer elements are sorted at once. */
+	private static final int MIN_HEAP_SIZE = 64;
+	/** Fraction of the elements after which the remaining ones are sorted at once. */
+	private static final int SWITCH_DIVISOR = 64;
+	/** Initial buffer length, so that a large <code>k</code> on a short sequence does not allocate a large buffer. */
+	private static final int INITIAL_CAPACITY = 16;
+	/** Ranges with at least this many elements are sorted in parallel. */
+	static final int PARALLEL_THRESHOLD = 1 << 16;
+	/** Number of bits sorted per radix sort pass. */
+	private static final int RADIX_BITS = 8;
+	private static final int RADIX = 1 << RADIX_BITS;
+
+	private Sorting() {
+	}
+
+	@NotNull
+	static <E> LazySeq<E> sorted(@NotNull LazySeq<E> seq, @NotNull Comparator<? super E> comparator) {
+		final Object[] elements = toArray(seq);
+		if (elements.length < MIN_HEAP_SIZE) {
+			sort(elements, 0, elements.length, comparator);
+			return ArraySeq.ofArray(elements);
+		}
+		return new HeapSort<E>(elements, comparator).next();
+	}
+
+	@NotNull
+	static <E> LazySeq<E> sortedByInt(@NotNull LazySeq<E> seq, @NotNull ToIntFunction<? super E> key) {
+		final Object[] elements = toArray(seq);
+		final long[] keys = new long[elements.length];
+		for (int i = 0; i < elements.length; i++) {
+			// flipping the sign bit maps the signed order to the unsigned order of the lower 32 bits
+			keys[i] = (applyAsInt(key, elements[i]) ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+		}
+		return permuted(elements, radixOrder(keys));
+	}
+
+	@NotNull
+	static <E> LazySeq<E> sortedByLong(@NotNull LazySeq<E> seq, @NotNull ToLongFunction<? super E> key) {
+		final Object[] elements = toArray(seq);
+		final long[] keys = new long[elements.length];
+		for (int i = 0; i < elements.length; i++) {
+			keys[i] = applyAsLong(key, elements[i]) ^ Long.MIN_VALUE;
+		}
+		return permuted(elements, radixOrder(keys));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> int applyAsInt(@NotNull ToIntFunction<? super E> key, @NotNull Object element) {
+		return key.applyAsInt((E) element);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> long applyAsLong(@NotNull ToLongFunction<? super E> key, @NotNull Object element) {
+		return key.applyAsLong((E) element);
+	}
+
+	@NotNull
+	private static <E> LazySeq<E> permuted(@NotNull Object[] elements, @NotNull int[] order) {
+		final Object[] sorted = new Object[elements.length];
+		for (int i = 0; i < sorted.length; i++) {
+			sorted[i] = elements[order[i]];
+		}
+		return ArraySeq.ofArray(sorted);
+	}
+
+	/**
+	 * Returns the indices of the keys in ascending unsigned order of the keys; equal keys keep their order.
+	 * The keys are sorted by a least significant digit radix sort with {@link #RADIX_BITS} bits per pass.
+	 * The histograms of all digits are counted in a single pass, and passes over digits that are equal for all keys
+	 * (e.g. the upper half of <code>int</code> keys) are skipped.  The given array is used as a buffer.
+	 */
+	@NotNull
+	private static int[] radixOrder(@NotNull long[] keys) {
+		final int n = keys.length;
+		final int passes = Long.SIZE / RADIX_BITS;
+		final int[][] counts = new int[passes][RADIX];
+		for (long key : keys) {
+			for (int pass = 0; pass < passes; pass++) {
+				counts[pass][(int) (key >>> (pass * RADIX_BITS)) & (RADIX - 1)]++;
+			}
+		}
+		long[] curKeys = keys;
+		long[] nextKeys = new long[n];
+		int[] order = new int[n];
+		int[] nextOrder = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		for (int pass = 0; pass < passes && n > 0; pass++) {
+			final int shift = pass * RADIX_BITS;
+			final int[] offsets = counts[pass];
+			if (offsets[(int) (curKeys[0] >>> shift) & (RADIX - 1)] == n) {
+				continue;
+			}
+			int sum = 0;
+			for (int digit = 0; digit < RADIX; digit++) {
+				final int count = offsets[digit];
+				offsets[digit] = sum;
+				sum += count;
+			}
+			for (int i = 0; i < n; i++) {
+				final long key = curKeys[i];
+				final int pos = offsets[(int) (key >>> shift) & (RADIX - 1)]++;
+				nextKeys[pos] = key;
+				nextOrder[pos] = order[i];
+			}
+			final long[] keysSwap = curKeys;
+			curKeys = nextKeys;
+			nextKeys = keysSwap;
+			final int[] orderSwap = order;
+			order = nextOrder;
+			nextOrder = orderSwap;
+		}
+		return order;
+	}
+
+	/**
+	 * Returns the <code>k</code> smallest elements of the finite sequence in ascending order, equal elements in the
+	 * order of the sequence, i.e. <code>sorted(comparator).take(k)</code>.
+	 */
+	@NotNull
+	static <E> LazySeq<E> smallest(@NotNull LazySeq<E> seq, int k, @NotNull Comparator<? super E> comparator) {
+		if (k == 0) {
+			return LazySeq.empty();
+		}
+		final BoundedHeap<E> heap = new BoundedHeap<>(k, comparator);
+		seq.forEachWhile(element -> {
+			heap.offer(element);
+			return true;
+		});
+		return ArraySeq.ofArray(heap.drain());
+	}
+
+	/**
+	 * Copies the finite sequence into an array in a single pass.
+	 */
+	@NotNull
+	static Object[] toArray(@NotNull LazySeq<?> seq) {
+		final long knownSize = seq.knownSize();
+		final Object[][] array = {new Object[knownSize >= 0 ? (int) knownSize : INITIAL_CAPACITY]};
+		final int[] n = {0};
+		seq.forEachWhile(element -> {
+			if (n[0] == array[0].length) {
+				array[0] = Arrays.copyOf(array[0], Math.max(INITIAL_CAPACITY, 2 * n[0]));
+			}
+			array[0][n[0]++] = element;
+			return true;
+		});
+		return n[0] == array[0].length ? array[0] : Arrays.copyOf(array[0], n[0]);
+	}
+
+	/**
+	 * Sorts the range stably; in parallel if it has at least {@link #PARALLEL_THRESHOLD} elements.
+	 */
+	@SuppressWarnings("unchecked")
+	static <E> void sort(@NotNull Object[] elements, int from, int to, @NotNull Comparator<? super E> comparator) {
+		if (to - from >= PARALLEL_THRESHOLD) {
+			Arrays.parallelSort(elements, from, to, (Comparator<Object>) comparator);
+		} else {
+			Arrays.sort(elements, from, to, (Comparator<Object>) comparator);
+		}
+	}
+
+	/**
+	 * Binary min-heap of indices into <code>elements</code>, ordered by element and then by index.
+	 * The sorted sequence pops one index per cell; since the tail of a cell is evaluated only once, the heap is
+	 * never accessed concurrently.
+	 */
+	private static final class HeapSort<E> {
+		/** Elements in source order; popped elements are cleared, since their cells hold them. */
+		private final Object[] elements;
+		private final Comparator<? super E> comparator;
+		private final int[] heap;
+		private int size;
+		private final int switchAt;
+
+		HeapSort(@NotNull Object[] elements, @NotNull Comparator<? super E> comparator) {
+			this.elements = elements;
+			this.comparator = comparator;
+			this.size = elements.length;
+			this.heap = new int[size];
+			for (int i = 0; i < size; i++) {
+				heap[i] = i;
+			}
+			for (int i = size / 2 - 1; i >= 0; i--) {
+				siftDown(i);
+			}
+			this.switchAt = size - size / SWITCH_DIVISOR;
+		}
+
+		@NotNull
+		@SuppressWarnings("unchecked")
+		LazySeq<E> next() {
+			if (size <= switchAt) {
+				return rest();
+			}
+			final int top = heap[0];
+			heap[0] = heap[--size];
+			siftDown(0);
+			final E element = (E) elements[top];
+			elements[top] = null;
+			return LazySeq.cons(element, this::next);
+		}
+
+		/**
+		 * Sorts the elements remaining in the heap at once.  The popped elements have been cleared, so the remaining
+		 * ones are moved to the front of the array in source order, which keeps the sort stable.
+		 */
+		@NotNull
+		private LazySeq<E> rest() {
+			int n = 0;
+			for (Object element : elements) {
+				if (element != null) {
+					elements[n++] = element;
+				}
+			}
+			sort(elements, 0, n, comparator);
+			return ArraySeq.ofArray(elements, 0, n);
+		}
+
+		@SuppressWarnings("unchecked")
+		private boolean less(int i, int j) {
+			final int c = comparator.compare((E) elements[i], (E) elements[j]);
+			return c < 0 || c == 0 && i < j;
+		}
+
+		private void siftDown(int pos) {
+			final int index = heap[pos];
+			final int half = size >>> 1;
+			while (pos < half) {
+				int child = 2 * pos + 1;
+				if (child + 1 < size && less(heap[child + 1], heap[child])) {
+					child++;
+				}
+				if (!less(heap[child], index)) {
+					break;
+				}
+				heap[pos] = heap[child];
+				pos = child;
+			}
+			heap[pos] = index;
+		}
+	}
+
+	/**
+	 * Binary max-heap of the <code>k</code> smallest elements offered so far, ordered by element and then by
+	 * offer number, so that of equal elements the earlier ones are kept.
+	 */
+	private static final class BoundedHeap<E> {
+		private final int k;
+		private final Comparator<? super E> comparator;
+		private Object[] values;
+		private long[] numbers;
+		private int size;
+		private long offered;
+
+		BoundedHeap(int k, @NotNull Comparator<? super E> comparator) {
+			this.k = k;
+			this.comparator = comparator;
+			this.values = new Object[Math.min(k, INITIAL_CAPACITY)];
+			this.numbers = new long[values.length];
+		}
+
+		@SuppressWarnings("unchecked")
+		void offer(@NotNull E element) {
+			final long number = offered++;
+			if (size < k) {
+				if (size == values.length) {
+					values = Arrays.copyOf(values, (int) Math.min(k, 2L * size));
+					numbers = Arrays.copyOf(numbers, values.length);
+				}
+				int pos = size++;
+				while (pos > 0) {
+					final int parent = (pos - 1) >>> 1;
+					if (!greater(element, number, (E) values[parent], numbers[parent])) {
+						break;
+					}
+					values[pos] = values[parent];
+					numbers[pos] = numbers[parent];
+					pos = parent;
+				}
+				values[pos] = element;
+				numbers[pos] = number;
+			} else if (comparator.compare(element, (E) values[0]) < 0) {
+				siftDown(element, number);
+			}
+		}
+
+		/**
+		 * Empties the heap and returns its elements in ascending order.
+		 */
+		@NotNull
+		@SuppressWarnings("unchecked")
+		Object[] drain() {
+			final Object[] result = new Object[size];
+			while (size > 0) {
+				result[size - 1] = values[0];
+				size--;
+				siftDown((E) values[size], numbers[size]);
+				values[size] = null;
+			}
+			return result;
+		}
+
+		/** Whether <code>(a, na)</code> is greater than <code>(b, nb)</code>. */
+		private boolean greater(@NotNull E a, long na, @NotNull E b, long nb) {
+			final int c = comparator.compare(a, b);
+			return c > 0 || c == 0 && na > nb;
+		}
+
+		/** Replaces the root by <code>(element, number)</code> and restores the heap order. */
+		@SuppressWarnings("unchecked")
+		private void siftDown(@NotNull E element, long number) {
+			int pos = 0;
+			final int half = size >>> 1;
+			while (pos < half) {
+				int child = 2 * pos + 1;
+				if (child + 1 < size && greater((E) values[child + 1], numbers[child + 1], (E) values[child], numbers[child])) {
+					child++;
+				}
+				if (!greater((E) values[child], numbers[child], element, number)) {
+					break;
+				}
+				values[pos] = values[child];
+				numbers[pos] = numbers[child];
+				pos = child;
+			}
+			values[pos] = element;
+			numbers[pos] = number;
+		}
+	}
+
+}
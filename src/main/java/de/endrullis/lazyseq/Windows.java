@@ -0,0 +1,204 @@
+package de.endrullis.lazyseq;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Implementation of {@link LazySeq#sliding(int)} and {@link LazySeq#grouped(int)}.
+ * <p>
+ * Both walk the source sequence with a single cursor on the last cell read so far, so every source cell is visited
+ * once and no element is evaluated before the window containing it is requested.
+ * Sliding windows are read-only views on a buffer of twice the window size: every step appends one element,
+ * and only when the buffer is full the last <code>size - 1</code> elements are copied into a fresh buffer.
+ * Since buffer slots are never overwritten, windows stay valid after the cursor has moved on, and sliding over
+ * <code>n</code> elements costs <code>O(n)</code> time and allocation instead of <code>O(n * size)</code>.
+ * </p>
+ *
+ * @author Stefan Endrullis
+ */
+final class Windows {
+
+	/** Initial buffer length, so that a large window size on a short sequence does not allocate a large buffer. */
+	private static final int INITIAL_CAPACITY = 16;
+
+	private Windows() {
+	}
+
+	/**
+	 * Returns the sliding windows of the given non-empty sequence.
+	 * If the sequence is shorter than <code>size</code> the only window contains all of its elements.
+	 */
+	@NotNull
+	static <E> LazySeq<List<E>> sliding(@NotNull LazySeq<E> seq, int size) {
+		return sliding(seq, size, false);
+	}
+
+	/**
+	 * Returns the sliding windows of the given sequence that contain exactly <code>size</code> elements, i.e. an empty
+	 * sequence if the sequence is shorter than <code>size</code>.
+	 */
+	@NotNull
+	static <E> LazySeq<List<E>> slidingFullOnly(@NotNull LazySeq<E> seq, int size) {
+		return seq.isEmpty() ? LazySeq.empty() : sliding(seq, size, true);
+	}
+
+	@NotNull
+	private static <E> LazySeq<List<E>> sliding(@NotNull LazySeq<E> seq, int size, boolean fullOnly) {
+		final int capacity = size <= Integer.MAX_VALUE / 2 ? 2 * size : size;
+		final Read<E> read = new Read<>(seq, size, capacity);
+		if (read.count < size) {
+			return fullOnly ? LazySeq.empty() : LazySeq.cons(new View<>(read.elements, 0, read.count), LazySeq.empty());
+		}
+		final Object[] buffer = read.elements.length == capacity ? read.elements : Arrays.copyOf(read.elements, capacity);
+		return new Cons<>(new View<>(buffer, 0, size), new SlidingTail<>(read.last, size, buffer, size));
+	}
+
+	/**
+	 * Returns the given non-empty sequence split into groups of <code>size</code> elements; the last group may be
+	 * smaller.
+	 */
+	@NotNull
+	static <E> LazySeq<List<E>> grouped(@NotNull LazySeq<E> seq, int size) {
+		final Read<E> read = new Read<>(seq, size, size);
+		final List<E> group = new View<>(read.elements, 0, read.count);
+		if (read.count < size) {
+			return LazySeq.cons(group, LazySeq.empty());
+		}
+		return new Cons<>(group, new GroupedTail<>(read.last, size));
+	}
+
+	/**
+	 * Reads up to <code>size</code> elements starting with a non-empty cell.
+	 */
+	private static final class Read<E> {
+		/** Elements read; the buffer grows up to the given capacity. */
+		Object[] elements;
+		/** Number of elements read. */
+		int count;
+		/** Cell of the last element read. */
+		LazySeq<E> last;
+
+		Read(@NotNull LazySeq<E> first, int size, int capacity) {
+			elements = new Object[Math.min(capacity, INITIAL_CAPACITY)];
+			LazySeq<E> cur = first;
+			while (true) {
+				if (count == elements.length) {
+					elements = Arrays.copyOf(elements, (int) Math.min(capacity, 2L * count));
+				}
+				elements[count++] = cur.head();
+				last = cur;
+				if (count == size) {
+					break;
+				}
+				cur = cur.tail();
+				if (cur.isEmpty()) {
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tail of a sliding window whose newest element is the head of {@link #source}.
+	 * The window ends at index <code>end</code> of <code>buffer</code>; the next element is written to this index, which
+	 * happens exactly once since the tail of a cell is evaluated only once.
+	 */
+	private static final class SlidingTail<E> extends OperatorTail<E, List<E>> {
+		private final int size;
+		private final Object[] buffer;
+		private final int end;
+
+		SlidingTail(@NotNull LazySeq<E> source, int size, @NotNull Object[] buffer, int end) {
+			super(source);
+			this.size = size;
+			this.buffer = buffer;
+			this.end = end;
+		}
+
+		@Override
+		public LazySeq<List<E>> get() {
+			final LazySeq<E> next = source.tail();
+			if (next.isEmpty()) {
+				return LazySeq.empty();
+			}
+			Object[] buf = buffer;
+			int e = end;
+			if (e == buf.length) {
+				buf = renew(buf, e, size);
+				e = size - 1;
+			}
+			buf[e++] = next.head();
+			return new Cons<>(new View<>(buf, e - size, size), new SlidingTail<>(next, size, buf, e));
+		}
+
+
+		/**
+		 * Returns a fresh buffer starting with the last <code>size - 1</code> elements of the window ending at
+		 * <code>end</code>.
+		 */
+		private static Object[] renew(@NotNull Object[] buffer, int end, int size) {
+			final Object[] fresh = new Object[buffer.length];
+			System.arraycopy(buffer, end - size + 1, fresh, 0, size - 1);
+			return fresh;
+		}
+	}
+
+	/**
+	 * Tail of a group whose last element is the head of {@link #source}.
+	 */
+	private static final class GroupedTail<E> extends OperatorTail<E, List<E>> {
+		private final int size;
+
+		GroupedTail(@NotNull LazySeq<E> source, int size) {
+			super(source);
+			this.size = size;
+		}
+
+		@Override
+		public LazySeq<List<E>> get() {
+			final LazySeq<E> next = source.tail();
+			return next.isEmpty() ? LazySeq.empty() : grouped(next, size);
+		}
+
+	}
+
+	/**
+	 * Read-only view on a range of an array whose slots are not modified anymore.
+	 */
+	static final class View<E> extends AbstractList<E> implements RandomAccess {
+		private final Object[] array;
+		private final int offset;
+		private final int size;
+
+		View(@NotNull Object[] array, int offset, int size) {
+			this.array = array;
+			this.offset = offset;
+			this.size = size;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public E get(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException(Integer.toString(index));
+			}
+			return (E) array[offset + index];
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@NotNull
+		@Override
+		public Object[] toArray() {
+			return Arrays.copyOfRange(array, offset, offset + size);
+		}
+	}
+
+}
@@ -0,0 +1,34 @@
+package de.endrullis.lazyseq;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Atomic access to {@link Cons#tail} based on a {@link VarHandle} (Java 9 and later).
+ *
+ * @author Stefan Endrullis
+ */
+final class ConsTailAccess {
+
+	private static final VarHandle TAIL;
+
+	static {
+		try {
+			TAIL = MethodHandles.lookup().findVarHandle(Cons.class, "tail", Object.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private ConsTailAccess() {
+	}
+
+	static boolean compareAndSet(Cons<?> cons, Object expected, Object update) {
+		return TAIL.compareAndSet(cons, expected, update);
+	}
+
+	static void onSpinWait() {
+		Thread.onSpinWait();
+	}
+
+}
@@ -0,0 +1,66 @@
+package de.endrullis.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.OptionalDouble;
+import java.util.stream.DoubleStream;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.offset;
+
+/**
+ * @author Stefan Endrullis
+ */
+public class DoubleLazySeqTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldEstimatePi() throws Exception {
+		//given
+		final DoubleLazySeq series = DoubleLazySeq.tabulate(0, n -> (n % 2 == 0 ? 1.0 : -1.0) / (2 * n + 1));
+
+		//when
+		final double pi = series.take(1000).sum() * 4;
+
+		//then
+		assertThat(pi).isEqualTo(Math.PI, offset(0.01));
+	}
+
+	@Test
+	public void shouldComputeMinMaxAndAverage() throws Exception {
+		//given
+		final DoubleLazySeq seq = DoubleLazySeq.numbers(0.5, 0.5).take(4);
+
+		//then
+		assertThat(seq.min()).isEqualTo(OptionalDouble.of(0.5));
+		assertThat(seq.max()).isEqualTo(OptionalDouble.of(2.0));
+		assertThat(seq.average()).isEqualTo(OptionalDouble.of(1.25));
+	}
+
+	@Test
+	public void shouldConvertToAndFromDoubleStream() throws Exception {
+		assertThat(DoubleLazySeq.of(DoubleStream.of(1.5, 2.5)).stream().sum()).isEqualTo(4.0);
+	}
+
+	@Test
+	public void shouldConvertToIntSeq() throws Exception {
+		assertThat(DoubleLazySeq.of(1.2, 3.7).mapToInt(d -> (int) Math.round(d))).isEqualTo(IntLazySeq.of(1, 4));
+	}
+
+	@Test
+	public void shouldConvertToBoxedSeq() throws Exception {
+		assertThat(LazySeq.of("a", "bb").mapToDouble(String::length).boxed()).isEqualTo(LazySeq.of(1.0, 2.0));
+	}
+
+	@Test
+	public void shouldAggregateSlidingWindows() throws Exception {
+		//given
+		final DoubleLazySeq seq = DoubleLazySeq.of(0.5, -1.0, 2.0, 1.5);
+
+		//then
+		assertThat(seq.slidingSum(2)).isEqualTo(DoubleLazySeq.of(-0.5, 1.0, 3.5));
+		assertThat(seq.slidingAverage(2)).isEqualTo(DoubleLazySeq.of(-0.25, 0.5, 1.75));
+		assertThat(seq.slidingMin(3)).isEqualTo(DoubleLazySeq.of(-1.0, -1.0));
+		assertThat(seq.slidingReduce(2, Math::max)).isEqualTo(DoubleLazySeq.of(0.5, 2.0, 2.0));
+	}
+
+}
@@ -0,0 +1,221 @@
+package de.endrullis.lazyseq;
+
+import org.mockito.Mock;
+import org.testng.annotations.Test;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * @author Stefan Endrullis
+ */
+public class IntLazySeqTest extends AbstractBaseTestCase {
+
+	@Mock
+	private Supplier<IntLazySeq> supplierMock;
+
+	@Test
+	public void shouldCreateEmptySeq() throws Exception {
+		assertThat(IntLazySeq.empty().isEmpty()).isTrue();
+		assertThat(IntLazySeq.of().size()).isZero();
+		assertThat(IntLazySeq.empty().headOption()).isEqualTo(OptionalInt.empty());
+	}
+
+	@Test
+	public void shouldThrowWhenAccessingHeadOfEmptySeq() throws Exception {
+		try {
+			IntLazySeq.empty().head();
+			failBecauseExceptionWasNotThrown(NoSuchElementException.class);
+		} catch (NoSuchElementException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldCreateSeqFromArray() throws Exception {
+		//given
+		final IntLazySeq seq = IntLazySeq.of(3, 1, 4, 1, 5);
+
+		//then
+		assertThat(seq.size()).isEqualTo(5);
+		assertThat(seq.head()).isEqualTo(3);
+		assertThat(seq.get(4)).isEqualTo(5);
+		assertThat(seq.last()).isEqualTo(5);
+		assertThat(seq.toArray()).isEqualTo(new int[]{3, 1, 4, 1, 5});
+	}
+
+	@Test
+	public void shouldThrowWhenIndexOutOfBounds() throws Exception {
+		try {
+			IntLazySeq.of(1, 2).get(2);
+			failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+		} catch (IndexOutOfBoundsException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldNotEvaluateTailOnCreation() throws Exception {
+		//when
+		final IntLazySeq seq = IntLazySeq.cons(1, supplierMock).map(x -> x + 1).filter(x -> x > 0).takeWhile(x -> x < 10);
+
+		//then
+		assertThat(seq.head()).isEqualTo(2);
+		verifyZeroInteractions(supplierMock);
+	}
+
+	@Test
+	public void shouldMemoizeTail() throws Exception {
+		//given
+		given(supplierMock.get()).willReturn(IntLazySeq.of(2));
+		final IntLazySeq seq = IntLazySeq.cons(1, supplierMock);
+
+		//when
+		seq.force();
+
+		//then
+		assertThat(seq.toString()).isEqualTo("[1, 2]");
+		assertThat(seq.tail()).isSameAs(seq.tail());
+	}
+
+	@Test
+	public void shouldMapFilterAndReduceInfiniteSeq() throws Exception {
+		//given
+		final IntLazySeq naturals = IntLazySeq.numbers(1);
+
+		//when
+		final int sum = naturals.map(x -> x * x).filter(x -> x % 2 == 1).take(4).sum();
+
+		//then
+		assertThat(sum).isEqualTo(1 + 9 + 25 + 49);
+	}
+
+	@Test
+	public void shouldComputeAggregations() throws Exception {
+		//given
+		final IntLazySeq seq = IntLazySeq.of(4, -2, 9, 7);
+
+		//then
+		assertThat(seq.min()).isEqualTo(OptionalInt.of(-2));
+		assertThat(seq.max()).isEqualTo(OptionalInt.of(9));
+		assertThat(seq.sum()).isEqualTo(18);
+		assertThat(seq.average()).isEqualTo(OptionalDouble.of(4.5));
+		assertThat(seq.reduce((a, b) -> a * b)).isEqualTo(OptionalInt.of(-504));
+		assertThat(IntLazySeq.empty().max()).isEqualTo(OptionalInt.empty());
+		assertThat(IntLazySeq.empty().average()).isEqualTo(OptionalDouble.empty());
+	}
+
+	@Test
+	public void shouldTakeAndDrop() throws Exception {
+		//given
+		final IntLazySeq seq = IntLazySeq.iterate(1, x -> x * 2);
+
+		//then
+		assertThat(seq.take(5)).isEqualTo(IntLazySeq.of(1, 2, 4, 8, 16));
+		assertThat(seq.drop(3).take(2)).isEqualTo(IntLazySeq.of(8, 16));
+		assertThat(seq.takeWhile(x -> x < 10)).isEqualTo(IntLazySeq.of(1, 2, 4, 8));
+		assertThat(seq.dropWhile(x -> x < 10).head()).isEqualTo(16);
+	}
+
+	@Test
+	public void shouldMatchPredicates() throws Exception {
+		//given
+		final IntLazySeq seq = IntLazySeq.of(2, 4, 6);
+
+		//then
+		assertThat(seq.allMatch(x -> x % 2 == 0)).isTrue();
+		assertThat(seq.anyMatch(x -> x > 5)).isTrue();
+		assertThat(seq.noneMatch(x -> x > 6)).isTrue();
+		assertThat(seq.count(x -> x > 3)).isEqualTo(2);
+		assertThat(IntLazySeq.numbers(0).anyMatch(x -> x == 100)).isTrue();
+	}
+
+	@Test
+	public void shouldTabulate() throws Exception {
+		assertThat(IntLazySeq.tabulate(1, x -> x * 10).take(3)).isEqualTo(IntLazySeq.of(10, 20, 30));
+	}
+
+	@Test
+	public void shouldConvertToAndFromBoxedSeq() throws Exception {
+		//given
+		final LazySeq<String> strings = LazySeq.of("a", "bb", "ccc");
+
+		//when
+		final IntLazySeq lengths = strings.mapToInt(String::length);
+
+		//then
+		assertThat(lengths).isEqualTo(IntLazySeq.of(1, 2, 3));
+		assertThat(lengths.boxed()).isEqualTo(LazySeq.of(1, 2, 3));
+		assertThat(lengths.mapToObj(i -> "#" + i)).isEqualTo(LazySeq.of("#1", "#2", "#3"));
+	}
+
+	@Test
+	public void shouldConvertToOtherPrimitiveSeqs() throws Exception {
+		//given
+		final IntLazySeq seq = IntLazySeq.of(1, 2);
+
+		//then
+		assertThat(seq.mapToLong(x -> x * 10_000_000_000L)).isEqualTo(LongLazySeq.of(10_000_000_000L, 20_000_000_000L));
+		assertThat(seq.mapToDouble(x -> x / 2.0)).isEqualTo(DoubleLazySeq.of(0.5, 1.0));
+	}
+
+	@Test
+	public void shouldConvertToAndFromIntStream() throws Exception {
+		//given
+		final IntLazySeq seq = IntLazySeq.of(IntStream.iterate(0, x -> x + 3));
+
+		//when
+		final int[] array = seq.stream().limit(4).toArray();
+
+		//then
+		assertThat(array).isEqualTo(new int[]{0, 3, 6, 9});
+		assertThat(seq.toString()).isEqualTo("[0, 3, 6, 9, ?]");
+	}
+
+	@Test
+	public void shouldIterateWithoutEvaluatingTailUntilNeeded() throws Exception {
+		//given
+		final IntLazySeq seq = IntLazySeq.cons(7, supplierMock);
+
+		//when
+		final int first = seq.iterator().nextInt();
+
+		//then
+		assertThat(first).isEqualTo(7);
+		verifyZeroInteractions(supplierMock);
+	}
+
+	@Test
+	public void shouldComputeEqualsAndHashCodeWithoutStackOverflow() throws Exception {
+		//given
+		final IntLazySeq first = IntLazySeq.numbers(0).take(100_000);
+		final IntLazySeq second = IntLazySeq.numbers(0).take(100_000);
+
+		//then
+		assertThat(first).isEqualTo(second);
+		assertThat(first.hashCode()).isEqualTo(second.hashCode());
+		assertThat(first).isNotEqualTo(IntLazySeq.numbers(0).take(99_999));
+	}
+
+	@Test
+	public void shouldAggregateSlidingWindows() throws Exception {
+		//given
+		final IntLazySeq seq = IntLazySeq.of(3, 1, 4, 1, 5, 9, 2);
+
+		//then
+		assertThat(seq.slidingSum(3)).isEqualTo(IntLazySeq.of(8, 6, 10, 15, 16));
+		assertThat(seq.slidingMin(3)).isEqualTo(IntLazySeq.of(1, 1, 1, 1, 2));
+		assertThat(seq.slidingMax(3)).isEqualTo(IntLazySeq.of(4, 4, 5, 9, 9));
+		assertThat(seq.slidingReduce(3, (a, b) -> a | b)).isEqualTo(IntLazySeq.of(7, 5, 5, 13, 15));
+		assertThat(seq.slidingAverage(7)).isEqualTo(DoubleLazySeq.of(25.0 / 7));
+	}
+
+}
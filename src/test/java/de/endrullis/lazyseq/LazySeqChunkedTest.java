@@ -0,0 +1,245 @@
+package de.endrullis.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.endrullis.lazyseq.LazySeq.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * @author Stefan Endrullis
+ */
+public class LazySeqChunkedTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldCreateEmptySeqFromEmptyIterator() throws Exception {
+		assertThat(chunked(new ArrayList<Integer>())).isSameAs(empty());
+		assertThat(of(new Integer[0])).isSameAs(empty());
+	}
+
+	@Test
+	public void shouldContainAllElementsOfVarargs() throws Exception {
+		//given
+		final LazySeq<Integer> seq = of(1, 2, 3, 4, 5);
+
+		//when
+		final String str = seq.toString();
+
+		//then
+		assertThat(str).isEqualTo("[1, 2, 3, 4, 5]");
+		assertThat(seq.size()).isEqualTo(5);
+		assertThat(seq.get(3)).isEqualTo(4);
+	}
+
+	@Test
+	public void shouldCopyVarargsArray() throws Exception {
+		//given
+		final Integer[] array = {1, 2, 3, 4};
+		final LazySeq<Integer> seq = of(array);
+
+		//when
+		array[0] = 42;
+
+		//then
+		assertThat(seq.head()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldRejectNullElements() throws Exception {
+		try {
+			of(1, 2, null, 4);
+			failBecauseExceptionWasNotThrown(NullPointerException.class);
+		} catch (NullPointerException e) {
+			//ok
+		}
+	}
+
+	@Test
+	public void shouldRejectNonPositiveChunkSize() throws Exception {
+		try {
+			chunked(Arrays.asList(1, 2).iterator(), 0);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch (IllegalArgumentException e) {
+			//ok
+		}
+	}
+
+	@Test
+	public void shouldPullElementsFromIteratorOneChunkAtATime() throws Exception {
+		//given
+		final CountingIterator iterator = new CountingIterator();
+
+		//when
+		final LazySeq<Integer> seq = chunked(iterator, 4);
+
+		//then
+		assertThat(iterator.pulled).isEqualTo(4);
+		assertThat(seq.get(3)).isEqualTo(3);
+		assertThat(iterator.pulled).isEqualTo(4);
+		assertThat(seq.get(4)).isEqualTo(4);
+		assertThat(iterator.pulled).isEqualTo(8);
+	}
+
+	@Test
+	public void shouldOnlyShowRealizedChunksInToString() throws Exception {
+		//given
+		final LazySeq<Integer> seq = chunked(new CountingIterator(), 3);
+
+		//when
+		seq.get(4);
+
+		//then
+		assertThat(seq.toString()).isEqualTo("[0, 1, 2, 3, 4, 5, ?]");
+	}
+
+	@Test
+	public void shouldBeEqualToNonChunkedSeq() throws Exception {
+		assertThat(chunked(Arrays.asList(1, 2, 3, 4, 5).iterator(), 2)).isEqualTo(of(Arrays.asList(1, 2, 3, 4, 5)));
+		assertThat(chunkedNumbers(3).take(100)).isEqualTo(numbers(3).take(100));
+		assertThat(chunkedNumbers(3, -7).take(100)).isEqualTo(numbers(3, -7).take(100));
+		assertThat(chunkedTabulate(2, i -> i * i).take(50)).isEqualTo(tabulate(2, i -> i * i).take(50));
+	}
+
+	@Test
+	public void shouldMapWholeChunkAtOnce() throws Exception {
+		//given
+		final AtomicInteger calls = new AtomicInteger();
+		final LazySeq<Integer> seq = chunked(new CountingIterator(), 8);
+
+		//when
+		final LazySeq<Integer> mapped = seq.map(x -> {
+			calls.incrementAndGet();
+			return x * 2;
+		});
+
+		//then
+		assertThat(calls.get()).isEqualTo(8);
+		assertThat(mapped.take(10).toList()).containsExactly(0, 2, 4, 6, 8, 10, 12, 14, 16, 18);
+		assertThat(calls.get()).isEqualTo(16);
+	}
+
+	@Test
+	public void shouldFilterAcrossChunks() throws Exception {
+		//given
+		final LazySeq<Integer> seq = chunkedNumbers(0);
+
+		//when
+		final LazySeq<Integer> filtered = seq.filter(x -> x % 100 == 99);
+
+		//then
+		assertThat(filtered.take(3).toList()).containsExactly(99, 199, 299);
+	}
+
+	@Test
+	public void shouldFlatMapChunks() throws Exception {
+		//given
+		final LazySeq<Integer> seq = chunked(Arrays.asList(1, 2, 3, 4, 5).iterator(), 2);
+
+		//when
+		final LazySeq<Integer> flat = seq.flatMap(x -> x % 2 == 0 ? Arrays.<Integer>asList() : Arrays.asList(x, -x));
+
+		//then
+		assertThat(flat.toList()).containsExactly(1, -1, 3, -3, 5, -5);
+	}
+
+	@Test
+	public void shouldReduceAndForEachOverAllChunks() throws Exception {
+		//given
+		final LazySeq<Integer> seq = chunked(new CountingIterator(), 7).take(1000);
+		final List<Integer> visited = new ArrayList<>();
+
+		//when
+		final int sum = seq.reduce(0, (acc, x) -> acc + x);
+		seq.forEach(visited::add);
+
+		//then
+		assertThat(sum).isEqualTo(999 * 1000 / 2);
+		assertThat(visited).hasSize(1000);
+		assertThat(visited.get(999)).isEqualTo(999);
+		assertThat(seq.size()).isEqualTo(1000);
+	}
+
+	@Test
+	public void shouldTakeAndDropWithinAndAcrossChunks() throws Exception {
+		//given
+		final LazySeq<Integer> seq = chunkedNumbers(0);
+
+		//then
+		assertThat(seq.take(3).toList()).containsExactly(0, 1, 2);
+		assertThat(seq.take(70).size()).isEqualTo(70);
+		assertThat(seq.drop(5).head()).isEqualTo(5);
+		assertThat(seq.drop(100).take(2).toList()).containsExactly(100, 101);
+		assertThat(of(1, 2, 3, 4).drop(10)).isEmpty();
+	}
+
+	@Test
+	public void shouldIterateOverChunksLazily() throws Exception {
+		//given
+		final CountingIterator source = new CountingIterator();
+		final Iterator<Integer> iterator = chunked(source, 5).iterator();
+		final List<Integer> result = new ArrayList<>();
+
+		//when
+		for (int i = 0; i < 5; i++) {
+			result.add(iterator.next());
+		}
+
+		//then
+		assertThat(result).containsExactly(0, 1, 2, 3, 4);
+		assertThat(source.pulled).isEqualTo(5);
+		assertThat(iterator.hasNext()).isTrue();
+		assertThat(source.pulled).isEqualTo(10);
+	}
+
+	@Test
+	public void shouldIterateOverChunkedSeqConcatenatedWithOtherSeq() throws Exception {
+		//given
+		final LazySeq<Integer> seq = of(1, 2, 3, 4).take(2).concat(numbers(10).take(2));
+
+		//when
+		final List<Integer> result = new ArrayList<>();
+		seq.iterator().forEachRemaining(result::add);
+
+		//then
+		assertThat(result).containsExactly(1, 2, 10, 11);
+	}
+
+	@Test
+	public void shouldThrowWhenIteratingBeyondEnd() throws Exception {
+		//given
+		final Iterator<Integer> iterator = of(1, 2, 3, 4).iterator();
+		while (iterator.hasNext()) {
+			iterator.next();
+		}
+
+		//when
+		try {
+			iterator.next();
+			failBecauseExceptionWasNotThrown(NoSuchElementException.class);
+		} catch (NoSuchElementException e) {
+			//ok
+		}
+	}
+
+	private static class CountingIterator implements Iterator<Integer> {
+		int pulled;
+
+		@Override
+		public boolean hasNext() {
+			return true;
+		}
+
+		@Override
+		public Integer next() {
+			return pulled++;
+		}
+	}
+
+}
@@ -0,0 +1,140 @@
+package de.endrullis.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static de.endrullis.lazyseq.LazySeq.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * @author Stefan Endrullis
+ */
+public class LazySeqConcatTest extends AbstractBaseTestCase {
+
+	private static final int DEPTH = 100_000;
+
+	@Test
+	public void shouldConcatTwoSeqs() throws Exception {
+		assertThat(of(1, 2).concat(of(3, 4, 5))).isEqualTo(of(1, 2, 3, 4, 5));
+		assertThat(LazySeq.<Integer>empty().concat(of(3))).isEqualTo(of(3));
+		assertThat(of(1).concat(empty())).isEqualTo(of(1));
+	}
+
+	@Test
+	public void shouldNotEvaluateLeftSeqWhenConcatenating() throws Exception {
+		//given
+		final LazySeq<Integer> infinite = numbers(1).map(x -> x * 10);
+
+		//when
+		final LazySeq<Integer> concatenated = infinite.concat(of(-1));
+
+		//then
+		assertThat(concatenated.take(3)).isEqualTo(of(10, 20, 30));
+		assertThat(infinite.toString()).isEqualTo("[10, 20, 30, ?]");
+	}
+
+	@Test
+	public void shouldEvaluateRightSupplierOnlyAtJunction() throws Exception {
+		//given
+		final AtomicInteger calls = new AtomicInteger();
+		final Supplier<LazySeq<Integer>> right = () -> {
+			calls.incrementAndGet();
+			return of(3, 4);
+		};
+
+		//when
+		final LazySeq<Integer> seq = concat(iterate(1, x -> x + 1).take(2), right);
+
+		//then
+		assertThat(calls.get()).isEqualTo(0);
+		assertThat(seq.toString()).isEqualTo("[1, ?]");
+		assertThat(seq.get(1)).isEqualTo(2);
+		assertThat(calls.get()).isEqualTo(0);
+		assertThat(seq.get(2)).isEqualTo(3);
+		assertThat(seq.toList()).containsExactly(1, 2, 3, 4);
+		assertThat(calls.get()).isEqualTo(1);
+		assertThat(seq.toString()).isEqualTo("[1, 2, 3, 4]");
+	}
+
+	@Test
+	public void shouldBeStackSafeForDeepLeftNestedConcatenations() throws Exception {
+		//given
+		LazySeq<Integer> seq = empty();
+
+		//when
+		for (int i = 0; i < DEPTH; i++) {
+			seq = seq.concat(of(i));
+		}
+
+		//then
+		assertThat(seq.head()).isEqualTo(0);
+		assertThat(seq.tail().head()).isEqualTo(1);
+		assertThat(seq.size()).isEqualTo(DEPTH);
+		assertThat(seq.reduce(0L, (acc, x) -> acc + x)).isEqualTo((long) DEPTH * (DEPTH - 1) / 2);
+		assertThat(seq.get(DEPTH - 1)).isEqualTo(DEPTH - 1);
+		int expected = 0;
+		for (Integer x : seq) {
+			assertThat(x).isEqualTo(expected++);
+		}
+	}
+
+	@Test
+	public void shouldBeStackSafeForDeepRightNestedConcatenations() throws Exception {
+		//when
+		final LazySeq<Integer> seq = pages(0);
+
+		//then
+		assertThat(seq.count(x -> true)).isEqualTo(2 * DEPTH);
+		assertThat(seq.last()).isEqualTo(2 * DEPTH - 1);
+		assertThat(seq.map(x -> x + 1).filter(x -> x % 2 == 0).toList()).hasSize(DEPTH);
+	}
+
+	@Test
+	public void shouldBeStackSafeForMixedConcatenations() throws Exception {
+		//given
+		LazySeq<Integer> seq = empty();
+
+		//when
+		for (int i = 0; i < DEPTH; i++) {
+			seq = i % 2 == 0 ? seq.concat(of(i)) : of(-i).concat(seq);
+		}
+
+		//then
+		assertThat(seq.size()).isEqualTo(DEPTH);
+		assertThat(seq.head()).isEqualTo(-(DEPTH - 1));
+		assertThat(seq.last()).isEqualTo(DEPTH - 2);
+	}
+
+	@Test
+	public void shouldCopyLargeIterableWithoutStackOverflow() throws Exception {
+		//given
+		final List<Integer> list = range(0, 1_000_000).toList();
+
+		//when
+		final LazySeq<Integer> seq = concat(list.iterator(), () -> of(-1));
+
+		//then
+		assertThat(seq.get(999_999)).isEqualTo(999_999);
+		assertThat(seq.last()).isEqualTo(-1);
+	}
+
+	@Test
+	public void shouldShowOnlyEvaluatedPartsInToString() throws Exception {
+		//given
+		final LazySeq<Integer> seq = of(1, 2).concat(numbers(3));
+
+		//when
+		seq.get(3);
+
+		//then
+		assertThat(seq.toString()).isEqualTo("[1, 2, 3, 4, ?]");
+	}
+
+	private static LazySeq<Integer> pages(int page) {
+		return concat(of(2 * page, 2 * page + 1), () -> page + 1 < DEPTH ? pages(page + 1) : empty());
+	}
+
+}
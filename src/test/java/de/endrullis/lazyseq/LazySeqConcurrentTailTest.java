@@ -0,0 +1,177 @@
+package de.endrullis.lazyseq;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.endrullis.lazyseq.LazySeq.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * Stress tests for the memoization of {@link Cons#tail()} under concurrent access.
+ *
+ * @author Stefan Endrullis
+ */
+public class LazySeqConcurrentTailTest extends AbstractBaseTestCase {
+
+	private static final int THREADS = 4;
+	private static final int ROUNDS = 500;
+
+	private ExecutorService executor;
+
+	@BeforeMethod
+	public void createExecutor() {
+		executor = Executors.newFixedThreadPool(THREADS);
+	}
+
+	@AfterMethod
+	public void shutdownExecutor() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void shouldEvaluateTailExactlyOnceUnderContention() throws Exception {
+		for (int round = 0; round < ROUNDS; round++) {
+			//given
+			final AtomicInteger calls = new AtomicInteger();
+			final LazySeq<Integer> seq = cons(1, () -> {
+				calls.incrementAndGet();
+				return of(2);
+			});
+			final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+
+			//when
+			final List<LazySeq<Integer>> tails = invokeConcurrently(() -> {
+				barrier.await();
+				return seq.tail();
+			});
+
+			//then
+			assertThat(calls.get()).isEqualTo(1);
+			for (LazySeq<Integer> tail : tails) {
+				assertThat(tail).isSameAs(tails.get(0));
+			}
+		}
+	}
+
+	@Test
+	public void shouldEvaluateEachCellOnceWhenTraversingSharedSeqConcurrently() throws Exception {
+		//given
+		final int length = 20_000;
+		final AtomicInteger generated = new AtomicInteger();
+		final LazySeq<Integer> seq = tabulate(0, i -> {
+			generated.incrementAndGet();
+			return i;
+		});
+		final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+
+		//when
+		final List<Integer> lastHeads = invokeConcurrently(() -> {
+			barrier.await();
+			LazySeq<Integer> cur = seq;
+			for (int i = 0; i < length; i++) {
+				assertThat(cur.head()).isEqualTo(i);
+				cur = cur.tail();
+			}
+			return cur.head();
+		});
+
+		//then
+		assertThat(lastHeads).containsOnly(length);
+		assertThat(generated.get()).isEqualTo(length + 1);
+	}
+
+	@Test
+	public void shouldMakeConcurrentCallersWaitForSlowEvaluation() throws Exception {
+		//given
+		final CountDownLatch evaluationStarted = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger calls = new AtomicInteger();
+		final LazySeq<Integer> seq = cons(1, () -> {
+			calls.incrementAndGet();
+			evaluationStarted.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+			return of(2);
+		});
+		final Future<LazySeq<Integer>> first = executor.submit(seq::tail);
+		evaluationStarted.await();
+		final List<Future<LazySeq<Integer>>> waiting = new ArrayList<>();
+		for (int i = 1; i < THREADS; i++) {
+			waiting.add(executor.submit(seq::tail));
+		}
+
+		//when
+		Thread.sleep(50);
+		release.countDown();
+
+		//then
+		for (Future<LazySeq<Integer>> future : waiting) {
+			assertThat(future.get(10, TimeUnit.SECONDS)).isSameAs(first.get(10, TimeUnit.SECONDS));
+		}
+		assertThat(calls.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldRetryEvaluationAfterException() throws Exception {
+		//given
+		final AtomicInteger calls = new AtomicInteger();
+		final LazySeq<Integer> seq = cons(1, () -> {
+			if (calls.incrementAndGet() == 1) {
+				throw new IllegalStateException("first evaluation fails");
+			}
+			return of(2);
+		});
+
+		//when
+		try {
+			seq.tail();
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			//ok
+		}
+
+		//then
+		assertThat(seq.isTailDefined()).isFalse();
+		assertThat(seq.tail()).isEqualTo(of(2));
+		assertThat(calls.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldFailFastForSelfReferentialTail() throws Exception {
+		//given
+		final List<LazySeq<Integer>> self = new ArrayList<>();
+		self.add(cons(1, () -> self.get(0).tail()));
+
+		//when
+		try {
+			self.get(0).tail();
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			//then
+			assertThat(e.getMessage()).contains("depends on itself");
+		}
+	}
+
+	private <T> List<T> invokeConcurrently(Callable<T> task) throws Exception {
+		final List<Future<T>> futures = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			futures.add(executor.submit(task));
+		}
+		final List<T> results = new ArrayList<>();
+		for (Future<T> future : futures) {
+			results.add(future.get(30, TimeUnit.SECONDS));
+		}
+		return results;
+	}
+
+}
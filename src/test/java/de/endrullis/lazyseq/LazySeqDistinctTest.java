@@ -2,6 +2,8 @@ package de.endrullis.lazyseq;
 
 import org.testng.annotations.Test;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static de.endrullis.lazyseq.LazySeq.*;
@@ -129,4 +131,79 @@ public class LazySeqDistinctTest extends AbstractBaseTestCase {
 		assertThat(size).isEqualTo(expectedSize);
 	}
 
+	@Test
+	public void shouldDropRepetitionsWithinWindow() throws Exception {
+		//given
+		final LazySeq<Integer> seq = of(1, 2, 1, 3, 4, 1, 5, 2, 2, 6);
+
+		//when
+		final LazySeq<Integer> dist = seq.distinct(3);
+
+		//then
+		assertThat(dist).isEqualTo(of(1, 2, 3, 4, 5, 2, 6));
+	}
+
+	@Test
+	public void shouldDistinctWithinWindowOnInfiniteSeq() throws Exception {
+		//given
+		final LazySeq<Integer> cycle = numbers(0).map(x -> x % 100);
+
+		//then
+		assertThat(cycle.distinct(100).take(100).toList()).isEqualTo(numbers(0).take(100).toList());
+		assertThat(cycle.distinct(99).take(200)).isEqualTo(cycle.take(200));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void shouldThrowWhenWindowSizeIsNotPositive() throws Exception {
+		of(1, 2).distinct(0);
+	}
+
+	@Test
+	public void shouldDropAllRepetitionsApproximately() throws Exception {
+		//given
+		final LazySeq<Integer> seq = numbers(0).take(30_000).map(x -> x % 10_000);
+
+		//when
+		final List<Integer> dist = seq.distinctApprox(10_000, 0.01).toList();
+
+		//then
+		assertThat(new HashSet<>(dist)).hasSize(dist.size());
+		assertThat(dist.size()).isGreaterThan(9_800).isLessThanOrEqualTo(10_000);
+	}
+
+	@Test
+	public void shouldKeepFalsePositiveRateOfBloomFilter() throws Exception {
+		//given
+		final Distinct.BloomFilter filter = new Distinct.BloomFilter(100_000, 0.01);
+
+		//when
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (!filter.add("id-" + i)) {
+				falsePositives++;
+			}
+		}
+
+		//then
+		assertThat(filter.hashCount()).isEqualTo(7);
+		assertThat(filter.bitCount()).isLessThan(1_000_000);
+		assertThat(falsePositives).isLessThan(1_000);
+		assertThat(filter.add("id-42")).isFalse();
+	}
+
+	@Test
+	public void shouldDistinctApproxInView() throws Exception {
+		//given
+		final SeqView<Integer> view = numbers(0).take(1000).map(x -> x % 10).view();
+
+		//then
+		assertThat(view.distinctApprox(100, 0.001).toList()).isEqualTo(numbers(0).take(10).toList());
+		assertThat(numbers(0).take(20).map(x -> x % 10).view().distinct(5).toList()).hasSize(20);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void shouldThrowWhenFalsePositiveProbabilityIsInvalid() throws Exception {
+		of(1, 2).distinctApprox(100, 1.0);
+	}
+
 }
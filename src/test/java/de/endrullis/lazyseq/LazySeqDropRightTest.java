@@ -4,6 +4,7 @@ import de.endrullis.lazyseq.samples.Seqs;
 import org.mockito.Mock;
 import org.testng.annotations.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import static de.endrullis.lazyseq.LazySeq.*;
@@ -87,4 +88,47 @@ public class LazySeqDropRightTest extends AbstractBaseTestCase {
 		assertThat(of(1, 2, 3, 4, 5).dropRight((long) 2)).isEqualTo(of(1, 2, 3));
 	}
 
+	@Test
+	public void shouldDropRightLazily() throws Exception {
+		//given
+		final AtomicInteger evaluated = new AtomicInteger();
+		final LazySeq<Integer> seq = iterate(0, x -> x + 1).map(x -> {
+			evaluated.incrementAndGet();
+			return x;
+		});
+
+		//when
+		final LazySeq<Integer> dropped = seq.dropRight(2);
+
+		//then
+		assertThat(evaluated.get()).isEqualTo(3);
+		assertThat(dropped.take(5)).isEqualTo(of(0, 1, 2, 3, 4));
+		assertThat(evaluated.get()).isEqualTo(7);
+	}
+
+	@Test
+	public void shouldEvaluateEachElementOnce() throws Exception {
+		//given
+		final AtomicInteger evaluated = new AtomicInteger();
+		final LazySeq<Integer> seq = iterate(0, x -> x + 1).take(10).map(x -> {
+			evaluated.incrementAndGet();
+			return x;
+		});
+
+		//when
+		final LazySeq<Integer> dropped = seq.dropRight(3);
+
+		//then
+		assertThat(dropped).isEqualTo(of(0, 1, 2, 3, 4, 5, 6));
+		assertThat(evaluated.get()).isEqualTo(10);
+	}
+
+	@Test
+	public void shouldDropRightOfIndexedAndClosedFormSeqsWithoutTraversal() throws Exception {
+		assertThat(of(1, 2, 3, 4, 5).reverse().dropRight(2)).isEqualTo(of(5, 4, 3));
+		assertThat(range(0, 1_000_000_000).dropRight(999_999_998)).isEqualTo(of(0, 1));
+		assertThat(range(0, 10).dropRight(10)).isEmpty();
+		assertThat(numbers(0).dropRight(5).take(3)).isEqualTo(of(0, 1, 2));
+	}
+
 }
@@ -2,6 +2,8 @@ package de.endrullis.lazyseq;
 
 import org.testng.annotations.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static de.endrullis.lazyseq.LazySeq.*;
 import static de.endrullis.lazyseq.samples.Seqs.primes;
 import static org.fest.assertions.api.Assertions.assertThat;
@@ -124,4 +126,129 @@ public class LazySeqEqualsHashcodeTest extends AbstractBaseTestCase {
 		assertThat(first.equals(second)).isFalse();
 	}
 
+	@Test
+	public void allRepresentationsHaveSameHashCode() throws Exception {
+		//given
+		final LazySeq<Integer> array = of(0, 1, 2, 3, 4);
+		final LazySeq<Integer> cells = iterate(0, x -> x + 1).take(5);
+		final LazySeq<Integer> fixed = cons(0, cons(1, cons(2, cons(3, cons(4, LazySeq.<Integer>empty())))));
+		final LazySeq<Integer> range = range(0, 5);
+
+		//then
+		assertThat(array.hashCode()).isEqualTo(cells.hashCode());
+		assertThat(fixed.hashCode()).isEqualTo(cells.hashCode());
+		assertThat(range.hashCode()).isEqualTo(cells.hashCode());
+		assertThat(array.reverse().hashCode()).isEqualTo(cells.reverse().hashCode());
+		assertThat(array.tail().hashCode()).isEqualTo(cells.tail().hashCode());
+		assertThat(cons(-1, array).hashCode()).isEqualTo(cons(-1, cells).hashCode());
+		assertThat(array).isEqualTo(cells).isEqualTo(fixed).isEqualTo(range);
+	}
+
+	@Test
+	public void shouldCacheHashCodeOfRealizedSeqs() throws Exception {
+		//given
+		final AtomicInteger hashCodeCalls = new AtomicInteger();
+		final LazySeq<Counted> array = of(new Counted(1, hashCodeCalls), new Counted(2, hashCodeCalls), new Counted(3, hashCodeCalls), new Counted(4, hashCodeCalls));
+		final LazySeq<Counted> fixed = cons(new Counted(0, hashCodeCalls), array);
+
+		//when
+		final int arrayHash = array.hashCode();
+		final int callsForArray = hashCodeCalls.get();
+		final int first = fixed.hashCode();
+		final int callsForFixed = hashCodeCalls.get() - callsForArray;
+		final int second = fixed.hashCode();
+
+		//then
+		assertThat(callsForArray).isEqualTo(4);
+		assertThat(callsForFixed).isEqualTo(1);
+		assertThat(second).isEqualTo(first);
+		assertThat(array.hashCode()).isEqualTo(arrayHash);
+		assertThat(hashCodeCalls.get()).isEqualTo(5);
+		assertThat(first).isEqualTo(iterate(0, x -> x + 1).take(5).hashCode());
+	}
+
+	@Test
+	public void shouldNotCompareSharedTail() throws Exception {
+		//given
+		final AtomicInteger equalsCalls = new AtomicInteger();
+		final LazySeq<Counted> shared = iterate(new Counted(0, equalsCalls), c -> new Counted(c.value + 1, equalsCalls)).take(1000);
+		final LazySeq<Counted> first = cons(new Counted(-1, equalsCalls), shared);
+		final LazySeq<Counted> second = cons(new Counted(-1, equalsCalls), shared);
+
+		//when
+		final boolean equal = first.equals(second);
+
+		//then
+		assertThat(equal).isTrue();
+		assertThat(equalsCalls.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldNotCompareViewsOnSameArray() throws Exception {
+		//given
+		final AtomicInteger equalsCalls = new AtomicInteger();
+		final LazySeq<Counted> array = of(new Counted(1, equalsCalls), new Counted(2, equalsCalls), new Counted(3, equalsCalls), new Counted(4, equalsCalls));
+		final LazySeq<Counted> first = cons(new Counted(0, equalsCalls), array.tail());
+		final LazySeq<Counted> second = cons(new Counted(0, equalsCalls), array.tail());
+
+		//then
+		assertThat(first.equals(second)).isTrue();
+		assertThat(array.reverse().reverse().equals(array)).isTrue();
+		assertThat(equalsCalls.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldRejectDifferentKnownSizesWithoutComparingElements() throws Exception {
+		//given
+		final AtomicInteger equalsCalls = new AtomicInteger();
+		final LazySeq<Counted> first = of(new Counted(1, equalsCalls), new Counted(2, equalsCalls), new Counted(3, equalsCalls), new Counted(4, equalsCalls));
+		final LazySeq<Counted> second = first.take(3);
+
+		//then
+		assertThat(first.equals(second)).isFalse();
+		assertThat(second.equals(first)).isFalse();
+		assertThat(range(0, 10).equals(range(0, 11))).isFalse();
+		assertThat(equalsCalls.get()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldRejectDifferentCachedHashCodesWithoutComparingElements() throws Exception {
+		//given
+		final AtomicInteger calls = new AtomicInteger();
+		final LazySeq<Counted> first = of(new Counted(1, calls), new Counted(2, calls), new Counted(3, calls), new Counted(4, calls));
+		final LazySeq<Counted> second = of(new Counted(1, calls), new Counted(2, calls), new Counted(3, calls), new Counted(5, calls));
+		first.hashCode();
+		second.hashCode();
+		calls.set(0);
+
+		//then
+		assertThat(first.equals(second)).isFalse();
+		assertThat(calls.get()).isEqualTo(0);
+	}
+
+	/**
+	 * Element that counts the calls of {@link #equals(Object)} and {@link #hashCode()}.
+	 */
+	private static class Counted {
+		final int value;
+		private final AtomicInteger calls;
+
+		Counted(int value, AtomicInteger calls) {
+			this.value = value;
+			this.calls = calls;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			calls.incrementAndGet();
+			return o instanceof Counted && ((Counted) o).value == value;
+		}
+
+		@Override
+		public int hashCode() {
+			calls.incrementAndGet();
+			return value;
+		}
+	}
+
 }
@@ -0,0 +1,245 @@
+package de.endrullis.lazyseq;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static de.endrullis.lazyseq.LazySeq.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * @author Stefan Endrullis
+ */
+public class LazySeqExternalSortTest extends AbstractBaseTestCase {
+
+	private Path directory;
+
+	@BeforeMethod
+	public void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("lazyseq-test-");
+	}
+
+	@AfterMethod
+	public void deleteDirectory() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(directory);
+	}
+
+	private long fileCount() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+	}
+
+	@Test
+	public void shouldSortInRunsAndDeleteFilesWhenExhausted() throws Exception {
+		//given
+		final Random random = new Random(7);
+		final LazySeq<Integer> seq = continually(() -> random.nextInt()).take(10_000).force();
+
+		//when
+		final ExternalSortedSeq<Integer> sorted = seq.sortedExternally(Comparator.naturalOrder(), 1000, ElementSerializer.ints(), directory);
+
+		//then
+		assertThat(fileCount()).isEqualTo(10);
+		assertThat(sorted.toList()).isEqualTo(seq.sorted().toList());
+		assertThat(fileCount()).isZero();
+	}
+
+	@Test
+	public void shouldSortLazily() throws Exception {
+		//given
+		final LazySeq<Long> seq = numbers(0).take(1009).map(x -> x * 31L % 1009);
+
+		//when
+		final ExternalSortedSeq<Long> sorted = seq.sortedExternally(Comparator.naturalOrder(), 100, ElementSerializer.longs(), directory);
+
+		//then
+		assertThat(sorted.take(3).toList()).containsExactly(0L, 1L, 2L);
+		assertThat(sorted.isTailDefined()).isTrue();
+		assertThat(fileCount()).isEqualTo(11);
+		assertThat(sorted.size()).isEqualTo(1009);
+		assertThat(sorted.last()).isEqualTo(1008L);
+		assertThat(fileCount()).isZero();
+	}
+
+	@Test
+	public void shouldSortStably() throws Exception {
+		//given
+		final LazySeq<String> seq = of("ccc", "a", "bb", "d", "ee", "fff", "g", "hh", "iii", "j");
+
+		//when
+		final ExternalSortedSeq<String> sorted = seq.sortedExternally(Comparator.comparing(String::length), 3, ElementSerializer.strings(), directory);
+
+		//then
+		assertThat(sorted).isEqualTo(of("a", "d", "g", "j", "bb", "ee", "hh", "ccc", "fff", "iii"));
+	}
+
+	@Test
+	public void shouldNotWriteFilesIfSeqFitsIntoSingleRun() throws Exception {
+		//given
+		final LazySeq<Integer> seq = of(3, 1, 2, 5, 4);
+
+		//when
+		final ExternalSortedSeq<Integer> sorted = seq.sortedExternally(Comparator.naturalOrder(), 5, ElementSerializer.ints(), directory);
+
+		//then
+		assertThat(fileCount()).isZero();
+		assertThat(sorted).isEqualTo(of(1, 2, 3, 4, 5));
+	}
+
+	@Test
+	public void shouldSortEmptySeq() throws Exception {
+		//given
+		final LazySeq<Integer> seq = empty();
+
+		//when
+		final ExternalSortedSeq<Integer> sorted = seq.sortedExternally(Comparator.naturalOrder(), 5, ElementSerializer.ints(), directory);
+
+		//then
+		assertThat(sorted).isEmpty();
+		assertThat(fileCount()).isZero();
+	}
+
+	@Test
+	public void shouldDeleteFilesWhenClosed() throws Exception {
+		//given
+		final LazySeq<Integer> seq = numbers(0).take(100).map(x -> 99 - x);
+		final ExternalSortedSeq<Integer> sorted = seq.sortedExternally(Comparator.naturalOrder(), 10, ElementSerializer.ints(), directory);
+		final LazySeq<Integer> prefix = sorted.take(2);
+		prefix.force();
+
+		//when
+		sorted.close();
+
+		//then
+		assertThat(fileCount()).isZero();
+		assertThat(prefix).isEqualTo(of(0, 1));
+		try {
+			sorted.drop(2).head();
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			//ok
+		}
+	}
+
+	@Test
+	public void shouldDeleteFilesWhenStreamIsClosed() throws Exception {
+		//given
+		final LazySeq<Integer> seq = numbers(0).take(100).map(x -> 99 - x);
+
+		//when
+		try (Stream<Integer> stream = seq.sortedExternally(Comparator.naturalOrder(), 10, ElementSerializer.ints(), directory).stream()) {
+			assertThat(stream.findFirst().get()).isEqualTo(0);
+		}
+
+		//then
+		assertThat(fileCount()).isZero();
+	}
+
+	@Test
+	public void shouldTraverseRunFilesDirectlyInView() throws Exception {
+		//given
+		final LazySeq<Integer> seq = numbers(0).take(1000).map(x -> (x * 7) % 1000);
+		final ExternalSortedSeq<Integer> sorted = seq.sortedExternally(Comparator.naturalOrder(), 64, ElementSerializer.ints(), directory);
+		final List<Integer> elements = new ArrayList<>();
+
+		//when
+		sorted.view().forEach(elements::add);
+
+		//then
+		assertThat(elements).isEqualTo(numbers(0).take(1000).toList());
+		assertThat(fileCount()).isZero();
+		try {
+			sorted.head();
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			//ok
+		}
+	}
+
+	@Test
+	public void shouldDeleteFilesIfSerializerFails() throws Exception {
+		//given
+		final LazySeq<Integer> seq = numbers(0).take(100);
+		final ElementSerializer<Integer> failing = new ElementSerializer<Integer>() {
+			@Override
+			public void write(DataOutput out, Integer element) throws IOException {
+				if (element == 50) {
+					throw new IOException("disk full");
+				}
+				out.writeInt(element);
+			}
+
+			@Override
+			public Integer read(DataInput in) throws IOException {
+				return in.readInt();
+			}
+		};
+
+		//when
+		try {
+			seq.sortedExternally(Comparator.naturalOrder(), 10, failing, directory);
+			failBecauseExceptionWasNotThrown(UncheckedIOException.class);
+		} catch (UncheckedIOException e) {
+			//then
+			assertThat(e.getCause()).hasMessage("disk full");
+		}
+		assertThat(fileCount()).isZero();
+	}
+
+	@Test
+	public void shouldDeleteFilesIfReadingFirstElementsFails() throws Exception {
+		//given
+		final LazySeq<Integer> seq = numbers(0).take(100);
+		final AtomicInteger reads = new AtomicInteger();
+		final ElementSerializer<Integer> failing = new ElementSerializer<Integer>() {
+			@Override
+			public void write(DataOutput out, Integer element) throws IOException {
+				out.writeInt(element);
+			}
+
+			@Override
+			public Integer read(DataInput in) throws IOException {
+				if (reads.incrementAndGet() == 5) {
+					throw new IOException("corrupt run");
+				}
+				return in.readInt();
+			}
+		};
+
+		//when
+		try {
+			seq.sortedExternally(Comparator.naturalOrder(), 10, failing, directory);
+			failBecauseExceptionWasNotThrown(UncheckedIOException.class);
+		} catch (UncheckedIOException e) {
+			//then
+			assertThat(e.getCause()).hasMessage("corrupt run");
+		}
+		assertThat(fileCount()).isZero();
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void shouldThrowWhenRunSizeIsNotPositive() throws Exception {
+		of(1, 2, 3).sortedExternally(Comparator.naturalOrder(), 0, ElementSerializer.ints(), directory);
+	}
+
+}
@@ -3,7 +3,11 @@ package de.endrullis.lazyseq;
 import org.mockito.Mock;
 import org.testng.annotations.Test;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static de.endrullis.lazyseq.LazySeq.numbers;
 import static de.endrullis.lazyseq.LazySeq.of;
@@ -85,6 +89,95 @@ public class LazySeqFlatMapTest extends AbstractBaseTestCase {
 		assertThat(flat.take(10)).isEqualTo(of(2, 3, 4, 5, 6, 7, 0, 0, 0, 0));
 	}
 
+	@Test
+	public void shouldNotMaterializeInfiniteInnerSeq() throws Exception {
+		//given
+		final LazySeq<Integer> raw = of(1, 2);
+
+		//when
+		final LazySeq<Integer> flat = raw.flatMap(i -> LazySeq.continually(i));
+
+		//then
+		assertThat(flat.take(3)).isEqualTo(of(1, 1, 1));
+	}
+
+	@Test
+	public void shouldReadInnerIterableOnlyAsFarAsNeeded() throws Exception {
+		//given
+		final AtomicInteger pulled = new AtomicInteger();
+		final Iterable<Integer> infinite = () -> Stream.iterate(0, x -> x + 1).peek(x -> pulled.incrementAndGet()).iterator();
+
+		//when
+		final LazySeq<Integer> flat = of(7).flatMap(i -> infinite);
+
+		//then
+		assertThat(flat.take(3)).isEqualTo(of(0, 1, 2));
+		assertThat(pulled.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldSkipLongRunsOfEmptyResultsWithoutStackOverflow() throws Exception {
+		//given
+		final LazySeq<Integer> raw = numbers(0).take(200_000);
+
+		//when
+		final LazySeq<Integer> viaLists = raw.flatMap(i -> i % 100_000 == 99_999 ? asList(i) : emptyList());
+		final LazySeq<Integer> viaSeqs = raw.flatMap(i -> i % 100_000 == 99_999 ? of(i) : LazySeq.<Integer>empty());
+
+		//then
+		assertThat(viaLists).isEqualTo(of(99_999, 199_999));
+		assertThat(viaSeqs).isEqualTo(of(99_999, 199_999));
+	}
+
+	@Test
+	public void shouldFlattenChunkedSeqWithInfiniteInnerSeq() throws Exception {
+		//given
+		final LazySeq<Integer> raw = LazySeq.chunked(asList(1, 2, 3));
+
+		//when
+		final LazySeq<Integer> flat = raw.flatMap(i -> i == 2 ? LazySeq.continually(i) : asList(i, i));
+
+		//then
+		assertThat(flat.take(5)).isEqualTo(of(1, 1, 2, 2, 2));
+	}
+
+	@Test
+	public void shouldLazilyFlatMapStreams() throws Exception {
+		//given
+		final AtomicInteger closed = new AtomicInteger();
+
+		//when
+		final List<Integer> list = of(1, 2, 3).stream()
+				.flatMap(i -> i == 2 ? null : Stream.iterate(i, x -> x).limit(2).onClose(closed::incrementAndGet))
+				.collect(Collectors.toList());
+		final List<Integer> infinite = of(5).stream().flatMap(i -> Stream.iterate(i, x -> x + 1)).limit(3)
+				.collect(Collectors.toList());
+
+		//then
+		assertThat(list).containsExactly(1, 1, 3, 3);
+		assertThat(closed.get()).isEqualTo(2);
+		assertThat(infinite).containsExactly(5, 6, 7);
+	}
+
+	@Test
+	public void shouldMapEachElementOnceWhenInnerSeqsAreTraversedRepeatedly() throws Exception {
+		//given
+		final AtomicInteger mapped = new AtomicInteger();
+		final LazySeq<Integer> flat = LazySeq.iterate(1, x -> x + 1).take(4).flatMap(x -> {
+			mapped.incrementAndGet();
+			return of(x, -x);
+		});
+
+		//when
+		final List<Integer> first = flat.toList();
+		final List<Integer> second = flat.toList();
+
+		//then
+		assertThat(first).isEqualTo(asList(1, -1, 2, -2, 3, -3, 4, -4));
+		assertThat(second).isEqualTo(first);
+		assertThat(mapped.get()).isEqualTo(4);
+	}
+
 	private static Iterable<Integer> flatMapFun(int i) {
 		if (i <= 0) {
 			return emptyList();
@@ -0,0 +1,167 @@
+package de.endrullis.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static de.endrullis.lazyseq.LazySeq.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * @author Stefan Endrullis
+ */
+public class LazySeqFusionTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldMemoizeHeldIntermediateSeqsInForEach() throws Exception {
+		//given
+		final LazySeq<Integer> source = numbers(1).take(10);
+		final LazySeq<Integer> mapped = source.map(x -> x * 10);
+		final LazySeq<Integer> filtered = mapped.filter(x -> x % 20 == 0);
+		final List<Integer> result = new ArrayList<>();
+
+		//when
+		filtered.map(x -> x + 1).forEach(result::add);
+
+		//then
+		assertThat(result).containsExactly(21, 41, 61, 81, 101);
+		assertThat(mapped.toString()).isEqualTo("[10, 20, 30, 40, 50, 60, 70, 80, 90, 100]");
+		assertThat(filtered.toString()).isEqualTo("[20, 40, 60, 80, 100]");
+	}
+
+	@Test
+	public void shouldKeepMemoizationOfHeldIntermediateSeq() throws Exception {
+		//given
+		final AtomicInteger calls = new AtomicInteger();
+		final LazySeq<Integer> mapped = numbers(1).take(5).map(x -> {
+			calls.incrementAndGet();
+			return x * 2;
+		});
+
+		//when
+		mapped.forEach(x -> {});
+		final LazySeq<Integer> tail = mapped.tail();
+		mapped.forEach(x -> {});
+		final List<Integer> list = mapped.toList();
+		final int sum = mapped.reduce(0, (acc, x) -> acc + x);
+
+		//then
+		assertThat(list).containsExactly(2, 4, 6, 8, 10);
+		assertThat(sum).isEqualTo(30);
+		assertThat(tail).isSameAs(mapped.tail());
+		assertThat(calls.get()).isEqualTo(5);
+	}
+
+	@Test
+	public void shouldContinueFromAlreadyEvaluatedPrefix() throws Exception {
+		//given
+		final LazySeq<Integer> mapped = numbers(0).map(x -> x * 2).take(6);
+		mapped.get(2);
+
+		//when
+		final List<Integer> result = mapped.toList();
+
+		//then
+		assertThat(result).containsExactly(0, 2, 4, 6, 8, 10);
+	}
+
+	@Test
+	public void shouldStopTakeWhileOnInfiniteSeqInReduce() throws Exception {
+		//given
+		final LazySeq<Integer> seq = numbers(0).map(x -> x * x).takeWhile(x -> x < 50);
+
+		//when
+		final int sum = seq.reduce(0, (acc, x) -> acc + x);
+
+		//then
+		assertThat(sum).isEqualTo(0 + 1 + 4 + 9 + 16 + 25 + 36 + 49);
+	}
+
+	@Test
+	public void shouldNotEvaluateSourceBeyondTakenElements() throws Exception {
+		//given
+		final LazySeq<Integer> source = iterate(0, x -> x + 1);
+
+		//when
+		final int count = source.filter(x -> x % 3 == 0).map(x -> -x).take(4).count(x -> true);
+
+		//then
+		assertThat(count).isEqualTo(4);
+		assertThat(source.toString()).isEqualTo("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9, ?]");
+	}
+
+	@Test
+	public void shouldShortCircuitAnyMatchAndAllMatch() throws Exception {
+		//given
+		final LazySeq<Integer> seq = numbers(0).map(x -> x + 1).filter(x -> x % 2 == 1);
+
+		//then
+		assertThat(seq.anyMatch(x -> x > 100)).isTrue();
+		assertThat(seq.allMatch(x -> x < 100)).isFalse();
+		assertThat(seq.take(3).noneMatch(x -> x % 2 == 0)).isTrue();
+	}
+
+	@Test
+	public void shouldCollectPipeline() throws Exception {
+		//given
+		final LazySeq<String> seq = numbers(1).take(5).map(Object::toString).filter(s -> !s.equals("3"));
+
+		//when
+		final String joined = seq.collect(Collectors.joining(","));
+		final String streamJoined = numbers(1).stream().limit(5).map(Object::toString).collect(Collectors.joining(","));
+
+		//then
+		assertThat(joined).isEqualTo("1,2,4,5");
+		assertThat(streamJoined).isEqualTo("1,2,3,4,5");
+	}
+
+	@Test
+	public void shouldTraverseLongPipelineWithoutStackOverflow() throws Exception {
+		//given
+		final LazySeq<Integer> seq = numbers(0).take(1_000_000).map(x -> x + 1).filter(x -> x % 2 == 0).map(x -> x / 2);
+
+		//when
+		final long sum = seq.reduce(0L, (acc, x) -> acc + x);
+
+		//then
+		assertThat(sum).isEqualTo(500_000L * 500_001L / 2);
+	}
+
+	@Test
+	public void shouldFuseViewPipelineOverMemoizedCells() throws Exception {
+		//given
+		final AtomicInteger calls = new AtomicInteger();
+		final LazySeq<Integer> mapped = numbers(1).take(10).map(x -> {
+			calls.incrementAndGet();
+			return x * 10;
+		});
+		final List<Integer> result = new ArrayList<>();
+
+		//when
+		mapped.view().filter(x -> x % 20 == 0).map(x -> x + 1).forEach(result::add);
+		final List<Integer> again = mapped.toList();
+
+		//then
+		assertThat(result).containsExactly(21, 41, 61, 81, 101);
+		assertThat(again).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(mapped.toString()).isEqualTo("[10, 20, 30, 40, 50, 60, 70, 80, 90, 100]");
+		assertThat(calls.get()).isEqualTo(10);
+	}
+
+	@Test
+	public void shouldStopFusedViewPipelineEarly() throws Exception {
+		//given
+		final LazySeq<Integer> source = iterate(0, x -> x + 1);
+
+		//when
+		final List<Integer> result = source.view().filter(x -> x % 3 == 0).map(x -> -x).take(4).toList();
+
+		//then
+		assertThat(result).containsExactly(0, -3, -6, -9);
+		assertThat(source.toString()).isEqualTo("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9, ?]");
+	}
+
+}
@@ -2,6 +2,8 @@ package de.endrullis.lazyseq;
 
 import org.testng.annotations.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static de.endrullis.lazyseq.LazySeq.*;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
@@ -94,4 +96,43 @@ public class LazySeqGetTest extends AbstractBaseTestCase {
 		assertThat(natural).isEqualTo(100_000);
 	}
 
+	@Test
+	public void shouldEvaluateEachElementOnceWhenAccessingLast() throws Exception {
+		//given
+		final AtomicInteger evaluated = new AtomicInteger();
+		final LazySeq<Integer> seq = iterate(0, x -> x + 1).take(10).map(x -> {
+			evaluated.incrementAndGet();
+			return x * 2;
+		});
+
+		//when
+		final Integer last = seq.last();
+
+		//then
+		assertThat(last).isEqualTo(18);
+		assertThat(evaluated.get()).isEqualTo(10);
+	}
+
+	@Test
+	public void shouldThrowWhenAccessingLastOfEmptySeq() throws Exception {
+		try {
+			//when
+			empty().last();
+			failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+		} catch (IndexOutOfBoundsException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldThrowWhenAccessingLastOfEmptyDerivedSeq() throws Exception {
+		try {
+			//when
+			LazySeq.<Integer>empty().zipWithIndex().last();
+			failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+		} catch (IndexOutOfBoundsException e) {
+			//then
+		}
+	}
+
 }
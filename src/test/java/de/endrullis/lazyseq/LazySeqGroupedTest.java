@@ -3,11 +3,13 @@ package de.endrullis.lazyseq;
 import org.testng.annotations.Test;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static de.endrullis.lazyseq.LazySeq.empty;
 import static de.endrullis.lazyseq.LazySeq.of;
 import static de.endrullis.lazyseq.samples.Seqs.primes;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
 
@@ -162,4 +164,62 @@ public class LazySeqGroupedTest extends AbstractBaseTestCase {
 		assertThat(grouped.get(2)).isEqualTo(asList(17, 19, 23));
 	}
 
+	@Test
+	public void shouldTraverseSourceOnce() throws Exception {
+		//given
+		final AtomicInteger evaluated = new AtomicInteger();
+		final LazySeq<Integer> seq = LazySeq.iterate(0, x -> x + 1).take(100).map(x -> {
+			evaluated.incrementAndGet();
+			return x;
+		});
+
+		//when
+		final List<List<Integer>> groups = seq.grouped(30).toList();
+
+		//then
+		assertThat(groups).hasSize(4);
+		assertThat(groups.get(1)).isEqualTo(LazySeq.range(30, 60).toList());
+		assertThat(groups.get(3)).isEqualTo(asList(90, 91, 92, 93, 94, 95, 96, 97, 98, 99));
+		assertThat(evaluated.get()).isEqualTo(100);
+	}
+
+	@Test
+	public void shouldNotEvaluateNextGroupBeforeRequested() throws Exception {
+		//given
+		final AtomicInteger evaluated = new AtomicInteger();
+		final LazySeq<Integer> seq = LazySeq.iterate(0, x -> {
+			evaluated.incrementAndGet();
+			return x + 1;
+		});
+
+		//when
+		final LazySeq<List<Integer>> groups = seq.grouped(4);
+
+		//then
+		assertThat(evaluated.get()).isEqualTo(3);
+		assertThat(groups.get(1)).isEqualTo(asList(4, 5, 6, 7));
+		assertThat(evaluated.get()).isEqualTo(7);
+	}
+
+	@Test
+	public void shouldNotAllocateFullGroupForShortSeq() throws Exception {
+		assertThat(of(1, 2, 3).grouped(Integer.MAX_VALUE).toList()).isEqualTo(singletonList(asList(1, 2, 3)));
+		assertThat(of(1, 2, 3).sliding(Integer.MAX_VALUE).toList()).isEqualTo(singletonList(asList(1, 2, 3)));
+	}
+
+	@Test
+	public void shouldStopPushingGroupsWhenRequested() throws Exception {
+		//given
+		final LazySeq<List<Integer>> groups = LazySeq.iterate(0, x -> x + 1).take(10).grouped(3);
+
+		//when
+		final boolean found = groups.anyMatch(g -> g.contains(4));
+		final boolean foundInLast = groups.anyMatch(g -> g.contains(9));
+
+		//then
+		assertThat(found).isTrue();
+		assertThat(foundInLast).isTrue();
+		assertThat(groups.map(List::size).toList()).containsExactly(3, 3, 3, 1);
+	}
+
 }
@@ -0,0 +1,190 @@
+package de.endrullis.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static de.endrullis.lazyseq.LazySeq.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * @author Stefan Endrullis
+ */
+public class LazySeqIndexedTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldCreateArraySeqFromVarargs() throws Exception {
+		assertThat(of(1, 2, 3, 4)).isInstanceOf(ArraySeq.class);
+	}
+
+	@Test
+	public void shouldCopyRandomAccessListIntoArraySeq() throws Exception {
+		assertThat(of(Arrays.asList(1, 2, 3))).isInstanceOf(ArraySeq.class);
+		assertThat(of(new ArrayList<>(Arrays.asList(1, 2, 3)))).isInstanceOf(ArraySeq.class);
+		assertThat(of(new LinkedList<>(Arrays.asList(1, 2, 3)))).isNotInstanceOf(ArraySeq.class);
+	}
+
+	@Test
+	public void shouldNotReflectModificationsOfListPassedToOf() throws Exception {
+		//given
+		final List<Integer> list = new ArrayList<>(Arrays.asList(1, 2, 3));
+		final LazySeq<Integer> seq = of(list);
+
+		//when
+		list.set(0, 7);
+		list.add(4);
+
+		//then
+		assertThat(seq).isEqualTo(of(1, 2, 3));
+	}
+
+	@Test
+	public void shouldWrapRandomAccessListWithoutCopying() throws Exception {
+		//given
+		final List<Integer> list = new ArrayList<>(Arrays.asList(1, 2, 3));
+
+		//when
+		final LazySeq<Integer> seq = wrap(list);
+		list.set(1, 5);
+
+		//then
+		assertThat(seq).isInstanceOf(ListSeq.class).isEqualTo(of(1, 5, 3));
+		assertThat(wrap(new LinkedList<>(list))).isNotInstanceOf(ListSeq.class).isEqualTo(of(1, 5, 3));
+	}
+
+	@Test
+	public void shouldReturnEmptySeqForEmptyInput() throws Exception {
+		assertThat(of(new Integer[0])).isSameAs(empty());
+		assertThat(of(new ArrayList<Integer>())).isSameAs(empty());
+		assertThat(wrap(new ArrayList<Integer>())).isSameAs(empty());
+	}
+
+	@Test
+	public void shouldReturnSameTailOnEveryCall() throws Exception {
+		//given
+		final LazySeq<Integer> seq = of(1, 2, 3);
+		final LazySeq<Integer> reversed = seq.reverse();
+
+		//when
+		final LazySeq<Integer> tail = seq.tail();
+		final LazySeq<Integer> reversedTail = reversed.tail();
+
+		//then
+		assertThat(seq.tail()).isSameAs(tail);
+		assertThat(reversed.tail()).isSameAs(reversedTail);
+		assertThat(tail.tail()).isSameAs(tail.tail());
+	}
+
+	@Test
+	public void shouldAccessElementsByIndex() throws Exception {
+		//given
+		final LazySeq<Integer> seq = of(numbers(0).take(1000).toList());
+
+		//when
+		final int element = seq.get(765);
+
+		//then
+		assertThat(element).isEqualTo(765);
+		assertThat(seq.size()).isEqualTo(1000);
+		assertThat(seq.last()).isEqualTo(999);
+	}
+
+	@Test
+	public void shouldThrowIfIndexIsOutOfBounds() throws Exception {
+		final LazySeq<Integer> seq = of(1, 2, 3).drop(1);
+		try {
+			seq.get(2);
+			failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+		} catch (IndexOutOfBoundsException e) {
+			//ok
+		}
+	}
+
+	@Test
+	public void shouldDropTakeAndSliceWithoutCopying() throws Exception {
+		//given
+		final LazySeq<Integer> seq = of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+		//when
+		final LazySeq<Integer> dropped = seq.drop(3);
+		final LazySeq<Integer> taken = seq.take(4);
+		final LazySeq<Integer> slice = seq.slice(2, 5);
+		final LazySeq<Integer> right = seq.takeRight(3);
+
+		//then
+		assertThat(dropped).isInstanceOf(ArraySeq.class).isEqualTo(of(3, 4, 5, 6, 7, 8, 9));
+		assertThat(taken).isInstanceOf(ArraySeq.class).isEqualTo(of(0, 1, 2, 3));
+		assertThat(slice).isInstanceOf(ArraySeq.class).isEqualTo(of(2, 3, 4));
+		assertThat(right).isInstanceOf(ArraySeq.class).isEqualTo(of(7, 8, 9));
+		assertThat(seq.drop(10)).isEmpty();
+		assertThat(seq.take(20)).isSameAs(seq);
+		assertThat(seq.subList(8, 10)).isEqualTo(of(8, 9));
+	}
+
+	@Test
+	public void shouldReverseWithoutCopying() throws Exception {
+		//given
+		final LazySeq<Integer> seq = wrap(Arrays.asList(0, 1, 2, 3, 4, 5));
+
+		//when
+		final LazySeq<Integer> reversed = seq.reverse();
+
+		//then
+		assertThat(reversed).isInstanceOf(ListSeq.class).isEqualTo(of(5, 4, 3, 2, 1, 0));
+		assertThat(reversed.get(1)).isEqualTo(4);
+		assertThat(reversed.last()).isEqualTo(0);
+		assertThat(reversed.tail()).isEqualTo(of(4, 3, 2, 1, 0));
+		assertThat(reversed.drop(2).take(2)).isEqualTo(of(3, 2));
+		assertThat(reversed.takeRight(2)).isEqualTo(of(1, 0));
+		assertThat(reversed.reverse()).isEqualTo(seq);
+	}
+
+	@Test
+	public void shouldBehaveLikeOrdinarySeqForOtherOperators() throws Exception {
+		//given
+		final LazySeq<Integer> seq = of(1, 2, 3, 4, 5, 6);
+
+		//when
+		final LazySeq<Integer> result = seq.map(x -> x * 10).filter(x -> x % 20 == 0);
+
+		//then
+		assertThat(result).isEqualTo(of(20, 40, 60));
+		assertThat(seq.flatMap(x -> Arrays.asList(x, -x)).take(4)).isEqualTo(of(1, -1, 2, -2));
+		assertThat(seq.reduce(0, (a, b) -> a + b)).isEqualTo(21);
+		assertThat(seq.toString()).isEqualTo("[1, 2, 3, 4, 5, 6]");
+		assertThat(seq.concat(of(7))).isEqualTo(numbers(1).take(7));
+		assertThat(seq.iterator().next()).isEqualTo(1);
+		assertThat(seq.stream().mapToInt(Integer::intValue).sum()).isEqualTo(21);
+	}
+
+	@Test
+	public void shouldRejectNullElementOfListPassedToOf() throws Exception {
+		try {
+			of(Arrays.asList(1, null, 3));
+			failBecauseExceptionWasNotThrown(NullPointerException.class);
+		} catch (NullPointerException e) {
+			//ok
+		}
+	}
+
+	@Test
+	public void shouldRejectNullElementOfListOnAccess() throws Exception {
+		//given
+		final List<Integer> list = Arrays.asList(1, null, 3);
+		final LazySeq<Integer> seq = wrap(list);
+
+		//when
+		try {
+			seq.get(1);
+			failBecauseExceptionWasNotThrown(NullPointerException.class);
+		} catch (NullPointerException e) {
+			//then
+			assertThat(seq.head()).isEqualTo(1);
+		}
+	}
+
+}
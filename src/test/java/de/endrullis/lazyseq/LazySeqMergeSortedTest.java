@@ -0,0 +1,192 @@
+package de.endrullis.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.endrullis.lazyseq.LazySeq.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * @author Stefan Endrullis
+ */
+public class LazySeqMergeSortedTest extends AbstractBaseTestCase {
+
+	private static final Comparator<Integer> NATURAL = Comparator.naturalOrder();
+
+	@Test
+	public void shouldMergeSortedSeqs() throws Exception {
+		//given
+		final LazySeq<Integer> first = of(1, 4, 7, 10);
+		final LazySeq<Integer> second = of(2, 5, 8);
+		final LazySeq<Integer> third = of(3, 6, 9, 12, 15);
+
+		//when
+		final LazySeq<Integer> merged = mergeSorted(NATURAL, first, second, third);
+
+		//then
+		assertThat(merged).isEqualTo(of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 12, 15));
+	}
+
+	@Test
+	public void shouldMergeStably() throws Exception {
+		//given
+		final LazySeq<String> first = of("a1", "bb1", "ccc1");
+		final LazySeq<String> second = of("a2", "b2", "cc2", "ccc2");
+		final LazySeq<String> third = of("a3", "bbb3");
+
+		//when
+		final LazySeq<String> merged = mergeSorted(Comparator.comparing(String::length), first, second, third);
+
+		//then
+		assertThat(merged).isEqualTo(of("a1", "a2", "b2", "a3", "bb1", "cc2", "ccc1", "ccc2", "bbb3"));
+	}
+
+	@Test
+	public void shouldMergeCollectionOfSeqs() throws Exception {
+		//given
+		final Random random = new Random(11);
+		final List<LazySeq<Integer>> seqs = new ArrayList<>();
+		final List<Integer> all = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			final LazySeq<Integer> seq = continually(() -> random.nextInt(1000)).take(random.nextInt(20)).sorted();
+			seqs.add(seq);
+			all.addAll(seq);
+		}
+		all.sort(NATURAL);
+
+		//when
+		final LazySeq<Integer> merged = mergeSorted(NATURAL, seqs);
+
+		//then
+		assertThat(merged.toList()).isEqualTo(all);
+	}
+
+	@Test
+	public void shouldMergeEmptyAndSingleSeqs() throws Exception {
+		//given
+		final LazySeq<Integer> seq = of(1, 2, 3);
+
+		//then
+		assertThat(mergeSorted(NATURAL)).isEmpty();
+		assertThat(mergeSorted(NATURAL, LazySeq.<Integer>empty(), empty())).isEmpty();
+		assertThat(mergeSorted(NATURAL, empty(), seq, empty())).isSameAs(seq);
+	}
+
+	@Test
+	public void shouldMergeInfiniteSeqs() throws Exception {
+		//given
+		final LazySeq<Integer> twos = iterate(2, x -> x + 2);
+		final LazySeq<Integer> threes = iterate(3, x -> x + 3);
+		final LazySeq<Integer> fives = iterate(5, x -> x + 5);
+
+		//when
+		final LazySeq<Integer> merged = mergeSorted(NATURAL, twos, threes, fives);
+
+		//then
+		assertThat(merged.take(10)).isEqualTo(of(2, 3, 4, 5, 6, 6, 8, 9, 10, 10));
+	}
+
+	@Test
+	public void shouldEvaluateSourcesOnlyAsFarAsNeeded() throws Exception {
+		//given
+		final AtomicInteger evaluated = new AtomicInteger();
+		final LazySeq<Integer> first = numbers(0).map(x -> 2 * x).map(x -> {
+			evaluated.incrementAndGet();
+			return x;
+		});
+		final LazySeq<Integer> second = numbers(0).map(x -> 2 * x + 1);
+
+		//when
+		final LazySeq<Integer> merged = mergeSorted(NATURAL, first, second);
+		merged.take(4).force();
+
+		//then
+		assertThat(merged.take(4)).isEqualTo(of(0, 1, 2, 3));
+		assertThat(evaluated.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldMergeLongSeqsWithoutStackOverflow() throws Exception {
+		//given
+		final LazySeq<Integer> evens = numbers(0).map(x -> 2 * x).take(100_000);
+		final LazySeq<Integer> odds = numbers(0).map(x -> 2 * x + 1).take(100_000);
+
+		//when
+		final LazySeq<Integer> merged = mergeSorted(NATURAL, evens, odds);
+
+		//then
+		assertThat(merged.size()).isEqualTo(200_000);
+		assertThat(merged.last()).isEqualTo(199_999);
+	}
+
+	@Test
+	public void shouldRemoveRepetitionsOfSortedSeq() throws Exception {
+		//given
+		final LazySeq<Integer> seq = of(1, 1, 2, 3, 3, 3, 4, 5, 5);
+
+		//when
+		final LazySeq<Integer> distinct = seq.distinctSorted(NATURAL);
+
+		//then
+		assertThat(distinct).isEqualTo(of(1, 2, 3, 4, 5));
+		assertThat(numbers(0).flatMap(x -> Arrays.asList(x, x, x)).distinctSorted(NATURAL).take(5)).isEqualTo(of(0, 1, 2, 3, 4));
+		assertThat(LazySeq.<Integer>empty().distinctSorted(NATURAL)).isEmpty();
+	}
+
+	@Test
+	public void shouldComputeUnionOfSortedSeqs() throws Exception {
+		//given
+		final LazySeq<Integer> first = of(1, 3, 3, 5, 7);
+		final LazySeq<Integer> second = of(2, 3, 4, 7, 7, 8);
+
+		//then
+		assertThat(first.unionSorted(second, NATURAL)).isEqualTo(of(1, 2, 3, 4, 5, 7, 8));
+		assertThat(first.unionSorted(empty(), NATURAL)).isEqualTo(of(1, 3, 5, 7));
+		assertThat(iterate(0, x -> x + 3).unionSorted(iterate(0, x -> x + 2), NATURAL).take(7)).isEqualTo(of(0, 2, 3, 4, 6, 8, 9));
+	}
+
+	@Test
+	public void shouldComputeIntersectionOfSortedSeqs() throws Exception {
+		//given
+		final LazySeq<Integer> first = of(1, 3, 3, 5, 7, 9);
+		final LazySeq<Integer> second = of(2, 3, 3, 4, 7, 7, 8, 9);
+
+		//then
+		assertThat(first.intersectSorted(second, NATURAL)).isEqualTo(of(3, 7, 9));
+		assertThat(first.intersectSorted(empty(), NATURAL)).isEmpty();
+		assertThat(iterate(0, x -> x + 3).intersectSorted(iterate(0, x -> x + 2), NATURAL).take(4)).isEqualTo(of(0, 6, 12, 18));
+	}
+
+	@Test
+	public void shouldComputeDifferenceOfSortedSeqs() throws Exception {
+		//given
+		final LazySeq<Integer> first = of(1, 3, 3, 5, 7, 9, 9);
+		final LazySeq<Integer> second = of(2, 3, 4, 7, 7, 8);
+
+		//then
+		assertThat(first.diffSorted(second, NATURAL)).isEqualTo(of(1, 5, 9));
+		assertThat(first.diffSorted(empty(), NATURAL)).isEqualTo(of(1, 3, 5, 7, 9));
+		assertThat(LazySeq.<Integer>empty().diffSorted(second, NATURAL)).isEmpty();
+		assertThat(numbers(1).diffSorted(iterate(0, x -> x + 3), NATURAL).take(5)).isEqualTo(of(1, 2, 4, 5, 7));
+	}
+
+	@Test
+	public void shouldSkipLongRunsWithoutStackOverflow() throws Exception {
+		//given
+		final LazySeq<Integer> evens = numbers(0).map(x -> 2 * x);
+		final LazySeq<Integer> odds = numbers(0).map(x -> 2 * x + 1).take(200_000).concat(of(400_002, 400_003, 400_004, 400_005));
+		final LazySeq<Integer> same = numbers(0).take(200_000);
+
+		//then
+		assertThat(evens.intersectSorted(odds, NATURAL).head()).isEqualTo(400_002);
+		assertThat(same.diffSorted(numbers(0), NATURAL)).isEmpty();
+		assertThat(continually(7).take(200_000).distinctSorted(NATURAL)).isEqualTo(of(7));
+	}
+
+}
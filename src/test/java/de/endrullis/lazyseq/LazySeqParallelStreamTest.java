@@ -0,0 +1,68 @@
+package de.endrullis.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static de.endrullis.lazyseq.LazySeq.numbers;
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * @author Stefan Endrullis
+ */
+public class LazySeqParallelStreamTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldReturnParallelStream() throws Exception {
+		assertThat(numbers(1).parallelStream().isParallel()).isTrue();
+		assertThat(numbers(1).stream().parallel().isParallel()).isTrue();
+	}
+
+	@Test
+	public void shouldProcessAllElementsInParallel() throws Exception {
+		//given
+		final LazySeq<Integer> seq = numbers(1).take(100_000);
+
+		//when
+		final long sum = seq.parallelStream().mapToLong(Integer::longValue).sum();
+
+		//then
+		assertThat(sum).isEqualTo(100_000L * 100_001 / 2);
+	}
+
+	@Test
+	public void shouldKeepEncounterOrder() throws Exception {
+		//given
+		final LazySeq<Integer> seq = numbers(0).take(10_000);
+
+		//when
+		final List<Integer> mapped = seq.parallelStream().map(x -> x * 2).collect(Collectors.toList());
+
+		//then
+		assertThat(mapped).isEqualTo(IntStream.range(0, 10_000).map(x -> x * 2).boxed().collect(Collectors.toList()));
+	}
+
+	@Test
+	public void shouldLimitInfiniteSeqInParallel() throws Exception {
+		//when
+		final List<Integer> first = numbers(0).parallelStream().filter(x -> x % 3 == 0).limit(5).collect(Collectors.toList());
+
+		//then
+		assertThat(first).containsExactly(0, 3, 6, 9, 12);
+	}
+
+	@Test
+	public void shouldRunCloseHandlersOfSequentialStreamWhenClosingParallelStream() throws Exception {
+		//given
+		final boolean[] closed = {false};
+
+		//when
+		numbers(0).stream().onClose(() -> closed[0] = true).parallel().close();
+
+		//then
+		assertThat(closed[0]).isTrue();
+	}
+
+}
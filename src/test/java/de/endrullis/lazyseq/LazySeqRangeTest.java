@@ -0,0 +1,197 @@
+package de.endrullis.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static de.endrullis.lazyseq.LazySeq.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * Tests of the closed-form sequences {@link LazySeq#range(int, int, int)}, {@link LazySeq#numbers(int, int)},
+ * {@link LazySeq#closedFormTabulate(int, java.util.function.Function)} and {@link LazySeq#continually(Object)}.
+ *
+ * @author Stefan Endrullis
+ */
+public class LazySeqRangeTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldCreateRangeWithPositiveStep() throws Exception {
+		assertThat(range(0, 5)).isEqualTo(of(0, 1, 2, 3, 4));
+		assertThat(range(1, 10, 3)).isEqualTo(of(1, 4, 7));
+		assertThat(range(1, 11, 3)).isEqualTo(of(1, 4, 7, 10));
+	}
+
+	@Test
+	public void shouldCreateRangeWithNegativeStep() throws Exception {
+		assertThat(range(5, 0, -1)).isEqualTo(of(5, 4, 3, 2, 1));
+		assertThat(range(10, 1, -4)).isEqualTo(of(10, 6, 2));
+	}
+
+	@Test
+	public void shouldCreateEmptyRange() throws Exception {
+		assertThat(range(5, 5)).isEmpty();
+		assertThat(range(5, 0)).isEmpty();
+		assertThat(range(0, 5, -1)).isEmpty();
+	}
+
+	@Test
+	public void shouldCreateRangeUpToIntegerBounds() throws Exception {
+		assertThat(range(Integer.MAX_VALUE - 2, Integer.MAX_VALUE)).isEqualTo(of(Integer.MAX_VALUE - 2, Integer.MAX_VALUE - 1));
+		assertThat(range(Integer.MIN_VALUE, Integer.MAX_VALUE).size()).isEqualTo(Integer.MAX_VALUE);
+		assertThat(range(Integer.MIN_VALUE, Integer.MAX_VALUE).last()).isEqualTo(Integer.MAX_VALUE - 1);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void shouldRejectZeroStep() throws Exception {
+		range(0, 10, 0);
+	}
+
+	@Test
+	public void shouldAccessRangeInConstantTime() throws Exception {
+		//given
+		final LazySeq<Integer> range = range(0, 2_000_000_000, 2);
+
+		//when
+		final LazySeq<Integer> slice = range.slice(900_000_000, 900_000_003);
+
+		//then
+		assertThat(range.size()).isEqualTo(1_000_000_000);
+		assertThat(range.get(999_999_999)).isEqualTo(1_999_999_998);
+		assertThat(range.last()).isEqualTo(1_999_999_998);
+		assertThat(slice).isEqualTo(of(1_800_000_000, 1_800_000_002, 1_800_000_004));
+		assertThat(range.drop(999_999_998).size()).isEqualTo(2);
+		assertThat(range.drop(1_000_000_000)).isEmpty();
+		assertThat(range.takeRight(2)).isEqualTo(of(1_999_999_996, 1_999_999_998));
+	}
+
+	@Test
+	public void shouldThrowIfIndexIsOutOfBounds() throws Exception {
+		try {
+			range(0, 10).get(10);
+			failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+		} catch (IndexOutOfBoundsException e) {
+			//ok
+		}
+	}
+
+	@Test
+	public void shouldDropFromInfiniteNumbersInConstantTime() throws Exception {
+		//given
+		final LazySeq<Integer> numbers = numbers(0);
+
+		//when
+		final LazySeq<Integer> dropped = numbers.drop(1_000_000_000_000L);
+
+		//then
+		assertThat(dropped.head()).isEqualTo((int) 1_000_000_000_000L);
+		assertThat(numbers(5, 3).get(1_000_000)).isEqualTo(3_000_005);
+		assertThat(numbers(0).zipWithIndex(7).drop(1_000_000).head()).isEqualTo(Shortcuts.t(1_000_000, 1_000_007));
+	}
+
+	@Test
+	public void shouldOverflowLikeIntArithmetic() throws Exception {
+		assertThat(numbers(Integer.MAX_VALUE - 1).take(3)).isEqualTo(of(Integer.MAX_VALUE - 1, Integer.MAX_VALUE, Integer.MIN_VALUE));
+		assertThat(numbers(0, 1 << 30).get(4)).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldShowOnlyAccessedElementsInToString() throws Exception {
+		//given
+		final LazySeq<Integer> range = range(0, 10);
+
+		//when
+		final String before = range.toString();
+		range.get(3);
+		final String afterGet = range.toString();
+		range.iterator().forEachRemaining(x -> {});
+		final String afterIteration = range.toString();
+		range.forEach(x -> {});
+		final String afterForEach = range.toString();
+
+		//then
+		assertThat(before).isEqualTo("[0, ?]");
+		assertThat(afterGet).isEqualTo("[0, 1, 2, 3, ?]");
+		assertThat(afterIteration).isEqualTo("[0, 1, 2, 3, ?]");
+		assertThat(afterForEach).isEqualTo("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9]");
+	}
+
+	@Test
+	public void shouldThrowWhenComputingSizeOfInfiniteSeq() throws Exception {
+		try {
+			numbers(0).size();
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			//ok
+		}
+	}
+
+	@Test
+	public void shouldComputeTabulatedElementsOnAccess() throws Exception {
+		//given
+		final AtomicInteger generated = new AtomicInteger();
+		final LazySeq<String> seq = closedFormTabulate(3, i -> {
+			generated.incrementAndGet();
+			return "#" + i;
+		});
+
+		//when
+		final String element = seq.get(1_000_000);
+
+		//then
+		assertThat(element).isEqualTo("#1000003");
+		assertThat(seq.take(3)).isEqualTo(of("#3", "#4", "#5"));
+		assertThat(seq.drop(10).head()).isEqualTo("#13");
+		assertThat(generated.get()).isEqualTo(5);
+	}
+
+	@Test
+	public void shouldAccessConstantSeqInConstantTime() throws Exception {
+		assertThat(continually('x').get(2_000_000_000)).isEqualTo('x');
+		assertThat(continually('x').drop(5_000_000_000L).take(2)).isEqualTo(of('x', 'x'));
+	}
+
+	@Test
+	public void shouldSplitRangeWithoutEvaluatingIt() throws Exception {
+		//given
+		final Spliterator<Integer> spliterator = range(0, 1000).spliterator();
+
+		//when
+		final Spliterator<Integer> prefix = spliterator.trySplit();
+
+		//then
+		assertThat(prefix.estimateSize()).isEqualTo(500);
+		assertThat(spliterator.estimateSize()).isEqualTo(500);
+		assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+		assertThat(prefix.tryAdvance(x -> assertThat(x).isEqualTo(0))).isTrue();
+		assertThat(spliterator.tryAdvance(x -> assertThat(x).isEqualTo(500))).isTrue();
+	}
+
+	@Test
+	public void shouldProcessRangeInParallel() throws Exception {
+		//given
+		final LazySeq<Integer> range = range(0, 100_000);
+
+		//when
+		final long sum = range.parallelStream().mapToLong(Integer::longValue).sum();
+		final String joined = range(0, 1000).parallelStream().map(Object::toString).collect(Collectors.joining(","));
+
+		//then
+		assertThat(sum).isEqualTo(99_999L * 100_000 / 2);
+		assertThat(joined).isEqualTo(IntStream.range(0, 1000).mapToObj(Integer::toString).collect(Collectors.joining(",")));
+	}
+
+	@Test
+	public void shouldProcessInfiniteNumbersInParallel() throws Exception {
+		//when
+		final long count = numbers(0).parallelStream().filter(x -> x % 3 == 0).limit(10_000).count();
+
+		//then
+		assertThat(count).isEqualTo(10_000);
+	}
+
+}
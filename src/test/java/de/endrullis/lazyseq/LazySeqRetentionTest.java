@@ -0,0 +1,82 @@
+package de.endrullis.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static de.endrullis.lazyseq.LazySeq.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Checks that fully evaluated derived sequences do not keep their source sequence reachable.
+ *
+ * @author Stefan Endrullis
+ */
+public class LazySeqRetentionTest extends AbstractBaseTestCase {
+
+	private static final int SIZE = 1000;
+
+	@Test
+	public void shouldReleaseSourceOfMappedSeq() throws Exception {
+		assertSourceCollectableAfterForcing(source -> source.map(x -> x * 2));
+	}
+
+	@Test
+	public void shouldReleaseSourceOfFilteredSeq() throws Exception {
+		assertSourceCollectableAfterForcing(source -> source.filter(x -> x % 3 == 0));
+	}
+
+	@Test
+	public void shouldReleaseSourceOfZippedSeq() throws Exception {
+		assertSourceCollectableAfterForcing(source -> source.zip(numbers(0).take(SIZE), (a, b) -> a + b));
+	}
+
+	@Test
+	public void shouldReleaseSourceOfTakeWhileSeq() throws Exception {
+		assertSourceCollectableAfterForcing(source -> source.takeWhile(x -> x < SIZE / 2));
+	}
+
+	@Test
+	public void shouldReleaseSourceOfMappedChunkedSeq() throws Exception {
+		//given
+		LazySeq<Object> source = chunked(Stream.generate(Object::new).limit(SIZE).iterator());
+		final WeakReference<Object> elementRef = new WeakReference<>(source.get(SIZE / 2));
+		final LazySeq<Integer> derived = source.map(Object::hashCode).force();
+
+		//when
+		//noinspection UnusedAssignment
+		source = null;
+
+		//then
+		assertThat(collected(elementRef)).isTrue();
+		assertThat(derived.size()).isEqualTo(SIZE);
+	}
+
+	private void assertSourceCollectableAfterForcing(Function<LazySeq<Integer>, LazySeq<Integer>> derive) throws Exception {
+		//given
+		LazySeq<Integer> source = numbers(0).take(SIZE).force();
+		final WeakReference<LazySeq<Integer>> sourceRef = new WeakReference<>(source);
+		final WeakReference<LazySeq<Integer>> sourceTailRef = new WeakReference<>(source.drop(SIZE / 2));
+		final LazySeq<Integer> derived = derive.apply(source).force();
+
+		//when
+		//noinspection UnusedAssignment
+		source = null;
+
+		//then
+		assertThat(collected(sourceRef)).isTrue();
+		assertThat(collected(sourceTailRef)).isTrue();
+		assertThat(derived.nonEmpty()).isTrue();
+	}
+
+	private static boolean collected(WeakReference<?> ref) throws InterruptedException {
+		for (int i = 0; i < 50 && ref.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		return ref.get() == null;
+	}
+
+}
@@ -0,0 +1,129 @@
+package de.endrullis.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.endrullis.lazyseq.LazySeq.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * @author Stefan Endrullis
+ */
+public class LazySeqSkipIndexTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldNotEvaluateSeqWhenCreatingIndex() throws Exception {
+		//given
+		final LazySeq<Integer> seq = iterate(1, x -> x + 1);
+
+		//when
+		final LazySeq<Integer> indexed = seq.withSkipIndex(4);
+
+		//then
+		assertThat(indexed.toString()).isEqualTo("[1, ?]");
+	}
+
+	@Test
+	public void shouldEvaluateOnlyUpToRequestedIndex() throws Exception {
+		//given
+		final AtomicInteger evaluated = new AtomicInteger();
+		final LazySeq<Integer> indexed = iterate(0, x -> {
+			evaluated.incrementAndGet();
+			return x + 1;
+		}).withSkipIndex(4);
+
+		//when
+		final int element = indexed.get(10);
+
+		//then
+		assertThat(element).isEqualTo(10);
+		assertThat(evaluated.get()).isEqualTo(10);
+		assertThat(indexed.toString()).startsWith("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, ?");
+	}
+
+	@Test
+	public void shouldReturnSameElementsAsUnderlyingSeq() throws Exception {
+		//given
+		final LazySeq<Integer> seq = numbers(0).map(x -> x * 3).take(1000);
+		final LazySeq<Integer> indexed = seq.withSkipIndex(7);
+
+		//when
+		indexed.get(500);
+
+		//then
+		for (int i = 999; i >= 0; i -= 13) {
+			assertThat(indexed.get(i)).isEqualTo(i * 3);
+		}
+		for (int i = 0; i < 1000; i += 37) {
+			assertThat(indexed.get(i)).isEqualTo(i * 3);
+		}
+		assertThat(indexed.size()).isEqualTo(1000);
+		assertThat(indexed.size()).isEqualTo(1000);
+		assertThat(indexed.last()).isEqualTo(2997);
+		assertThat(indexed).isEqualTo(seq);
+	}
+
+	@Test
+	public void shouldDropFromNearestRecordedCell() throws Exception {
+		//given
+		final LazySeq<Integer> seq = iterate(0, x -> x + 1).take(100);
+		final LazySeq<Integer> indexed = seq.withSkipIndex(10);
+		indexed.get(99);
+
+		//when
+		final LazySeq<Integer> dropped = indexed.drop(42);
+
+		//then
+		assertThat(dropped).isSameAs(seq.drop(42));
+		assertThat(indexed.drop(100)).isEmpty();
+		assertThat(indexed.drop(1000)).isEmpty();
+		assertThat(indexed.slice(95, 98)).isEqualTo(of(95, 96, 97));
+	}
+
+	@Test
+	public void shouldThrowIfIndexIsOutOfBounds() throws Exception {
+		final LazySeq<Integer> indexed = iterate(0, x -> x + 1).take(20).withSkipIndex(4);
+		try {
+			indexed.get(20);
+			failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+		} catch (IndexOutOfBoundsException e) {
+			//ok
+		}
+		try {
+			indexed.get(-1);
+			failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+		} catch (IndexOutOfBoundsException e) {
+			//ok
+		}
+	}
+
+	@Test
+	public void shouldDelegateOtherOperations() throws Exception {
+		//given
+		final LazySeq<Integer> indexed = iterate(1, x -> x + 1).take(10).withSkipIndex();
+
+		//when
+		final LazySeq<Integer> result = indexed.map(x -> x * 2).filter(x -> x > 10).takeWhile(x -> x < 18);
+
+		//then
+		assertThat(result).isEqualTo(of(12, 14, 16));
+		assertThat(indexed.reduce(0, (a, b) -> a + b)).isEqualTo(55);
+		assertThat(indexed.tail().head()).isEqualTo(2);
+		assertThat(indexed.take(3)).isEqualTo(of(1, 2, 3));
+	}
+
+	@Test
+	public void shouldNotIndexEmptyOrArrayBackedSeqs() throws Exception {
+		final LazySeq<Integer> array = of(1, 2, 3, 4);
+		assertThat(array.withSkipIndex(2)).isSameAs(array);
+		assertThat(LazySeq.<Integer>empty().withSkipIndex(2)).isSameAs(empty());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void shouldRejectNonPositiveInterval() throws Exception {
+		numbers(0).withSkipIndex(0);
+	}
+
+}
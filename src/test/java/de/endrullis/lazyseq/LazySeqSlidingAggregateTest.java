@@ -0,0 +1,154 @@
+package de.endrullis.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.endrullis.lazyseq.LazySeq.of;
+import static java.util.stream.Collectors.joining;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.fest.assertions.data.Offset.offset;
+
+/**
+ * @author Stefan Endrullis
+ */
+public class LazySeqSlidingAggregateTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldReturnEmptySeqWhenRunOnEmpty() throws Exception {
+		assertThat(LazySeq.<Integer>empty().slidingMin(3, Comparator.naturalOrder())).isEmpty();
+		assertThat(LazySeq.<Integer>empty().slidingReduce(3, Integer::sum)).isEmpty();
+		assertThat(IntLazySeq.empty().slidingSum(3).isEmpty()).isTrue();
+	}
+
+	@Test
+	public void shouldThrowWhenSizeIsZero() throws Exception {
+		try {
+			of(1, 2).slidingReduce(0, Integer::sum);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch (IllegalArgumentException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldAggregateSingleWindowWhenSeqShorterThanSize() throws Exception {
+		assertThat(of(3, 1, 2).slidingMax(5, Comparator.naturalOrder())).isEqualTo(of(3));
+		assertThat(of(3, 1, 2).slidingReduce(5, Integer::sum)).isEqualTo(of(6));
+		assertThat(IntLazySeq.of(3, 1, 2).slidingAverage(5)).isEqualTo(DoubleLazySeq.of(2.0));
+	}
+
+	@Test
+	public void shouldComputeMinAndMaxOfWindows() throws Exception {
+		//given
+		final LazySeq<Integer> seq = of(5, 3, 4, 1, 2, 6, 6, 0);
+
+		//then
+		assertThat(seq.slidingMin(3, Comparator.naturalOrder())).isEqualTo(of(3, 1, 1, 1, 2, 0));
+		assertThat(seq.slidingMax(3, Comparator.naturalOrder())).isEqualTo(of(5, 4, 4, 6, 6, 6));
+		assertThat(seq.slidingMin(1, Comparator.naturalOrder())).isEqualTo(seq);
+	}
+
+	@Test
+	public void shouldApplyOperatorInWindowOrder() throws Exception {
+		//given
+		final LazySeq<String> seq = of("a", "b", "c", "d", "e", "f");
+
+		//when
+		final LazySeq<String> concatenated = seq.slidingReduce(3, String::concat);
+
+		//then
+		assertThat(concatenated).isEqualTo(of("abc", "bcd", "cde", "def"));
+	}
+
+	@Test
+	public void shouldAgreeWithSlidingWindows() throws Exception {
+		//given
+		final Random random = new Random(42);
+		final LazySeq<Integer> seq = LazySeq.continually(() -> random.nextInt(100) - 50).take(1000).force();
+
+		for (int size : new int[]{1, 2, 7, 64, 999, 1000, 1001}) {
+			//when
+			final LazySeq<List<Integer>> windows = seq.sliding(size);
+
+			//then
+			assertThat(seq.slidingMin(size, Comparator.naturalOrder()))
+					.isEqualTo(windows.map(w -> w.stream().min(Comparator.naturalOrder()).get()));
+			assertThat(seq.slidingMax(size, Comparator.naturalOrder()))
+					.isEqualTo(windows.map(w -> w.stream().max(Comparator.naturalOrder()).get()));
+			assertThat(seq.map(String::valueOf).slidingReduce(size, (a, b) -> a + "," + b))
+					.isEqualTo(windows.map(w -> w.stream().map(String::valueOf).collect(joining(","))));
+			assertThat(seq.mapToInt(x -> x).slidingSum(size).boxed())
+					.isEqualTo(windows.map(w -> w.stream().mapToInt(x -> x).sum()));
+			assertThat(seq.mapToLong(x -> x).slidingMin(size).boxed())
+					.isEqualTo(windows.map(w -> w.stream().mapToLong(x -> x).min().getAsLong()));
+			assertThat(seq.mapToDouble(x -> x).slidingMax(size).boxed())
+					.isEqualTo(windows.map(w -> w.stream().mapToDouble(x -> x).max().getAsDouble()));
+			assertThat(seq.mapToInt(x -> x).slidingAverage(size).boxed())
+					.isEqualTo(windows.map(w -> w.stream().mapToInt(x -> x).average().getAsDouble()));
+		}
+	}
+
+	@Test
+	public void shouldCombineEachElementConstantNumberOfTimes() throws Exception {
+		//given
+		final AtomicInteger applications = new AtomicInteger();
+		final int n = 10_000;
+
+		//when
+		LazySeq.numbers(0).take(n).slidingReduce(100, (a, b) -> {
+			applications.incrementAndGet();
+			return a + b;
+		}).force();
+
+		//then
+		assertThat(applications.get()).isLessThan(3 * n);
+	}
+
+	@Test
+	public void shouldBeLazy() throws Exception {
+		//given
+		final AtomicInteger evaluated = new AtomicInteger();
+		final LazySeq<Integer> seq = LazySeq.numbers(0).map(x -> {
+			evaluated.incrementAndGet();
+			return x;
+		});
+
+		//when
+		final LazySeq<Integer> maxima = seq.slidingMax(3, Comparator.naturalOrder()).take(2);
+
+		//then
+		assertThat(maxima).isEqualTo(of(2, 3));
+		assertThat(evaluated.get()).isEqualTo(4);
+	}
+
+	@Test
+	public void shouldNotOverflowStackOnLongSeq() throws Exception {
+		assertThat(LazySeq.numbers(0).take(100_000).slidingReduce(10, Integer::sum).last())
+				.isEqualTo(999_945);
+		assertThat(IntLazySeq.numbers(0).take(100_000).slidingMax(10).last()).isEqualTo(99_999);
+	}
+
+	@Test
+	public void shouldNotAccumulateRoundingErrors() throws Exception {
+		//given
+		final double[] elements = new double[10_000];
+		Arrays.fill(elements, 0.1);
+		elements[0] = 1e16;
+		elements[1] = 1.0;
+		elements[2] = -1e16;
+		final DoubleLazySeq seq = DoubleLazySeq.of(elements);
+
+		//when
+		final double last = seq.slidingSum(10).last();
+
+		//then
+		assertThat(last).isEqualTo(1.0, offset(1e-9));
+	}
+
+}
@@ -3,6 +3,7 @@ package de.endrullis.lazyseq;
 import org.testng.annotations.Test;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static de.endrullis.lazyseq.LazySeq.empty;
 import static de.endrullis.lazyseq.LazySeq.of;
@@ -164,4 +165,88 @@ public class LazySeqSlidingTest extends AbstractBaseTestCase {
 		assertThat(sliding.get(3)).isEqualTo(asList(7, 11, 13));
 	}
 
+	@Test
+	public void shouldKeepWindowsValidAfterBufferIsRenewed() throws Exception {
+		//given
+		final int size = 50;
+		final LazySeq<Integer> seq = LazySeq.iterate(0, x -> x + 1).take(1000);
+
+		//when
+		final List<List<Integer>> windows = seq.sliding(size).toList();
+
+		//then
+		assertThat(windows).hasSize(1000 - size + 1);
+		for (int i = 0; i < windows.size(); i++) {
+			assertThat(windows.get(i)).isEqualTo(LazySeq.range(i, i + size).toList());
+		}
+	}
+
+	@Test
+	public void shouldEvaluateSourceOnlyUpToRequestedWindow() throws Exception {
+		//given
+		final AtomicInteger evaluated = new AtomicInteger();
+		final LazySeq<Integer> seq = LazySeq.iterate(0, x -> {
+			evaluated.incrementAndGet();
+			return x + 1;
+		});
+
+		//when
+		final LazySeq<List<Integer>> sliding = seq.sliding(3);
+		final int afterCreation = evaluated.get();
+		sliding.get(5);
+
+		//then
+		assertThat(afterCreation).isEqualTo(2);
+		assertThat(evaluated.get()).isEqualTo(7);
+	}
+
+	@Test
+	public void shouldReturnReadOnlyWindows() throws Exception {
+		//given
+		final List<Integer> window = of(1, 2, 3).sliding(2).head();
+
+		try {
+			//when
+			window.set(0, 5);
+			failBecauseExceptionWasNotThrown(UnsupportedOperationException.class);
+		} catch (UnsupportedOperationException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldReturnSameWindowsWhenTraversedByCellsAndInternally() throws Exception {
+		//given
+		final LazySeq<List<Integer>> sliding = LazySeq.iterate(0, x -> x + 1).take(100).sliding(7);
+
+		//when
+		final List<Integer> sixth = sliding.get(5);
+		final List<List<Integer>> all = sliding.toList();
+		final List<Integer> lastByCell = sliding.get(93);
+
+		//then
+		assertThat(sixth).isEqualTo(asList(5, 6, 7, 8, 9, 10, 11));
+		assertThat(all).hasSize(94);
+		assertThat(all.get(5)).isEqualTo(sixth);
+		assertThat(all.get(93)).isEqualTo(lastByCell).isEqualTo(asList(93, 94, 95, 96, 97, 98, 99));
+		assertThat(sliding.anyMatch(w -> w.get(0) == 50)).isTrue();
+		assertThat(sixth).isEqualTo(asList(5, 6, 7, 8, 9, 10, 11));
+	}
+
+	@Test
+	public void shouldReturnOnlyFullWindows() throws Exception {
+		//given
+		final LazySeq<Integer> fixed = of(5, 7, 9, 11);
+
+		//when
+		final LazySeq<List<Integer>> sliding = fixed.slidingFullOnly(3);
+
+		//then
+		assertThat(sliding.get(0)).isEqualTo(asList(5, 7, 9));
+		assertThat(sliding.get(1)).isEqualTo(asList(7, 9, 11));
+		assertThat(sliding).hasSize(2);
+		assertThat(fixed.slidingFullOnly(5)).isEmpty();
+		assertThat(LazySeq.<Integer>empty().slidingFullOnly(1)).isEmpty();
+	}
+
 }
@@ -2,8 +2,15 @@ package de.endrullis.lazyseq;
 
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static de.endrullis.lazyseq.LazySeq.*;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
 
 /**
  * @author Tomasz Nurkiewicz
@@ -81,4 +88,126 @@ public class LazySeqSortedTest extends AbstractBaseTestCase {
 		assertThat(sorted).isEqualTo(of("", "c", "ab", "def", "ghjkl"));
 	}
 
+	@Test
+	public void shouldSortLargeSeqStably() throws Exception {
+		//given
+		final Random random = new Random(7);
+		final LazySeq<Integer> seq = continually(() -> random.nextInt(1000)).take(10_000).force();
+		final List<Integer> expected = new ArrayList<>(seq);
+		expected.sort(Comparator.comparing(x -> x / 10));
+
+		//when
+		final LazySeq<Integer> sorted = seq.sorted(Comparator.comparing(x -> x / 10));
+
+		//then
+		assertThat(sorted.take(100).toList()).isEqualTo(expected.subList(0, 100));
+		assertThat(sorted.toList()).isEqualTo(expected);
+	}
+
+	@Test
+	public void shouldCompareOnlyLinearlyManyTimesForPrefix() throws Exception {
+		//given
+		final int n = 100_000;
+		final AtomicInteger comparisons = new AtomicInteger();
+		final LazySeq<Integer> seq = numbers(0).take(n).map(x -> (int) (x * 7919L % n)).force();
+
+		//when
+		final LazySeq<Integer> first = seq.sorted((a, b) -> {
+			comparisons.incrementAndGet();
+			return Integer.compare(a, b);
+		}).take(10);
+
+		//then
+		assertThat(first).isEqualTo(range(0, 10));
+		assertThat(comparisons.get()).isLessThan(3 * n);
+	}
+
+	@Test
+	public void shouldReturnBottomAndTopK() throws Exception {
+		//given
+		final LazySeq<String> seq = of("bb", "a", "ccc", "dd", "e", "ffff");
+
+		//then
+		assertThat(seq.bottomK(3, Comparator.comparing(String::length))).isEqualTo(of("a", "e", "bb"));
+		assertThat(seq.topK(2, Comparator.comparing(String::length))).isEqualTo(of("ffff", "ccc"));
+		assertThat(seq.topK(3, Comparator.comparing(String::length)).last()).isEqualTo("bb");
+		assertThat(seq.topK(10, Comparator.comparing(String::length))).hasSize(6);
+		assertThat(seq.bottomK(0, Comparator.comparing(String::length))).isEmpty();
+	}
+
+	@Test
+	public void shouldAgreeTopKWithSorted() throws Exception {
+		//given
+		final Random random = new Random(11);
+		final LazySeq<Integer> seq = continually(() -> random.nextInt(100)).take(5_000).force();
+		final Comparator<Integer> byTens = Comparator.comparing(x -> x / 10);
+
+		for (int k : new int[]{1, 10, 100, 4_999, 5_000, 5_001}) {
+			//then
+			assertThat(seq.bottomK(k, byTens)).isEqualTo(seq.sorted(byTens).take(k));
+			assertThat(seq.topK(k, byTens)).isEqualTo(seq.sorted(byTens.reversed()).take(k));
+		}
+	}
+
+	@Test
+	public void shouldThrowWhenKIsNegative() throws Exception {
+		try {
+			of(1, 2).topK(-1, Comparator.naturalOrder());
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch (IllegalArgumentException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldSortByIntKeyStably() throws Exception {
+		//given
+		final LazySeq<String> seq = of("b:3", "a:-1", "c:3", "d:" + Integer.MIN_VALUE, "e:" + Integer.MAX_VALUE, "f:-1", "g:0");
+
+		//when
+		final LazySeq<String> sorted = seq.sortedByInt(s -> Integer.parseInt(s.substring(2)));
+
+		//then
+		assertThat(sorted).isEqualTo(of("d:" + Integer.MIN_VALUE, "a:-1", "f:-1", "g:0", "b:3", "c:3", "e:" + Integer.MAX_VALUE));
+	}
+
+	@Test
+	public void shouldSortByLongKeyStably() throws Exception {
+		//given
+		final LazySeq<Long> seq = of(5L, Long.MIN_VALUE, -3L, Long.MAX_VALUE, 1L << 40, -(1L << 40), 0L);
+
+		//when
+		final LazySeq<Long> sorted = seq.sortedByLong(x -> x);
+
+		//then
+		assertThat(sorted).isEqualTo(of(Long.MIN_VALUE, -(1L << 40), -3L, 0L, 5L, 1L << 40, Long.MAX_VALUE));
+	}
+
+	@Test
+	public void shouldAgreeSortedByIntAndLongWithSorted() throws Exception {
+		//given
+		final Random random = new Random(3);
+		final LazySeq<Integer> seq = continually(() -> random.nextInt()).take(10_000).force();
+
+		//then
+		assertThat(seq.sortedByInt(x -> x >> 8)).isEqualTo(seq.sorted(Comparator.comparingInt(x -> x >> 8)));
+		assertThat(seq.sortedByLong(x -> (long) x * x)).isEqualTo(seq.sorted(Comparator.comparingLong(x -> (long) x * x)));
+		assertThat(empty().sortedByInt(Object::hashCode)).isEmpty();
+	}
+
+	@Test
+	public void shouldSortLargeSeqInParallelStably() throws Exception {
+		//given
+		final Random random = new Random(5);
+		final LazySeq<Integer> seq = continually(() -> random.nextInt(100_000)).take(4 * Sorting.PARALLEL_THRESHOLD).force();
+		final List<Integer> expected = new ArrayList<>(seq);
+		expected.sort(Comparator.comparing(x -> x / 100));
+
+		//when
+		final LazySeq<Integer> sorted = seq.sorted(Comparator.comparing(x -> x / 100));
+
+		//then
+		assertThat(sorted.toList()).isEqualTo(expected);
+	}
+
 }
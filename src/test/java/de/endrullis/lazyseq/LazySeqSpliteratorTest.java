@@ -0,0 +1,155 @@
+package de.endrullis.lazyseq;
+
+import org.mockito.Mock;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static de.endrullis.lazyseq.LazySeq.*;
+import static java.util.stream.Collectors.toList;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * @author Stefan Endrullis
+ */
+public class LazySeqSpliteratorTest extends AbstractBaseTestCase {
+
+	@Mock
+	private Supplier<LazySeq<Integer>> supplierMock;
+
+	@Test
+	public void shouldReportBasicCharacteristicsForLazySeq() throws Exception {
+		//given
+		final Spliterator<Integer> spliterator = numbers(1).spliterator();
+
+		//when
+		final int characteristics = spliterator.characteristics();
+
+		//then
+		assertThat(characteristics & Spliterator.ORDERED).isNotZero();
+		assertThat(characteristics & Spliterator.IMMUTABLE).isNotZero();
+		assertThat(characteristics & Spliterator.NONNULL).isNotZero();
+		assertThat(characteristics & Spliterator.SIZED).isZero();
+		assertThat(spliterator.estimateSize()).isEqualTo(Long.MAX_VALUE);
+	}
+
+	@Test
+	public void shouldBeSizedForFixedConsChain() throws Exception {
+		//given
+		final LazySeq<Integer> fixed = cons(1, cons(2, cons(3, empty())));
+
+		//when
+		final Spliterator<Integer> spliterator = fixed.spliterator();
+
+		//then
+		assertThat(spliterator.hasCharacteristics(Spliterator.SIZED)).isTrue();
+		assertThat(spliterator.hasCharacteristics(Spliterator.SUBSIZED)).isTrue();
+		assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldBeSizedForForcedSeq() throws Exception {
+		//given
+		final LazySeq<Integer> forced = numbers(0).take(2000).force();
+
+		//when
+		final Spliterator<Integer> spliterator = forced.spliterator();
+
+		//then
+		assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(2000);
+	}
+
+	@Test
+	public void shouldNotEvaluateTailWhenCreatingSpliterator() throws Exception {
+		//when
+		cons(1, supplierMock).spliterator().characteristics();
+
+		//then
+		verifyZeroInteractions(supplierMock);
+	}
+
+	@Test
+	public void shouldNotEvaluateTailWhenAdvancingToHead() throws Exception {
+		//given
+		final Spliterator<Integer> spliterator = cons(1, supplierMock).spliterator();
+		final List<Integer> result = new ArrayList<>();
+
+		//when
+		spliterator.tryAdvance(result::add);
+
+		//then
+		assertThat(result).containsExactly(1);
+		verifyZeroInteractions(supplierMock);
+	}
+
+	@Test
+	public void shouldSplitInfiniteSeqIntoBatches() throws Exception {
+		//given
+		final Spliterator<Integer> spliterator = numbers(0).spliterator();
+		final List<Integer> prefix = new ArrayList<>();
+		final List<Integer> rest = new ArrayList<>();
+
+		//when
+		final Spliterator<Integer> split = spliterator.trySplit();
+		split.forEachRemaining(prefix::add);
+		for (int i = 0; i < 3; i++) {
+			spliterator.tryAdvance(rest::add);
+		}
+
+		//then
+		assertThat(split.hasCharacteristics(Spliterator.SIZED)).isTrue();
+		assertThat(prefix).hasSize(LazySeqSpliterator.BATCH_UNIT);
+		assertThat(prefix).isEqualTo(IntStream.range(0, LazySeqSpliterator.BATCH_UNIT).boxed().collect(toList()));
+		assertThat(rest).containsExactly(1024, 1025, 1026);
+	}
+
+	@Test
+	public void shouldKeepSizeConsistentWhenSplittingSizedSeq() throws Exception {
+		//given
+		final LazySeq<Integer> forced = numbers(0).take(5000).force();
+		final Spliterator<Integer> spliterator = forced.spliterator();
+
+		//when
+		final Spliterator<Integer> split = spliterator.trySplit();
+
+		//then
+		assertThat(split.getExactSizeIfKnown() + spliterator.getExactSizeIfKnown()).isEqualTo(5000);
+	}
+
+	@Test
+	public void shouldSplitSmallSizedSeqInHalf() throws Exception {
+		//given
+		final Spliterator<Integer> spliterator = of(1, 2, 3, 4, 5, 6, 7).map(x -> x * 10).force().spliterator();
+
+		//when
+		final Spliterator<Integer> split = spliterator.trySplit();
+
+		//then
+		assertThat(split.getExactSizeIfKnown()).isEqualTo(3);
+		assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(4);
+	}
+
+	@Test
+	public void shouldNotSplitSizedSeqWithSingleElement() throws Exception {
+		//given
+		final Spliterator<Integer> spliterator = of(1).map(x -> x * 10).force().spliterator();
+
+		//when
+		final Spliterator<Integer> split = spliterator.trySplit();
+
+		//then
+		assertThat(split).isNull();
+		assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldReturnNullWhenSplittingEmptySeq() throws Exception {
+		assertThat(empty().spliterator().trySplit()).isNull();
+	}
+
+}
@@ -0,0 +1,154 @@
+package de.endrullis.lazyseq;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+import static de.endrullis.lazyseq.LazySeq.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Runs the operators over long chains of memoized {@link Cons} cells and of {@link FixedCons} cells (as created by
+ * {@link LazySeq#reverse()} or {@link LazySeq#cons(Object, LazySeq)}) to ensure none of them recurses per element.
+ * <p>
+ * The chain length defaults to 100,000 elements, which is enough to overflow the default stack with per-element
+ * recursion.  The <code>stress</code> profile (<code>mvn test -Pstress</code>) runs the same suite with 10,000,000
+ * elements.
+ * </p>
+ *
+ * @author Stefan Endrullis
+ */
+public class LazySeqStackSafetyTest extends AbstractBaseTestCase {
+
+	private static final int SIZE = Integer.getInteger("lazyseq.stackSafety.size", 100_000);
+
+	@DataProvider
+	public Object[][] chains() {
+		final Supplier<LazySeq<Integer>> consChain = () -> iterate(0, x -> x + 1).take(SIZE);
+		final Supplier<LazySeq<Integer>> fixedConsChain = () -> {
+			LazySeq<Integer> seq = empty();
+			for (int i = SIZE - 1; i >= 0; i--) {
+				seq = cons(i, seq);
+			}
+			return seq;
+		};
+		return new Object[][]{
+				{"Cons", consChain},
+				{"FixedCons", fixedConsChain},
+				{"reversed Cons", (Supplier<LazySeq<Integer>>) () -> iterate(SIZE - 1, x -> x - 1).take(SIZE).reverse()},
+		};
+	}
+
+	@Test(dataProvider = "chains")
+	public void shouldCompareEqualChains(String kind, Supplier<LazySeq<Integer>> chain) throws Exception {
+		assertThat(chain.get().equals(chain.get())).isTrue();
+		assertThat(chain.get().equals(chain.get().take(SIZE - 1))).isFalse();
+		assertThat(chain.get().take(SIZE - 1).equals(chain.get())).isFalse();
+		assertThat(chain.get().equals(chain.get().map(x -> x == SIZE - 1 ? -1 : x))).isFalse();
+	}
+
+	@Test(dataProvider = "chains")
+	public void shouldComputeHashCode(String kind, Supplier<LazySeq<Integer>> chain) throws Exception {
+		//given
+		int expected = 0;
+		for (int i = SIZE - 1; i >= 0; i--) {
+			expected = i + expected * 31;
+		}
+
+		//when
+		final int hashCode = chain.get().hashCode();
+
+		//then
+		assertThat(hashCode).isEqualTo(expected);
+		assertThat(hashCode).isEqualTo(chain.get().hashCode());
+	}
+
+	@Test(dataProvider = "chains")
+	public void shouldCheckPrefix(String kind, Supplier<LazySeq<Integer>> chain) throws Exception {
+		assertThat(chain.get().startsWith(range(0, SIZE))).isTrue();
+		assertThat(chain.get().startsWith(range(0, SIZE + 1))).isFalse();
+		assertThat(chain.get().startsWith(range(0, SIZE - 1).concat(of(-1)))).isFalse();
+	}
+
+	@Test(dataProvider = "chains")
+	public void shouldMapFilterAndTake(String kind, Supplier<LazySeq<Integer>> chain) throws Exception {
+		assertThat(chain.get().map(x -> x + 1).last()).isEqualTo(SIZE);
+		assertThat(chain.get().filter(x -> x % 2 == 0).size()).isEqualTo((SIZE + 1) / 2);
+		assertThat(chain.get().take(SIZE - 1).last()).isEqualTo(SIZE - 2);
+		assertThat(chain.get().takeWhile(x -> x < SIZE - 1).size()).isEqualTo(SIZE - 1);
+		assertThat(chain.get().map(x -> x * 2).take(SIZE).filter(x -> x > 0).last()).isEqualTo(2 * (SIZE - 1));
+	}
+
+	@Test(dataProvider = "chains")
+	public void shouldFlatMap(String kind, Supplier<LazySeq<Integer>> chain) throws Exception {
+		assertThat(chain.get().flatMap(x -> Arrays.asList(x, x)).size()).isEqualTo(2 * SIZE);
+		assertThat(chain.get().flatMap(x -> of(x)).last()).isEqualTo(SIZE - 1);
+		assertThat(chain.get().flatMap(x -> x < SIZE - 1 ? LazySeq.<Integer>empty() : of(x))).isEqualTo(of(SIZE - 1));
+		assertThat(chain.get().flatMap(x -> x < SIZE - 1 ? Arrays.<Integer>asList() : Arrays.asList(x))).isEqualTo(of(SIZE - 1));
+	}
+
+	@Test(dataProvider = "chains")
+	public void shouldDropAndSlice(String kind, Supplier<LazySeq<Integer>> chain) throws Exception {
+		assertThat(chain.get().drop(SIZE - 1).head()).isEqualTo(SIZE - 1);
+		assertThat(chain.get().dropWhile(x -> x < SIZE - 1).head()).isEqualTo(SIZE - 1);
+		assertThat(chain.get().takeRight(2)).isEqualTo(of(SIZE - 2, SIZE - 1));
+		assertThat(chain.get().dropRight(1).last()).isEqualTo(SIZE - 2);
+		assertThat(chain.get().slice(SIZE - 3, SIZE - 1)).isEqualTo(of(SIZE - 3, SIZE - 2));
+		assertThat(chain.get().get(SIZE - 1)).isEqualTo(SIZE - 1);
+	}
+
+	@Test(dataProvider = "chains")
+	public void shouldReverseAndConcat(String kind, Supplier<LazySeq<Integer>> chain) throws Exception {
+		assertThat(chain.get().reverse().head()).isEqualTo(SIZE - 1);
+		assertThat(chain.get().reverse().map(x -> -x).last()).isEqualTo(0);
+		assertThat(chain.get().concat(chain.get()).size()).isEqualTo(2 * SIZE);
+		assertThat(chain.get().concat(of(-1)).last()).isEqualTo(-1);
+	}
+
+	@Test(dataProvider = "chains")
+	public void shouldZipAndScan(String kind, Supplier<LazySeq<Integer>> chain) throws Exception {
+		assertThat(chain.get().zip(chain.get(), (a, b) -> a + b).last()).isEqualTo(2 * (SIZE - 1));
+		assertThat(chain.get().zipWithIndex().last()._2).isEqualTo(SIZE - 1);
+		assertThat(chain.get().scan(0, (a, b) -> b).last()).isEqualTo(SIZE - 1);
+	}
+
+	@Test(dataProvider = "chains")
+	public void shouldGroupAndSlide(String kind, Supplier<LazySeq<Integer>> chain) throws Exception {
+		assertThat(chain.get().grouped(10).size()).isEqualTo((SIZE + 9) / 10);
+		assertThat(chain.get().sliding(2).size()).isEqualTo(SIZE - 1);
+		assertThat(chain.get().distinct().size()).isEqualTo(SIZE);
+	}
+
+	@Test(dataProvider = "chains")
+	public void shouldRunTerminalOperations(String kind, Supplier<LazySeq<Integer>> chain) throws Exception {
+		assertThat(chain.get().size()).isEqualTo(SIZE);
+		assertThat(chain.get().force().last()).isEqualTo(SIZE - 1);
+		assertThat(chain.get().reduce(0L, (acc, x) -> acc + x)).isEqualTo((long) SIZE * (SIZE - 1) / 2);
+		assertThat(chain.get().max(Integer::compare).get()).isEqualTo(SIZE - 1);
+		assertThat(chain.get().contains(SIZE - 1)).isTrue();
+		assertThat(chain.get().allMatch(x -> x >= 0)).isTrue();
+		assertThat(chain.get().toList()).hasSize(SIZE);
+		assertThat(chain.get().stream().mapToLong(Integer::longValue).sum()).isEqualTo((long) SIZE * (SIZE - 1) / 2);
+		assertThat(chain.get().mkString(",")).endsWith("," + (SIZE - 1));
+		assertThat(chain.get().sorted((a, b) -> b - a).head()).isEqualTo(SIZE - 1);
+	}
+
+	@Test(dataProvider = "chains")
+	public void shouldIterate(String kind, Supplier<LazySeq<Integer>> chain) throws Exception {
+		//given
+		final Iterator<Integer> iterator = chain.get().iterator();
+		int count = 0;
+
+		//when
+		while (iterator.hasNext()) {
+			assertThat(iterator.next()).isEqualTo(count++);
+		}
+
+		//then
+		assertThat(count).isEqualTo(SIZE);
+	}
+
+}
@@ -0,0 +1,83 @@
+package de.endrullis.lazyseq;
+
+import org.mockito.Mock;
+import org.testng.annotations.Test;
+
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static de.endrullis.lazyseq.LazySeq.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * @author Stefan Endrullis
+ */
+public class LazySeqStreamMapToPrimitiveTest extends AbstractBaseTestCase {
+
+	@Mock
+	private Supplier<LazySeq<String>> supplierMock;
+
+	@Test
+	public void shouldMapToInt() throws Exception {
+		assertThat(of("a", "bb", "ccc").stream().mapToInt(String::length).sum()).isEqualTo(6);
+	}
+
+	@Test
+	public void shouldMapToLong() throws Exception {
+		assertThat(of(1, 2, 3).stream().mapToLong(x -> x * 10_000_000_000L).max().getAsLong()).isEqualTo(30_000_000_000L);
+	}
+
+	@Test
+	public void shouldMapToDouble() throws Exception {
+		assertThat(of(1, 2, 3, 4).stream().mapToDouble(x -> x / 2.0).average().getAsDouble()).isEqualTo(1.25);
+	}
+
+	@Test
+	public void shouldMapInfiniteSeqToIntLazily() throws Exception {
+		assertThat(numbers(1).stream().mapToInt(Integer::intValue).limit(100).sum()).isEqualTo(5050);
+	}
+
+	@Test
+	public void shouldNotEvaluateTailWhenOnlyFirstPrimitiveElementIsNeeded() throws Exception {
+		//given
+		final LazySeq<String> seq = cons("abc", supplierMock);
+
+		//when
+		final int first = seq.stream().mapToInt(String::length).findFirst().getAsInt();
+
+		//then
+		assertThat(first).isEqualTo(3);
+		verifyZeroInteractions(supplierMock);
+	}
+
+	@Test
+	public void shouldFlatMapToInt() throws Exception {
+		assertThat(of(1, 2, 3).stream().flatMapToInt(x -> IntStream.range(0, x)).toArray()).isEqualTo(new int[]{0, 0, 1, 0, 1, 2});
+	}
+
+	@Test
+	public void shouldFlatMapToLong() throws Exception {
+		assertThat(of(2L, 3L).stream().flatMapToLong(x -> LongStream.of(x, -x)).toArray()).isEqualTo(new long[]{2, -2, 3, -3});
+	}
+
+	@Test
+	public void shouldFlatMapToDouble() throws Exception {
+		assertThat(of(1, 2).stream().flatMapToDouble(x -> DoubleStream.of(x, x + 0.5)).sum()).isEqualTo(7.0);
+	}
+
+	@Test
+	public void shouldRunCloseHandlersOfLazySeqStreamWhenClosingPrimitiveStream() throws Exception {
+		//given
+		final boolean[] closed = {false};
+
+		//when
+		of(1, 2).stream().onClose(() -> closed[0] = true).mapToInt(x -> x).close();
+
+		//then
+		assertThat(closed[0]).isTrue();
+	}
+
+}
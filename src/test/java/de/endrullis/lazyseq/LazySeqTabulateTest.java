@@ -4,6 +4,8 @@ import de.endrullis.lazyseq.samples.Seqs;
 import org.apache.commons.lang.StringUtils;
 import org.testng.annotations.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static de.endrullis.lazyseq.LazySeq.of;
 import static de.endrullis.lazyseq.LazySeq.tabulate;
 import static org.fest.assertions.api.Assertions.assertThat;
@@ -27,6 +29,25 @@ public class LazySeqTabulateTest extends AbstractBaseTestCase {
 		assertThat(generated).isEqualTo(of("", "*", "**", "***", "****", "*****"));
 	}
 
+	@Test
+	public void shouldGenerateEachElementOnlyOnce() throws Exception {
+		//given
+		final AtomicInteger generated = new AtomicInteger();
+		final LazySeq<Integer> seq = tabulate(0, i -> {
+			generated.incrementAndGet();
+			return i;
+		});
+
+		//when
+		seq.get(9);
+		seq.take(10).forEach(x -> {});
+		seq.drop(5).head();
+
+		//then
+		assertThat(generated.get()).isEqualTo(10);
+		assertThat(seq.toString()).isEqualTo("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9, ?]");
+	}
+
 	@Test
 	public void shouldCreateInfiniteStreamOfPiEstimation() throws Exception {
 		//given
@@ -3,6 +3,7 @@ package de.endrullis.lazyseq;
 import org.mockito.Mock;
 import org.testng.annotations.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import static de.endrullis.lazyseq.LazySeq.of;
@@ -68,4 +69,44 @@ public class LazySeqTakeRightTest extends AbstractBaseTestCase {
 		assertThat(limited).isEqualTo(of(3, 4, 5));
 	}
 
+	@Test
+	public void shouldEvaluateEachElementOnce() throws Exception {
+		//given
+		final AtomicInteger evaluated = new AtomicInteger();
+		final LazySeq<Integer> seq = LazySeq.iterate(0, x -> x + 1).take(10).map(x -> {
+			evaluated.incrementAndGet();
+			return x;
+		});
+
+		//when
+		final LazySeq<Integer> limited = seq.takeRight(3);
+
+		//then
+		assertThat(limited).isEqualTo(of(7, 8, 9));
+		assertThat(evaluated.get()).isEqualTo(10);
+	}
+
+	@Test
+	public void shouldReturnSameSeqIfNotLongerThanMaxSize() throws Exception {
+		//given
+		final LazySeq<Integer> seq = LazySeq.iterate(1, x -> x + 1).take(5);
+
+		//when
+		final LazySeq<Integer> limited = seq.takeRight(5);
+
+		//then
+		assertThat(limited).isSameAs(seq);
+	}
+
+	@Test
+	public void shouldTakeRightOfRangeWithoutTraversal() throws Exception {
+		assertThat(LazySeq.range(0, 1_000_000_000).takeRight(2)).isEqualTo(of(999_999_998, 999_999_999));
+		try {
+			LazySeq.numbers(0).takeRight(2);
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			//ok
+		}
+	}
+
 }
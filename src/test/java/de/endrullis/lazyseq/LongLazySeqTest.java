@@ -0,0 +1,52 @@
+package de.endrullis.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.util.OptionalLong;
+import java.util.stream.LongStream;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * @author Stefan Endrullis
+ */
+public class LongLazySeqTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldAggregateWithoutOverflowingInt() throws Exception {
+		//given
+		final LongLazySeq seq = LongLazySeq.numbers(Integer.MAX_VALUE, Integer.MAX_VALUE).take(3);
+
+		//then
+		assertThat(seq.sum()).isEqualTo(6L * Integer.MAX_VALUE);
+		assertThat(seq.max()).isEqualTo(OptionalLong.of(3L * Integer.MAX_VALUE));
+	}
+
+	@Test
+	public void shouldMapAndFilter() throws Exception {
+		assertThat(LongLazySeq.iterate(1, x -> x * 3).filter(x -> x > 10).map(x -> -x).take(2))
+				.isEqualTo(LongLazySeq.of(-27, -81));
+	}
+
+	@Test
+	public void shouldConvertToAndFromLongStream() throws Exception {
+		assertThat(LongLazySeq.of(LongStream.rangeClosed(1, 4)).stream().sum()).isEqualTo(10L);
+	}
+
+	@Test
+	public void shouldConvertToBoxedSeq() throws Exception {
+		assertThat(LazySeq.of("a", "bb").mapToLong(String::length).boxed()).isEqualTo(LazySeq.of(1L, 2L));
+	}
+
+	@Test
+	public void shouldAggregateSlidingWindowsWithoutIntOverflow() throws Exception {
+		//given
+		final LongLazySeq seq = LongLazySeq.numbers(Integer.MAX_VALUE, Integer.MAX_VALUE).take(4);
+
+		//then
+		assertThat(seq.slidingSum(2)).isEqualTo(LongLazySeq.of(3L * Integer.MAX_VALUE, 5L * Integer.MAX_VALUE, 7L * Integer.MAX_VALUE));
+		assertThat(seq.slidingMax(3)).isEqualTo(LongLazySeq.of(3L * Integer.MAX_VALUE, 4L * Integer.MAX_VALUE));
+		assertThat(seq.slidingAverage(4)).isEqualTo(DoubleLazySeq.of(2.5 * Integer.MAX_VALUE));
+	}
+
+}
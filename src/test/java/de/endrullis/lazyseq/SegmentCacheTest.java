@@ -0,0 +1,217 @@
+package de.endrullis.lazyseq;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static de.endrullis.lazyseq.LazySeq.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * @author Stefan Endrullis
+ */
+public class SegmentCacheTest extends AbstractBaseTestCase {
+
+	private static final int PAGE_SIZE = 5;
+	private static final int TOTAL = 23;
+
+	private List<Integer> loadedPages;
+
+	@BeforeMethod
+	public void setup() {
+		loadedPages = new ArrayList<>();
+	}
+
+	@Test
+	public void shouldContainAllElementsOfAllSegments() throws Exception {
+		//given
+		final SegmentCache<Integer, Integer> cache = pages(MemoPolicy.strong());
+
+		//when
+		final LazySeq<Integer> seq = cache.seq();
+
+		//then
+		assertThat(seq).isEqualTo(numbers(0).take(TOTAL));
+		assertThat(seq.get(17)).isEqualTo(17);
+		assertThat(seq.size()).isEqualTo(TOTAL);
+	}
+
+	@Test
+	public void shouldLoadOnlyFirstSegmentEagerly() throws Exception {
+		//given
+		final SegmentCache<Integer, Integer> cache = pages(MemoPolicy.strong());
+
+		//when
+		final LazySeq<Integer> seq = cache.seq();
+
+		//then
+		assertThat(loadedPages).containsExactly(0);
+		assertThat(seq.toString()).isEqualTo("[0, 1, 2, 3, 4, ?]");
+	}
+
+	@Test
+	public void shouldReturnSameTailWithinSegment() throws Exception {
+		//given
+		final SegmentCache<Integer, Integer> cache = pages(MemoPolicy.strong());
+		final LazySeq<Integer> seq = cache.seq();
+
+		//when
+		final LazySeq<Integer> tail = seq.tail();
+
+		//then
+		assertThat(seq.tail()).isSameAs(tail);
+		assertThat(tail.tail()).isSameAs(tail.tail());
+	}
+
+	@Test
+	public void shouldReturnEmptySeqIfFirstSegmentIsEmpty() throws Exception {
+		//given
+		final SegmentCache<Integer, Integer> cache = SegmentCache.of(0, offset -> new ArrayList<Integer>(), (offset, page) -> offset, MemoPolicy.strong());
+
+		//when
+		final LazySeq<Integer> seq = cache.seq();
+
+		//then
+		assertThat(seq).isEmpty();
+	}
+
+	@Test
+	public void shouldServeSecondTraversalFromCacheWithStrongPolicy() throws Exception {
+		//given
+		final SegmentCache<Integer, Integer> cache = pages(MemoPolicy.strong());
+		cache.seq().forEach(x -> {});
+
+		//when
+		final List<Integer> list = cache.seq().toList();
+
+		//then
+		assertThat(list).hasSize(TOTAL);
+		assertThat(loadedPages).containsExactly(0, 5, 10, 15, 20, 23);
+		assertThat(cache.misses()).isEqualTo(6);
+		assertThat(cache.hits()).isEqualTo(5);
+		assertThat(cache.recomputes()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldRecomputeEvictedSegmentsWithLruPolicy() throws Exception {
+		//given
+		final SegmentCache<Integer, Integer> cache = pages(MemoPolicy.lru(2));
+		final LazySeq<Integer> seq = cache.seq();
+		seq.forEach(x -> {});
+		loadedPages.clear();
+		final long recomputes = cache.recomputes();
+
+		//when
+		final List<Integer> list = seq.toList();
+
+		//then
+		assertThat(list).isEqualTo(numbers(0).take(TOTAL).toList());
+		assertThat(loadedPages).containsExactly(5, 10, 15, 20);
+		assertThat(cache.recomputes() - recomputes).isEqualTo(4);
+	}
+
+	@Test
+	public void shouldRecomputeSegmentFromNearestCheckpoint() throws Exception {
+		//given
+		final SegmentCache<Integer, Integer> cache = pages(MemoPolicy.lru(1), 3);
+		final LazySeq<Integer> seq = cache.seq();
+		final LazySeq<Integer> lastOfThirdPage = seq.drop(3 * PAGE_SIZE - 1);
+		seq.forEach(x -> {});
+		loadedPages.clear();
+		final long recomputes = cache.recomputes();
+
+		//when
+		final List<Integer> rest = lastOfThirdPage.tail().toList();
+
+		//then
+		assertThat(rest).containsExactly(15, 16, 17, 18, 19, 20, 21, 22);
+		assertThat(loadedPages).containsExactly(15, 20);
+		assertThat(cache.recomputes() - recomputes).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldReplayFromCheckpointIfStateOfSegmentIsNotRetained() throws Exception {
+		//given
+		final SegmentCache<Integer, Integer> cache = pages(MemoPolicy.lru(1), 3);
+		final LazySeq<Integer> seq = cache.seq();
+		final LazySeq<Integer> lastOfSecondPage = seq.drop(2 * PAGE_SIZE - 1);
+		seq.forEach(x -> {});
+		loadedPages.clear();
+		final long recomputes = cache.recomputes();
+
+		//when
+		final LazySeq<Integer> thirdPage = lastOfSecondPage.tail();
+
+		//then
+		assertThat(thirdPage.head()).isEqualTo(10);
+		assertThat(loadedPages).containsExactly(0, 5, 10);
+		assertThat(cache.recomputes() - recomputes).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldRecomputeWeaklyReferencedSegmentsAfterGarbageCollection() throws Exception {
+		//given
+		final SegmentCache<Integer, Integer> cache = pages(MemoPolicy.weak());
+		cache.seq().forEach(x -> {});
+
+		//when
+		for (int i = 0; i < 10 && cache.recomputes() == 0; i++) {
+			System.gc();
+			Thread.sleep(10);
+			assertThat(cache.seq().toList()).hasSize(TOTAL);
+		}
+
+		//then
+		assertThat(cache.recomputes()).isGreaterThan(0);
+	}
+
+	@Test
+	public void shouldKeepSegmentOfReferencedCellWithWeakPolicy() throws Exception {
+		//given
+		final SegmentCache<Integer, Integer> cache = pages(MemoPolicy.weak());
+		final LazySeq<Integer> seq = cache.seq();
+		loadedPages.clear();
+
+		//when
+		System.gc();
+		final List<Integer> firstPage = seq.take(PAGE_SIZE).toList();
+
+		//then
+		assertThat(firstPage).containsExactly(0, 1, 2, 3, 4);
+		assertThat(loadedPages).isEmpty();
+	}
+
+	@Test
+	public void shouldMapSegmentedSeq() throws Exception {
+		//given
+		final LazySeq<Integer> seq = pages(MemoPolicy.soft()).seq();
+
+		//when
+		final LazySeq<Integer> mapped = seq.map(x -> x * 2);
+
+		//then
+		assertThat(mapped.take(3)).isEqualTo(of(0, 2, 4));
+		assertThat(mapped.filter(x -> x > 40).toList()).containsExactly(42, 44);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void shouldRejectNonPositiveLruSize() throws Exception {
+		MemoPolicy.lru(0);
+	}
+
+	private SegmentCache<Integer, Integer> pages(MemoPolicy policy) {
+		return pages(policy, 1);
+	}
+
+	private SegmentCache<Integer, Integer> pages(MemoPolicy policy, int checkpointInterval) {
+		return SegmentCache.of(0, this::loadPage, (offset, page) -> offset + page.size(), policy, checkpointInterval);
+	}
+
+	private List<Integer> loadPage(int offset) {
+		loadedPages.add(offset);
+		return numbers(offset).take(Math.max(0, Math.min(PAGE_SIZE, TOTAL - offset))).toList();
+	}
+
+}
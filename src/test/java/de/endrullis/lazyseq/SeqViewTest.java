@@ -0,0 +1,235 @@
+package de.endrullis.lazyseq;
+
+import org.testng.annotations.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static de.endrullis.lazyseq.LazySeq.numbers;
+import static de.endrullis.lazyseq.Shortcuts.t;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
+
+/**
+ * @author Stefan Endrullis
+ */
+public class SeqViewTest extends AbstractBaseTestCase {
+
+	@Test
+	public void shouldApplyOperatorsLikeLazySeq() throws Exception {
+		//given
+		final SeqView<Integer> view = SeqView.numbers(1);
+
+		//when
+		final List<Integer> result = view.map(x -> x * 3).filter(x -> x % 2 == 0).drop(1).take(4).toList();
+
+		//then
+		assertThat(result).isEqualTo(numbers(1).map(x -> x * 3).filter(x -> x % 2 == 0).drop(1).take(4).force().toList());
+		assertThat(result).containsExactly(12, 18, 24, 30);
+	}
+
+	@Test
+	public void shouldSupportWhileOperators() throws Exception {
+		assertThat(SeqView.numbers(0).takeWhile(x -> x < 5).toList()).containsExactly(0, 1, 2, 3, 4);
+		assertThat(SeqView.of(Arrays.asList(1, 2, 5, 1, 7)).dropWhile(x -> x < 3).toList()).containsExactly(5, 1, 7);
+	}
+
+	@Test
+	public void shouldFlatMapDistinctAndGroup() throws Exception {
+		assertThat(SeqView.of(Arrays.asList(1, 2, 3)).flatMap(x -> Arrays.asList(x, x)).distinct().toList()).containsExactly(1, 2, 3);
+		assertThat(SeqView.numbers(1).take(5).grouped(2).toList()).isEqualTo(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5)));
+		assertThat(SeqView.of(Arrays.asList('a', 'b')).zipWithIndex().toList()).isEqualTo(Arrays.asList(t('a', 0), t('b', 1)));
+	}
+
+	@Test
+	public void shouldProvideSameResultsViaIterator() throws Exception {
+		//given
+		final SeqView<List<Integer>> pushed = pipeline(SeqView.numbers(0));
+		final SeqView<List<Integer>> pulled = pipeline(SeqView.numbers(0));
+
+		//when
+		final List<List<Integer>> result = new ArrayList<>();
+		for (List<Integer> group : pulled) {
+			result.add(group);
+		}
+
+		//then
+		assertThat(result).isEqualTo(Arrays.asList(Arrays.asList(4, -4, 5, -5), Arrays.asList(6, -6, 7, -7), Arrays.asList(8)));
+		assertThat(result).isEqualTo(pushed.toList());
+	}
+
+	private static SeqView<List<Integer>> pipeline(SeqView<Integer> view) {
+		return view
+				.flatMap(x -> Arrays.asList(x, -x))
+				.filter(x -> x != 0)
+				.dropWhile(x -> x > -3)
+				.takeWhile(x -> x < 10)
+				.drop(1)
+				.take(9)
+				.grouped(4);
+	}
+
+	@Test
+	public void shouldComputeTerminalOperations() throws Exception {
+		assertThat(SeqView.numbers(1).take(4).reduce(0, (acc, x) -> acc + x)).isEqualTo(10);
+		assertThat(SeqView.numbers(1).take(4).reduce((a, b) -> a * b).get()).isEqualTo(24);
+		assertThat(SeqView.numbers(1).take(10).count(x -> x % 3 == 0)).isEqualTo(3);
+		assertThat(SeqView.numbers(1).anyMatch(x -> x > 1000)).isTrue();
+		assertThat(SeqView.numbers(1).allMatch(x -> x < 1000)).isFalse();
+		assertThat(SeqView.numbers(1).find(x -> x * x > 50).get()).isEqualTo(8);
+		assertThat(SeqView.of(new ArrayList<Integer>()).headOption().isDefined()).isFalse();
+		assertThat(SeqView.of(Arrays.asList(3, 9, 1)).max(Integer::compare).get()).isEqualTo(9);
+		assertThat(SeqView.numbers(1).take(3).mkString("[", ", ", "]")).isEqualTo("[1, 2, 3]");
+		assertThat(SeqView.numbers(1).take(3).collect(Collectors.summingInt(x -> x))).isEqualTo(6);
+		assertThat(SeqView.numbers(1).stream().limit(3).collect(Collectors.toList())).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	public void shouldNotMemoizeElements() throws Exception {
+		//given
+		final AtomicInteger generated = new AtomicInteger();
+		final SeqView<Integer> view = SeqView.continually(generated::incrementAndGet).take(3);
+
+		//when
+		final LazySeq<Integer> seq = view.toLazySeq();
+
+		//then
+		assertThat(generated.get()).isEqualTo(1);
+		assertThat(seq.toList()).containsExactly(1, 2, 3);
+		assertThat(generated.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldFailOnSecondTraversal() throws Exception {
+		//given
+		final SeqView<Integer> view = SeqView.numbers(0).take(3);
+		final SeqView<Integer> mapped = view.map(x -> x + 1);
+		mapped.forEach(x -> {});
+
+		//when
+		try {
+			view.count();
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			//then
+			assertThat(e.getMessage()).contains("already been traversed");
+		}
+	}
+
+	@Test
+	public void shouldFailOnSecondTraversalAfterTakingNothing() throws Exception {
+		//given
+		final AtomicInteger pulled = new AtomicInteger();
+		final SeqView<Integer> view = SeqView.numbers(0).peek(x -> pulled.incrementAndGet());
+		final SeqView<Integer> drop = view.drop(5);
+
+		//when
+		final long count = drop.take(0).count();
+
+		//then
+		assertThat(count).isEqualTo(0);
+		assertThat(pulled.get()).isEqualTo(0);
+		try {
+			view.count();
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage()).contains("already been traversed");
+		}
+	}
+
+	@Test
+	public void shouldRejectNullResultOfMapper() throws Exception {
+		//given
+		final SeqView<Integer> view = SeqView.numbers(0).map(x -> x == 2 ? null : x);
+
+		//when
+		try {
+			view.forEach(x -> {});
+			failBecauseExceptionWasNotThrown(NullPointerException.class);
+		} catch (NullPointerException e) {
+			//then
+		}
+		try {
+			SeqView.numbers(0).map(x -> (Integer) null).iterator().next();
+			failBecauseExceptionWasNotThrown(NullPointerException.class);
+		} catch (NullPointerException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldRejectNullFunctionsEagerly() throws Exception {
+		//given
+		final SeqView<Integer> view = SeqView.numbers(0);
+
+		//when
+		try {
+			view.map(null);
+			failBecauseExceptionWasNotThrown(NullPointerException.class);
+		} catch (NullPointerException e) {
+			//then
+		}
+		try {
+			view.filter(null);
+			failBecauseExceptionWasNotThrown(NullPointerException.class);
+		} catch (NullPointerException e) {
+			//then
+		}
+	}
+
+	@Test
+	public void shouldFailOnSecondIterator() throws Exception {
+		//given
+		final SeqView<Integer> view = numbers(0).view();
+		final Iterator<Integer> iterator = view.iterator();
+
+		//when
+		try {
+			view.iterator();
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch (IllegalStateException e) {
+			//then
+			assertThat(iterator.next()).isEqualTo(0);
+		}
+	}
+
+	@Test
+	public void shouldNotRetainTraversedCellsOfLazySeq() throws Exception {
+		//given
+		final WeakReference<LazySeq<Integer>> headRef = new WeakReference<>(numbers(0));
+		final SeqView<Integer> view = viewOf(headRef);
+		final boolean[] headCollected = {false};
+
+		//when
+		view.map(x -> x + 1).forEach(x -> {
+			if (x == 10_000) {
+				headCollected[0] = collected(headRef);
+			}
+		});
+
+		//then
+		assertThat(headCollected[0]).isTrue();
+	}
+
+	private static SeqView<Integer> viewOf(WeakReference<LazySeq<Integer>> headRef) {
+		return headRef.get().take(20_000).view();
+	}
+
+	private static boolean collected(WeakReference<?> ref) {
+		for (int i = 0; i < 50 && ref.get() != null; i++) {
+			System.gc();
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		return ref.get() == null;
+	}
+
+}